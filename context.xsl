@@ -22,6 +22,21 @@ xmlns:sd="&sd;"
     <xsl:param name="a:authPwd"/>
     <xsl:param name="a:preemptiveAuth"/>
     <xsl:param name="ap:sitemapRules"/>
+    <xsl:param name="ap:sitemaps"/>
+    <xsl:param name="ap:uploadMemoryBudget"/>
+    <xsl:param name="ap:groupCommitWindow"/>
+    <xsl:param name="ap:journal"/>
+    <xsl:param name="ap:deltaPut"/>
+    <xsl:param name="ap:batch"/>
+    <xsl:param name="ap:readReplicas"/>
+    <xsl:param name="ap:hedgeBudget"/>
+    <xsl:param name="ap:graphIndexInterval"/>
+    <xsl:param name="ap:mirrorGraphs"/>
+    <xsl:param name="ap:mirrorHotGraphs"/>
+    <xsl:param name="ap:captureFile"/>
+    <xsl:param name="ap:captureRate"/>
+    <xsl:param name="ap:queryTimeoutParam"/>
+    <xsl:param name="ap:queryTimeoutUnit"/>
 
     <xsl:template match="@*|node()">
         <xsl:copy>
@@ -54,6 +69,51 @@ xmlns:sd="&sd;"
             <xsl:if test="$ap:sitemapRules">
                 <Parameter name="&ap;sitemapRules" value="{$ap:sitemapRules}" override="false"/>
             </xsl:if>
+            <xsl:if test="$ap:sitemaps">
+                <Parameter name="&ap;sitemaps" value="{$ap:sitemaps}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:uploadMemoryBudget">
+                <Parameter name="&ap;uploadMemoryBudget" value="{$ap:uploadMemoryBudget}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:groupCommitWindow">
+                <Parameter name="&ap;groupCommitWindow" value="{$ap:groupCommitWindow}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:journal">
+                <Parameter name="&ap;journal" value="{$ap:journal}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:deltaPut">
+                <Parameter name="&ap;deltaPut" value="{$ap:deltaPut}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:batch">
+                <Parameter name="&ap;batch" value="{$ap:batch}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:readReplicas">
+                <Parameter name="&ap;readReplicas" value="{$ap:readReplicas}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:hedgeBudget">
+                <Parameter name="&ap;hedgeBudget" value="{$ap:hedgeBudget}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:graphIndexInterval">
+                <Parameter name="&ap;graphIndexInterval" value="{$ap:graphIndexInterval}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:mirrorGraphs">
+                <Parameter name="&ap;mirrorGraphs" value="{$ap:mirrorGraphs}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:mirrorHotGraphs">
+                <Parameter name="&ap;mirrorHotGraphs" value="{$ap:mirrorHotGraphs}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:captureFile">
+                <Parameter name="&ap;captureFile" value="{$ap:captureFile}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:captureRate">
+                <Parameter name="&ap;captureRate" value="{$ap:captureRate}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:queryTimeoutParam">
+                <Parameter name="&ap;queryTimeoutParam" value="{$ap:queryTimeoutParam}" override="false"/>
+            </xsl:if>
+            <xsl:if test="$ap:queryTimeoutUnit">
+                <Parameter name="&ap;queryTimeoutUnit" value="{$ap:queryTimeoutUnit}" override="false"/>
+            </xsl:if>
         </xsl:copy>
     </xsl:template>
 
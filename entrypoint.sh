@@ -81,6 +81,51 @@ fi
 if [ -n "$ONTOLOGY" ] ; then
     ONTOLOGY_PARAM="--stringparam ldt:ontology $ONTOLOGY "
 fi
+if [ -n "$SITEMAPS" ] ; then
+    SITEMAPS_PARAM="--stringparam ap:sitemaps '$SITEMAPS' "
+fi
+if [ -n "$UPLOAD_MEMORY_BUDGET" ] ; then
+    UPLOAD_MEMORY_BUDGET_PARAM="--stringparam ap:uploadMemoryBudget $UPLOAD_MEMORY_BUDGET "
+fi
+if [ -n "$GROUP_COMMIT_WINDOW" ] ; then
+    GROUP_COMMIT_WINDOW_PARAM="--stringparam ap:groupCommitWindow $GROUP_COMMIT_WINDOW "
+fi
+if [ -n "$JOURNAL" ] ; then
+    JOURNAL_PARAM="--stringparam ap:journal $JOURNAL "
+fi
+if [ -n "$DELTA_PUT" ] ; then
+    DELTA_PUT_PARAM="--stringparam ap:deltaPut $DELTA_PUT "
+fi
+if [ -n "$BATCH" ] ; then
+    BATCH_PARAM="--stringparam ap:batch $BATCH "
+fi
+if [ -n "$READ_REPLICAS" ] ; then
+    READ_REPLICAS_PARAM="--stringparam ap:readReplicas '$READ_REPLICAS' "
+fi
+if [ -n "$HEDGE_BUDGET" ] ; then
+    HEDGE_BUDGET_PARAM="--stringparam ap:hedgeBudget $HEDGE_BUDGET "
+fi
+if [ -n "$GRAPH_INDEX_INTERVAL" ] ; then
+    GRAPH_INDEX_INTERVAL_PARAM="--stringparam ap:graphIndexInterval $GRAPH_INDEX_INTERVAL "
+fi
+if [ -n "$MIRROR_GRAPHS" ] ; then
+    MIRROR_GRAPHS_PARAM="--stringparam ap:mirrorGraphs '$MIRROR_GRAPHS' "
+fi
+if [ -n "$MIRROR_HOT_GRAPHS" ] ; then
+    MIRROR_HOT_GRAPHS_PARAM="--stringparam ap:mirrorHotGraphs $MIRROR_HOT_GRAPHS "
+fi
+if [ -n "$CAPTURE_FILE" ] ; then
+    CAPTURE_FILE_PARAM="--stringparam ap:captureFile $CAPTURE_FILE "
+fi
+if [ -n "$CAPTURE_RATE" ] ; then
+    CAPTURE_RATE_PARAM="--stringparam ap:captureRate $CAPTURE_RATE "
+fi
+if [ -n "$QUERY_TIMEOUT_PARAM" ] ; then
+    QUERY_TIMEOUT_PARAM_PARAM="--stringparam ap:queryTimeoutParam $QUERY_TIMEOUT_PARAM "
+fi
+if [ -n "$QUERY_TIMEOUT_UNIT" ] ; then
+    QUERY_TIMEOUT_UNIT_PARAM="--stringparam ap:queryTimeoutUnit $QUERY_TIMEOUT_UNIT "
+fi
 if [ -n "$AUTH_USER" ] ; then
     AUTH_USER_PARAM="--stringparam a:authUser $AUTH_USER "
 fi
@@ -100,6 +145,21 @@ transform="xsltproc \
   $ENDPOINT_PARAM \
   $GRAPH_STORE_PARAM \
   $ONTOLOGY_PARAM \
+  $SITEMAPS_PARAM \
+  $UPLOAD_MEMORY_BUDGET_PARAM \
+  $GROUP_COMMIT_WINDOW_PARAM \
+  $JOURNAL_PARAM \
+  $DELTA_PUT_PARAM \
+  $BATCH_PARAM \
+  $READ_REPLICAS_PARAM \
+  $HEDGE_BUDGET_PARAM \
+  $GRAPH_INDEX_INTERVAL_PARAM \
+  $MIRROR_GRAPHS_PARAM \
+  $MIRROR_HOT_GRAPHS_PARAM \
+  $CAPTURE_FILE_PARAM \
+  $CAPTURE_RATE_PARAM \
+  $QUERY_TIMEOUT_PARAM_PARAM \
+  $QUERY_TIMEOUT_UNIT_PARAM \
   $AUTH_USER_PARAM \
   $AUTH_PWD_PARAM \
   $PREEMPTIVE_AUTH_PARAM \
@@ -0,0 +1,12 @@
+#!/bin/bash
+
+# describe two resources in one request
+
+curl -f -s -G \
+  -H "Accept: application/n-triples" \
+  --data-urlencode "uri=${BASE_URL}default-subject" \
+  --data-urlencode "uri=${BASE_URL}super" \
+  "${BASE_URL}batch" \
+| tr -s '\n' '\t' \
+| grep '"default object"' \
+| grep '"super object"' > /dev/null
\ No newline at end of file
@@ -0,0 +1,13 @@
+#!/bin/bash
+
+# describe two resources in one request, passing the URIs as a URI list
+
+printf "%s\n%s\n" "${BASE_URL}default-subject" "${BASE_URL}super" \
+| curl -f -s \
+  -H "Accept: application/n-triples" \
+  -H "Content-Type: text/uri-list" \
+  --data-binary @- \
+  "${BASE_URL}batch" \
+| tr -s '\n' '\t' \
+| grep '"default object"' \
+| grep '"super object"' > /dev/null
\ No newline at end of file
@@ -0,0 +1,23 @@
+#!/bin/bash
+
+# request a template with ap:maxConcurrency 1 and ap:maxQueueSize 0 concurrently - expect some requests to be rejected with Retry-After
+
+headers=$(mktemp -d)
+
+for i in $(seq 1 10); do
+  curl -s -o /dev/null -D "${headers}/${i}" \
+    -H "Accept: application/n-triples" \
+    "${BASE_URL}limited" &
+done
+wait
+
+rejected=false
+for file in "${headers}"/*; do
+  if tr -d '\r' < "$file" | head -n 1 | grep -q " ${STATUS_SERVICE_UNAVAILABLE}" && grep -q -i "^Retry-After: " "$file"; then
+    rejected=true
+  fi
+done
+
+rm -rf "$headers"
+
+[ "$rejected" = true ]
\ No newline at end of file
@@ -0,0 +1,12 @@
+#!/bin/bash
+
+# first page of a paginated description links to the next page but not to the previous one
+
+headers=$(
+curl -f -s -o /dev/null -D - \
+  -H "Accept: application/n-triples" \
+  "${BASE_URL}paged" \
+| tr -d '\r')
+
+echo "$headers" | grep -i "^Link:" | grep -q 'rel="next"' && \
+! echo "$headers" | grep -i "^Link:" | grep -q 'rel="prev"'
\ No newline at end of file
@@ -0,0 +1,24 @@
+#!/bin/bash
+
+# follow the next page link of a paginated description - the last page links to the previous page but not to the next one
+
+next=$(
+curl -f -s -o /dev/null -D - \
+  -H "Accept: application/n-triples" \
+  "${BASE_URL}paged" \
+| tr -d '\r' \
+| grep -i "^Link:" \
+| tr ',' '\n' \
+| grep 'rel="next"' \
+| sed -En 's/.*<([^>]*)>.*/\1/p')
+
+[ -n "$next" ] || exit 1
+
+headers=$(
+curl -f -s -o /dev/null -D - \
+  -H "Accept: application/n-triples" \
+  "$next" \
+| tr -d '\r')
+
+echo "$headers" | grep -i "^Link:" | grep -q 'rel="prev"' && \
+! echo "$headers" | grep -i "^Link:" | grep -q 'rel="next"'
\ No newline at end of file
@@ -0,0 +1,19 @@
+#!/bin/bash
+
+# request pass-through description twice - supply ETag second time and expect 304 Not Modified
+
+etag=$(
+curl -f -s -I -G \
+  -H "Accept: application/n-triples" \
+  "${BASE_URL}pass-through/found" \
+| grep 'ETag' \
+| tr -d '\r' \
+| sed -En 's/^ETag: (.*)$/\1/p')
+
+[ -n "$etag" ] || exit 1
+
+curl -w "%{http_code}\n" -f -s -G \
+  -H "Accept: application/n-triples" \
+  "${BASE_URL}pass-through/found" \
+-H "If-None-Match: $etag" \
+| grep -q "${STATUS_NOT_MODIFIED}"
\ No newline at end of file
@@ -0,0 +1,8 @@
+#!/bin/bash
+
+# empty pass-through description (the endpoint still sends Turtle prefixes) returns 404 Not Found
+
+curl -w "%{http_code}\n" -s \
+  -H "Accept: text/turtle" \
+  "${BASE_URL}pass-through/missing" \
+| grep -q "${STATUS_NOT_FOUND}"
\ No newline at end of file
@@ -0,0 +1,8 @@
+#!/bin/bash
+
+# pass-through template description is streamed from the endpoint
+
+curl -w "%{http_code}\n" -f -s \
+  -H "Accept: application/n-triples" \
+  "${BASE_URL}pass-through/found" \
+| grep -q "${STATUS_OK}"
\ No newline at end of file
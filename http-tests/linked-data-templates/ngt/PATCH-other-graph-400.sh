@@ -0,0 +1,15 @@
+#!/bin/bash
+
+# WHERE pattern reading a graph other than the resource's own should give Bad Request
+
+(
+curl -w "%{http_code}\n" -s \
+     -X PATCH \
+     -H "Content-Type: application/sparql-update" \
+     --data-binary @- \
+    "${BASE_URL_WRITABLE}named-subject" <<EOF
+INSERT { ?this <http://example.com/named-predicate> ?o }
+WHERE { GRAPH <${BASE_URL_WRITABLE}graphs/another-name/> { ?s <http://example.com/named-predicate> ?o } }
+EOF
+) \
+| grep -q "${STATUS_BAD_REQUEST}"
\ No newline at end of file
@@ -0,0 +1,26 @@
+#!/bin/bash
+
+# re-initialize writable dataset
+
+initialize_dataset "$BASE_URL_WRITABLE" "../../dataset.trig" "$ENDPOINT_URL_WRITABLE"
+
+# patch resource description using SPARQL update
+
+(
+curl -w "%{http_code}\n" -f -s \
+     -X PATCH \
+     -H "Content-Type: application/sparql-update" \
+     --data-binary @- \
+    "${BASE_URL_WRITABLE}named-subject" <<EOF
+INSERT { ?this <http://example.com/named-predicate> "named object PATCH" }
+WHERE {}
+EOF
+) \
+| grep -q "${STATUS_NO_CONTENT}"
+
+# check that the resource description was patched
+
+curl -f -s \
+  -H "Accept: application/n-triples" \
+  "${BASE_URL_WRITABLE}named-subject" \
+| grep '"named object PATCH"' > /dev/null
\ No newline at end of file
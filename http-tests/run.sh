@@ -19,6 +19,7 @@ export STATUS_NOT_ACCEPTABLE=406
 export STATUS_UNSUPPORTED_MEDIA=415
 export STATUS_INTERNAL_SERVER_ERROR=500
 export STATUS_NOT_IMPLEMENTED=501
+export STATUS_SERVICE_UNAVAILABLE=503
 
 function run_tests()
 {
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.client.filter;
+
+import com.atomgraph.core.client.SPARQLClient;
+import com.atomgraph.processor.exception.DeadlineExceededException;
+import com.atomgraph.processor.util.Deadline;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.core.Form;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.UriBuilder;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.glassfish.jersey.client.ClientProperties;
+
+/**
+ * Client request filter that limits outgoing requests to the remaining time of the current request's {@link Deadline}.
+ * Sets the HTTP read timeout of every request and, if a parameter name is configured, adds the remaining time as that
+ * parameter to SPARQL queries (e.g. <code>timeout</code> in seconds, as understood by Fuseki), so that the endpoint can
+ * stop working on a query nobody is waiting for. No parameter is added by default, as services that do not support it
+ * may reject the query.
+ * Requests made after the deadline has passed are not sent.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class QueryTimeoutFilter implements ClientRequestFilter
+{
+    
+    /** Name of the Fuseki query timeout parameter */
+    public static final String TIMEOUT_PARAM_NAME = "timeout";
+    /** SPARQL query media type */
+    public static final MediaType SPARQL_QUERY_TYPE = MediaType.valueOf("application/sparql-query");
+
+    private final String paramName;
+    private final TimeUnit unit;
+    
+    /**
+     * Constructs filter that only sets the HTTP read timeout.
+     */
+    public QueryTimeoutFilter()
+    {
+        this(null, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Constructs filter that also passes the remaining time to SPARQL queries.
+     * 
+     * @param paramName name of the query timeout parameter, or null to not add it
+     * @param unit unit of the query timeout parameter value
+     */
+    public QueryTimeoutFilter(String paramName, TimeUnit unit)
+    {
+        if (unit == null) throw new IllegalArgumentException("TimeUnit cannot be null");
+        
+        this.paramName = paramName;
+        this.unit = unit;
+    }
+    
+    @Override
+    public void filter(ClientRequestContext request) throws IOException
+    {
+        Deadline deadline = Deadline.get();
+        if (deadline == null) return;
+        
+        long remaining = deadline.getRemaining(TimeUnit.MILLISECONDS);
+        if (remaining <= 0) throw new DeadlineExceededException("Request deadline passed before <" + request.getUri() + "> was requested");
+        
+        request.setProperty(ClientProperties.READ_TIMEOUT, (int)Math.min(Integer.MAX_VALUE, remaining));
+        if (getParamName() != null && isQuery(request))
+            request.setUri(UriBuilder.fromUri(request.getUri()).
+                queryParam(getParamName(), getTimeout(remaining)).
+                build());
+    }
+    
+    /**
+     * Formats the remaining time as the query timeout parameter value.
+     * Seconds keep millisecond precision, other units are truncated to whole numbers.
+     * 
+     * @param remaining remaining time in milliseconds
+     * @return parameter value
+     */
+    public String getTimeout(long remaining)
+    {
+        if (getUnit() == TimeUnit.SECONDS) return String.format(Locale.ROOT, "%.3f", remaining / 1000d);
+        
+        return String.valueOf(getUnit().convert(remaining, TimeUnit.MILLISECONDS));
+    }
+    
+    /**
+     * Returns true if the request is a SPARQL query.
+     * 
+     * @param request client request
+     * @return true if the query is in the URI, in a form body, or is the body
+     */
+    public boolean isQuery(ClientRequestContext request)
+    {
+        String rawQuery = request.getUri().getRawQuery();
+        if (rawQuery != null && (rawQuery.startsWith(SPARQLClient.QUERY_PARAM_NAME + "=") || rawQuery.contains("&" + SPARQLClient.QUERY_PARAM_NAME + "=")))
+            return true;
+        
+        if (request.getEntity() instanceof Form)
+            return ((Form)request.getEntity()).asMap().containsKey(SPARQLClient.QUERY_PARAM_NAME);
+        
+        return request.getMediaType() != null && request.getMediaType().isCompatible(SPARQL_QUERY_TYPE);
+    }
+    
+    public String getParamName()
+    {
+        return paramName;
+    }
+    
+    public TimeUnit getUnit()
+    {
+        return unit;
+    }
+    
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.client.filter;
+
+import com.atomgraph.processor.util.TrafficLog;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import java.io.IOException;
+
+/**
+ * Client filter that adds the time of remote requests to the {@link TrafficLog} record of the current request.
+ * The time is measured until the response headers are received.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class RemoteTimingFilter implements ClientRequestFilter, ClientResponseFilter
+{
+    
+    /** Name of the request property that holds the start time */
+    public static final String START_PROPERTY_NAME = RemoteTimingFilter.class.getName() + ".start";
+
+    @Override
+    public void filter(ClientRequestContext request) throws IOException
+    {
+        if (TrafficLog.getCurrent() != null) request.setProperty(START_PROPERTY_NAME, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ClientRequestContext request, ClientResponseContext response) throws IOException
+    {
+        TrafficLog.Record record = TrafficLog.getCurrent();
+        if (record != null && request.getProperty(START_PROPERTY_NAME) instanceof Long start) record.addRemote(System.nanoTime() - start);
+    }
+    
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.exception;
+
+import jakarta.ws.rs.ProcessingException;
+
+/**
+ * Thrown when the deadline of a request passes before a remote SPARQL request could be made.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see com.atomgraph.processor.util.Deadline
+ */
+public class DeadlineExceededException extends ProcessingException
+{
+
+    public DeadlineExceededException(String message)
+    {
+        super(message);
+    }
+    
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.factory;
+
+import com.atomgraph.processor.model.Application;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.hk2.api.Factory;
+
+/**
+ * LDT application provider.
+ * Selects the application (sitemap) configured for the base URI of the current request.
+ * 
+ * @see com.atomgraph.processor.server.Application#getApplication(java.net.URI)
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+@Provider
+public class ApplicationFactory implements Factory<Application>
+{
+
+    @Context UriInfo uriInfo;
+    @Context jakarta.ws.rs.core.Application system;
+    
+    @Override
+    public Application provide()
+    {
+        return getApplication();
+    }
+
+    @Override
+    public void dispose(Application application)
+    {
+    }
+    
+    public Application getApplication()
+    {
+        return getSystem().getApplication(getUriInfo().getBaseUri());
+    }
+    
+    public com.atomgraph.processor.server.Application getSystem()
+    {
+        return (com.atomgraph.processor.server.Application)system;
+    }
+    
+    public UriInfo getUriInfo()
+    {
+        return uriInfo;
+    }
+    
+}
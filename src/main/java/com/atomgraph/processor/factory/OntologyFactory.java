@@ -15,21 +15,34 @@
  */
 package com.atomgraph.processor.factory;
 
+import com.atomgraph.processor.model.Application;
 import java.util.Optional;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.ext.Provider;
 import org.apache.jena.ontology.Ontology;
 import org.glassfish.hk2.api.Factory;
 
 /**
- *
+ * Sitemap ontology provider.
+ * Unless a fixed ontology is given, provides the ontology of the current LDT application.
+ * 
+ * @see com.atomgraph.processor.factory.ApplicationFactory
  * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
  */
 @Provider
 public class OntologyFactory implements Factory<Optional<Ontology>>
 {
 
+    @Inject jakarta.inject.Provider<Application> application;
+    
     private final Ontology ontology;
     
+    @Inject
+    public OntologyFactory()
+    {
+        this(null);
+    }
+    
     public OntologyFactory(Ontology ontology)
     {
         this.ontology = ontology;
@@ -48,7 +61,14 @@ public class OntologyFactory implements Factory<Optional<Ontology>>
     
     protected Optional<Ontology> getOntology()
     {
-        return Optional.of(ontology);
+        if (ontology != null) return Optional.of(ontology);
+        
+        return Optional.of(getApplication().getOntology());
+    }
+    
+    public Application getApplication()
+    {
+        return application.get();
     }
     
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.factory;
+
+import com.atomgraph.core.model.Service;
+import com.atomgraph.processor.server.filter.response.PrimaryAffinityFilter;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.hk2.api.Factory;
+
+/**
+ * SPARQL service provider.
+ * If read replicas are configured, unsafe requests and requests from clients that have recently written
+ * get the primary service, so that they read their own writes. Other requests get the replicated service.
+ * 
+ * @see com.atomgraph.processor.model.impl.replica.ServiceImpl
+ * @see PrimaryAffinityFilter
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+@Provider
+public class ServiceFactory implements Factory<Service>
+{
+
+    @Context Request request;
+    @Context HttpHeaders httpHeaders;
+    @Context jakarta.ws.rs.core.Application system;
+    
+    @Override
+    public Service provide()
+    {
+        return getService();
+    }
+
+    @Override
+    public void dispose(Service service)
+    {
+    }
+    
+    public Service getService()
+    {
+        Service service = getSystem().getService();
+        
+        if (service instanceof com.atomgraph.processor.model.impl.replica.ServiceImpl && isPrimaryRequired())
+            return ((com.atomgraph.processor.model.impl.replica.ServiceImpl)service).getPrimary();
+        
+        return service;
+    }
+    
+    /**
+     * Returns true if the current request has to be served by the primary.
+     * 
+     * @return true if the request is unsafe or the client has written recently
+     */
+    public boolean isPrimaryRequired()
+    {
+        String method = getRequest().getMethod();
+        if (!method.equals(HttpMethod.GET) && !method.equals(HttpMethod.HEAD)) return true;
+        
+        return getHttpHeaders().getCookies().containsKey(PrimaryAffinityFilter.COOKIE_NAME);
+    }
+    
+    public com.atomgraph.processor.server.Application getSystem()
+    {
+        return (com.atomgraph.processor.server.Application)system;
+    }
+    
+    public Request getRequest()
+    {
+        return request;
+    }
+    
+    public HttpHeaders getHttpHeaders()
+    {
+        return httpHeaders;
+    }
+    
+}
@@ -15,6 +15,7 @@
  */
 package com.atomgraph.processor.factory;
 
+import com.atomgraph.processor.model.Application;
 import com.atomgraph.processor.model.Template;
 import com.atomgraph.processor.model.TemplateCall;
 import com.atomgraph.processor.model.impl.TemplateCallImpl;
@@ -46,7 +47,9 @@ public class TemplateCallFactory implements Factory<Optional<TemplateCall>>
 
     @Context UriInfo uriInfo;
     
-    @Inject Optional<Ontology> ontology;
+    // providers, as HK2 creates another factory instance to dispose the template call, after the request-scoped instances may have been released
+    @Inject jakarta.inject.Provider<Optional<Ontology>> ontology;
+    @Inject jakarta.inject.Provider<Application> application;
 
     @Override
     public Optional<TemplateCall> provide()
@@ -92,14 +95,26 @@ public class TemplateCallFactory implements Factory<Optional<TemplateCall>>
 
     public Template getTemplate(Ontology ontology, UriInfo uriInfo)
     {
-        return new TemplateMatcher(ontology).match(uriInfo.getAbsolutePath(), uriInfo.getBaseUri());
+        return getTemplateMatcher(ontology).match(uriInfo.getAbsolutePath(), uriInfo.getBaseUri());
+    }
+    
+    public TemplateMatcher getTemplateMatcher(Ontology ontology)
+    {
+        if (ontology.equals(getApplication().getOntology())) return getApplication().getTemplateMatcher(); // precomputed when the sitemap was loaded
+        
+        return new TemplateMatcher(ontology);
     }
     
     public Optional<Ontology> getOntology()
     {
-        return ontology;
+        return ontology.get();
     }
 
+    public Application getApplication()
+    {
+        return application.get();
+    }
+    
     public UriInfo getUriInfo()
     {
         return uriInfo;
@@ -15,7 +15,10 @@
  */
 package com.atomgraph.processor.model;
 
-import org.apache.jena.rdf.model.Resource;
+import com.atomgraph.processor.util.TemplateMatcher;
+import java.net.URI;
+import java.util.Optional;
+import org.apache.jena.ontology.Ontology;
 
 /**
  *
@@ -24,6 +27,45 @@ import org.apache.jena.rdf.model.Resource;
 public interface Application extends com.atomgraph.core.model.Application
 {
     
-    Resource getOntology();
+    Ontology getOntology();
+    
+    /**
+     * Returns the Java class that handles requests matched by the given template.
+     * The value is resolved from <code>ldt:loadClass</code> when the sitemap is loaded.
+     * 
+     * @param template LDT template
+     * @return Java class or null, if the template does not specify one
+     */
+    Class getLoadClass(Template template);
+    
+    /**
+     * Returns template matcher with the templates of the sitemap (including imports) precomputed.
+     * 
+     * @return template matcher
+     */
+    TemplateMatcher getTemplateMatcher();
+    
+    /**
+     * Returns <code>Link</code> header value with <code>ldt:base</code> relation.
+     * 
+     * @param baseURI base URI of the current request
+     * @return header value
+     */
+    String getBaseLink(URI baseURI);
+    
+    /**
+     * Returns pre-rendered <code>Link</code> header value with <code>ldt:ontology</code> relation.
+     * 
+     * @return header value, or empty if the application has no ontology
+     */
+    Optional<String> getOntologyLink();
+    
+    /**
+     * Returns pre-rendered <code>Link</code> header value with <code>ldt:template</code> relation.
+     * 
+     * @param template matched LDT template
+     * @return header value
+     */
+    String getTemplateLink(Template template);
     
 }
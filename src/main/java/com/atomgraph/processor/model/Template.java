@@ -70,6 +70,20 @@ public interface Template extends OntClass
     
     CacheControl getCacheControl();
     
+    Integer getMaxConcurrency();
+    
+    Integer getMaxQueueSize();
+    
+    Long getTimeout();
+    
+    boolean isPassThrough();
+    
+    Integer getPageSize();
+    
+    String getCursor();
+    
+    Integer getPrefetch();
+    
     List<Template> getSuperTemplates();
 
 }
@@ -16,8 +16,25 @@
 package com.atomgraph.processor.model.impl;
 
 import com.atomgraph.core.model.Service;
+import com.atomgraph.core.util.Link;
 import com.atomgraph.processor.model.Application;
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.util.TemplateMatcher;
+import com.atomgraph.processor.vocabulary.LDT;
+import com.atomgraph.server.exception.OntologyException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.jena.ontology.Ontology;
+import org.apache.jena.rdf.model.ResIterator;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.sparql.util.ClsLoader;
+import org.apache.jena.vocabulary.RDF;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  *
@@ -25,19 +42,131 @@ import org.apache.jena.rdf.model.Resource;
  */
 public class ApplicationImpl implements Application
 {
-    private final Resource ontology;
+    private static final Logger log = LoggerFactory.getLogger(ApplicationImpl.class);
+    
+    /** Maximum number of distinct base URIs for which <code>Link</code> header values are cached */
+    public static final int MAX_BASE_LINKS = 32;
+
+    private final Ontology ontology;
     private final Service service;
+    private final TemplateMatcher templateMatcher;
+    private final Map<Template, Class> loadClasses;
+    private final Map<Template, String> templateLinks;
+    private final String ontologyLink;
+    private final Map<URI, String> baseLinks = new ConcurrentHashMap<>();
 
-    public ApplicationImpl(Service service, Resource ontology)
+    /**
+     * Constructs LDT application from its SPARQL service and loaded sitemap ontology.
+     * <code>ldt:loadClass</code> values of all templates in the sitemap (including imports) are resolved eagerly,
+     * so that misconfigured classes fail on startup instead of on request. Templates are precomputed for matching.
+     * <code>Link</code> response header values of the ontology and its templates are pre-rendered as well.
+     * 
+     * @param service SPARQL service
+     * @param ontology sitemap ontology
+     */
+    public ApplicationImpl(Service service, Ontology ontology)
     {
-        if (ontology == null) throw new IllegalArgumentException("Resource cannot be null");
+        if (ontology == null) throw new IllegalArgumentException("Ontology cannot be null");
         if (service == null) throw new IllegalArgumentException("Service cannot be null");
         this.ontology = ontology;
         this.service = service;
+        this.templateMatcher = new TemplateMatcher(ontology);
+        this.loadClasses = Collections.unmodifiableMap(loadClasses(ontology));
+        this.templateLinks = Collections.unmodifiableMap(templateLinks(ontology));
+        this.ontologyLink = new Link(URI.create(ontology.getURI()), LDT.ontology.getURI(), null).toString();
+    }
+    
+    /**
+     * Resolves Java classes of all templates in the sitemap that have an (inherited) <code>ldt:loadClass</code> value.
+     * 
+     * @param ontology sitemap ontology
+     * @return template to class map
+     */
+    public static Map<Template, Class> loadClasses(Ontology ontology)
+    {
+        if (ontology == null) throw new IllegalArgumentException("Ontology cannot be null");
+
+        Map<Template, Class> classes = new HashMap<>();
+        
+        ResIterator it = ontology.getOntModel().listResourcesWithProperty(RDF.type, LDT.Template); // includes imported templates
+        try
+        {
+            while (it.hasNext())
+            {
+                Template template = it.next().as(Template.class);
+                Class clazz = loadClass(template);
+                if (clazz != null) classes.put(template, clazz);
+            }
+        }
+        finally
+        {
+            it.close();
+        }
+        
+        return classes;
+    }
+    
+    /**
+     * Renders <code>Link</code> header values that point to the templates in the sitemap.
+     * 
+     * @param ontology sitemap ontology
+     * @return template to header value map
+     */
+    public static Map<Template, String> templateLinks(Ontology ontology)
+    {
+        if (ontology == null) throw new IllegalArgumentException("Ontology cannot be null");
+
+        Map<Template, String> links = new HashMap<>();
+        
+        ResIterator it = ontology.getOntModel().listResourcesWithProperty(RDF.type, LDT.Template); // includes imported templates
+        try
+        {
+            while (it.hasNext())
+            {
+                Template template = it.next().as(Template.class);
+                if (template.isURIResource()) links.put(template, new Link(URI.create(template.getURI()), LDT.template.getURI(), null).toString());
+            }
+        }
+        finally
+        {
+            it.close();
+        }
+        
+        return links;
+    }
+    
+    /**
+     * Resolves the Java class of the given template from its <code>ldt:loadClass</code> value.
+     * 
+     * @param template LDT template
+     * @return Java class or null, if the template does not specify one
+     */
+    public static Class loadClass(Template template)
+    {
+        if (template == null) throw new IllegalArgumentException("Template cannot be null");
+        
+        Resource javaClass = template.getLoadClass();
+        if (javaClass == null) return null;
+        
+        if (!javaClass.isURIResource())
+        {
+            if (log.isErrorEnabled()) log.error("ldt:loadClass value of template '{}' is not a URI resource", template);
+            throw new OntologyException("ldt:loadClass value of template '" + template + "' is not a URI resource");
+        }
+
+        Class clazz = ClsLoader.loadClass(javaClass.getURI());
+        if (clazz == null)
+        {
+            if (log.isErrorEnabled()) log.error("Java class with URI '{}' could not be loaded", javaClass.getURI());
+            throw new OntologyException("Java class with URI '" + javaClass.getURI() + "' not found");
+        }
+
+        if (log.isDebugEnabled()) log.debug("Template '{}' loads Java class with URI: {}", template.getURI(), javaClass.getURI());
+        return clazz;
     }
     
     @Override
-    public Resource getOntology()
+    public Ontology getOntology()
     {
         return ontology;
     }
@@ -48,4 +177,54 @@ public class ApplicationImpl implements Application
         return service;
     }
     
+    @Override
+    public Class getLoadClass(Template template)
+    {
+        return getLoadClasses().get(template);
+    }
+    
+    public Map<Template, Class> getLoadClasses()
+    {
+        return loadClasses;
+    }
+    
+    @Override
+    public TemplateMatcher getTemplateMatcher()
+    {
+        return templateMatcher;
+    }
+    
+    @Override
+    public String getBaseLink(URI baseURI)
+    {
+        if (baseURI == null) throw new IllegalArgumentException("URI cannot be null");
+        
+        String link = baseLinks.get(baseURI);
+        if (link != null) return link;
+        
+        link = new Link(baseURI, LDT.base.getURI(), null).toString();
+        if (baseLinks.size() < MAX_BASE_LINKS) baseLinks.put(baseURI, link); // base URI comes from the request, do not let the cache grow unbounded
+        return link;
+    }
+    
+    @Override
+    public Optional<String> getOntologyLink()
+    {
+        return Optional.of(ontologyLink);
+    }
+    
+    @Override
+    public String getTemplateLink(Template template)
+    {
+        String link = getTemplateLinks().get(template);
+        if (link != null) return link;
+        
+        return new Link(URI.create(template.getURI()), LDT.template.getURI(), null).toString(); // template not from this sitemap
+    }
+    
+    public Map<Template, String> getTemplateLinks()
+    {
+        return templateLinks;
+    }
+    
 }
@@ -35,6 +35,7 @@ import org.apache.jena.rdf.model.StmtIterator;
 import org.apache.jena.vocabulary.RDF;
 import com.atomgraph.server.exception.OntologyException;
 import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.vocabulary.AP;
 import com.atomgraph.processor.vocabulary.LDT;
 import org.apache.jena.rdf.model.RDFList;
 import org.apache.jena.util.iterator.ExtendedIterator;
@@ -271,6 +272,98 @@ public class TemplateImpl extends OntClassImpl implements Template
         else return null;
     }
 
+    /**
+     * Returns maximum number of concurrent requests matching this template, specified with <code>ap:maxConcurrency</code>.
+     * 
+     * @return limit or null if unlimited
+     */
+    @Override
+    public Integer getMaxConcurrency()
+    {
+        Template lowest = getSelfOrSuperWithProperty(AP.maxConcurrency);
+        if (lowest != null) return lowest.getPropertyValue(AP.maxConcurrency).asLiteral().getInt();
+        else return null;
+    }
+    
+    /**
+     * Returns maximum number of requests waiting for the concurrency limit of this template, specified with <code>ap:maxQueueSize</code>.
+     * 
+     * @return queue size or null if not specified
+     */
+    @Override
+    public Integer getMaxQueueSize()
+    {
+        Template lowest = getSelfOrSuperWithProperty(AP.maxQueueSize);
+        if (lowest != null) return lowest.getPropertyValue(AP.maxQueueSize).asLiteral().getInt();
+        else return null;
+    }
+
+    /**
+     * Returns processing timeout of requests matching this template in milliseconds, specified with <code>ap:timeout</code>.
+     * 
+     * @return timeout or null if not specified
+     */
+    @Override
+    public Long getTimeout()
+    {
+        Template lowest = getSelfOrSuperWithProperty(AP.timeout);
+        if (lowest != null) return lowest.getPropertyValue(AP.timeout).asLiteral().getLong();
+        else return null;
+    }
+    
+    /**
+     * Returns true if endpoint responses for this template can be streamed to the client without parsing, specified with <code>ap:passThrough</code>.
+     * 
+     * @return true if pass-through is enabled
+     */
+    @Override
+    public boolean isPassThrough()
+    {
+        Template lowest = getSelfOrSuperWithProperty(AP.passThrough);
+        if (lowest != null) return lowest.getPropertyValue(AP.passThrough).asLiteral().getBoolean();
+        else return false;
+    }
+    
+    /**
+     * Returns the maximum number of keys per page of the description, specified with <code>ap:pageSize</code>.
+     * 
+     * @return page size or null if the description is not paginated
+     */
+    @Override
+    public Integer getPageSize()
+    {
+        Template lowest = getSelfOrSuperWithProperty(AP.pageSize);
+        if (lowest != null) return lowest.getPropertyValue(AP.pageSize).asLiteral().getInt();
+        else return null;
+    }
+    
+    /**
+     * Returns the name of the query variable that pages are keyed by, specified with <code>ap:cursor</code>.
+     * 
+     * @return variable name or null if not specified
+     */
+    @Override
+    public String getCursor()
+    {
+        Template lowest = getSelfOrSuperWithProperty(AP.cursor);
+        if (lowest != null) return lowest.getPropertyValue(AP.cursor).asLiteral().getString();
+        else return null;
+    }
+    
+    /**
+     * Returns the number of linked resources whose descriptions are prefetched, specified with <code>ap:prefetch</code>.
+     * The next page of a paginated description is prefetched as well.
+     * 
+     * @return number of linked resources or null if prefetching is disabled
+     */
+    @Override
+    public Integer getPrefetch()
+    {
+        Template lowest = getSelfOrSuperWithProperty(AP.prefetch);
+        if (lowest != null) return lowest.getPropertyValue(AP.prefetch).asLiteral().getInt();
+        else return null;
+    }
+
     @Override
     public List<Template> getSuperTemplates()
     {
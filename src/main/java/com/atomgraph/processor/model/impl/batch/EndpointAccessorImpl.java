@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.model.impl.batch;
+
+import com.atomgraph.core.model.EndpointAccessor;
+import com.atomgraph.core.model.Service;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.ResultSetRewindable;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.sparql.modify.request.UpdateDataInsert;
+import org.apache.jena.update.Update;
+import org.apache.jena.update.UpdateRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SPARQL endpoint accessor that group-commits concurrent <code>INSERT DATA</code> updates.
+ * The first caller to submit an update becomes the leader: it waits for the window to pass (or for the batch to fill up),
+ * merges the queued updates into one request and executes it on behalf of all callers.
+ * Every caller returns only after the combined update has succeeded.
+ * If the combined update fails, the updates are retried one by one so that each caller gets its own error.
+ * Queries and other updates are delegated unchanged.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class EndpointAccessorImpl implements EndpointAccessor
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(EndpointAccessorImpl.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    
+    private final Service service;
+    private final long window;
+    private final int maxBatchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition full = lock.newCondition();
+    private List<PendingUpdate> queue = new ArrayList<>();
+    private boolean leading = false;
+    
+    /**
+     * Constructs group-commit accessor.
+     * 
+     * @param service service that executes the updates
+     * @param window group-commit window in milliseconds
+     * @param maxBatchSize number of queued updates that ends the window early
+     */
+    public EndpointAccessorImpl(Service service, long window, int maxBatchSize)
+    {
+        if (service == null) throw new IllegalArgumentException("Service cannot be null");
+        if (window < 0) throw new IllegalArgumentException("Window cannot be negative");
+        if (maxBatchSize < 1) throw new IllegalArgumentException("Max batch size must be positive");
+        
+        this.service = service;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public Dataset loadDataset(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return getEndpointAccessor().loadDataset(query, defaultGraphUris, namedGraphUris);
+    }
+
+    @Override
+    public Model loadModel(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return getEndpointAccessor().loadModel(query, defaultGraphUris, namedGraphUris);
+    }
+
+    @Override
+    public ResultSetRewindable select(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return getEndpointAccessor().select(query, defaultGraphUris, namedGraphUris);
+    }
+
+    @Override
+    public boolean ask(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return getEndpointAccessor().ask(query, defaultGraphUris, namedGraphUris);
+    }
+
+    @Override
+    public void update(UpdateRequest updateRequest, List<URI> usingGraphUris, List<URI> usingNamedGraphUris)
+    {
+        if (updateRequest == null) throw new IllegalArgumentException("UpdateRequest cannot be null");
+        if (usingGraphUris == null) throw new IllegalArgumentException("List<URI> cannot be null");
+        if (usingNamedGraphUris == null) throw new IllegalArgumentException("List<URI> cannot be null");
+
+        if (!isBatchable(updateRequest, usingGraphUris, usingNamedGraphUris))
+        {
+            getEndpointAccessor().update(updateRequest, usingGraphUris, usingNamedGraphUris);
+            return;
+        }
+        
+        PendingUpdate pending = new PendingUpdate(updateRequest);
+        final boolean leader;
+        lock.lock();
+        try
+        {
+            queue.add(pending);
+            leader = !leading;
+            if (leader) leading = true;
+            else if (queue.size() >= getMaxBatchSize()) full.signal();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        
+        if (leader)
+        {
+            List<PendingUpdate> batch = awaitBatch();
+            try
+            {
+                commit(batch);
+            }
+            finally
+            {
+                // commit() only handles RuntimeExceptions; if it was cut short by an Error, the other callers must not wait forever
+                for (PendingUpdate queued : batch)
+                    queued.getFuture().completeExceptionally(new IllegalStateException("Group commit did not complete"));
+            }
+        }
+        
+        try
+        {
+            pending.getFuture().join();
+        }
+        catch (CompletionException ex)
+        {
+            if (ex.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw ex;
+        }
+    }
+    
+    /**
+     * Returns true if the update only inserts data, which makes it safe to merge with other updates.
+     * 
+     * @param updateRequest update request
+     * @param usingGraphUris <code>USING</code> graph URIs
+     * @param usingNamedGraphUris <code>USING NAMED</code> graph URIs
+     * @return true if batchable
+     */
+    public boolean isBatchable(UpdateRequest updateRequest, List<URI> usingGraphUris, List<URI> usingNamedGraphUris)
+    {
+        if (!usingGraphUris.isEmpty() || !usingNamedGraphUris.isEmpty()) return false;
+        
+        for (Update update : updateRequest.getOperations())
+            if (!(update instanceof UpdateDataInsert)) return false;
+        
+        return true;
+    }
+    
+    /**
+     * Waits for the window to pass or the batch to fill up, then takes over the queued updates.
+     * 
+     * @return queued updates
+     */
+    protected List<PendingUpdate> awaitBatch()
+    {
+        lock.lock();
+        try
+        {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(getWindow());
+            while (queue.size() < getMaxBatchSize() && nanos > 0)
+                try
+                {
+                    nanos = full.awaitNanos(nanos);
+                }
+                catch (InterruptedException ex)
+                {
+                    Thread.currentThread().interrupt(); // commit what has been queued so far
+                    break;
+                }
+
+            List<PendingUpdate> batch = queue;
+            queue = new ArrayList<>();
+            leading = false; // the next caller leads the next batch
+            return batch;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Executes the batch as a single update request and completes the callers' futures.
+     * Futures that are still pending when this method returns or throws are completed exceptionally by the leader.
+     * 
+     * @param batch queued updates
+     */
+    protected void commit(List<PendingUpdate> batch)
+    {
+        if (batch.size() > 1)
+        {
+            UpdateRequest combined = new UpdateRequest();
+            for (PendingUpdate pending : batch)
+                for (Update update : pending.getUpdateRequest().getOperations())
+                    combined.add(update);
+            
+            try
+            {
+                if (log.isDebugEnabled()) log.debug("Group-committing {} INSERT DATA updates", batch.size());
+                getEndpointAccessor().update(combined, Collections.<URI>emptyList(), Collections.<URI>emptyList());
+                batch.forEach(pending -> pending.getFuture().complete(null));
+                return;
+            }
+            catch (RuntimeException ex)
+            {
+                if (log.isWarnEnabled()) log.warn("Group commit of {} updates failed, retrying them one by one", batch.size(), ex);
+            }
+        }
+        
+        for (PendingUpdate pending : batch)
+            try
+            {
+                getEndpointAccessor().update(pending.getUpdateRequest(), Collections.<URI>emptyList(), Collections.<URI>emptyList());
+                pending.getFuture().complete(null);
+            }
+            catch (RuntimeException ex)
+            {
+                pending.getFuture().completeExceptionally(ex);
+            }
+    }
+    
+    public EndpointAccessor getEndpointAccessor()
+    {
+        return getService().getEndpointAccessor();
+    }
+    
+    public Service getService()
+    {
+        return service;
+    }
+    
+    public long getWindow()
+    {
+        return window;
+    }
+    
+    public int getMaxBatchSize()
+    {
+        return maxBatchSize;
+    }
+    
+    /**
+     * Update waiting to be committed, and the future its caller waits on.
+     */
+    protected static class PendingUpdate
+    {
+        
+        private final UpdateRequest updateRequest;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        public PendingUpdate(UpdateRequest updateRequest)
+        {
+            this.updateRequest = updateRequest;
+        }
+
+        public UpdateRequest getUpdateRequest()
+        {
+            return updateRequest;
+        }
+
+        public CompletableFuture<Void> getFuture()
+        {
+            return future;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.model.impl.batch;
+
+import com.atomgraph.core.model.DatasetAccessor;
+import com.atomgraph.core.model.DatasetQuadAccessor;
+import com.atomgraph.core.model.EndpointAccessor;
+import com.atomgraph.core.model.Service;
+
+/**
+ * Service that group-commits concurrent <code>INSERT DATA</code> updates.
+ * Updates submitted within a short window are merged into a single update request.
+ * Graph Store and Quad Store access is delegated unchanged.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see EndpointAccessorImpl
+ */
+public class ServiceImpl implements Service
+{
+
+    private final Service service;
+    private final EndpointAccessor endpointAccessor;
+    
+    /**
+     * Constructs group-commit service.
+     * 
+     * @param service wrapped service
+     * @param window group-commit window in milliseconds
+     */
+    public ServiceImpl(Service service, long window)
+    {
+        this(service, window, EndpointAccessorImpl.DEFAULT_MAX_BATCH_SIZE);
+    }
+    
+    /**
+     * Constructs group-commit service.
+     * 
+     * @param service wrapped service
+     * @param window group-commit window in milliseconds
+     * @param maxBatchSize number of queued updates that ends the window early
+     */
+    public ServiceImpl(Service service, long window, int maxBatchSize)
+    {
+        if (service == null) throw new IllegalArgumentException("Service cannot be null");
+        
+        this.service = service;
+        this.endpointAccessor = new EndpointAccessorImpl(service, window, maxBatchSize);
+    }
+    
+    @Override
+    public EndpointAccessor getEndpointAccessor()
+    {
+        return endpointAccessor;
+    }
+
+    @Override
+    public DatasetAccessor getDatasetAccessor()
+    {
+        return getService().getDatasetAccessor();
+    }
+
+    @Override
+    public DatasetQuadAccessor getDatasetQuadAccessor()
+    {
+        return getService().getDatasetQuadAccessor();
+    }
+    
+    public Service getService()
+    {
+        return service;
+    }
+    
+}
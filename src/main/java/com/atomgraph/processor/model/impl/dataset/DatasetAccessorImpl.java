@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.model.impl.dataset;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.system.Txn;
+
+/**
+ * Transactional Graph Store accessor of a local dataset.
+ * Returned models are copies, so that they can be read outside of the transaction.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class DatasetAccessorImpl extends com.atomgraph.core.model.impl.dataset.DatasetAccessorImpl
+{
+
+    public DatasetAccessorImpl(Dataset dataset)
+    {
+        super(dataset);
+    }
+
+    @Override
+    public Model getModel()
+    {
+        return Txn.calculateRead(getDataset(), () -> ModelFactory.createDefaultModel().add(super.getModel()));
+    }
+
+    @Override
+    public Model getModel(String uri)
+    {
+        return Txn.calculateRead(getDataset(), () -> ModelFactory.createDefaultModel().add(super.getModel(uri)));
+    }
+
+    @Override
+    public boolean containsModel(String uri)
+    {
+        return Txn.calculateRead(getDataset(), () -> super.containsModel(uri));
+    }
+
+    @Override
+    public void putModel(Model model)
+    {
+        Txn.executeWrite(getDataset(), () -> super.putModel(model));
+    }
+
+    @Override
+    public void putModel(String uri, Model model)
+    {
+        Txn.executeWrite(getDataset(), () -> super.putModel(uri, model));
+    }
+
+    @Override
+    public void deleteDefault()
+    {
+        Txn.executeWrite(getDataset(), () -> super.deleteDefault());
+    }
+
+    @Override
+    public void deleteModel(String uri)
+    {
+        Txn.executeWrite(getDataset(), () -> super.deleteModel(uri));
+    }
+
+    @Override
+    public void add(Model model)
+    {
+        Txn.executeWrite(getDataset(), () -> super.add(model));
+    }
+
+    @Override
+    public void add(String uri, Model model)
+    {
+        Txn.executeWrite(getDataset(), () -> super.add(uri, model));
+    }
+    
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.model.impl.dataset;
+
+import java.util.Iterator;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.system.Txn;
+
+/**
+ * Transactional Quad Store accessor of a local dataset.
+ * The returned dataset is a copy, so that it can be read outside of the transaction.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class DatasetQuadAccessorImpl extends com.atomgraph.core.model.impl.dataset.DatasetQuadAccessorImpl
+{
+
+    public DatasetQuadAccessorImpl(Dataset dataset)
+    {
+        super(dataset);
+    }
+
+    @Override
+    public Dataset get()
+    {
+        return Txn.calculateRead(getDataset(), () -> copy(super.get()));
+    }
+
+    @Override
+    public void add(Dataset dataset)
+    {
+        Txn.executeWrite(getDataset(), () -> super.add(dataset));
+    }
+
+    @Override
+    public void replace(Dataset dataset)
+    {
+        Txn.executeWrite(getDataset(), () -> super.replace(dataset)); // delete and add in the same transaction
+    }
+
+    @Override
+    public void patch(Dataset dataset)
+    {
+        Txn.executeWrite(getDataset(), () -> super.patch(dataset));
+    }
+
+    @Override
+    public void delete()
+    {
+        Txn.executeWrite(getDataset(), () -> super.delete());
+    }
+    
+    /**
+     * Copies the default and named graphs of a dataset into a new in-memory dataset.
+     * 
+     * @param dataset dataset
+     * @return dataset copy
+     */
+    public static Dataset copy(Dataset dataset)
+    {
+        if (dataset == null) throw new IllegalArgumentException("Dataset cannot be null");
+
+        Dataset copy = DatasetFactory.create(ModelFactory.createDefaultModel().add(dataset.getDefaultModel()));
+        Iterator<String> it = dataset.listNames();
+        while (it.hasNext())
+        {
+            String graphURI = it.next();
+            copy.addNamedModel(graphURI, ModelFactory.createDefaultModel().add(dataset.getNamedModel(graphURI)));
+        }
+        
+        return copy;
+    }
+    
+}
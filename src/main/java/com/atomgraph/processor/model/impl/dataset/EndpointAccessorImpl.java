@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.model.impl.dataset;
+
+import java.net.URI;
+import java.util.List;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.ResultSetRewindable;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.sparql.modify.request.UpdateWithUsing;
+import org.apache.jena.system.Txn;
+import org.apache.jena.update.Update;
+import org.apache.jena.update.UpdateExecution;
+import org.apache.jena.update.UpdateRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transactional SPARQL endpoint accessor of a local dataset.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class EndpointAccessorImpl extends com.atomgraph.core.model.impl.dataset.EndpointAccessorImpl
+{
+
+    private static final Logger log = LoggerFactory.getLogger(EndpointAccessorImpl.class);
+
+    public EndpointAccessorImpl(Dataset dataset)
+    {
+        super(dataset);
+    }
+    
+    @Override
+    public Dataset loadDataset(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return Txn.calculateRead(getDataset(), () -> super.loadDataset(query, defaultGraphUris, namedGraphUris));
+    }
+
+    @Override
+    public Model loadModel(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return Txn.calculateRead(getDataset(), () -> super.loadModel(query, defaultGraphUris, namedGraphUris));
+    }
+
+    @Override
+    public ResultSetRewindable select(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return Txn.calculateRead(getDataset(), () -> super.select(query, defaultGraphUris, namedGraphUris));
+    }
+
+    @Override
+    public boolean ask(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return Txn.calculateRead(getDataset(), () -> super.ask(query, defaultGraphUris, namedGraphUris));
+    }
+    
+    /**
+     * Executes SPARQL update on the dataset in a write transaction.
+     * <code>USING</code> and <code>USING NAMED</code> graphs are added to the update operations that support them.
+     * 
+     * @param updateRequest update request
+     * @param usingGraphUris <code>USING</code> graph URIs
+     * @param usingNamedGraphUris <code>USING NAMED</code> graph URIs
+     */
+    @Override
+    public void update(UpdateRequest updateRequest, List<URI> usingGraphUris, List<URI> usingNamedGraphUris)
+    {
+        if (updateRequest == null) throw new IllegalArgumentException("UpdateRequest cannot be null");
+        if (usingGraphUris == null) throw new IllegalArgumentException("List<URI> cannot be null");
+        if (usingNamedGraphUris == null) throw new IllegalArgumentException("List<URI> cannot be null");
+        
+        if (log.isDebugEnabled()) log.debug("Local Dataset UpdateRequest: {}", updateRequest);
+        if (!usingGraphUris.isEmpty() || !usingNamedGraphUris.isEmpty())
+            for (Update update : updateRequest.getOperations())
+                if (update instanceof UpdateWithUsing updateWithUsing)
+                {
+                    usingGraphUris.forEach(uri -> updateWithUsing.addUsing(NodeFactory.createURI(uri.toString())));
+                    usingNamedGraphUris.forEach(uri -> updateWithUsing.addUsingNamed(NodeFactory.createURI(uri.toString())));
+                }
+        
+        Txn.executeWrite(getDataset(), () -> UpdateExecution.dataset(getDataset()).update(updateRequest).execute());
+    }
+    
+}
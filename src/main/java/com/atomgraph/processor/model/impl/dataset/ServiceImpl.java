@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.model.impl.dataset;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.core.model.DatasetAccessor;
+import com.atomgraph.core.model.DatasetQuadAccessor;
+import com.atomgraph.core.model.EndpointAccessor;
+import org.apache.jena.query.Dataset;
+
+/**
+ * Local dataset service with transactional access.
+ * Every query runs in a read transaction and every update in a write transaction.
+ * With a dataset that supports MVCC (such as TIM, created by <code>DatasetFactory.createTxnMem()</code>) readers do not
+ * block on writers and never see partially applied updates.
+ * Unlike {@link com.atomgraph.core.model.impl.dataset.ServiceImpl}, SPARQL updates are executed and not discarded.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class ServiceImpl extends com.atomgraph.core.model.impl.dataset.ServiceImpl
+{
+
+    public ServiceImpl(Dataset dataset, MediaTypes mediaTypes)
+    {
+        super(dataset, mediaTypes);
+        if (!dataset.supportsTransactions()) throw new IllegalArgumentException("Dataset must support transactions");
+    }
+
+    @Override
+    public EndpointAccessor getEndpointAccessor()
+    {
+        return new EndpointAccessorImpl(getDataset());
+    }
+
+    @Override
+    public DatasetAccessor getDatasetAccessor()
+    {
+        return new DatasetAccessorImpl(getDataset());
+    }
+
+    @Override
+    public DatasetQuadAccessor getDatasetQuadAccessor()
+    {
+        return new DatasetQuadAccessorImpl(getDataset());
+    }
+    
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.model.impl.replica;
+
+import com.atomgraph.core.model.DatasetAccessor;
+import org.apache.jena.rdf.model.Model;
+
+/**
+ * Graph Store accessor that sends graph reads to read replicas and graph writes to the primary.
+ * Only replicas configured with their own Graph Store are used.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see ServiceImpl#read(java.util.function.Function, boolean)
+ */
+public class DatasetAccessorImpl implements DatasetAccessor
+{
+
+    private final ServiceImpl service;
+    
+    public DatasetAccessorImpl(ServiceImpl service)
+    {
+        if (service == null) throw new IllegalArgumentException("ServiceImpl cannot be null");
+        
+        this.service = service;
+    }
+
+    @Override
+    public Model getModel()
+    {
+        return getService().read(s -> s.getDatasetAccessor().getModel(), true);
+    }
+
+    @Override
+    public Model getModel(String uri)
+    {
+        return getService().read(s -> s.getDatasetAccessor().getModel(uri), true);
+    }
+
+    @Override
+    public boolean containsModel(String uri)
+    {
+        return getService().read(s -> s.getDatasetAccessor().containsModel(uri), true);
+    }
+
+    @Override
+    public void putModel(Model model)
+    {
+        getPrimary().putModel(model);
+    }
+
+    @Override
+    public void putModel(String uri, Model model)
+    {
+        getPrimary().putModel(uri, model);
+    }
+
+    @Override
+    public void deleteDefault()
+    {
+        getPrimary().deleteDefault();
+    }
+
+    @Override
+    public void deleteModel(String uri)
+    {
+        getPrimary().deleteModel(uri);
+    }
+
+    @Override
+    public void add(Model model)
+    {
+        getPrimary().add(model);
+    }
+
+    @Override
+    public void add(String uri, Model model)
+    {
+        getPrimary().add(uri, model);
+    }
+    
+    public DatasetAccessor getPrimary()
+    {
+        return getService().getPrimary().getDatasetAccessor();
+    }
+    
+    public ServiceImpl getService()
+    {
+        return service;
+    }
+    
+}
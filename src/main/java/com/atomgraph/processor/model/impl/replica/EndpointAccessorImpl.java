@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.model.impl.replica;
+
+import com.atomgraph.core.model.EndpointAccessor;
+import java.net.URI;
+import java.util.List;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.ResultSetRewindable;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.update.UpdateRequest;
+
+/**
+ * SPARQL endpoint accessor that sends queries to read replicas and updates to the primary.
+ * Slow queries are hedged if the service has a hedge budget.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see ServiceImpl#hedgedRead(java.util.function.Function)
+ */
+public class EndpointAccessorImpl implements EndpointAccessor
+{
+
+    private final ServiceImpl service;
+    
+    public EndpointAccessorImpl(ServiceImpl service)
+    {
+        if (service == null) throw new IllegalArgumentException("ServiceImpl cannot be null");
+        
+        this.service = service;
+    }
+
+    @Override
+    public Dataset loadDataset(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return getService().hedgedRead(s -> s.getEndpointAccessor().loadDataset(query, defaultGraphUris, namedGraphUris));
+    }
+
+    @Override
+    public Model loadModel(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return getService().hedgedRead(s -> s.getEndpointAccessor().loadModel(query, defaultGraphUris, namedGraphUris));
+    }
+
+    @Override
+    public ResultSetRewindable select(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return getService().hedgedRead(s -> s.getEndpointAccessor().select(query, defaultGraphUris, namedGraphUris));
+    }
+
+    @Override
+    public boolean ask(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+    {
+        return getService().hedgedRead(s -> s.getEndpointAccessor().ask(query, defaultGraphUris, namedGraphUris));
+    }
+
+    @Override
+    public void update(UpdateRequest updateRequest, List<URI> usingGraphUris, List<URI> usingNamedGraphUris)
+    {
+        getService().getPrimary().getEndpointAccessor().update(updateRequest, usingGraphUris, usingNamedGraphUris);
+    }
+    
+    public ServiceImpl getService()
+    {
+        return service;
+    }
+    
+}
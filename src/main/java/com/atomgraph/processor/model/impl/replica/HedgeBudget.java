@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.model.impl.replica;
+
+/**
+ * Limits hedged reads to a percentage of all reads.
+ * Every read deposits a fraction of a token and every hedge spends a whole one, so hedges cannot
+ * amplify load beyond the budget even when all replicas slow down at once.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class HedgeBudget
+{
+    
+    /** Default maximum number of hedges that can be saved up */
+    public static final int DEFAULT_CAPACITY = 10;
+    /** Token units per hedge, so that a hundredth of a percent is counted exactly */
+    private static final long HEDGE = 10000;
+    
+    private final long deposit;
+    private final long capacity;
+    private long tokens;
+    
+    /**
+     * Constructs budget.
+     * 
+     * @param percent hedges as percentage of reads
+     */
+    public HedgeBudget(double percent)
+    {
+        this(percent, DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Constructs budget.
+     * 
+     * @param percent hedges as percentage of reads
+     * @param capacity maximum number of hedges that can be saved up
+     */
+    public HedgeBudget(double percent, int capacity)
+    {
+        if (percent <= 0 || percent > 100) throw new IllegalArgumentException("Percent must be between 0 and 100");
+        if (capacity < 1) throw new IllegalArgumentException("Capacity cannot be less than 1");
+        
+        this.deposit = Math.max(1, Math.round(percent * HEDGE / 100));
+        this.capacity = capacity * HEDGE;
+    }
+    
+    /**
+     * Accounts for a read.
+     */
+    public synchronized void deposit()
+    {
+        tokens = Math.min(capacity, tokens + deposit);
+    }
+    
+    /**
+     * Takes a token for a hedge, if one is available.
+     * 
+     * @return true if the hedge is allowed
+     */
+    public synchronized boolean tryHedge()
+    {
+        if (tokens < HEDGE) return false;
+        
+        tokens -= HEDGE;
+        return true;
+    }
+    
+}
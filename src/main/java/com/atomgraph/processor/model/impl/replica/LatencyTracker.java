@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.model.impl.replica;
+
+import java.util.Arrays;
+
+/**
+ * Tracks recent read latencies and derives the hedging threshold from them.
+ * Keeps a ring buffer of the latest samples and recomputes the percentile periodically, so that
+ * reading the threshold is cheap.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class LatencyTracker
+{
+    
+    /** Default number of samples kept */
+    public static final int DEFAULT_SIZE = 1024;
+    /** Default percentile of the threshold */
+    public static final double DEFAULT_PERCENTILE = 0.95;
+    /** Number of samples required before a threshold is available */
+    public static final int MIN_SAMPLES = 20;
+    /** Number of samples between threshold recomputations */
+    public static final int RECOMPUTE_INTERVAL = 64;
+    
+    private final long[] samples;
+    private final double percentile;
+    private long recorded;
+    private volatile long threshold = -1;
+    
+    public LatencyTracker()
+    {
+        this(DEFAULT_SIZE, DEFAULT_PERCENTILE);
+    }
+    
+    /**
+     * Constructs tracker.
+     * 
+     * @param size number of samples kept
+     * @param percentile threshold percentile between 0 and 1
+     */
+    public LatencyTracker(int size, double percentile)
+    {
+        if (size < MIN_SAMPLES) throw new IllegalArgumentException("Size cannot be less than " + MIN_SAMPLES);
+        if (percentile <= 0 || percentile > 1) throw new IllegalArgumentException("Percentile must be between 0 and 1");
+        
+        this.samples = new long[size];
+        this.percentile = percentile;
+    }
+    
+    /**
+     * Records a latency sample.
+     * 
+     * @param nanos latency in nanoseconds
+     */
+    public synchronized void record(long nanos)
+    {
+        samples[(int)(recorded % samples.length)] = nanos;
+        recorded++;
+        
+        if (recorded == MIN_SAMPLES || (recorded > MIN_SAMPLES && recorded % RECOMPUTE_INTERVAL == 0)) threshold = compute();
+    }
+    
+    /**
+     * Computes the percentile of the samples in the buffer.
+     * 
+     * @return latency in nanoseconds
+     */
+    protected long compute()
+    {
+        long[] sorted = Arrays.copyOf(samples, (int)Math.min(recorded, samples.length));
+        Arrays.sort(sorted);
+        
+        return sorted[Math.max(0, (int)Math.ceil(percentile * sorted.length) - 1)];
+    }
+    
+    /**
+     * Returns latency after which a read should be hedged.
+     * 
+     * @return latency in nanoseconds, or -1 if not enough samples have been recorded yet
+     */
+    public long getThreshold()
+    {
+        return threshold;
+    }
+    
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.model.impl.replica;
+
+import com.atomgraph.core.model.DatasetAccessor;
+import com.atomgraph.core.model.DatasetQuadAccessor;
+import com.atomgraph.core.model.EndpointAccessor;
+import com.atomgraph.core.model.Service;
+import com.atomgraph.processor.util.Deadline;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.ServerErrorException;
+import java.io.Closeable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Service that balances reads across read replicas of the primary service.
+ * Queries and Graph Store reads are sent to the healthy replica with the fewest outstanding requests;
+ * updates, Graph Store writes and Quad Store access always go to the primary.
+ * A replica that fails with a connection or server error is taken out of rotation until a periodic
+ * <code>ASK {}</code> health check succeeds again.
+ * If a hedge budget is set, a query that has not answered within the adaptive latency threshold is
+ * duplicated on another replica and the first response wins.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see EndpointAccessorImpl
+ * @see DatasetAccessorImpl
+ */
+public class ServiceImpl implements Service, Closeable
+{
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceImpl.class);
+    
+    /** Default interval between replica health checks in milliseconds */
+    public static final long DEFAULT_HEALTH_CHECK_INTERVAL = 10000L;
+    
+    private static final Query HEALTH_CHECK = QueryFactory.create("ASK {}");
+
+    private final Service primary;
+    private final List<Replica> replicas;
+    private final EndpointAccessor endpointAccessor;
+    private final DatasetAccessor datasetAccessor;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+    private final HedgeBudget hedgeBudget;
+    private final LatencyTracker latencyTracker;
+    private final ExecutorService hedgeExecutor;
+    
+    /**
+     * Constructs replicated service.
+     * 
+     * @param primary primary service
+     * @param replicas read replicas
+     */
+    public ServiceImpl(Service primary, List<Replica> replicas)
+    {
+        this(primary, replicas, DEFAULT_HEALTH_CHECK_INTERVAL);
+    }
+    
+    /**
+     * Constructs replicated service.
+     * 
+     * @param primary primary service
+     * @param replicas read replicas
+     * @param healthCheckInterval interval between health checks in milliseconds
+     */
+    public ServiceImpl(Service primary, List<Replica> replicas, long healthCheckInterval)
+    {
+        this(primary, replicas, healthCheckInterval, null);
+    }
+    
+    /**
+     * Constructs replicated service.
+     * 
+     * @param primary primary service
+     * @param replicas read replicas
+     * @param healthCheckInterval interval between health checks in milliseconds
+     * @param hedgeBudget hedged queries as percentage of all queries, or null to disable hedging
+     */
+    public ServiceImpl(Service primary, List<Replica> replicas, long healthCheckInterval, Double hedgeBudget)
+    {
+        if (primary == null) throw new IllegalArgumentException("Service cannot be null");
+        if (replicas == null) throw new IllegalArgumentException("List<Replica> cannot be null");
+        if (healthCheckInterval <= 0) throw new IllegalArgumentException("Health check interval must be positive");
+        
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.endpointAccessor = new EndpointAccessorImpl(this);
+        this.datasetAccessor = new DatasetAccessorImpl(this);
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "Replica health checker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, healthCheckInterval, healthCheckInterval, TimeUnit.MILLISECONDS);
+        
+        if (hedgeBudget != null)
+        {
+            this.hedgeBudget = new HedgeBudget(hedgeBudget);
+            this.latencyTracker = new LatencyTracker();
+            this.hedgeExecutor = Executors.newCachedThreadPool(runnable ->
+            {
+                Thread thread = new Thread(runnable, "Replica hedged read");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        else
+        {
+            this.hedgeBudget = null;
+            this.latencyTracker = null;
+            this.hedgeExecutor = null;
+        }
+    }
+    
+    @Override
+    public EndpointAccessor getEndpointAccessor()
+    {
+        return endpointAccessor;
+    }
+
+    @Override
+    public DatasetAccessor getDatasetAccessor()
+    {
+        return datasetAccessor;
+    }
+
+    @Override
+    public DatasetQuadAccessor getDatasetQuadAccessor()
+    {
+        return getPrimary().getDatasetQuadAccessor();
+    }
+    
+    /**
+     * Executes a read on the least loaded healthy replica, or on the primary if there is none.
+     * If the replica fails with a connection or server error, it is marked unhealthy and the read is retried on the primary.
+     * 
+     * @param <T> result type
+     * @param read read operation
+     * @param graphStore true if the read needs the replica's Graph Store
+     * @return read result
+     */
+    public <T> T read(Function<Service, T> read, boolean graphStore)
+    {
+        if (read == null) throw new IllegalArgumentException("Function<Service, T> cannot be null");
+
+        Replica replica = select(graphStore);
+        if (replica == null) return read.apply(getPrimary());
+        
+        return read(replica, read);
+    }
+    
+    /**
+     * Executes a read on the given replica.
+     * If the replica fails with a connection or server error, it is marked unhealthy and the read is retried on the primary.
+     * 
+     * @param <T> result type
+     * @param replica read replica
+     * @param read read operation
+     * @return read result
+     */
+    protected <T> T read(Replica replica, Function<Service, T> read)
+    {
+        replica.getOutstanding().incrementAndGet();
+        try
+        {
+            return read.apply(replica.getService());
+        }
+        catch (ProcessingException | ServerErrorException ex)
+        {
+            if (Thread.currentThread().isInterrupted()) throw ex; // cancelled hedge, not a replica failure
+            if (Deadline.get() != null && Deadline.get().isExpired()) throw ex; // request ran out of time, not a replica failure
+            
+            if (log.isWarnEnabled()) log.warn("Read replica <{}> failed, falling back to primary", replica.getEndpoint(), ex);
+            replica.setHealthy(false);
+            return read.apply(getPrimary());
+        }
+        finally
+        {
+            replica.getOutstanding().decrementAndGet();
+        }
+    }
+    
+    /**
+     * Executes a query read on a replica and hedges it if it is slow.
+     * If the read has not completed within the latency threshold and the hedge budget allows it, the same read is sent
+     * to another replica. The first response is returned and the other read is cancelled (which interrupts its thread,
+     * so whether the HTTP request is aborted depends on the client connector).
+     * Without a hedge budget this is the same as {@link #read(java.util.function.Function, boolean)}.
+     * 
+     * @param <T> result type
+     * @param read read operation
+     * @return read result
+     */
+    public <T> T hedgedRead(Function<Service, T> read)
+    {
+        if (getHedgeBudget() == null) return read(read, false);
+        if (read == null) throw new IllegalArgumentException("Function<Service, T> cannot be null");
+        
+        getHedgeBudget().deposit();
+        Replica first = select(false);
+        if (first == null) return read.apply(getPrimary());
+        
+        long start = System.nanoTime();
+        CompletionService<T> completion = new ExecutorCompletionService<>(hedgeExecutor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+        attempts.add(completion.submit(Deadline.propagate(() -> read(first, read))::get));
+        try
+        {
+            Future<T> done;
+            long threshold = getLatencyTracker().getThreshold();
+            if (threshold < 0) done = completion.take(); // not enough samples yet
+            else
+            {
+                done = completion.poll(threshold, TimeUnit.NANOSECONDS);
+                if (done == null)
+                {
+                    Replica second = select(false, first);
+                    if (second != null && getHedgeBudget().tryHedge())
+                    {
+                        if (log.isDebugEnabled()) log.debug("Read on replica <{}> exceeded {} ms, hedging on replica <{}>", first.getEndpoint(), TimeUnit.NANOSECONDS.toMillis(threshold), second.getEndpoint());
+                        attempts.add(completion.submit(Deadline.propagate(() -> read(second, read))::get));
+                    }
+                    done = completion.take();
+                }
+            }
+            
+            T result = done.get();
+            getLatencyTracker().record(System.nanoTime() - start);
+            return result;
+        }
+        catch (ExecutionException ex)
+        {
+            if (ex.getCause() instanceof RuntimeException) throw (RuntimeException)ex.getCause();
+            throw new ProcessingException(ex.getCause());
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(ex);
+        }
+        finally
+        {
+            for (Future<T> attempt : attempts) attempt.cancel(true);
+        }
+    }
+    
+    /**
+     * Selects the healthy replica with the fewest outstanding requests.
+     * 
+     * @param graphStore true if the replica must have a Graph Store
+     * @return replica or null if none is available
+     */
+    public Replica select(boolean graphStore)
+    {
+        return select(graphStore, null);
+    }
+    
+    /**
+     * Selects the healthy replica with the fewest outstanding requests.
+     * The scan starts at a rotating offset so that ties are spread evenly.
+     * 
+     * @param graphStore true if the replica must have a Graph Store
+     * @param excluded replica that cannot be selected, or null
+     * @return replica or null if none is available
+     */
+    public Replica select(boolean graphStore, Replica excluded)
+    {
+        if (getReplicas().isEmpty()) return null;
+        
+        int start = Math.floorMod(next.getAndIncrement(), getReplicas().size());
+        Replica selected = null;
+        for (int i = 0; i < getReplicas().size(); i++)
+        {
+            Replica replica = getReplicas().get((start + i) % getReplicas().size());
+            if (replica == excluded || !replica.isHealthy() || (graphStore && !replica.hasGraphStore())) continue;
+            
+            if (selected == null || replica.getOutstanding().get() < selected.getOutstanding().get()) selected = replica;
+        }
+        
+        return selected;
+    }
+    
+    /**
+     * Probes every replica with <code>ASK {}</code> and updates its health.
+     */
+    public void checkHealth()
+    {
+        for (Replica replica : getReplicas())
+        {
+            try
+            {
+                replica.getService().getEndpointAccessor().ask(HEALTH_CHECK, Collections.<URI>emptyList(), Collections.<URI>emptyList());
+                if (!replica.isHealthy() && log.isInfoEnabled()) log.info("Read replica <{}> is healthy again", replica.getEndpoint());
+                replica.setHealthy(true);
+            }
+            catch (RuntimeException ex)
+            {
+                if (replica.isHealthy() && log.isWarnEnabled()) log.warn("Read replica <{}> failed health check", replica.getEndpoint(), ex);
+                replica.setHealthy(false);
+            }
+        }
+    }
+    
+    @Override
+    public void close()
+    {
+        healthChecker.shutdownNow();
+        if (hedgeExecutor != null) hedgeExecutor.shutdownNow();
+    }
+    
+    public Service getPrimary()
+    {
+        return primary;
+    }
+    
+    public List<Replica> getReplicas()
+    {
+        return replicas;
+    }
+    
+    public HedgeBudget getHedgeBudget()
+    {
+        return hedgeBudget;
+    }
+    
+    public LatencyTracker getLatencyTracker()
+    {
+        return latencyTracker;
+    }
+    
+    /**
+     * Read replica of the primary service.
+     */
+    public static class Replica
+    {
+        
+        private final URI endpoint;
+        private final Service service;
+        private final boolean graphStore;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        /**
+         * Constructs replica.
+         * 
+         * @param endpoint SPARQL endpoint URI, used for logging
+         * @param service replica service
+         * @param graphStore true if the service has its own Graph Store replica
+         */
+        public Replica(URI endpoint, Service service, boolean graphStore)
+        {
+            if (endpoint == null) throw new IllegalArgumentException("URI cannot be null");
+            if (service == null) throw new IllegalArgumentException("Service cannot be null");
+            
+            this.endpoint = endpoint;
+            this.service = service;
+            this.graphStore = graphStore;
+        }
+        
+        public URI getEndpoint()
+        {
+            return endpoint;
+        }
+        
+        public Service getService()
+        {
+            return service;
+        }
+        
+        public boolean hasGraphStore()
+        {
+            return graphStore;
+        }
+        
+        public AtomicInteger getOutstanding()
+        {
+            return outstanding;
+        }
+        
+        public boolean isHealthy()
+        {
+            return healthy;
+        }
+        
+        public void setHealthy(boolean healthy)
+        {
+            this.healthy = healthy;
+        }
+        
+    }
+    
+}
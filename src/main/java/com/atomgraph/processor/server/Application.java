@@ -22,13 +22,13 @@ import org.apache.jena.ontology.OntDocumentManager;
 import org.apache.jena.util.FileManager;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
 import jakarta.ws.rs.core.Context;
 import org.apache.jena.enhanced.BuiltinPersonalities;
 import org.apache.jena.util.LocationMapper;
 import com.atomgraph.core.factory.DataManagerFactory;
 import com.atomgraph.processor.server.model.impl.ResourceBase;
 import com.atomgraph.core.provider.QueryParamProvider;
-import com.atomgraph.core.io.ResultSetProvider;
 import com.atomgraph.core.io.UpdateRequestProvider;
 import com.atomgraph.core.vocabulary.A;
 import com.atomgraph.core.vocabulary.SD;
@@ -46,6 +46,21 @@ import com.atomgraph.processor.vocabulary.AP;
 import com.atomgraph.server.mapper.OntologyExceptionMapper;
 import com.atomgraph.processor.util.OntologyLoader;
 import com.atomgraph.processor.server.io.SkolemizingModelProvider;
+import com.atomgraph.processor.server.io.ResultSetProvider;
+import com.atomgraph.processor.util.MemoryBudget;
+import com.atomgraph.processor.util.Prefetcher;
+import com.atomgraph.processor.util.StaleCache;
+import com.atomgraph.processor.util.UpdateJournal;
+import com.atomgraph.processor.util.GraphIndex;
+import com.atomgraph.processor.util.GraphMirror;
+import com.atomgraph.processor.util.TrafficLog;
+import com.atomgraph.processor.server.model.impl.BatchResource;
+import com.atomgraph.processor.server.model.impl.JournalResource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.glassfish.jersey.server.spi.Container;
+import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.atomgraph.processor.model.Parameter;
@@ -62,19 +77,41 @@ import com.atomgraph.core.util.jena.DataManager;
 import com.atomgraph.core.util.jena.DataManagerImpl;
 import com.atomgraph.processor.model.TemplateCall;
 import com.atomgraph.processor.model.impl.ApplicationImpl;
+import com.atomgraph.processor.factory.ApplicationFactory;
 import com.atomgraph.processor.factory.OntologyFactory;
 import com.atomgraph.server.mapper.BadGatewayExceptionMapper;
 import com.atomgraph.server.mapper.NotAcceptableExceptionMapper;
 import com.atomgraph.server.mapper.NotSupportedExceptionMapper;
 import com.atomgraph.processor.factory.TemplateCallFactory;
+import com.atomgraph.processor.factory.ServiceFactory;
+import com.atomgraph.processor.server.filter.request.UnmatchedPathFilter;
+import com.atomgraph.processor.server.filter.request.BulkheadFilter;
+import com.atomgraph.processor.server.filter.request.DeadlineFilter;
+import com.atomgraph.processor.server.mapper.ProcessingExceptionMapper;
+import com.atomgraph.processor.client.filter.QueryTimeoutFilter;
+import com.atomgraph.processor.client.filter.RemoteTimingFilter;
 import com.atomgraph.processor.server.filter.response.ResponseHeaderFilter;
+import com.atomgraph.processor.server.filter.response.TrafficCaptureFilter;
+import com.atomgraph.processor.server.filter.response.PrimaryAffinityFilter;
 import com.atomgraph.server.mapper.SHACLConstraintViolationExceptionMapper;
 import com.atomgraph.spinrdf.vocabulary.SP;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
 import org.apache.jena.ontology.Ontology;
 import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.update.UpdateRequest;
 import org.glassfish.hk2.api.TypeLiteral;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.glassfish.jersey.client.ClientConfig;
@@ -87,12 +124,30 @@ import org.glassfish.jersey.process.internal.RequestScoped;
 public class Application extends com.atomgraph.core.Application
 {
     private static final Logger log = LoggerFactory.getLogger(Application.class);
+    
+    /**
+     * Name of the injected <code>Boolean</code> delta <code>PUT</code> flag.
+     * 
+     * @see #isDeltaPut()
+     */
+    public static final String DELTA_PUT = "com.atomgraph.processor.deltaPut";
 
     private final com.atomgraph.processor.model.Application application;
+    private final Map<URI, com.atomgraph.processor.model.Application> applications;
     private final Service service;
     private final String ontologyURI;
     private final Ontology ontology;
     private final boolean cacheSitemap;
+    private final boolean deltaPut;
+    private final boolean batch;
+    private final MemoryBudget uploadMemoryBudget;
+    private final UpdateJournal journal;
+    private final GraphIndex graphIndex;
+    private final GraphMirror graphMirror;
+    private final TrafficLog trafficLog;
+    private final StaleCache staleCache = new StaleCache();
+    private final Prefetcher prefetcher = new Prefetcher();
+    private final BulkheadFilter bulkheadFilter = new BulkheadFilter();
     
     /**
      * Initializes root resource classes and provider singletons
@@ -100,21 +155,7 @@ public class Application extends com.atomgraph.core.Application
      */
     public Application(@Context ServletConfig servletConfig)
     {
-        this(
-            servletConfig.getServletContext().getInitParameter(A.dataset.getURI()) != null ? getDataset(servletConfig.getServletContext().getInitParameter(A.dataset.getURI()), null) : null,
-            servletConfig.getServletContext().getInitParameter(SD.endpoint.getURI()) != null ? servletConfig.getServletContext().getInitParameter(SD.endpoint.getURI()) : null,
-            servletConfig.getServletContext().getInitParameter(A.graphStore.getURI()) != null ? servletConfig.getServletContext().getInitParameter(A.graphStore.getURI()) : null,
-            servletConfig.getServletContext().getInitParameter(A.quadStore.getURI()) != null ? servletConfig.getServletContext().getInitParameter(A.quadStore.getURI()) : null,
-            servletConfig.getServletContext().getInitParameter(A.authUser.getURI()) != null ? servletConfig.getServletContext().getInitParameter(A.authUser.getURI()) : null,
-            servletConfig.getServletContext().getInitParameter(A.authPwd.getURI()) != null ? servletConfig.getServletContext().getInitParameter(A.authPwd.getURI()) : null,
-            new MediaTypes(), getClient(new ClientConfig()),
-            servletConfig.getServletContext().getInitParameter(A.maxGetRequestSize.getURI()) != null ? Integer.valueOf(servletConfig.getServletContext().getInitParameter(A.maxGetRequestSize.getURI())) : null,
-            servletConfig.getServletContext().getInitParameter(A.cacheModelLoads.getURI()) != null ? Boolean.parseBoolean(servletConfig.getServletContext().getInitParameter(A.cacheModelLoads.getURI())) : false,
-            servletConfig.getServletContext().getInitParameter(A.preemptiveAuth.getURI()) != null ? Boolean.parseBoolean(servletConfig.getServletContext().getInitParameter(A.preemptiveAuth.getURI())) : false,
-            new LocationMapper(servletConfig.getServletContext().getInitParameter(AP.locationMapping.getURI()) != null ? servletConfig.getServletContext().getInitParameter(AP.locationMapping.getURI()) : null),
-            servletConfig.getServletContext().getInitParameter(LDT.ontology.getURI()) != null ? servletConfig.getServletContext().getInitParameter(LDT.ontology.getURI()) : null,
-            servletConfig.getServletContext().getInitParameter(AP.cacheSitemap.getURI()) != null ? Boolean.parseBoolean(servletConfig.getServletContext().getInitParameter(AP.cacheSitemap.getURI())) : true
-        );
+        this(getConfig(servletConfig.getServletContext()));
     }
     
     public Application(final Dataset dataset, final String endpointURI, final String graphStoreURI, final String quadStoreURI,
@@ -122,9 +163,53 @@ public class Application extends com.atomgraph.core.Application
             final MediaTypes mediaTypes, final Client client, final Integer maxGetRequestSize, final boolean cacheModelLoads, final boolean preemptiveAuth,
             final LocationMapper locationMapper, final String ontologyURI, boolean cacheSitemap)
     {
-        super(dataset, endpointURI, graphStoreURI, quadStoreURI, authUser, authPwd,
-                mediaTypes, client, maxGetRequestSize, cacheModelLoads, preemptiveAuth);
+        this(new ApplicationConfig().
+            dataset(dataset).
+            endpoint(endpointURI).
+            graphStore(graphStoreURI).
+            quadStore(quadStoreURI).
+            authUser(authUser).
+            authPwd(authPwd).
+            mediaTypes(mediaTypes).
+            client(client).
+            maxGetRequestSize(maxGetRequestSize).
+            cacheModelLoads(cacheModelLoads).
+            preemptiveAuth(preemptiveAuth).
+            locationMapper(locationMapper).
+            ontology(ontologyURI).
+            cacheSitemap(cacheSitemap));
+    }
+    
+    /**
+     * Constructs application with the default sitemap and additional sitemaps selected by request base URI.
+     * Imported ontologies are materialized once and shared by all sitemaps.
+     * 
+     * @param config application configuration
+     */
+    public Application(final ApplicationConfig config)
+    {
+        super(config.getDataset(), config.getEndpointURI(), config.getGraphStoreURI(), config.getQuadStoreURI(), config.getAuthUser(), config.getAuthPwd(),
+                config.getMediaTypes(), config.getClient() != null ? copyClient(config.getClient()) : getClient(new ClientConfig().register(new ResultSetProvider())),
+                config.getMaxGetRequestSize(), config.isCacheModelLoads(), config.isPreemptiveAuth());
+        
+        final Dataset dataset = config.getDataset();
+        final String endpointURI = config.getEndpointURI(), graphStoreURI = config.getGraphStoreURI(), quadStoreURI = config.getQuadStoreURI();
+        final String authUser = config.getAuthUser(), authPwd = config.getAuthPwd();
+        final MediaTypes mediaTypes = config.getMediaTypes();
+        final Client client = getClient();
+        final Integer maxGetRequestSize = config.getMaxGetRequestSize();
+        final LocationMapper locationMapper = config.getLocationMapper();
+        final String ontologyURI = config.getOntologyURI();
+        final Map<URI, String> sitemaps = config.getSitemaps();
+        final Map<URI, URI> readReplicas = config.getReadReplicas();
+        final Double hedgeBudget = config.getHedgeBudget();
+        final List<Pattern> mirrorGraphs = config.getMirrorGraphs();
+        final Path journalDirectory = config.getJournalDirectory(), captureFile = config.getCaptureFile();
+        
         if (locationMapper == null) throw new IllegalArgumentException("LocationMapper be null");
+        if (sitemaps == null) throw new IllegalArgumentException("Map<URI, String> cannot be null");
+        if (readReplicas == null) throw new IllegalArgumentException("Map<URI, URI> cannot be null");
+        if (mirrorGraphs == null) throw new IllegalArgumentException("List<Pattern> cannot be null");
         
         if (ontologyURI == null)
         {
@@ -132,10 +217,43 @@ public class Application extends com.atomgraph.core.Application
             throw new ConfigurationException(LDT.ontology);
         }
         this.ontologyURI = ontologyURI;
-        this.cacheSitemap = cacheSitemap;
+        this.cacheSitemap = config.isCacheSitemap();
+        this.deltaPut = config.isDeltaPut();
+        this.batch = config.isBatch();
+        this.uploadMemoryBudget = config.getUploadMemoryBudget() != null ? new MemoryBudget(config.getUploadMemoryBudget()) : null;
 
+        client.register(new QueryTimeoutFilter(config.getQueryTimeoutParam(), config.getQueryTimeoutUnit())); // limits remote requests to the request deadline; the client is this application's own copy
+        
+        if (captureFile != null)
+        {
+            try
+            {
+                trafficLog = new TrafficLog(captureFile, config.getCaptureRate());
+            }
+            catch (IOException ex)
+            {
+                if (log.isErrorEnabled()) log.error("Could not open traffic log file: {}", captureFile, ex);
+                throw new ConfigurationException(AP.captureFile);
+            }
+            client.register(new RemoteTimingFilter());
+        }
+        else trafficLog = null;
+        
+        final Service baseService;
         if (dataset != null)
-            service = new com.atomgraph.core.model.impl.dataset.ServiceImpl(dataset, mediaTypes);
+        {
+            if (config.isDatasetTransactions())
+            {
+                if (!dataset.supportsTransactions())
+                {
+                    if (log.isErrorEnabled()) log.error("Dataset transactions ('{}') require a transactional dataset", AP.datasetTransactions.getURI());
+                    throw new ConfigurationException(AP.datasetTransactions);
+                }
+                
+                baseService = new com.atomgraph.processor.model.impl.dataset.ServiceImpl(dataset, mediaTypes); // MVCC, e.g. TIM
+            }
+            else baseService = new com.atomgraph.core.model.impl.dataset.ServiceImpl(dataset, mediaTypes);
+        }
         else
         {
             if (endpointURI == null)
@@ -149,25 +267,96 @@ public class Application extends com.atomgraph.core.Application
                 throw new ConfigurationException(A.graphStore);
             }
 
-            service = new com.atomgraph.core.model.impl.remote.ServiceImpl(client, mediaTypes,
+            baseService = new com.atomgraph.core.model.impl.remote.ServiceImpl(client, mediaTypes,
                     ResourceFactory.createResource(endpointURI), ResourceFactory.createResource(graphStoreURI),
                     quadStoreURI != null ? ResourceFactory.createResource(quadStoreURI) : null,
                     authUser, authPwd, maxGetRequestSize);
         }
         
-        application = new ApplicationImpl(service, ResourceFactory.createResource(ontologyURI));
+        final Service primaryService;
+        if (config.getGroupCommitWindow() != null) primaryService = new com.atomgraph.processor.model.impl.batch.ServiceImpl(baseService, config.getGroupCommitWindow());
+        else primaryService = baseService;
+        
+        if (!readReplicas.isEmpty())
+        {
+            if (dataset != null)
+            {
+                if (log.isErrorEnabled()) log.error("Read replicas ('{}') can only be used with a remote SPARQL endpoint", AP.readReplicas.getURI());
+                throw new ConfigurationException(AP.readReplicas);
+            }
+            
+            List<com.atomgraph.processor.model.impl.replica.ServiceImpl.Replica> replicas = new ArrayList<>();
+            for (Map.Entry<URI, URI> replica : readReplicas.entrySet())
+            {
+                Service replicaService = new com.atomgraph.core.model.impl.remote.ServiceImpl(client, mediaTypes,
+                        ResourceFactory.createResource(replica.getKey().toString()),
+                        ResourceFactory.createResource(replica.getValue() != null ? replica.getValue().toString() : graphStoreURI),
+                        null, authUser, authPwd, maxGetRequestSize);
+                replicas.add(new com.atomgraph.processor.model.impl.replica.ServiceImpl.Replica(replica.getKey(), replicaService, replica.getValue() != null));
+            }
+            service = new com.atomgraph.processor.model.impl.replica.ServiceImpl(primaryService, replicas,
+                    com.atomgraph.processor.model.impl.replica.ServiceImpl.DEFAULT_HEALTH_CHECK_INTERVAL, hedgeBudget);
+        }
+        else
+        {
+            if (hedgeBudget != null)
+            {
+                if (log.isErrorEnabled()) log.error("Hedged reads ('{}') require read replicas ('{}')", AP.hedgeBudget.getURI(), AP.readReplicas.getURI());
+                throw new ConfigurationException(AP.hedgeBudget);
+            }
+            
+            service = primaryService;
+        }
+        
+        // the graph list is loaded from the primary service, as replicas can lag behind
+        if (config.getGraphIndexInterval() != null) graphIndex = new GraphIndex(primaryService, config.getGraphIndexInterval());
+        else graphIndex = null;
+        
+        if (!mirrorGraphs.isEmpty() || config.getMirrorHotGraphs() > 0) graphMirror = new GraphMirror(primaryService, mirrorGraphs, config.getMirrorHotGraphs(), GraphMirror.DEFAULT_REVALIDATION_INTERVAL);
+        else graphMirror = null;
+        
+        if (journalDirectory != null)
+        {
+            // journaled updates reach the service later, so the caches, the graph index and the graph mirror are updated once they have been applied
+            List<Consumer<UpdateRequest>> listeners = new ArrayList<>();
+            listeners.add(updateRequest -> getStaleCache().clear());
+            listeners.add(updateRequest -> getPrefetcher().clear());
+            if (graphIndex != null) listeners.add(graphIndex::update);
+            if (graphMirror != null) listeners.add(graphMirror::update);
+            
+            try
+            {
+                journal = new UpdateJournal(journalDirectory, service, listeners);
+            }
+            catch (IOException ex)
+            {
+                if (log.isErrorEnabled()) log.error("Could not open update journal in directory: {}", journalDirectory, ex);
+                throw new ConfigurationException(AP.journal);
+            }
+        }
+        else journal = null;
         
         SP.init(BuiltinPersonalities.model);
         BuiltinPersonalities.model.add(Parameter.class, ParameterImpl.factory);
         BuiltinPersonalities.model.add(Template.class, TemplateImpl.factory);
 
         // TO-DO: config property for cacheLoadModels
-        DataManager dataManager = new DataManagerImpl(locationMapper, new HashMap<>(), LinkedDataClient.create(client, mediaTypes), true, preemptiveAuth);
+        DataManager dataManager = new DataManagerImpl(locationMapper, new HashMap<>(), LinkedDataClient.create(client, mediaTypes), true, config.isPreemptiveAuth());
         OntDocumentManager.getInstance().setFileManager((FileManager)dataManager);
         if (log.isDebugEnabled()) log.debug("OntDocumentManager.getInstance().getFileManager(): {}", OntDocumentManager.getInstance().getFileManager());
-        OntDocumentManager.getInstance().setCacheModels(cacheSitemap); // lets cache the ontologies FTW!!
+        OntDocumentManager.getInstance().setCacheModels(isCacheSitemap()); // lets cache the ontologies FTW!!
         
         this.ontology = new OntologyLoader(OntDocumentManager.getInstance(), ontologyURI, OntModelSpec.OWL_MEM_RDFS_INF, true).getOntology();
+        this.application = new ApplicationImpl(service, ontology); // resolves ldt:loadClass values
+        
+        Map<URI, com.atomgraph.processor.model.Application> apps = new HashMap<>();
+        for (Map.Entry<URI, String> sitemap : sitemaps.entrySet())
+        {
+            if (log.isDebugEnabled()) log.debug("Loading sitemap <{}> for base URI <{}>", sitemap.getValue(), sitemap.getKey());
+            Ontology sitemapOntology = new OntologyLoader(OntDocumentManager.getInstance(), sitemap.getValue(), OntModelSpec.OWL_MEM_RDFS_INF, true).getOntology();
+            apps.put(sitemap.getKey(), new ApplicationImpl(service, sitemapOntology));
+        }
+        this.applications = Collections.unmodifiableMap(apps);
     }
     
     /**
@@ -178,12 +367,14 @@ public class Application extends com.atomgraph.core.Application
     public void init()
     {
         register(ResourceBase.class); // handles /
+        if (isBatch()) register(BatchResource.class); // opt-in, as it shadows sitemap resources at the same path
         register(new AbstractBinder()
         {
             @Override
             protected void configure()
             {
-                bind(application).to(com.atomgraph.processor.model.Application.class);
+                bindFactory(ApplicationFactory.class).to(com.atomgraph.processor.model.Application.class).
+                in(RequestScoped.class);
             }
         });
         register(new AbstractBinder()
@@ -191,7 +382,8 @@ public class Application extends com.atomgraph.core.Application
             @Override
             protected void configure()
             {
-                bindFactory(new OntologyFactory(ontology)).to(new TypeLiteral<Optional<Ontology>>() {});
+                bindFactory(OntologyFactory.class).to(new TypeLiteral<Optional<Ontology>>() {}).
+                in(RequestScoped.class);
             }
         });
         register(new AbstractBinder()
@@ -199,7 +391,8 @@ public class Application extends com.atomgraph.core.Application
             @Override
             protected void configure()
             {
-                bind(service).to(Service.class);
+                bindFactory(ServiceFactory.class).to(Service.class).
+                in(RequestScoped.class);
             }
         });
         register(new AbstractBinder()
@@ -216,11 +409,112 @@ public class Application extends com.atomgraph.core.Application
             @Override
             protected void configure()
             {
-                bind(new MediaTypes()).to(MediaTypes.class);
+                bind(getMediaTypes()).to(MediaTypes.class);
+            }
+        });
+        register(new AbstractBinder()
+        {
+            @Override
+            protected void configure()
+            {
+                bind(Optional.ofNullable(getJournal())).to(new TypeLiteral<Optional<UpdateJournal>>() {});
+            }
+        });
+        register(new AbstractBinder()
+        {
+            @Override
+            protected void configure()
+            {
+                bind(getStaleCache()).to(StaleCache.class);
+            }
+        });
+        register(new AbstractBinder()
+        {
+            @Override
+            protected void configure()
+            {
+                bind(getPrefetcher()).to(Prefetcher.class);
+            }
+        });
+        register(new AbstractBinder()
+        {
+            @Override
+            protected void configure()
+            {
+                bind(getBulkheadFilter()).to(BulkheadFilter.class);
+            }
+        });
+        register(new AbstractBinder()
+        {
+            @Override
+            protected void configure()
+            {
+                bind(isDeltaPut()).named(DELTA_PUT).to(Boolean.class);
+            }
+        });
+        register(new AbstractBinder()
+        {
+            @Override
+            protected void configure()
+            {
+                bind(Optional.ofNullable(getGraphIndex())).to(new TypeLiteral<Optional<GraphIndex>>() {});
+            }
+        });
+        register(new AbstractBinder()
+        {
+            @Override
+            protected void configure()
+            {
+                bind(Optional.ofNullable(getGraphMirror())).to(new TypeLiteral<Optional<GraphMirror>>() {});
+            }
+        });
+        if (getJournal() != null) register(JournalResource.class);
+        register(new ContainerLifecycleListener()
+        {
+            @Override
+            public void onStartup(Container container)
+            {
+            }
+
+            @Override
+            public void onReload(Container container)
+            {
+            }
+
+            @Override
+            public void onShutdown(Container container)
+            {
+                if (getJournal() != null)
+                    try
+                    {
+                        getJournal().close();
+                    }
+                    catch (IOException ex)
+                    {
+                        if (log.isErrorEnabled()) log.error("Could not close update journal", ex);
+                    }
+                
+                if (getService() instanceof com.atomgraph.processor.model.impl.replica.ServiceImpl)
+                    ((com.atomgraph.processor.model.impl.replica.ServiceImpl)getService()).close();
+                
+                getStaleCache().close();
+                getPrefetcher().close();
+                if (getGraphIndex() != null) getGraphIndex().close();
+                if (getGraphMirror() != null) getGraphMirror().close();
+                
+                if (getTrafficLog() != null)
+                    try
+                    {
+                        getTrafficLog().close();
+                    }
+                    catch (IOException ex)
+                    {
+                        if (log.isErrorEnabled()) log.error("Could not close traffic log", ex);
+                    }
             }
         });
         
-        register(new SkolemizingModelProvider());
+        register(new SkolemizingModelProvider(getUploadMemoryBudget()));
         register(new ResultSetProvider());
         register(new QueryParamProvider());
         register(new QueryProvider());
@@ -239,12 +533,167 @@ public class Application extends com.atomgraph.core.Application
         register(ConfigurationExceptionMapper.class);
         register(OntologyExceptionMapper.class);
         register(ParameterExceptionMapper.class);
+        register(ProcessingExceptionMapper.class);
         register(QueryParseExceptionMapper.class);
+        register(new UnmatchedPathFilter());
+        register(new DeadlineFilter());
+        register(getBulkheadFilter());
         register(new ResponseHeaderFilter());
+        if (getTrafficLog() != null) register(new TrafficCaptureFilter(getTrafficLog()));
+        if (getService() instanceof com.atomgraph.processor.model.impl.replica.ServiceImpl) register(new PrimaryAffinityFilter());
         
         //if (log.isTraceEnabled()) log.trace("Application.init() with Classes: {} and Singletons: {}", classes, singletons);
     }
     
+    /**
+     * Builds application configuration from the servlet context init parameters.
+     * 
+     * @param context servlet context
+     * @return application configuration
+     */
+    public static ApplicationConfig getConfig(ServletContext context)
+    {
+        if (context == null) throw new IllegalArgumentException("ServletContext cannot be null");
+        
+        ApplicationConfig config = new ApplicationConfig().
+            locationMapper(new LocationMapper(context.getInitParameter(AP.locationMapping.getURI())));
+        
+        if (context.getInitParameter(A.dataset.getURI()) != null) config.dataset(getDataset(context.getInitParameter(A.dataset.getURI()), null));
+        if (context.getInitParameter(AP.datasetTransactions.getURI()) != null) config.datasetTransactions(Boolean.parseBoolean(context.getInitParameter(AP.datasetTransactions.getURI())));
+        if (context.getInitParameter(SD.endpoint.getURI()) != null) config.endpoint(context.getInitParameter(SD.endpoint.getURI()));
+        if (context.getInitParameter(A.graphStore.getURI()) != null) config.graphStore(context.getInitParameter(A.graphStore.getURI()));
+        if (context.getInitParameter(A.quadStore.getURI()) != null) config.quadStore(context.getInitParameter(A.quadStore.getURI()));
+        if (context.getInitParameter(A.authUser.getURI()) != null) config.authUser(context.getInitParameter(A.authUser.getURI()));
+        if (context.getInitParameter(A.authPwd.getURI()) != null) config.authPwd(context.getInitParameter(A.authPwd.getURI()));
+        if (context.getInitParameter(A.maxGetRequestSize.getURI()) != null) config.maxGetRequestSize(Integer.valueOf(context.getInitParameter(A.maxGetRequestSize.getURI())));
+        if (context.getInitParameter(A.cacheModelLoads.getURI()) != null) config.cacheModelLoads(Boolean.parseBoolean(context.getInitParameter(A.cacheModelLoads.getURI())));
+        if (context.getInitParameter(A.preemptiveAuth.getURI()) != null) config.preemptiveAuth(Boolean.parseBoolean(context.getInitParameter(A.preemptiveAuth.getURI())));
+        if (context.getInitParameter(LDT.ontology.getURI()) != null) config.ontology(context.getInitParameter(LDT.ontology.getURI()));
+        if (context.getInitParameter(AP.cacheSitemap.getURI()) != null) config.cacheSitemap(Boolean.parseBoolean(context.getInitParameter(AP.cacheSitemap.getURI())));
+        if (context.getInitParameter(AP.sitemaps.getURI()) != null) config.sitemaps(getSitemaps(context.getInitParameter(AP.sitemaps.getURI())));
+        if (context.getInitParameter(AP.uploadMemoryBudget.getURI()) != null) config.uploadMemoryBudget(Long.valueOf(context.getInitParameter(AP.uploadMemoryBudget.getURI())));
+        if (context.getInitParameter(AP.groupCommitWindow.getURI()) != null) config.groupCommitWindow(Long.valueOf(context.getInitParameter(AP.groupCommitWindow.getURI())));
+        if (context.getInitParameter(AP.journal.getURI()) != null) config.journal(Paths.get(context.getInitParameter(AP.journal.getURI())));
+        if (context.getInitParameter(AP.deltaPut.getURI()) != null) config.deltaPut(Boolean.parseBoolean(context.getInitParameter(AP.deltaPut.getURI())));
+        if (context.getInitParameter(AP.batch.getURI()) != null) config.batch(Boolean.parseBoolean(context.getInitParameter(AP.batch.getURI())));
+        if (context.getInitParameter(AP.readReplicas.getURI()) != null) config.readReplicas(getReadReplicas(context.getInitParameter(AP.readReplicas.getURI())));
+        if (context.getInitParameter(AP.hedgeBudget.getURI()) != null) config.hedgeBudget(Double.valueOf(context.getInitParameter(AP.hedgeBudget.getURI())));
+        if (context.getInitParameter(AP.graphIndexInterval.getURI()) != null) config.graphIndexInterval(Long.valueOf(context.getInitParameter(AP.graphIndexInterval.getURI())));
+        if (context.getInitParameter(AP.mirrorGraphs.getURI()) != null) config.mirrorGraphs(GraphMirror.getPatterns(context.getInitParameter(AP.mirrorGraphs.getURI())));
+        if (context.getInitParameter(AP.mirrorHotGraphs.getURI()) != null) config.mirrorHotGraphs(Integer.parseInt(context.getInitParameter(AP.mirrorHotGraphs.getURI())));
+        if (context.getInitParameter(AP.captureFile.getURI()) != null) config.captureFile(Paths.get(context.getInitParameter(AP.captureFile.getURI())));
+        if (context.getInitParameter(AP.captureRate.getURI()) != null) config.captureRate(Double.parseDouble(context.getInitParameter(AP.captureRate.getURI())));
+        if (context.getInitParameter(AP.queryTimeoutParam.getURI()) != null) config.queryTimeoutParam(context.getInitParameter(AP.queryTimeoutParam.getURI()));
+        if (context.getInitParameter(AP.queryTimeoutUnit.getURI()) != null) config.queryTimeoutUnit(TimeUnit.valueOf(context.getInitParameter(AP.queryTimeoutUnit.getURI()).toUpperCase(Locale.ROOT)));
+        
+        return config;
+    }
+    
+    /**
+     * Returns a copy of the given client with the same configuration and TLS settings.
+     * Filters are registered on the copy, so that a client supplied by the caller is not changed
+     * and does not accumulate filters when several applications are built with it.
+     * 
+     * @param client HTTP client
+     * @return new client
+     */
+    public static Client copyClient(Client client)
+    {
+        if (client == null) throw new IllegalArgumentException("Client cannot be null");
+        
+        return ClientBuilder.newBuilder().
+            withConfig(client.getConfiguration()).
+            sslContext(client.getSslContext()).
+            hostnameVerifier(client.getHostnameVerifier()).
+            build();
+    }
+    
+    /**
+     * Parses whitespace-separated <code>base URI=sitemap ontology URI</code> pairs.
+     * 
+     * @param sitemaps config value
+     * @return base URI to sitemap ontology URI map
+     */
+    public static Map<URI, String> getSitemaps(String sitemaps)
+    {
+        if (sitemaps == null) throw new IllegalArgumentException("String cannot be null");
+        
+        Map<URI, String> map = new HashMap<>();
+        for (String pair : sitemaps.trim().split("\\s+"))
+        {
+            if (pair.isEmpty()) continue;
+            
+            int index = pair.indexOf('=');
+            if (index <= 0 || index == pair.length() - 1)
+            {
+                if (log.isErrorEnabled()) log.error("Sitemap mapping '{}' is not a 'base URI=ontology URI' pair", pair);
+                throw new ConfigurationException(AP.sitemaps);
+            }
+            
+            map.put(URI.create(pair.substring(0, index)), pair.substring(index + 1));
+        }
+        
+        return map;
+    }
+    
+    /**
+     * Parses whitespace-separated <code>SPARQL endpoint URI[=Graph Store URI]</code> read replica entries.
+     * 
+     * @param readReplicas config value
+     * @return read replica SPARQL endpoint URI to Graph Store URI map (the latter can be null)
+     */
+    public static Map<URI, URI> getReadReplicas(String readReplicas)
+    {
+        if (readReplicas == null) throw new IllegalArgumentException("String cannot be null");
+        
+        Map<URI, URI> map = new LinkedHashMap<>();
+        for (String entry : readReplicas.trim().split("\\s+"))
+        {
+            if (entry.isEmpty()) continue;
+            
+            int index = entry.indexOf('=');
+            if (index == 0 || index == entry.length() - 1)
+            {
+                if (log.isErrorEnabled()) log.error("Read replica '{}' is not a 'SPARQL endpoint URI[=Graph Store URI]' entry", entry);
+                throw new ConfigurationException(AP.readReplicas);
+            }
+            
+            if (index < 0) map.put(URI.create(entry), null);
+            else map.put(URI.create(entry.substring(0, index)), URI.create(entry.substring(index + 1)));
+        }
+        
+        return map;
+    }
+    
+    /**
+     * Returns LDT application of the default sitemap.
+     * 
+     * @return LDT application
+     */
+    public com.atomgraph.processor.model.Application getDefaultApplication()
+    {
+        return application;
+    }
+    
+    /**
+     * Returns LDT application whose sitemap is configured for the given base URI, or the default one.
+     * 
+     * @param baseURI request base URI
+     * @return LDT application
+     */
+    public com.atomgraph.processor.model.Application getApplication(URI baseURI)
+    {
+        com.atomgraph.processor.model.Application app = getApplications().get(baseURI);
+        if (app != null) return app;
+        
+        return getDefaultApplication();
+    }
+    
+    public Map<URI, com.atomgraph.processor.model.Application> getApplications()
+    {
+        return applications;
+    }
+    
     public String getOntologyURI()
     {
         return ontologyURI;
@@ -255,4 +704,60 @@ public class Application extends com.atomgraph.core.Application
         return cacheSitemap;
     }
     
+    @Override
+    public Service getService()
+    {
+        return service;
+    }
+    
+    public MemoryBudget getUploadMemoryBudget()
+    {
+        return uploadMemoryBudget;
+    }
+    
+    public UpdateJournal getJournal()
+    {
+        return journal;
+    }
+    
+    public GraphIndex getGraphIndex()
+    {
+        return graphIndex;
+    }
+    
+    public GraphMirror getGraphMirror()
+    {
+        return graphMirror;
+    }
+    
+    public TrafficLog getTrafficLog()
+    {
+        return trafficLog;
+    }
+    
+    public boolean isDeltaPut()
+    {
+        return deltaPut;
+    }
+    
+    public boolean isBatch()
+    {
+        return batch;
+    }
+    
+    public StaleCache getStaleCache()
+    {
+        return staleCache;
+    }
+    
+    public Prefetcher getPrefetcher()
+    {
+        return prefetcher;
+    }
+    
+    public BulkheadFilter getBulkheadFilter()
+    {
+        return bulkheadFilter;
+    }
+    
 }
@@ -0,0 +1,586 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.server;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.processor.util.BinaryMediaTypes;
+import com.atomgraph.processor.util.TrafficLog;
+import jakarta.ws.rs.client.Client;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.util.LocationMapper;
+
+/**
+ * Configuration of the processor application.
+ * Values are set using chained methods; the ones not set keep their defaults.
+ * Filled from the servlet init parameters by {@link Application#getConfig(jakarta.servlet.ServletContext)}.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see Application#Application(com.atomgraph.processor.server.ApplicationConfig)
+ */
+public class ApplicationConfig
+{
+    
+    private Dataset dataset;
+    private boolean datasetTransactions;
+    private String endpointURI;
+    private String graphStoreURI;
+    private String quadStoreURI;
+    private String authUser;
+    private String authPwd;
+    private MediaTypes mediaTypes = new BinaryMediaTypes();
+    private Client client;
+    private Integer maxGetRequestSize;
+    private boolean cacheModelLoads;
+    private boolean preemptiveAuth;
+    private LocationMapper locationMapper;
+    private String ontologyURI;
+    private boolean cacheSitemap = true;
+    private Map<URI, String> sitemaps = Collections.emptyMap();
+    private Long uploadMemoryBudget;
+    private Long groupCommitWindow;
+    private Path journalDirectory;
+    private boolean deltaPut;
+    private boolean batch;
+    private Map<URI, URI> readReplicas = Collections.emptyMap();
+    private Double hedgeBudget;
+    private Long graphIndexInterval;
+    private List<Pattern> mirrorGraphs = Collections.emptyList();
+    private int mirrorHotGraphs;
+    private Path captureFile;
+    private double captureRate = TrafficLog.DEFAULT_RATE;
+    private String queryTimeoutParam;
+    private TimeUnit queryTimeoutUnit = TimeUnit.SECONDS;
+    
+    /**
+     * Sets local dataset, used instead of a remote SPARQL endpoint.
+     * 
+     * @param dataset local dataset
+     * @return this config
+     */
+    public ApplicationConfig dataset(Dataset dataset)
+    {
+        this.dataset = dataset;
+        return this;
+    }
+    
+    /**
+     * Sets whether calls to the local dataset are wrapped in transactions.
+     * Requires a transactional dataset, such as TIM or TDB2.
+     * 
+     * @param datasetTransactions true to use transactions
+     * @return this config
+     */
+    public ApplicationConfig datasetTransactions(boolean datasetTransactions)
+    {
+        this.datasetTransactions = datasetTransactions;
+        return this;
+    }
+    
+    /**
+     * Sets SPARQL endpoint URI.
+     * 
+     * @param endpointURI SPARQL endpoint URI
+     * @return this config
+     */
+    public ApplicationConfig endpoint(String endpointURI)
+    {
+        this.endpointURI = endpointURI;
+        return this;
+    }
+    
+    /**
+     * Sets Graph Store URI.
+     * 
+     * @param graphStoreURI Graph Store URI
+     * @return this config
+     */
+    public ApplicationConfig graphStore(String graphStoreURI)
+    {
+        this.graphStoreURI = graphStoreURI;
+        return this;
+    }
+    
+    /**
+     * Sets Quad Store URI.
+     * 
+     * @param quadStoreURI Quad Store URI
+     * @return this config
+     */
+    public ApplicationConfig quadStore(String quadStoreURI)
+    {
+        this.quadStoreURI = quadStoreURI;
+        return this;
+    }
+    
+    /**
+     * Sets HTTP Basic auth username.
+     * 
+     * @param authUser HTTP Basic auth username
+     * @return this config
+     */
+    public ApplicationConfig authUser(String authUser)
+    {
+        this.authUser = authUser;
+        return this;
+    }
+    
+    /**
+     * Sets HTTP Basic auth password.
+     * 
+     * @param authPwd HTTP Basic auth password
+     * @return this config
+     */
+    public ApplicationConfig authPwd(String authPwd)
+    {
+        this.authPwd = authPwd;
+        return this;
+    }
+    
+    /**
+     * Sets supported media types.
+     * 
+     * @param mediaTypes supported media types
+     * @return this config
+     */
+    public ApplicationConfig mediaTypes(MediaTypes mediaTypes)
+    {
+        this.mediaTypes = mediaTypes;
+        return this;
+    }
+    
+    /**
+     * Sets HTTP client.
+     * 
+     * @param client HTTP client
+     * @return this config
+     */
+    public ApplicationConfig client(Client client)
+    {
+        this.client = client;
+        return this;
+    }
+    
+    /**
+     * Sets maximum size of GET request URI.
+     * 
+     * @param maxGetRequestSize maximum size of GET request URI
+     * @return this config
+     */
+    public ApplicationConfig maxGetRequestSize(Integer maxGetRequestSize)
+    {
+        this.maxGetRequestSize = maxGetRequestSize;
+        return this;
+    }
+    
+    /**
+     * Sets cache loaded models.
+     * 
+     * @param cacheModelLoads cache loaded models
+     * @return this config
+     */
+    public ApplicationConfig cacheModelLoads(boolean cacheModelLoads)
+    {
+        this.cacheModelLoads = cacheModelLoads;
+        return this;
+    }
+    
+    /**
+     * Sets use preemptive HTTP Basic auth.
+     * 
+     * @param preemptiveAuth use preemptive HTTP Basic auth
+     * @return this config
+     */
+    public ApplicationConfig preemptiveAuth(boolean preemptiveAuth)
+    {
+        this.preemptiveAuth = preemptiveAuth;
+        return this;
+    }
+    
+    /**
+     * Sets ontology location mapper.
+     * 
+     * @param locationMapper ontology location mapper
+     * @return this config
+     */
+    public ApplicationConfig locationMapper(LocationMapper locationMapper)
+    {
+        this.locationMapper = locationMapper;
+        return this;
+    }
+    
+    /**
+     * Sets default sitemap ontology URI.
+     * 
+     * @param ontologyURI default sitemap ontology URI
+     * @return this config
+     */
+    public ApplicationConfig ontology(String ontologyURI)
+    {
+        this.ontologyURI = ontologyURI;
+        return this;
+    }
+    
+    /**
+     * Sets cache sitemap ontologies.
+     * 
+     * @param cacheSitemap cache sitemap ontologies
+     * @return this config
+     */
+    public ApplicationConfig cacheSitemap(boolean cacheSitemap)
+    {
+        this.cacheSitemap = cacheSitemap;
+        return this;
+    }
+    
+    /**
+     * Sets base URI to sitemap ontology URI map.
+     * 
+     * @param sitemaps base URI to sitemap ontology URI map
+     * @return this config
+     */
+    public ApplicationConfig sitemaps(Map<URI, String> sitemaps)
+    {
+        this.sitemaps = sitemaps;
+        return this;
+    }
+    
+    /**
+     * Sets maximum bytes of request bodies held in memory, or null if unlimited.
+     * 
+     * @param uploadMemoryBudget maximum bytes of request bodies held in memory
+     * @return this config
+     */
+    public ApplicationConfig uploadMemoryBudget(Long uploadMemoryBudget)
+    {
+        this.uploadMemoryBudget = uploadMemoryBudget;
+        return this;
+    }
+    
+    /**
+     * Sets <code>INSERT DATA</code> group-commit window in milliseconds, or null to disable group commit.
+     * 
+     * @param groupCommitWindow <code>INSERT DATA</code> group-commit window in milliseconds
+     * @return this config
+     */
+    public ApplicationConfig groupCommitWindow(Long groupCommitWindow)
+    {
+        this.groupCommitWindow = groupCommitWindow;
+        return this;
+    }
+    
+    /**
+     * Sets write-behind journal directory, or null to execute updates synchronously.
+     * 
+     * @param journalDirectory write-behind journal directory
+     * @return this config
+     */
+    public ApplicationConfig journal(Path journalDirectory)
+    {
+        this.journalDirectory = journalDirectory;
+        return this;
+    }
+    
+    /**
+     * Sets send only the difference to the current named graph on PUT.
+     * 
+     * @param deltaPut send only the difference to the current named graph on PUT
+     * @return this config
+     */
+    public ApplicationConfig deltaPut(boolean deltaPut)
+    {
+        this.deltaPut = deltaPut;
+        return this;
+    }
+    
+    /**
+     * Sets enable the batch description endpoint.
+     * 
+     * @param batch enable the batch description endpoint
+     * @return this config
+     */
+    public ApplicationConfig batch(boolean batch)
+    {
+        this.batch = batch;
+        return this;
+    }
+    
+    /**
+     * Sets read replica SPARQL endpoint URI to Graph Store URI map (the latter can be null).
+     * 
+     * @param readReplicas read replica SPARQL endpoint URI to Graph Store URI map (the latter can be null)
+     * @return this config
+     */
+    public ApplicationConfig readReplicas(Map<URI, URI> readReplicas)
+    {
+        this.readReplicas = readReplicas;
+        return this;
+    }
+    
+    /**
+     * Sets hedged queries as percentage of all queries, or null to disable hedging.
+     * 
+     * @param hedgeBudget hedged queries as percentage of all queries
+     * @return this config
+     */
+    public ApplicationConfig hedgeBudget(Double hedgeBudget)
+    {
+        this.hedgeBudget = hedgeBudget;
+        return this;
+    }
+    
+    /**
+     * Sets named graph index reconciliation interval in milliseconds, or null to disable the index.
+     * 
+     * @param graphIndexInterval named graph index reconciliation interval in milliseconds
+     * @return this config
+     */
+    public ApplicationConfig graphIndexInterval(Long graphIndexInterval)
+    {
+        this.graphIndexInterval = graphIndexInterval;
+        return this;
+    }
+    
+    /**
+     * Sets patterns of the URIs of named graphs that are mirrored locally.
+     * 
+     * @param mirrorGraphs patterns of the URIs of named graphs that are mirrored locally
+     * @return this config
+     */
+    public ApplicationConfig mirrorGraphs(List<Pattern> mirrorGraphs)
+    {
+        this.mirrorGraphs = mirrorGraphs;
+        return this;
+    }
+    
+    /**
+     * Sets number of the most frequently read named graphs that are mirrored locally.
+     * 
+     * @param mirrorHotGraphs number of the most frequently read named graphs that are mirrored locally
+     * @return this config
+     */
+    public ApplicationConfig mirrorHotGraphs(int mirrorHotGraphs)
+    {
+        this.mirrorHotGraphs = mirrorHotGraphs;
+        return this;
+    }
+    
+    /**
+     * Sets traffic log file, or null to disable traffic capture.
+     * 
+     * @param captureFile traffic log file
+     * @return this config
+     */
+    public ApplicationConfig captureFile(Path captureFile)
+    {
+        this.captureFile = captureFile;
+        return this;
+    }
+    
+    /**
+     * Sets fraction of requests that are recorded in the traffic log.
+     * 
+     * @param captureRate fraction of requests that are recorded in the traffic log
+     * @return this config
+     */
+    public ApplicationConfig captureRate(double captureRate)
+    {
+        this.captureRate = captureRate;
+        return this;
+    }
+    
+    /**
+     * Sets name of the query parameter that passes the remaining request time to the SPARQL service, or null to only
+     * limit the HTTP read timeout.
+     * 
+     * @param queryTimeoutParam query timeout parameter name
+     * @return this config
+     */
+    public ApplicationConfig queryTimeoutParam(String queryTimeoutParam)
+    {
+        this.queryTimeoutParam = queryTimeoutParam;
+        return this;
+    }
+    
+    /**
+     * Sets unit of the query timeout parameter value.
+     * 
+     * @param queryTimeoutUnit query timeout unit
+     * @return this config
+     */
+    public ApplicationConfig queryTimeoutUnit(TimeUnit queryTimeoutUnit)
+    {
+        this.queryTimeoutUnit = queryTimeoutUnit;
+        return this;
+    }
+    
+    public Dataset getDataset()
+    {
+        return dataset;
+    }
+    
+    public boolean isDatasetTransactions()
+    {
+        return datasetTransactions;
+    }
+    
+    public String getEndpointURI()
+    {
+        return endpointURI;
+    }
+    
+    public String getGraphStoreURI()
+    {
+        return graphStoreURI;
+    }
+    
+    public String getQuadStoreURI()
+    {
+        return quadStoreURI;
+    }
+    
+    public String getAuthUser()
+    {
+        return authUser;
+    }
+    
+    public String getAuthPwd()
+    {
+        return authPwd;
+    }
+    
+    public MediaTypes getMediaTypes()
+    {
+        return mediaTypes;
+    }
+    
+    public Client getClient()
+    {
+        return client;
+    }
+    
+    public Integer getMaxGetRequestSize()
+    {
+        return maxGetRequestSize;
+    }
+    
+    public boolean isCacheModelLoads()
+    {
+        return cacheModelLoads;
+    }
+    
+    public boolean isPreemptiveAuth()
+    {
+        return preemptiveAuth;
+    }
+    
+    public LocationMapper getLocationMapper()
+    {
+        return locationMapper;
+    }
+    
+    public String getOntologyURI()
+    {
+        return ontologyURI;
+    }
+    
+    public boolean isCacheSitemap()
+    {
+        return cacheSitemap;
+    }
+    
+    public Map<URI, String> getSitemaps()
+    {
+        return sitemaps;
+    }
+    
+    public Long getUploadMemoryBudget()
+    {
+        return uploadMemoryBudget;
+    }
+    
+    public Long getGroupCommitWindow()
+    {
+        return groupCommitWindow;
+    }
+    
+    public Path getJournalDirectory()
+    {
+        return journalDirectory;
+    }
+    
+    public boolean isDeltaPut()
+    {
+        return deltaPut;
+    }
+    
+    public boolean isBatch()
+    {
+        return batch;
+    }
+    
+    public Map<URI, URI> getReadReplicas()
+    {
+        return readReplicas;
+    }
+    
+    public Double getHedgeBudget()
+    {
+        return hedgeBudget;
+    }
+    
+    public Long getGraphIndexInterval()
+    {
+        return graphIndexInterval;
+    }
+    
+    public List<Pattern> getMirrorGraphs()
+    {
+        return mirrorGraphs;
+    }
+    
+    public int getMirrorHotGraphs()
+    {
+        return mirrorHotGraphs;
+    }
+    
+    public Path getCaptureFile()
+    {
+        return captureFile;
+    }
+    
+    public double getCaptureRate()
+    {
+        return captureRate;
+    }
+    
+    public String getQueryTimeoutParam()
+    {
+        return queryTimeoutParam;
+    }
+    
+    public TimeUnit getQueryTimeoutUnit()
+    {
+        return queryTimeoutUnit;
+    }
+    
+}
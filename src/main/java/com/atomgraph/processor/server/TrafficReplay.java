@@ -0,0 +1,411 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.server;
+
+import com.atomgraph.processor.util.TrafficLog;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.util.LocationMapper;
+import org.apache.jena.vocabulary.RDFS;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays a {@link TrafficLog} against an in-process processor, in order to reproduce production latencies offline.
+ * Requests are sent with the captured mix and relative timing (optionally sped up) through a Jersey application handler,
+ * without an HTTP server. Request bodies are not captured, so synthetic bodies of the captured size are sent instead:
+ * SPARQL updates for update requests and N-Triples otherwise.
+ * The report compares captured and replayed latencies per template.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class TrafficReplay implements Closeable
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(TrafficReplay.class);
+    
+    /** Default base URI of replayed requests */
+    public static final URI DEFAULT_BASE_URI = URI.create("http://localhost/");
+    /** Default number of concurrent requests */
+    public static final int DEFAULT_THREADS = 16;
+    /** Default Jena location mapping */
+    public static final String DEFAULT_LOCATION_MAPPING = "location-mapping.n3";
+    /** Report row of requests that did not match a template */
+    public static final String NO_TEMPLATE = "(none)";
+    
+    private final ApplicationHandler handler;
+    private final URI baseUri;
+    
+    /**
+     * Constructs replay.
+     * 
+     * @param application processor application, not yet initialized
+     * @param baseUri base URI of replayed requests
+     */
+    public TrafficReplay(Application application, URI baseUri)
+    {
+        if (application == null) throw new IllegalArgumentException("Application cannot be null");
+        if (baseUri == null) throw new IllegalArgumentException("URI cannot be null");
+        
+        application.init();
+        this.handler = new ApplicationHandler(application);
+        this.baseUri = baseUri;
+    }
+    
+    /**
+     * Replays records with their relative timing.
+     * 
+     * @param records records in log order
+     * @param speed replay speed factor, or 0 to send requests as fast as possible
+     * @param threads number of concurrent requests
+     * @return results in record order
+     * @throws InterruptedException if interrupted while waiting for the results
+     */
+    public List<Result> replay(List<TrafficLog.Record> records, double speed, int threads) throws InterruptedException
+    {
+        if (records == null) throw new IllegalArgumentException("List<Record> cannot be null");
+        if (speed < 0) throw new IllegalArgumentException("Speed cannot be negative");
+        if (threads <= 0) throw new IllegalArgumentException("Number of threads must be positive");
+        if (records.isEmpty()) return Collections.emptyList();
+        
+        ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(threads);
+        try
+        {
+            long origin = records.get(0).getTimestamp();
+            List<Future<Result>> futures = new ArrayList<>();
+            for (TrafficLog.Record record : records)
+            {
+                long delay = speed > 0 ? Math.round((record.getTimestamp() - origin) / speed) : 0;
+                futures.add(executor.schedule(() -> replay(record), Math.max(0, delay), TimeUnit.MILLISECONDS));
+            }
+            
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures)
+                try
+                {
+                    results.add(future.get());
+                }
+                catch (ExecutionException ex)
+                {
+                    throw new IllegalStateException("Replay failed", ex.getCause());
+                }
+            return results;
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Replays a single record.
+     * The measured time includes writing the response body.
+     * 
+     * @param record request record
+     * @return result
+     */
+    public Result replay(TrafficLog.Record record)
+    {
+        ContainerRequest request = getRequest(getBaseUri(), record);
+        long start = System.nanoTime();
+        int status;
+        try
+        {
+            ContainerResponse response = getHandler().apply(request).get();
+            status = response.getStatus();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            status = 0;
+        }
+        catch (ExecutionException ex)
+        {
+            if (log.isDebugEnabled()) log.debug("Replayed request {} {} failed", record.getMethod(), record.getPath(), ex.getCause());
+            status = 0;
+        }
+        
+        return new Result(record, status, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    }
+    
+    /**
+     * Builds in-process request from a record.
+     * 
+     * @param baseUri base URI
+     * @param record request record
+     * @return container request
+     */
+    public static ContainerRequest getRequest(URI baseUri, TrafficLog.Record record)
+    {
+        if (baseUri == null) throw new IllegalArgumentException("URI cannot be null");
+        if (record == null) throw new IllegalArgumentException("Record cannot be null");
+        
+        String relativePath = record.getPath().substring(1);
+        URI requestUri = relativePath.isEmpty() ? baseUri : baseUri.resolve(relativePath);
+        ContainerRequest request = new ContainerRequest(baseUri, requestUri, record.getMethod(), null, new MapPropertiesDelegate(), null);
+        if (record.getAccept() != null) request.getHeaders().add(HttpHeaders.ACCEPT, record.getAccept());
+        
+        if (record.getUploadBytes() > 0 || record.getMethod().equals(HttpMethod.POST) || record.getMethod().equals(HttpMethod.PUT) ||
+                record.getMethod().equals("PATCH"))
+        {
+            MediaType contentType = getContentType(record);
+            request.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, contentType.toString());
+            request.setEntityStream(new ByteArrayInputStream(getBody(baseUri, contentType, record.getUploadBytes())));
+        }
+        
+        return request;
+    }
+    
+    /**
+     * Returns the media type of the synthetic body for the record.
+     * 
+     * @param record request record
+     * @return SPARQL update or form type for update requests, N-Triples otherwise
+     */
+    public static MediaType getContentType(TrafficLog.Record record)
+    {
+        if (record.getContentType() != null)
+        {
+            MediaType contentType = MediaType.valueOf(record.getContentType());
+            if (contentType.isCompatible(com.atomgraph.core.MediaType.APPLICATION_SPARQL_UPDATE_TYPE) ||
+                    contentType.isCompatible(MediaType.APPLICATION_FORM_URLENCODED_TYPE))
+                return new MediaType(contentType.getType(), contentType.getSubtype());
+        }
+        
+        return com.atomgraph.core.MediaType.APPLICATION_NTRIPLES_TYPE;
+    }
+    
+    /**
+     * Returns synthetic request body of at least the given size.
+     * 
+     * @param baseUri base URI
+     * @param contentType body media type
+     * @param size body size in bytes
+     * @return body
+     */
+    public static byte[] getBody(URI baseUri, MediaType contentType, long size)
+    {
+        StringBuilder triples = new StringBuilder();
+        int i = 0;
+        do
+        {
+            triples.append("<").append(baseUri.resolve("replay/" + i++)).append("> <").append(RDFS.label.getURI()).append("> \"replay\" .\n");
+        }
+        while (triples.length() < size);
+        
+        if (contentType.isCompatible(MediaType.APPLICATION_FORM_URLENCODED_TYPE))
+            return ("update=" + URLEncoder.encode("INSERT DATA {\n" + triples + "}", StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+        if (contentType.isCompatible(com.atomgraph.core.MediaType.APPLICATION_SPARQL_UPDATE_TYPE))
+            return ("INSERT DATA {\n" + triples + "}").getBytes(StandardCharsets.UTF_8);
+        
+        return triples.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Prints captured and replayed latencies per template.
+     * 
+     * @param results replay results
+     * @param out output stream
+     */
+    public static void report(List<Result> results, PrintStream out)
+    {
+        if (results == null) throw new IllegalArgumentException("List<Result> cannot be null");
+        if (out == null) throw new IllegalArgumentException("PrintStream cannot be null");
+        
+        Map<String, List<Result>> templates = new TreeMap<>();
+        for (Result result : results)
+            templates.computeIfAbsent(result.getRecord().getTemplate() != null ? result.getRecord().getTemplate() : NO_TEMPLATE, key -> new ArrayList<>()).add(result);
+        
+        out.println("template\trequests\tstatus mismatches\tcaptured p50 ms\tcaptured p95 ms\treplayed p50 ms\treplayed p95 ms");
+        for (Map.Entry<String, List<Result>> template : templates.entrySet())
+        {
+            List<Long> captured = new ArrayList<>(), replayed = new ArrayList<>();
+            int mismatches = 0;
+            for (Result result : template.getValue())
+            {
+                captured.add(result.getRecord().getTotal());
+                replayed.add(result.getMicros());
+                if (result.getStatus() != result.getRecord().getStatus()) mismatches++;
+            }
+            
+            out.println(String.format(Locale.ROOT, "%s\t%d\t%d\t%.1f\t%.1f\t%.1f\t%.1f", template.getKey(), template.getValue().size(), mismatches,
+                getPercentile(captured, 0.5) / 1000d, getPercentile(captured, 0.95) / 1000d,
+                getPercentile(replayed, 0.5) / 1000d, getPercentile(replayed, 0.95) / 1000d));
+        }
+    }
+    
+    /**
+     * Returns the nearest-rank percentile.
+     * 
+     * @param values values
+     * @param percentile percentile between 0 and 1
+     * @return percentile value, or 0 if there are no values
+     */
+    public static long getPercentile(List<Long> values, double percentile)
+    {
+        if (values.isEmpty()) return 0;
+        
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int)Math.ceil(percentile * sorted.size());
+        return sorted.get(Math.min(sorted.size(), Math.max(1, rank)) - 1);
+    }
+    
+    @Override
+    public void close()
+    {
+        getHandler().onShutdown(null);
+    }
+    
+    public ApplicationHandler getHandler()
+    {
+        return handler;
+    }
+    
+    public URI getBaseUri()
+    {
+        return baseUri;
+    }
+    
+    /**
+     * Loads Jena location mapping.
+     * The mapping file is resolved as a file path or a classpath resource.
+     * 
+     * @param location location of the mapping file
+     * @return location mapper
+     */
+    public static LocationMapper getLocationMapper(String location)
+    {
+        if (location == null) throw new IllegalArgumentException("String cannot be null");
+        
+        LocationMapper locationMapper = new LocationMapper();
+        locationMapper.processConfig(RDFDataMgr.loadModel(location));
+        return locationMapper;
+    }
+    
+    /**
+     * Replays a traffic log against a local dataset.
+     * 
+     * @param args command line arguments
+     * @throws Exception if replay fails
+     */
+    public static void main(String[] args) throws Exception
+    {
+        URI baseUri = DEFAULT_BASE_URI;
+        String locationMapping = DEFAULT_LOCATION_MAPPING;
+        double speed = 1d;
+        int threads = DEFAULT_THREADS;
+        List<String> arguments = new ArrayList<>();
+        
+        for (int i = 0; i < args.length; i++)
+            switch (args[i])
+            {
+                case "--base" -> baseUri = URI.create(args[++i]);
+                case "--location-mapping" -> locationMapping = args[++i];
+                case "--speed" -> speed = Double.parseDouble(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                default -> arguments.add(args[i]);
+            }
+        
+        if (arguments.size() != 3)
+        {
+            System.err.println("Usage: TrafficReplay [--base URI] [--location-mapping file] [--speed factor] [--threads count] <traffic log> <dataset file> <sitemap ontology URI>");
+            System.exit(1);
+        }
+        
+        JenaSystem.init();
+        
+        Path trafficLog = Paths.get(arguments.get(0));
+        Dataset dataset = DatasetFactory.createTxnMem();
+        RDFDataMgr.read(dataset, arguments.get(1));
+        
+        Application application = new Application(new ApplicationConfig().
+            dataset(dataset).
+            datasetTransactions(true).
+            locationMapper(getLocationMapper(locationMapping)).
+            ontology(arguments.get(2)));
+        
+        try (TrafficReplay replay = new TrafficReplay(application, baseUri))
+        {
+            List<TrafficLog.Record> records = TrafficLog.read(trafficLog);
+            if (log.isInfoEnabled()) log.info("Replaying {} requests from {}", records.size(), trafficLog);
+            report(replay.replay(records, speed, threads), System.out);
+        }
+    }
+    
+    /**
+     * Result of a replayed request.
+     */
+    public static class Result
+    {
+        
+        private final TrafficLog.Record record;
+        private final int status;
+        private final long micros;
+        
+        public Result(TrafficLog.Record record, int status, long micros)
+        {
+            this.record = record;
+            this.status = status;
+            this.micros = micros;
+        }
+        
+        public TrafficLog.Record getRecord()
+        {
+            return record;
+        }
+        
+        public int getStatus()
+        {
+            return status;
+        }
+        
+        public long getMicros()
+        {
+            return micros;
+        }
+        
+    }
+    
+}
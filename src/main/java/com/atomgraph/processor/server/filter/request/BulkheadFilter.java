@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server.filter.request;
+
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.util.Bulkhead;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.Context;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.glassfish.jersey.server.CloseableService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Request filter that limits concurrent requests per template.
+ * Templates annotated with <code>ap:maxConcurrency</code> (and optionally <code>ap:maxQueueSize</code>) get their own
+ * {@link Bulkhead}, so that an expensive template cannot starve the others. Requests that do not get a permit are
+ * rejected with <code>503 Service Unavailable</code> and <code>Retry-After</code>.
+ * The permit is released when the request is closed. Paths that are not sitemap resources are not limited.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+@PreMatching
+@Priority(Priorities.USER + 100)
+public class BulkheadFilter extends TemplateMatchingFilter
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(BulkheadFilter.class);
+    
+    /** <code>Retry-After</code> value of rejected requests, in seconds */
+    public static final long RETRY_AFTER = 1L;
+    
+    private final Map<Template, Optional<Bulkhead>> bulkheads = new ConcurrentHashMap<>();
+    
+    @Context private CloseableService closeableService;
+
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException
+    {
+        Template template = getTemplate(request);
+        if (template == null) return;
+        
+        Optional<Bulkhead> bulkhead = getBulkhead(template);
+        if (!bulkhead.isPresent()) return;
+        
+        boolean acquired;
+        try
+        {
+            acquired = bulkhead.get().tryAcquire();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        
+        if (!acquired)
+        {
+            if (log.isDebugEnabled()) log.debug("Template {} is at its concurrency limit, rejecting request to <{}>", template, request.getUriInfo().getAbsolutePath());
+            throw new ServiceUnavailableException(RETRY_AFTER);
+        }
+        
+        getCloseableService().add(bulkhead.get()::release);
+    }
+    
+    /**
+     * Returns the bulkhead of the given template.
+     * 
+     * @param template matched template
+     * @return bulkhead, or empty if the template has no concurrency limit
+     */
+    public Optional<Bulkhead> getBulkhead(Template template)
+    {
+        return bulkheads.computeIfAbsent(template, t ->
+        {
+            Integer maxConcurrency = t.getMaxConcurrency();
+            if (maxConcurrency == null) return Optional.empty();
+            
+            Integer maxQueueSize = t.getMaxQueueSize();
+            return Optional.of(new Bulkhead(maxConcurrency, maxQueueSize != null ? maxQueueSize : maxConcurrency));
+        });
+    }
+    
+    public CloseableService getCloseableService()
+    {
+        return closeableService;
+    }
+    
+}
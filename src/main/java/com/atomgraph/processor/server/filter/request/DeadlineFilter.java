@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server.filter.request;
+
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.util.Deadline;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.Context;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.glassfish.jersey.server.CloseableService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Request filter that sets the {@link Deadline} of the request.
+ * The deadline is the earlier of the matching template's <code>ap:timeout</code> (in milliseconds) and the client's
+ * <code>Prefer: wait</code> preference (in seconds, RFC 7240). It applies before the request waits for admission,
+ * so time spent queueing counts against it. Paths that are not sitemap resources only get the client's deadline.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see com.atomgraph.processor.client.filter.QueryTimeoutFilter
+ */
+@PreMatching
+@Priority(Priorities.USER + 50)
+public class DeadlineFilter extends TemplateMatchingFilter
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(DeadlineFilter.class);
+    
+    /** Name of the preference request header */
+    public static final String PREFER = "Prefer";
+    /** Name of the wait preference */
+    public static final String WAIT = "wait";
+    
+    @Context private CloseableService closeableService;
+
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException
+    {
+        Deadline deadline = null;
+        
+        Template template = getTemplate(request);
+        if (template != null && template.getTimeout() != null) deadline = Deadline.after(template.getTimeout(), TimeUnit.MILLISECONDS);
+        
+        Long wait = getWait(request.getHeaders().get(PREFER));
+        if (wait != null) deadline = Deadline.after(wait, TimeUnit.SECONDS).min(deadline);
+        
+        Deadline.set(deadline); // also clears the deadline left over from a previous request on this thread
+        if (deadline != null) getCloseableService().add(() -> Deadline.set(null));
+    }
+    
+    /**
+     * Parses the <code>wait</code> preference from <code>Prefer</code> header values.
+     * 
+     * @param values header values or null
+     * @return wait in seconds, or null if not specified or invalid
+     */
+    public static Long getWait(List<String> values)
+    {
+        if (values == null) return null;
+        
+        for (String value : values)
+            for (String preference : value.split(","))
+            {
+                String token = preference.split(";")[0].trim();
+                int index = token.indexOf('=');
+                if (index > 0 && token.substring(0, index).trim().equalsIgnoreCase(WAIT))
+                {
+                    try
+                    {
+                        long wait = Long.parseLong(token.substring(index + 1).trim().replace("\"", ""));
+                        if (wait >= 0) return wait;
+                    }
+                    catch (NumberFormatException ex)
+                    {
+                        if (log.isDebugEnabled()) log.debug("Ignoring invalid Prefer: wait value '{}'", token);
+                    }
+                }
+            }
+        
+        return null;
+    }
+    
+    public CloseableService getCloseableService()
+    {
+        return closeableService;
+    }
+    
+}
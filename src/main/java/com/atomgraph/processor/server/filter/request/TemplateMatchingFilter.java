@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server.filter.request;
+
+import com.atomgraph.processor.model.Application;
+import com.atomgraph.processor.model.Template;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.Context;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.glassfish.jersey.server.ExtendedResourceContext;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.uri.PathPattern;
+import org.glassfish.jersey.uri.PathTemplate;
+
+/**
+ * Base class of the pre-matching request filters that look up the sitemap template of the request path.
+ * Paths that are not relative to the base URI, or that belong to root resources other than the sitemap's root resource
+ * (such as the batch and journal endpoints, if enabled), are not sitemap resources and are left to resource matching.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public abstract class TemplateMatchingFilter implements ContainerRequestFilter
+{
+    
+    private volatile List<PathPattern> reservedPatterns;
+    
+    @Inject jakarta.inject.Provider<Application> application;
+    @Context ExtendedResourceContext resourceContext;
+    
+    /**
+     * Returns the request path relative to the base URI, if it can be a sitemap resource.
+     * 
+     * @param request request context
+     * @return relative path, or null if the path is not relative to the base URI or is reserved
+     */
+    public URI getRelativePath(ContainerRequestContext request)
+    {
+        URI absolutePath = request.getUriInfo().getAbsolutePath();
+        URI relative = request.getUriInfo().getBaseUri().relativize(absolutePath);
+        if (relative.equals(absolutePath)) return null; // not relative to the base URI
+        if (isReserved(relative.getPath())) return null; // not a sitemap resource
+        
+        return relative;
+    }
+    
+    /**
+     * Returns the sitemap template that matches the request path.
+     * 
+     * @param request request context
+     * @return template, or null if the path has no match or is not a sitemap resource
+     * @see #getRelativePath(jakarta.ws.rs.container.ContainerRequestContext)
+     */
+    public Template getTemplate(ContainerRequestContext request)
+    {
+        URI relative = getRelativePath(request);
+        if (relative == null) return null;
+        
+        return getApplication().getTemplateMatcher().match("/" + relative);
+    }
+    
+    /**
+     * Returns true if the path belongs to a root resource which is not described by the sitemap.
+     * 
+     * @param path path relative to the base URI
+     * @return true if reserved
+     */
+    public boolean isReserved(String path)
+    {
+        if (reservedPatterns == null) reservedPatterns = getReservedPatterns(getResourceContext().getResourceModel());
+        
+        return isReserved(reservedPatterns, path);
+    }
+    
+    /**
+     * Returns true if the path matches one of the given patterns.
+     * 
+     * @param patterns path patterns
+     * @param path path relative to the base URI
+     * @return true if reserved
+     */
+    public static boolean isReserved(List<PathPattern> patterns, String path)
+    {
+        String absolutePath = "/" + path;
+        return patterns.stream().anyMatch(pattern -> pattern.match(absolutePath) != null);
+    }
+    
+    /**
+     * Returns path patterns of the root resources, except the ones mapped to the root path which serve the sitemap resources.
+     * Patterns also match sub-resource paths.
+     * 
+     * @param resourceModel resource model of the application
+     * @return list of patterns
+     */
+    public static List<PathPattern> getReservedPatterns(ResourceModel resourceModel)
+    {
+        return resourceModel.getRootResources().stream().
+            map(Resource::getPath).
+            filter(path -> path != null && !path.isEmpty() && !path.equals("/")).
+            map(path -> new PathPattern(new PathTemplate(path), PathPattern.RightHandPath.capturingZeroOrMoreSegments)).
+            collect(Collectors.toList());
+    }
+    
+    public Application getApplication()
+    {
+        return application.get();
+    }
+    
+    public ExtendedResourceContext getResourceContext()
+    {
+        return resourceContext;
+    }
+    
+}
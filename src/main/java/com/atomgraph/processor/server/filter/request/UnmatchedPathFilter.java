@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.server.filter.request;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.server.mapper.NotFoundExceptionMapper;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Variant;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFWriterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Request filter that rejects paths which do not match any template in the sitemap with <code>404 Not Found</code>,
+ * before the resource class is matched and instantiated.
+ * The response body is the same as produced by {@link NotFoundExceptionMapper}, serialized once per media type.
+ * Unmatched paths are remembered, so that repeated requests skip template matching.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+@PreMatching
+@Priority(Priorities.USER)
+public class UnmatchedPathFilter extends TemplateMatchingFilter
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(UnmatchedPathFilter.class);
+    
+    /** Maximum number of unmatched paths remembered. The set is cleared when it fills up. */
+    public static final int MAX_UNMATCHED_PATHS = 4096;
+    
+    private final Set<String> unmatchedPaths = ConcurrentHashMap.newKeySet();
+    private final Map<MediaType, byte[]> bodies = new ConcurrentHashMap<>();
+    private Model model;
+    private List<Variant> variants;
+    
+    @Inject MediaTypes mediaTypes;
+
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException
+    {
+        URI relative = getRelativePath(request);
+        if (relative == null) return; // not a sitemap resource - leave it to resource matching
+        
+        URI absolutePath = request.getUriInfo().getAbsolutePath();
+        String key = absolutePath.toString();
+        if (!getUnmatchedPaths().contains(key))
+        {
+            if (getApplication().getTemplateMatcher().match("/" + relative) != null) return;
+            
+            if (getUnmatchedPaths().size() >= MAX_UNMATCHED_PATHS) getUnmatchedPaths().clear();
+            getUnmatchedPaths().add(key);
+        }
+        
+        if (log.isDebugEnabled()) log.debug("Path {} has no Template match, returning {}", absolutePath, Response.Status.NOT_FOUND);
+        request.abortWith(getResponse(request));
+    }
+    
+    /**
+     * Builds <code>404 Not Found</code> response with a pre-serialized body in the negotiated media type.
+     * 
+     * @param request request context
+     * @return response
+     */
+    public Response getResponse(ContainerRequestContext request)
+    {
+        Variant variant = request.getRequest().selectVariant(getVariants());
+        MediaType mediaType = variant != null ? variant.getMediaType() : com.atomgraph.core.MediaType.TEXT_TURTLE_TYPE;
+        
+        return Response.status(Response.Status.NOT_FOUND).
+            entity(getBody(mediaType)).
+            type(mediaType).
+            header(HttpHeaders.VARY, HttpHeaders.ACCEPT).
+            build();
+    }
+    
+    /**
+     * Returns the response body serialized in the given media type.
+     * Media types without an RDF writer are serialized as Turtle.
+     * 
+     * @param mediaType media type
+     * @return serialized body
+     */
+    public byte[] getBody(MediaType mediaType)
+    {
+        return bodies.computeIfAbsent(mediaType, mt ->
+        {
+            Lang lang = RDFLanguages.contentTypeToLang(mt.getType() + "/" + mt.getSubtype());
+            if (lang == null || !RDFWriterRegistry.contains(lang)) lang = Lang.TURTLE;
+            
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            RDFDataMgr.write(baos, getModel(), lang);
+            return baos.toByteArray();
+        });
+    }
+    
+    /**
+     * Returns the RDF description of the <code>404 Not Found</code> response.
+     * 
+     * @return RDF model
+     */
+    public Model getModel()
+    {
+        if (model == null)
+            model = new NotFoundExceptionMapper(getMediaTypes()).toResource(new NotFoundException(), Response.Status.NOT_FOUND,
+                ResourceFactory.createResource("http://www.w3.org/2011/http-statusCodes#NotFound")).getModel();
+        
+        return model;
+    }
+    
+    public List<Variant> getVariants()
+    {
+        if (variants == null) variants = Variant.mediaTypes(getMediaTypes().getWritable(Model.class).toArray(MediaType[]::new)).add().build();
+        
+        return variants;
+    }
+    
+    public Set<String> getUnmatchedPaths()
+    {
+        return unmatchedPaths;
+    }
+    
+    public MediaTypes getMediaTypes()
+    {
+        return mediaTypes;
+    }
+    
+}
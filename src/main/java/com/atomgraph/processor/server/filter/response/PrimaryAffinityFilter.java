@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server.filter.response;
+
+import java.io.IOException;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Pins clients to the primary service after a successful write.
+ * Sets a short-lived cookie on responses to successful unsafe requests; while the cookie is present,
+ * reads of that client are not sent to read replicas that may not have caught up yet.
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see com.atomgraph.processor.factory.ServiceFactory
+ */
+public class PrimaryAffinityFilter implements ContainerResponseFilter
+{
+    
+    /** Name of the cookie that pins the client to the primary */
+    public static final String COOKIE_NAME = "ap-primary";
+    /** Default cookie lifetime in seconds */
+    public static final int DEFAULT_MAX_AGE = 10;
+    
+    private final int maxAge;
+    
+    public PrimaryAffinityFilter()
+    {
+        this(DEFAULT_MAX_AGE);
+    }
+    
+    /**
+     * Constructs filter.
+     * 
+     * @param maxAge cookie lifetime in seconds, which should cover the replication lag
+     */
+    public PrimaryAffinityFilter(int maxAge)
+    {
+        if (maxAge <= 0) throw new IllegalArgumentException("Max age must be positive");
+        
+        this.maxAge = maxAge;
+    }
+    
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) throws IOException
+    {
+        String method = request.getMethod();
+        if (method.equals(HttpMethod.GET) || method.equals(HttpMethod.HEAD) || method.equals(HttpMethod.OPTIONS)) return;
+        if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) return;
+        
+        NewCookie cookie = new NewCookie.Builder(COOKIE_NAME).
+            value("1").
+            path(request.getUriInfo().getBaseUri().getPath()).
+            maxAge(getMaxAge()).
+            httpOnly(true).
+            build();
+        response.getHeaders().add(HttpHeaders.SET_COOKIE, cookie);
+    }
+    
+    public int getMaxAge()
+    {
+        return maxAge;
+    }
+    
+}
@@ -16,11 +16,9 @@
 
 package com.atomgraph.processor.server.filter.response;
 
-import com.atomgraph.core.util.Link;
+import com.atomgraph.processor.model.Application;
 import com.atomgraph.processor.model.TemplateCall;
-import com.atomgraph.processor.vocabulary.LDT;
 import java.io.IOException;
-import java.net.URI;
 import java.util.Optional;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.container.ContainerRequestContext;
@@ -29,16 +27,18 @@ import jakarta.ws.rs.container.ContainerResponseFilter;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.UriInfo;
-import org.apache.jena.ontology.Ontology;
 
 /**
+ * Adds LDT <code>Link</code> headers to responses.
+ * Header values are pre-rendered by the application when the sitemap is loaded and written as strings,
+ * so the ontology of the request is not resolved here.
  *
  * @author {@literal Martynas Jusevičius <martynas@atomgraph.com>}
  */
 public class ResponseHeaderFilter implements ContainerResponseFilter
 {
     
-    @Inject jakarta.inject.Provider<Optional<Ontology>> ontology;
+    @Inject jakarta.inject.Provider<Application> application;
     @Inject jakarta.inject.Provider<Optional<TemplateCall>> templateCall;
     
     @Context UriInfo uriInfo;
@@ -46,17 +46,22 @@ public class ResponseHeaderFilter implements ContainerResponseFilter
     @Override
     public void filter(ContainerRequestContext request, ContainerResponseContext response) throws IOException
     {
-        response.getHeaders().add(HttpHeaders.LINK, new Link(getUriInfo().getBaseUri(), LDT.base.getURI(), null));
-
-        if (getOntology().isPresent()) // if it's not present, Link headers might be forwarded by ProxyResourceBase
-            response.getHeaders().add(HttpHeaders.LINK, new Link(URI.create(getOntology().get().getURI()), LDT.ontology.getURI(), null));
-        if (getTemplateCall().isPresent())
-            response.getHeaders().add(HttpHeaders.LINK, new Link(URI.create(getTemplateCall().get().getTemplate().getURI()), LDT.template.getURI(), null));
+        Application app = getApplication();
+        
+        response.getHeaders().add(HttpHeaders.LINK, app.getBaseLink(getUriInfo().getBaseUri()));
+        
+        Optional<String> ontologyLink = app.getOntologyLink(); // the request ontology is the application's own, see OntologyFactory
+        if (ontologyLink.isPresent()) // if it's not present, Link headers might be forwarded by ProxyResourceBase
+            response.getHeaders().add(HttpHeaders.LINK, ontologyLink.get());
+        
+        Optional<TemplateCall> templateCall = getTemplateCall();
+        if (templateCall.isPresent())
+            response.getHeaders().add(HttpHeaders.LINK, app.getTemplateLink(templateCall.get().getTemplate()));
     }
 
-    public Optional<Ontology> getOntology()
+    public Application getApplication()
     {
-        return ontology.get();
+        return application.get();
     }
     
     public Optional<TemplateCall> getTemplateCall()
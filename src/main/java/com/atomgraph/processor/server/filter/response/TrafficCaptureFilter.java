@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.server.filter.response;
+
+import com.atomgraph.processor.model.Application;
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.util.TrafficLog;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.glassfish.jersey.server.CloseableService;
+
+/**
+ * Records a sample of the requests in the {@link TrafficLog}.
+ * The timings of a recorded request are split into phases: handling (from the start of the request, including the wait for admission,
+ * until the response filters), of which some is spent on remote requests, and writing of the response body.
+ * The record is appended when the request is closed.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see com.atomgraph.processor.client.filter.RemoteTimingFilter
+ */
+@PreMatching
+@Priority(Priorities.AUTHENTICATION - 100)
+public class TrafficCaptureFilter implements ContainerRequestFilter, ContainerResponseFilter
+{
+    
+    /** Name of the request property that holds the record */
+    public static final String RECORD_PROPERTY_NAME = TrafficCaptureFilter.class.getName() + ".record";
+    /** Name of the request property that holds the start time */
+    public static final String START_PROPERTY_NAME = TrafficCaptureFilter.class.getName() + ".start";
+    
+    private final TrafficLog trafficLog;
+    
+    @Inject jakarta.inject.Provider<Application> application;
+    @Context private CloseableService closeableService;
+    
+    /**
+     * Constructs filter.
+     * 
+     * @param trafficLog log that the records are appended to
+     */
+    public TrafficCaptureFilter(TrafficLog trafficLog)
+    {
+        if (trafficLog == null) throw new IllegalArgumentException("TrafficLog cannot be null");
+        
+        this.trafficLog = trafficLog;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException
+    {
+        if (!getTrafficLog().isSampled()) return;
+        
+        final long start = System.nanoTime();
+        URI baseUri = request.getUriInfo().getBaseUri();
+        URI requestUri = request.getUriInfo().getRequestUri();
+        URI relativeUri = baseUri.relativize(requestUri);
+        String path = relativeUri.isAbsolute() ? requestUri.getRawPath() : "/" + relativeUri.getRawPath();
+        if (requestUri.getRawQuery() != null) path += "?" + TrafficLog.sanitize(requestUri.getRawQuery());
+        
+        final TrafficLog.Record record = new TrafficLog.Record(System.currentTimeMillis(), request.getMethod(), path,
+            request.getHeaderString(HttpHeaders.ACCEPT), request.getHeaderString(HttpHeaders.CONTENT_TYPE));
+        if (!relativeUri.isAbsolute()) // paths outside the base URI cannot match a template
+        {
+            Template template = getApplication().getTemplateMatcher().match(request.getUriInfo().getAbsolutePath(), baseUri);
+            if (template != null) record.setTemplate(template.getURI());
+        }
+        
+        final CountingInputStream body = new CountingInputStream(request.getEntityStream());
+        request.setEntityStream(body);
+        request.setProperty(RECORD_PROPERTY_NAME, record);
+        request.setProperty(START_PROPERTY_NAME, start);
+        TrafficLog.setCurrent(record);
+        
+        getCloseableService().add(() ->
+        {
+            record.setTotal(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            record.setWrite(Math.max(0, record.getTotal() - record.getHandle()));
+            record.setUploadBytes(body.getCount());
+            TrafficLog.setCurrent(null);
+            getTrafficLog().append(record);
+        });
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) throws IOException
+    {
+        if (!(request.getProperty(RECORD_PROPERTY_NAME) instanceof TrafficLog.Record record)) return;
+        
+        record.setStatus(response.getStatus());
+        record.setHandle(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - (Long)request.getProperty(START_PROPERTY_NAME)));
+    }
+    
+    public TrafficLog getTrafficLog()
+    {
+        return trafficLog;
+    }
+    
+    public Application getApplication()
+    {
+        return application.get();
+    }
+    
+    public CloseableService getCloseableService()
+    {
+        return closeableService;
+    }
+    
+    /**
+     * Input stream that counts the bytes read from it.
+     */
+    private static class CountingInputStream extends FilterInputStream
+    {
+        
+        private long count;
+        
+        CountingInputStream(InputStream in)
+        {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException
+        {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+        
+        long getCount()
+        {
+            return count;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.server.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.stream.Stream;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.ResultSetFactory;
+import org.apache.jena.query.ResultSetRewindable;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.ResultSetMgr;
+import org.apache.jena.riot.resultset.ResultSetLang;
+import org.apache.jena.riot.resultset.ResultSetReaderRegistry;
+import org.apache.jena.riot.resultset.ResultSetWriterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SPARQL result set provider that reads and writes every result set syntax registered with Jena.
+ * Unlike the core provider, which only handles XML, JSON, CSV and TSV, this includes the binary RDF Thrift and RDF Protobuf result formats.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+@Provider
+public class ResultSetProvider extends com.atomgraph.core.io.ResultSetProvider
+{
+
+    private static final Logger log = LoggerFactory.getLogger(ResultSetProvider.class);
+
+    /**
+     * Returns the Jena result set language for the given media type.
+     * 
+     * @param mediaType media type
+     * @return language or null if the media type is not a result set syntax
+     */
+    public static Lang getLang(MediaType mediaType)
+    {
+        if (mediaType == null) return null;
+        
+        MediaType formatType = new MediaType(mediaType.getType(), mediaType.getSubtype()); // discard charset param
+        return Stream.concat(ResultSetReaderRegistry.registered().stream(), ResultSetWriterRegistry.registered().stream()).
+            filter(lang -> !lang.equals(ResultSetLang.RS_None)).
+            filter(lang -> formatType.isCompatible(MediaType.valueOf(lang.getContentType().getContentTypeStr())) ||
+                lang.getAltContentTypes().stream().anyMatch(ct -> formatType.isCompatible(MediaType.valueOf(ct)))).
+            findFirst().
+            orElse(null);
+    }
+    
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+    {
+        if (type != ResultSetRewindable.class) return false;
+        
+        Lang lang = getLang(mediaType);
+        return lang != null && ResultSetReaderRegistry.isRegistered(lang);
+    }
+    
+    @Override
+    public ResultSetRewindable readFrom(Class<ResultSetRewindable> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException
+    {
+        if (log.isTraceEnabled()) log.trace("Reading ResultSet with HTTP headers: {} MediaType: {}", httpHeaders, mediaType);
+        
+        return ResultSetFactory.makeRewindable(ResultSetMgr.read(entityStream, getLang(mediaType)));
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+    {
+        if (!ResultSet.class.isAssignableFrom(type)) return false;
+        
+        Lang lang = getLang(mediaType);
+        return lang != null && ResultSetWriterRegistry.isRegistered(lang);
+    }
+    
+    @Override
+    public void writeTo(ResultSet results, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException
+    {
+        if (log.isTraceEnabled()) log.trace("Writing ResultSet with HTTP headers: {} MediaType: {}", httpHeaders, mediaType);
+        
+        ResultSetMgr.write(entityStream, results, getLang(mediaType));
+    }
+    
+}
@@ -19,6 +19,7 @@ import com.atomgraph.processor.util.Skolemizer;
 import com.atomgraph.server.exception.SkolemizationException;
 import com.atomgraph.server.io.ValidatingDatasetProvider;
 import java.util.Iterator;
+import java.util.List;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.UriBuilder;
@@ -26,7 +27,6 @@ import jakarta.ws.rs.core.UriInfo;
 import org.apache.jena.ontology.Ontology;
 import org.apache.jena.query.Dataset;
 import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.ResIterator;
 import org.apache.jena.rdf.model.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,21 +63,10 @@ public class SkolemizingDatasetProvider extends ValidatingDatasetProvider
     
     public Model process(Model model)
     {
-        ResIterator it = model.listSubjects();
-        try
-        {
-            while (it.hasNext())
-            {
-                Resource resource = it.next();
-                process(resource);
-            }
-        }
-        finally
-        {
-            it.close();
-        }
+        List<Resource> subjects = model.listSubjects().toList(); // scan subjects once, for processing as well as skolemization
+        for (Resource resource : subjects) process(resource);
 
-        if (getOntology().isPresent()) return skolemize(getOntology().get(), getUriInfo().getBaseUriBuilder(), getUriInfo().getAbsolutePathBuilder(), model);
+        if (getOntology().isPresent()) return skolemize(getOntology().get(), getUriInfo().getBaseUriBuilder(), getUriInfo().getAbsolutePathBuilder(), model, subjects);
         else return model;
     }
     
@@ -87,10 +76,15 @@ public class SkolemizingDatasetProvider extends ValidatingDatasetProvider
     }
     
     public Model skolemize(Ontology ontology, UriBuilder baseUriBuilder, UriBuilder absolutePathBuilder, Model model)
+    {
+        return skolemize(ontology, baseUriBuilder, absolutePathBuilder, model, model.listSubjects().toList());
+    }
+    
+    public Model skolemize(Ontology ontology, UriBuilder baseUriBuilder, UriBuilder absolutePathBuilder, Model model, List<Resource> subjects)
     {
         try
         {
-            return new Skolemizer(ontology, baseUriBuilder, absolutePathBuilder).build(model); // not optimal to create Skolemizer for each Model
+            return new Skolemizer(ontology, baseUriBuilder, absolutePathBuilder).build(model, subjects); // not optimal to create Skolemizer for each Model
         }
         catch (IllegalArgumentException ex)
         {
@@ -21,12 +21,40 @@ import org.apache.jena.rdf.model.Model;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.UriBuilder;
+import org.apache.jena.shared.NoReaderForLangException;
 import com.atomgraph.server.exception.SkolemizationException;
+import com.atomgraph.processor.util.MemoryBudget;
+import com.atomgraph.processor.util.ParallelRDFParser;
 import com.atomgraph.processor.util.Skolemizer;
+import com.atomgraph.processor.util.SpillStore;
+import com.atomgraph.processor.util.SubjectCollector;
 import com.atomgraph.server.io.ValidatingModelProvider;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.HttpMethod;
-import org.apache.jena.rdf.model.ResIterator;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.rdf.listeners.StatementListener;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.ErrorHandlerFactory;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.glassfish.jersey.server.CloseableService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,28 +67,200 @@ public class SkolemizingModelProvider extends ValidatingModelProvider
 {
     private static final Logger log = LoggerFactory.getLogger(SkolemizingModelProvider.class);
     
+    private static final int BUFFER_SIZE = 8192;
+    
     @Context private Request request;
+    @Context private CloseableService closeableService;
+    
+    private final ParallelRDFParser parallelParser = new ParallelRDFParser();
+    private final MemoryBudget memoryBudget;
+    
+    /**
+     * Constructs provider that reads all request bodies into memory.
+     */
+    public SkolemizingModelProvider()
+    {
+        this(null);
+    }
+    
+    /**
+     * Constructs provider with a memory budget shared by all request bodies.
+     * Bodies that do not fit into the remaining budget are read into a temporary on-disk store instead.
+     * 
+     * @param memoryBudget request body budget, or null if unlimited
+     */
+    public SkolemizingModelProvider(MemoryBudget memoryBudget)
+    {
+        this.memoryBudget = memoryBudget;
+    }
+    
+    /**
+     * Parses the request body through a {@link SubjectCollector} stream, so that subjects are collected while parsing
+     * and the parsed model does not have to be scanned for subjects again.
+     * N-Triples bodies are split into chunks which are parsed in parallel.
+     * If a memory budget is set, bodies that exceed it are spilled to a {@link SpillStore} which is deleted after the request.
+     */
+    @Override
+    public Model readFrom(Class<Model> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException
+    {
+        if (log.isTraceEnabled()) log.trace("Reading Model with HTTP headers: {} MediaType: {}", httpHeaders, mediaType);
+        
+        MediaType formatType = new MediaType(mediaType.getType(), mediaType.getSubtype()); // discard charset param
+        Lang lang = RDFLanguages.contentTypeToLang(formatType.toString());
+        if (lang == null)
+        {
+            if (log.isErrorEnabled()) log.error("MediaType '{}' not supported by Jena", formatType);
+            throw new NoReaderForLangException("MediaType not supported: " + formatType);
+        }
+        if (log.isDebugEnabled()) log.debug("RDF language used to read Model: {}", lang);
+        
+        if (getMemoryBudget() == null) return read(ModelFactory.createDefaultModel(), entityStream, lang);
+        
+        String contentLength = httpHeaders.getFirst(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null)
+        {
+            long length = parseContentLength(contentLength);
+            if (getMemoryBudget().tryAcquire(length))
+            {
+                getCloseableService().add(() -> getMemoryBudget().release(length));
+                return read(ModelFactory.createDefaultModel(), entityStream, lang);
+            }
+            
+            return spill(entityStream, lang);
+        }
+
+        // length unknown (chunked encoding): buffer as long as the budget allows
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] bytes = new byte[BUFFER_SIZE];
+        long acquired = 0;
+        int read;
+        try
+        {
+            while ((read = entityStream.read(bytes)) != -1)
+            {
+                buffer.write(bytes, 0, read);
+                if (!getMemoryBudget().tryAcquire(read))
+                {
+                    getMemoryBudget().release(acquired);
+                    acquired = 0;
+                    return spill(new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), entityStream), lang);
+                }
+                acquired += read;
+            }
+        }
+        catch (Throwable t) // e.g. client abort; the release is not registered with the request yet
+        {
+            getMemoryBudget().release(acquired);
+            throw t;
+        }
+        
+        final long length = acquired;
+        getCloseableService().add(() -> getMemoryBudget().release(length));
+        return read(ModelFactory.createDefaultModel(), new ByteArrayInputStream(buffer.toByteArray()), lang);
+    }
+    
+    /**
+     * Parses the <code>Content-Length</code> request header value.
+     * 
+     * @param contentLength header value
+     * @return number of bytes
+     * @throws BadRequestException if the value is not a non-negative number
+     */
+    public static long parseContentLength(String contentLength)
+    {
+        try
+        {
+            long length = Long.parseLong(contentLength.trim());
+            if (length < 0) throw new BadRequestException("Invalid Content-Length: " + contentLength);
+            return length;
+        }
+        catch (NumberFormatException ex)
+        {
+            throw new BadRequestException("Invalid Content-Length: " + contentLength, ex);
+        }
+    }
+    
+    /**
+     * Reads request body into a temporary on-disk store that is deleted after the request.
+     * 
+     * @param entityStream request body stream
+     * @param lang RDF language
+     * @return processed model backed by the store
+     * @throws IOException if the store could not be created
+     */
+    public Model spill(InputStream entityStream, Lang lang) throws IOException
+    {
+        if (log.isDebugEnabled()) log.debug("Request body exceeds memory budget of {} bytes, spilling to disk", getMemoryBudget().getCapacity());
+        
+        SpillStore store = new SpillStore();
+        getCloseableService().add(store);
+        return read(store.getModel(), entityStream, lang);
+    }
+    
+    /**
+     * Parses request body into the given model and processes it.
+     * 
+     * @param model target model
+     * @param entityStream request body stream
+     * @param lang RDF language
+     * @return processed model
+     * @throws IOException if the stream could not be read
+     */
+    public Model read(Model model, InputStream entityStream, Lang lang) throws IOException
+    {
+        SubjectCollector collector = new SubjectCollector(StreamRDFLib.graph(model.getGraph()));
+        if (ParallelRDFParser.isSplittable(lang)) getParallelParser().parse(entityStream, lang, collector);
+        else RDFParser.create().
+            lang(lang).
+            errorHandler(ErrorHandlerFactory.errorHandlerStd).
+            base(getUriInfo().getAbsolutePath().toString()).
+            source(entityStream).
+            parse(collector);
+        
+        return processRead(model, collector.getSubjects().stream().map(model::wrapAsResource).toList());
+    }
     
     @Override
     public Model processRead(Model model)
+    {
+        return processRead(model, model.listSubjects().toList());
+    }
+    
+    /**
+     * Processes, validates and skolemizes the subjects of a POST or PUT request body.
+     * Subjects of the statements that {@link #process(org.apache.jena.rdf.model.Resource)} adds are skolemized as well.
+     * 
+     * @param model request body
+     * @param subjects subject resources of the model
+     * @return processed model
+     */
+    public Model processRead(Model model, List<Resource> subjects)
     {
         if (getRequest().getMethod().equalsIgnoreCase(HttpMethod.POST) || getRequest().getMethod().equalsIgnoreCase(HttpMethod.PUT))
         {
-            ResIterator it = model.listSubjects();
-            try
+            Set<Resource> processed = new LinkedHashSet<>(subjects);
+            StatementListener listener = new StatementListener()
             {
-                while (it.hasNext())
+                
+                @Override
+                public void addedStatement(Statement stmt)
                 {
-                    Resource resource = it.next();
-                    process(resource);
+                    processed.add(stmt.getSubject());
                 }
+                
+            };
+            
+            model.register(listener);
+            try
+            {
+                for (Resource resource : subjects) process(resource);
             }
             finally
             {
-                it.close();
+                model.unregister(listener);
             }
         
-            if (getOntology().isPresent()) return skolemize(getOntology().get(), getUriInfo().getBaseUriBuilder(), getUriInfo().getAbsolutePathBuilder(), super.processRead(model));
+            if (getOntology().isPresent()) return skolemize(getOntology().get(), getUriInfo().getBaseUriBuilder(), getUriInfo().getAbsolutePathBuilder(), super.processRead(model), new ArrayList<>(processed));
             else return model;
         }
         
@@ -73,10 +273,15 @@ public class SkolemizingModelProvider extends ValidatingModelProvider
     }
     
     public Model skolemize(Ontology ontology, UriBuilder baseUriBuilder, UriBuilder absolutePathBuilder, Model model)
+    {
+        return skolemize(ontology, baseUriBuilder, absolutePathBuilder, model, model.listSubjects().toList());
+    }
+    
+    public Model skolemize(Ontology ontology, UriBuilder baseUriBuilder, UriBuilder absolutePathBuilder, Model model, List<Resource> subjects)
     {
         try
         {
-            return new Skolemizer(ontology, baseUriBuilder, absolutePathBuilder).build(model);
+            return new Skolemizer(ontology, baseUriBuilder, absolutePathBuilder).build(model, subjects);
         }
         catch (IllegalArgumentException ex)
         {
@@ -88,5 +293,20 @@ public class SkolemizingModelProvider extends ValidatingModelProvider
     {
         return request;
     }
+    
+    public ParallelRDFParser getParallelParser()
+    {
+        return parallelParser;
+    }
+    
+    public MemoryBudget getMemoryBudget()
+    {
+        return memoryBudget;
+    }
+    
+    public CloseableService getCloseableService()
+    {
+        return closeableService;
+    }
 
 }
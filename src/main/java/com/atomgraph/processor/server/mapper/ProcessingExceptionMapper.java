@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server.mapper;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.processor.exception.DeadlineExceededException;
+import com.atomgraph.processor.util.Deadline;
+import com.atomgraph.server.mapper.ExceptionMapperBase;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import org.apache.jena.rdf.model.ResourceFactory;
+
+/**
+ * Maps client processing errors of remote SPARQL requests.
+ * Errors caused by the request deadline (the request was not sent, or its read timed out after the deadline)
+ * become <code>504 Gateway Timeout</code>; others remain <code>500 Internal Server Error</code>.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class ProcessingExceptionMapper extends ExceptionMapperBase implements ExceptionMapper<ProcessingException>
+{
+
+    @Inject
+    public ProcessingExceptionMapper(MediaTypes mediaTypes)
+    {
+        super(mediaTypes);
+    }
+    
+    @Override
+    public Response toResponse(ProcessingException ex)
+    {
+        if (isDeadlineExceeded(ex))
+            return getResponseBuilder(toResource(ex, Response.Status.GATEWAY_TIMEOUT,
+                            ResourceFactory.createResource("http://www.w3.org/2011/http-statusCodes#GatewayTimeout")).
+                        getModel()).
+                    status(Response.Status.GATEWAY_TIMEOUT).
+                    build();
+        
+        return getResponseBuilder(toResource(ex, Response.Status.INTERNAL_SERVER_ERROR,
+                        ResourceFactory.createResource("http://www.w3.org/2011/http-statusCodes#InternalServerError")).
+                    getModel()).
+                status(Response.Status.INTERNAL_SERVER_ERROR).
+                build();
+    }
+    
+    public boolean isDeadlineExceeded(ProcessingException ex)
+    {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause())
+            if (cause instanceof DeadlineExceededException) return true;
+        
+        Deadline deadline = Deadline.get();
+        return deadline != null && deadline.isExpired();
+    }
+    
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.server.model.impl;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.core.model.Service;
+import com.atomgraph.core.util.ModelUtils;
+import com.atomgraph.processor.exception.ParameterException;
+import com.atomgraph.processor.model.Application;
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.model.TemplateCall;
+import com.atomgraph.processor.model.impl.TemplateCallImpl;
+import com.atomgraph.processor.server.filter.request.BulkheadFilter;
+import com.atomgraph.processor.util.Bulkhead;
+import com.atomgraph.processor.util.Deadline;
+import com.atomgraph.processor.util.GraphMirror;
+import com.atomgraph.processor.util.StaleCache;
+import com.atomgraph.server.exception.OntologyException;
+import com.atomgraph.spinrdf.vocabulary.SPIN;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.ParameterizedSparqlString;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QuerySolutionMap;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.sparql.syntax.ElementSubQuery;
+import org.apache.jena.sparql.syntax.ElementVisitorBase;
+import org.apache.jena.sparql.syntax.ElementWalker;
+import org.glassfish.jersey.uri.UriComponent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Returns the descriptions of multiple resources in one response.
+ * Each URI is matched against the sitemap templates. URIs of the same template whose queries differ only in the <code>?this</code>
+ * binding are described by a single query with a <code>VALUES ?this { ... }</code> block, and the queries run concurrently.
+ * Queries with <code>VALUES</code> or subqueries of their own, and queries of templates with a stale cache, run once per URI.
+ * Descriptions are served from the graph mirror and the stale cache where possible, and every template's concurrency
+ * limit applies to the batch as it does to a single request.
+ * URIs are passed as <code>uri</code> query parameters or as a <code>text/uri-list</code> request body.
+ * URIs that are not relative to the application base, do not match a template, or whose description is not loaded
+ * using a plain <code>DESCRIBE</code>/<code>CONSTRUCT</code> template query (e.g. templates with <code>ldt:loadClass</code>,
+ * <code>ldt:lang</code> or paging) are skipped and have to be requested one by one.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+@Path(BatchResource.PATH)
+public class BatchResource
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(BatchResource.class);
+    
+    public static final String PATH = "batch";
+    public static final String URI_LIST = "text/uri-list";
+    /** Maximum number of URIs in one batch */
+    public static final int MAX_URIS = 1000;
+    /** Maximum number of queries of all batches running at once */
+    public static final int PARALLELISM = 8;
+    
+    private static final ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM, runnable ->
+    {
+        Thread thread = new Thread(runnable, "BatchResource");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final UriInfo uriInfo;
+    private final Request request;
+    private final MediaTypes mediaTypes;
+    private final Service service;
+    private final Application application;
+    private final StaleCache staleCache;
+    private final Optional<GraphMirror> graphMirror;
+    private final BulkheadFilter bulkheadFilter;
+    
+    @Inject
+    public BatchResource(@Context UriInfo uriInfo, @Context Request request, MediaTypes mediaTypes, Service service, Application application,
+            StaleCache staleCache, Optional<GraphMirror> graphMirror, BulkheadFilter bulkheadFilter)
+    {
+        this.uriInfo = uriInfo;
+        this.request = request;
+        this.mediaTypes = mediaTypes;
+        this.service = service;
+        this.application = application;
+        this.staleCache = staleCache;
+        this.graphMirror = graphMirror;
+        this.bulkheadFilter = bulkheadFilter;
+    }
+    
+    @GET
+    public Response get(@QueryParam("uri") List<URI> uris)
+    {
+        return getResponse(describe(uris));
+    }
+    
+    @POST
+    @Consumes(URI_LIST)
+    public Response post(String uriList)
+    {
+        List<URI> uris = new ArrayList<>();
+        for (String line : uriList.split("\r?\n"))
+            if (!line.isBlank() && !line.startsWith("#")) uris.add(URI.create(line.trim())); // comments are allowed by RFC 2483
+        
+        return getResponse(describe(uris));
+    }
+    
+    /**
+     * Describes resources by grouping them by query and running the queries concurrently.
+     * A permit of each template's bulkhead is held while its queries run.
+     * 
+     * @param uris resource URIs
+     * @return combined description
+     * @throws ServiceUnavailableException if one of the templates is at its concurrency limit
+     */
+    public Model describe(List<URI> uris)
+    {
+        if (uris == null) throw new IllegalArgumentException("List<URI> cannot be null");
+        if (uris.size() > MAX_URIS) throw new BadRequestException("Batch size exceeds " + MAX_URIS + " URIs");
+        
+        Map<String, Group> groups = new LinkedHashMap<>();
+        for (URI uri : uris)
+        {
+            Template template = getTemplate(uri);
+            if (template == null) continue;
+            Query query = getQuery(uri, template, false);
+            if (query == null) continue;
+            
+            // groups are per template, so that each template's concurrency limit applies to its resources
+            // stale cache entries are per resource, so that they are shared with single requests
+            if (isGroupable(query) && !StaleCache.isApplicable(template.getCacheControl()))
+                groups.computeIfAbsent(template.getURI() + " " + query.serialize(), k -> new Group(template, query, true)).getURIs().add(uri);
+            else
+                groups.computeIfAbsent(uri.toString(), k -> new Group(template, getQuery(uri, template, true), false)).getURIs().add(uri);
+        }
+        if (log.isDebugEnabled()) log.debug("Describing {} URIs with {} queries", uris.size(), groups.size());
+        
+        List<Bulkhead> bulkheads = new ArrayList<>();
+        List<CompletableFuture<Model>> futures = new ArrayList<>();
+        try
+        {
+            for (Template template : groups.values().stream().map(Group::getTemplate).collect(Collectors.toCollection(LinkedHashSet::new)))
+                acquire(template).ifPresent(bulkheads::add);
+            
+            for (Group group : groups.values())
+            {
+                Query query = group.isGrouped() ? bind(group.getQuery(), group.getURIs()) : group.getQuery();
+                futures.add(CompletableFuture.supplyAsync(Deadline.propagate(() -> loadModel(query, group.getTemplate())), executor));
+            }
+            
+            Model model = ModelFactory.createDefaultModel();
+            for (CompletableFuture<Model> future : futures) model.add(future.join());
+            return model;
+        }
+        catch (CompletionException ex)
+        {
+            if (ex.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw ex;
+        }
+        finally
+        {
+            // the permits are held until all of the queries have finished, even if one of them failed
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).handle((result, ex) -> null).join();
+            bulkheads.forEach(Bulkhead::release);
+        }
+    }
+    
+    /**
+     * Acquires a permit of the template's bulkhead, if it has one.
+     * 
+     * @param template template
+     * @return acquired bulkhead, or empty if the template has no concurrency limit
+     * @throws ServiceUnavailableException if no permit could be acquired
+     */
+    public Optional<Bulkhead> acquire(Template template)
+    {
+        Optional<Bulkhead> bulkhead = getBulkheadFilter().getBulkhead(template);
+        if (!bulkhead.isPresent()) return bulkhead;
+        
+        boolean acquired;
+        try
+        {
+            acquired = bulkhead.get().tryAcquire();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        
+        if (!acquired)
+        {
+            if (log.isDebugEnabled()) log.debug("Template {} is at its concurrency limit, rejecting batch", template);
+            throw new ServiceUnavailableException(BulkheadFilter.RETRY_AFTER);
+        }
+        
+        return bulkhead;
+    }
+    
+    /**
+     * Loads the description using the query.
+     * The query is executed on the graph mirror if it only touches mirrored graphs, and goes through the stale cache
+     * if the template allows serving stale descriptions.
+     * 
+     * @param query query with <code>?this</code> bound
+     * @param template template of the described resources
+     * @return description
+     */
+    public Model loadModel(Query query, Template template)
+    {
+        if (getGraphMirror().isPresent())
+        {
+            Model model = getGraphMirror().get().loadModel(query);
+            if (model != null) return model;
+        }
+        
+        Supplier<Model> loader = () -> getService().getEndpointAccessor().loadModel(query, Collections.<URI>emptyList(), Collections.<URI>emptyList());
+        if (getStaleCache() != null && StaleCache.isApplicable(template.getCacheControl()))
+            return getStaleCache().get(query.toString(), loader, template.getCacheControl());
+        
+        return loader.get();
+    }
+    
+    /**
+     * Returns the template of a resource whose description can be batched.
+     * 
+     * @param uri resource URI
+     * @return template or null if the URI does not match a template, or its description needs processing of its own
+     */
+    public Template getTemplate(URI uri)
+    {
+        URI base = getUriInfo().getBaseUri();
+        if (base.relativize(uri).equals(uri))
+        {
+            if (log.isDebugEnabled()) log.debug("URI <{}> is not relative to the base URI <{}>, skipping", uri, base);
+            return null;
+        }
+
+        Template template = getApplication().getTemplateMatcher().match(uri, base);
+        if (template == null || template.getQuery() == null)
+        {
+            if (log.isDebugEnabled()) log.debug("URI <{}> has no Template match or the Template has no ldt:query, skipping", uri);
+            return null;
+        }
+        if (template.getLoadClass() != null || !template.getLanguages().isEmpty() || template.getPageSize() != null)
+        {
+            if (log.isDebugEnabled()) log.debug("URI <{}> matches Template {} with ldt:loadClass, ldt:lang or paging, skipping", uri, template);
+            return null;
+        }
+        
+        return template;
+    }
+    
+    /**
+     * Builds the template query of the resource.
+     * 
+     * @param uri resource URI
+     * @param template matched template
+     * @param bindThis if true, <code>?this</code> is bound to the resource as it is for a single request, otherwise it is left unbound
+     * @return query or null if the arguments are invalid or the query is not <code>DESCRIBE</code> or <code>CONSTRUCT</code>
+     */
+    public Query getQuery(URI uri, Template template, boolean bindThis)
+    {
+        URI base = getUriInfo().getBaseUri();
+        try
+        {
+            Resource resource = ModelFactory.createDefaultModel().createResource(uri.toString());
+            TemplateCall templateCall = new TemplateCallImpl(resource, template).
+                applyArguments(UriComponent.decodeQuery(uri, true)).
+                applyDefaults().
+                validateOptionals();
+            QuerySolutionMap querySolutionMap = templateCall.getQuerySolutionMap();
+            if (bindThis) querySolutionMap.add(SPIN.THIS_VAR_NAME, resource);
+            
+            Query query = new ParameterizedSparqlString(getQueryString(template), querySolutionMap, base.toString()).asQuery();
+            if (!query.isDescribeType() && !query.isConstructType())
+            {
+                if (log.isDebugEnabled()) log.debug("URI <{}> has a query that does not describe resources, skipping", uri);
+                return null;
+            }
+            
+            return query;
+        }
+        catch (ParameterException ex)
+        {
+            if (log.isDebugEnabled()) log.debug("URI <{}> has invalid arguments, skipping: {}", uri, ex.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Returns true if <code>?this</code> of the query can be bound with a trailing <code>VALUES</code> block.
+     * This is not the case for queries with <code>VALUES</code> of their own, or with subqueries, as the block does
+     * not bind the variables inside them (e.g. a <code>LIMIT</code> subquery would be evaluated once for all resources).
+     * 
+     * @param query query
+     * @return true if resources can be described together
+     */
+    public static boolean isGroupable(Query query)
+    {
+        if (query.hasValues()) return false;
+        if (query.getQueryPattern() == null) return true;
+        
+        AtomicBoolean subQuery = new AtomicBoolean();
+        ElementWalker.walk(query.getQueryPattern(), new ElementVisitorBase()
+        {
+            @Override
+            public void visit(ElementSubQuery el)
+            {
+                subQuery.set(true);
+            }
+        });
+        return !subQuery.get();
+    }
+    
+    /**
+     * Returns the text of the template query.
+     * 
+     * @param template template
+     * @return query string
+     */
+    public String getQueryString(Template template)
+    {
+        Resource queryResource = template.getQuery();
+        if (queryResource.canAs(com.atomgraph.spinrdf.model.TemplateCall.class))
+            return queryResource.as(com.atomgraph.spinrdf.model.TemplateCall.class).getTemplate().getBody().getText();
+        if (queryResource.canAs(com.atomgraph.spinrdf.model.Query.class))
+            return queryResource.as(com.atomgraph.spinrdf.model.Query.class).getText();
+
+        if (log.isErrorEnabled()) log.error("ldt:query value for template '{}' cannot be cast to sp:Query", template);
+        throw new OntologyException("ldt:query value of template '" + template + "' cannot be cast to sp:Query");
+    }
+    
+    /**
+     * Binds <code>?this</code> to the URIs using a <code>VALUES</code> block.
+     * 
+     * @param query query
+     * @param uris resource URIs
+     * @return query copy with values
+     * @see #isGroupable(org.apache.jena.query.Query)
+     */
+    public Query bind(Query query, List<URI> uris)
+    {
+        Var thisVar = Var.alloc(SPIN.THIS_VAR_NAME);
+        List<Binding> bindings = new ArrayList<>();
+        for (URI uri : uris) bindings.add(BindingFactory.binding(thisVar, NodeFactory.createURI(uri.toString())));
+        
+        Query bound = query.cloneQuery();
+        bound.setValuesDataBlock(List.of(thisVar), bindings);
+        return bound;
+    }
+    
+    public Response getResponse(Model model)
+    {
+        return new com.atomgraph.core.model.impl.Response(getRequest(), model, null, new EntityTag(Long.toHexString(ModelUtils.hashModel(model))),
+            getMediaTypes().getWritable(Model.class), Collections.emptyList(), Collections.emptyList()).
+            getResponseBuilder().
+            build();
+    }
+    
+    public UriInfo getUriInfo()
+    {
+        return uriInfo;
+    }
+    
+    public Request getRequest()
+    {
+        return request;
+    }
+    
+    public MediaTypes getMediaTypes()
+    {
+        return mediaTypes;
+    }
+
+    public Service getService()
+    {
+        return service;
+    }
+    
+    public Application getApplication()
+    {
+        return application;
+    }
+    
+    public StaleCache getStaleCache()
+    {
+        return staleCache;
+    }
+    
+    public Optional<GraphMirror> getGraphMirror()
+    {
+        return graphMirror;
+    }
+    
+    public BulkheadFilter getBulkheadFilter()
+    {
+        return bulkheadFilter;
+    }
+    
+    /**
+     * Resources described by one query.
+     */
+    private static class Group
+    {
+        
+        private final Template template;
+        private final Query query;
+        private final boolean grouped;
+        private final List<URI> uris = new ArrayList<>();
+        
+        Group(Template template, Query query, boolean grouped)
+        {
+            this.template = template;
+            this.query = query;
+            this.grouped = grouped;
+        }
+        
+        public Template getTemplate()
+        {
+            return template;
+        }
+        
+        public Query getQuery()
+        {
+            return query;
+        }
+        
+        public boolean isGrouped()
+        {
+            return grouped;
+        }
+        
+        public List<URI> getURIs()
+        {
+            return uris;
+        }
+        
+    }
+    
+}
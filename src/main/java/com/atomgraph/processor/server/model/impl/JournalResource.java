@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.server.model.impl;
+
+import com.atomgraph.processor.util.UpdateJournal;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Status of a journaled update.
+ * Returns <code>202 Accepted</code> while the update is waiting to be replayed to the endpoint, <code>204 No Content</code>
+ * once it has been applied, and <code>409 Conflict</code> if it was rejected and moved to the dead-letter file.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see UpdateJournal
+ */
+@Path(JournalResource.PATH + "/{sequence}")
+public class JournalResource
+{
+    
+    public static final String PATH = "journal";
+    /** Seconds after which clients should poll a pending update again */
+    public static final int RETRY_AFTER = 1;
+    
+    private final Optional<UpdateJournal> journal;
+    
+    @Inject
+    public JournalResource(Optional<UpdateJournal> journal)
+    {
+        this.journal = journal;
+    }
+    
+    /**
+     * Returns status URI of the journaled update.
+     * 
+     * @param baseUri application base URI
+     * @param sequence sequence number
+     * @return status URI
+     */
+    public static URI getURI(URI baseUri, long sequence)
+    {
+        return UriBuilder.fromUri(baseUri).path(JournalResource.class).build(sequence);
+    }
+    
+    @GET
+    public Response get(@PathParam("sequence") long sequence)
+    {
+        if (!getJournal().isPresent() || sequence < 1 || sequence > getJournal().get().getAppendedSequence())
+            throw new NotFoundException("Journaled update #" + sequence + " not found");
+        
+        if (getJournal().get().isFailed(sequence))
+            return Response.status(Response.Status.CONFLICT).entity("Journaled update #" + sequence + " was rejected and moved to the dead-letter file").type(MediaType.TEXT_PLAIN_TYPE).build();
+        if (getJournal().get().isApplied(sequence)) return Response.noContent().build();
+        
+        return Response.accepted().header(HttpHeaders.RETRY_AFTER, RETRY_AFTER).build();
+    }
+    
+    public Optional<UpdateJournal> getJournal()
+    {
+        return journal;
+    }
+    
+}
@@ -26,21 +26,48 @@ import java.util.List;
 import java.util.Locale;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.core.*;
+import com.atomgraph.core.client.SPARQLClient;
+import com.atomgraph.core.model.RemoteService;
 import com.atomgraph.core.model.Service;
 import com.atomgraph.core.model.impl.QueriedResourceBase;
 import com.atomgraph.server.exception.OntologyException;
+import com.atomgraph.processor.exception.ParameterException;
 import com.atomgraph.processor.model.TemplateCall;
+import com.atomgraph.processor.model.impl.TemplateCallImpl;
 import com.atomgraph.processor.util.InsertDataBuilder;
+import com.atomgraph.processor.util.Page;
+import com.atomgraph.processor.util.Prefetcher;
+import com.atomgraph.processor.util.PatchBuilder;
+import com.atomgraph.processor.util.StaleCache;
+import com.atomgraph.processor.util.GraphIndex;
+import com.atomgraph.processor.util.GraphMirror;
+import com.atomgraph.processor.util.UpdateJournal;
 import com.atomgraph.spinrdf.vocabulary.SPIN;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.Collections;
 import java.util.Optional;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.container.ResourceContext;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.Response.Status;
-import org.apache.jena.sparql.util.ClsLoader;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.sparql.core.Var;
+import org.glassfish.jersey.uri.UriComponent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,6 +84,9 @@ import org.slf4j.LoggerFactory;
 public class ResourceBase extends QueriedResourceBase implements com.atomgraph.processor.server.model.Resource, com.atomgraph.processor.server.model.QueriedResource
 {
     private static final Logger log = LoggerFactory.getLogger(ResourceBase.class);
+    
+    /** Number of bytes of a pass-through response that are read ahead to tell a small or empty description from a large one */
+    public static final int PASS_THROUGH_PEEK_SIZE = 65536;
         
     private final com.atomgraph.processor.model.Application application;
     private final Ontology ontology;
@@ -68,6 +98,12 @@ public class ResourceBase extends QueriedResourceBase implements com.atomgraph.p
     private final Query query;
     private final Resource queryResource, updateResource;
     private final UpdateRequest update;
+    @Inject private Optional<UpdateJournal> journal;
+    @Inject private StaleCache staleCache;
+    @Inject private Prefetcher prefetcher;
+    @Inject private Optional<GraphIndex> graphIndex;
+    @Inject private Optional<GraphMirror> graphMirror;
+    private Page page;
 
     /**
      * Public JAX-RS instance. Suitable for subclassing.
@@ -195,24 +231,14 @@ public class ResourceBase extends QueriedResourceBase implements com.atomgraph.p
     @Override
     public Class getSubResource()
     {
-        if (getTemplateCall().isPresent() && getTemplateCall().get().getTemplate().getLoadClass() != null)
+        if (getTemplateCall().isPresent())
         {
-            Resource javaClass = getTemplateCall().get().getTemplate().getLoadClass();
-            if (!javaClass.isURIResource())
-            {
-                if (log.isErrorEnabled()) log.error("ldt:loadClass value of template '{}' is not a URI resource", getTemplateCall().get().getTemplate());
-                throw new OntologyException("ldt:loadClass value of template '" + getTemplateCall().get().getTemplate() + "' is not a URI resource");
-            }
-
-            Class clazz = ClsLoader.loadClass(javaClass.getURI());
-            if (clazz == null)
+            Class clazz = getApplication().getLoadClass(getTemplateCall().get().getTemplate()); // resolved when the sitemap was loaded
+            if (clazz != null)
             {
-                if (log.isErrorEnabled()) log.error("Java class with URI '{}' could not be loaded", javaClass.getURI());
-                throw new OntologyException("Java class with URI '" + javaClass.getURI() + "' not found");
+                if (log.isDebugEnabled()) log.debug("Loading Java class: {}", clazz.getName());
+                return clazz;
             }
-
-            if (log.isDebugEnabled()) log.debug("Loading Java class with URI: {}", javaClass.getURI());
-            return clazz;
         }
 
         return getClass();
@@ -239,14 +265,295 @@ public class ResourceBase extends QueriedResourceBase implements com.atomgraph.p
             throw new OntologyException("ldt:query value of template '" + getQueryResource() + "' cannot be cast to sp:Query");
         }
         
-        return super.get();
+        Response response = null;
+        if (isPassThrough()) response = passThrough();
+        if (response == null) response = super.get();
+        
+        if (getPrefetcher() != null && getTemplateCall().get().getTemplate().getPrefetch() != null &&
+                getRequest().getMethod().equals(HttpMethod.GET)) // PUT and DELETE return get() as well
+            prefetch(response.getEntity() instanceof Model ? (Model)response.getEntity() : null);
+        
+        return response;
+    }
+    
+    /**
+     * Prefetches the next page of this description and the descriptions of the resources that it links to most often.
+     * The number of linked resources is specified with <code>ap:prefetch</code> on the template.
+     * Only resources whose descriptions are loaded using plain template queries are prefetched.
+     * 
+     * @param model description of this resource or null if it was not parsed
+     * @see Prefetcher
+     */
+    public void prefetch(Model model)
+    {
+        final Service service = getService();
+        final Prefetcher prefetcher = getPrefetcher();
+        com.atomgraph.processor.model.Template template = getTemplateCall().get().getTemplate();
+        
+        if (getPage() != null && getPage().getNext() != null && !isPassThrough())
+        {
+            final Query pagedQuery = query;
+            final Var var = getCursorVar();
+            final int pageSize = template.getPageSize();
+            final String next = getPage().getNext();
+            final long generation = prefetcher.getGeneration();
+            prefetcher.submit(getPageURI(Page.AFTER_PARAM_NAME, next).toString(), () ->
+            {
+                Page nextPage = Page.get(service.getEndpointAccessor(), pagedQuery, var, pageSize, next, null);
+                prefetcher.put(nextPage.getQuery().toString(), service.getEndpointAccessor().loadModel(nextPage.getQuery(), Collections.emptyList(), Collections.emptyList()), generation);
+            });
+        }
+        
+        if (model != null)
+            for (URI uri : getLinkedURIs(model, template.getPrefetch()))
+            {
+                final Query linkedQuery = getLinkedQuery(uri);
+                final long generation = prefetcher.getGeneration();
+                if (linkedQuery != null && !prefetcher.contains(linkedQuery.toString()))
+                    prefetcher.submit(uri.toString(), () ->
+                        prefetcher.put(linkedQuery.toString(), service.getEndpointAccessor().loadModel(linkedQuery, Collections.emptyList(), Collections.emptyList()), generation));
+            }
+    }
+    
+    /**
+     * Returns URIs of the resources within this application that are mentioned most often in the description.
+     * 
+     * @param model description
+     * @param limit maximum number of URIs
+     * @return URIs ordered by the number of mentions
+     */
+    public List<URI> getLinkedURIs(Model model, int limit)
+    {
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        
+        Map<String, Integer> mentions = new HashMap<>();
+        model.listStatements().forEachRemaining(stmt ->
+        {
+            if (stmt.getSubject().isURIResource()) mentions.merge(stmt.getSubject().getURI(), 1, Integer::sum);
+            if (stmt.getObject().isURIResource()) mentions.merge(stmt.getObject().asResource().getURI(), 1, Integer::sum);
+        });
+        mentions.remove(getURI().toString());
+        
+        URI base = getUriInfo().getBaseUri();
+        return mentions.entrySet().stream().
+            sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey())).
+            map(entry -> URI.create(entry.getKey())).
+            filter(uri -> uri.getRawQuery() == null && uri.getRawFragment() == null && !base.relativize(uri).equals(uri)).
+            limit(limit).
+            collect(Collectors.toList());
+    }
+    
+    /**
+     * Builds the description query of a linked resource the same way as for a request of its URI.
+     * 
+     * @param uri resource URI
+     * @return query or null if the description of the resource is not loaded using a plain template query
+     */
+    public Query getLinkedQuery(URI uri)
+    {
+        com.atomgraph.processor.model.Template template = getApplication().getTemplateMatcher().match(uri, getUriInfo().getBaseUri());
+        if (template == null || template.getQuery() == null || template.getLoadClass() != null ||
+                template.getPageSize() != null || template.isPassThrough()) return null;
+        
+        Resource linkedQueryResource = template.getQuery();
+        final String queryString;
+        if (linkedQueryResource.canAs(com.atomgraph.spinrdf.model.TemplateCall.class))
+            queryString = linkedQueryResource.as(com.atomgraph.spinrdf.model.TemplateCall.class).getTemplate().getBody().getText();
+        else if (linkedQueryResource.canAs(com.atomgraph.spinrdf.model.Query.class))
+            queryString = linkedQueryResource.as(com.atomgraph.spinrdf.model.Query.class).getText();
+        else return null;
+
+        try
+        {
+            TemplateCall linkedCall = new TemplateCallImpl(ModelFactory.createDefaultModel().createResource(uri.toString()), template).
+                applyArguments(new MultivaluedHashMap<>()).
+                applyDefaults().
+                validateOptionals();
+            QuerySolutionMap qsm = linkedCall.getQuerySolutionMap();
+            qsm.add(SPIN.THIS_VAR_NAME, ResourceFactory.createResource(uri.toString()));
+            
+            return new ParameterizedSparqlString(queryString, qsm, getUriInfo().getBaseUri().toString()).asQuery();
+        }
+        catch (ParameterException | QueryParseException ex)
+        {
+            if (log.isDebugEnabled()) log.debug("Cannot build query of linked resource <{}>, not prefetching: {}", uri, ex.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Returns true if the endpoint response for this request can be streamed to the client as it is.
+     * This requires the <code>ap:passThrough</code> template annotation and no processing of the description:
+     * no <code>ldt:loadClass</code>, no <code>ldt:lang</code> and no stale cache.
+     * 
+     * @return true if pass-through applies
+     */
+    public boolean isPassThrough()
+    {
+        com.atomgraph.processor.model.Template template = getTemplateCall().get().getTemplate();
+        
+        return template.isPassThrough() && template.getLoadClass() == null && template.getLanguages().isEmpty() &&
+            getRequest().getMethod().equals(HttpMethod.GET) && !StaleCache.isApplicable(getCacheControl());
+    }
+    
+    /**
+     * Streams the endpoint's response body to the client without building a model.
+     * The description query is sent to the endpoint with only the negotiated media type as <code>Accept</code>.
+     * Returns null if the endpoint is not remote, or if it does not answer with <code>200 OK</code> in that media type,
+     * in which case the description is retrieved and serialized as usual.
+     * <p>
+     * Bodies shorter than {@link #PASS_THROUGH_PEEK_SIZE} are parsed after all, so that an empty description returns
+     * <code>404 Not Found</code> and the response has the usual model hash <code>ETag</code>. Longer bodies are streamed
+     * with the endpoint's <code>ETag</code> and <code>Last-Modified</code> headers, if any, so conditional requests
+     * only work if the endpoint sends them.
+     * 
+     * @return response or null
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc7232">Conditional Requests</a>
+     */
+    public Response passThrough()
+    {
+        Variant variant = getRequest().selectVariant(Variant.mediaTypes(getWritableMediaTypes(Model.class).toArray(MediaType[]::new)).add().build());
+        if (variant == null) return null; // 406 Not Acceptable is returned as usual
+        
+        MediaType mediaType = new MediaType(variant.getMediaType().getType(), variant.getMediaType().getSubtype()); // discard charset param
+        Response cr = query(getService(), getQuery(), mediaType);
+        if (cr == null) return null;
+        
+        if (cr.getStatus() != Status.OK.getStatusCode() || cr.getMediaType() == null || !cr.getMediaType().isCompatible(mediaType))
+        {
+            if (log.isDebugEnabled()) log.debug("Endpoint responded with status {} and media type {} instead of {}, not passing through", cr.getStatus(), cr.getMediaType(), mediaType);
+            cr.close();
+            return null;
+        }
+        Lang lang = RDFLanguages.contentTypeToLang(mediaType.toString());
+        InputStream is = cr.readEntity(InputStream.class);
+        final byte[] head;
+        try
+        {
+            head = is.readNBytes(PASS_THROUGH_PEEK_SIZE);
+        }
+        catch (IOException ex)
+        {
+            cr.close();
+            throw new InternalServerErrorException(ex);
+        }
+        
+        if (head.length < PASS_THROUGH_PEEK_SIZE && lang != null) // the whole body has been read
+        {
+            cr.close();
+            Model model = ModelFactory.createDefaultModel();
+            RDFParser.source(new ByteArrayInputStream(head)).lang(lang).base(getURI().toString()).parse(model);
+            if (model.isEmpty())
+            {
+                if (log.isDebugEnabled()) log.debug("Query result Model is empty; returning 404 Not Found");
+                throw new NotFoundException("Query result Model is empty");
+            }
+            
+            return getResponse(model);
+        }
+        
+        EntityTag entityTag = cr.getEntityTag();
+        Date lastModified = cr.getLastModified();
+        ResponseBuilder rb = null;
+        if (entityTag != null && lastModified != null) rb = getRequest().evaluatePreconditions(lastModified, entityTag);
+        else if (entityTag != null) rb = getRequest().evaluatePreconditions(entityTag);
+        else if (lastModified != null) rb = getRequest().evaluatePreconditions(lastModified);
+        if (rb != null)
+        {
+            cr.close();
+            return rb.tag(entityTag).lastModified(lastModified).build();
+        }
+        
+        if (log.isDebugEnabled()) log.debug("Passing through endpoint response with media type {}", cr.getMediaType());
+        StreamingOutput entity = os ->
+        {
+            try (cr)
+            {
+                os.write(head);
+                is.transferTo(os);
+            }
+        };
+        
+        return Response.ok(entity, cr.getMediaType()).
+            tag(entityTag).
+            lastModified(lastModified).
+            header(HttpHeaders.VARY, HttpHeaders.ACCEPT).
+            links(getPageLinks()).
+            build();
+    }
+    
+    /**
+     * Sends a query to the remote endpoint of the given service, accepting the given media type only.
+     * Group commit and read replica wrappers are unwrapped; the read is not hedged.
+     * 
+     * @param service SPARQL service
+     * @param query SPARQL query
+     * @param mediaType accepted media type
+     * @return endpoint response or null if the service is not remote
+     */
+    public static Response query(Service service, Query query, MediaType mediaType)
+    {
+        if (service == null) throw new IllegalArgumentException("Service cannot be null");
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        if (mediaType == null) throw new IllegalArgumentException("MediaType cannot be null");
+        
+        if (service instanceof com.atomgraph.processor.model.impl.batch.ServiceImpl)
+            return query(((com.atomgraph.processor.model.impl.batch.ServiceImpl)service).getService(), query, mediaType);
+        if (service instanceof com.atomgraph.processor.model.impl.replica.ServiceImpl)
+            return ((com.atomgraph.processor.model.impl.replica.ServiceImpl)service).read(replica -> query(replica, query, mediaType), false);
+        if (!(service instanceof RemoteService)) return null;
+        
+        SPARQLClient client = ((RemoteService)service).getSPARQLClient();
+        MediaTypes mediaTypes = new MediaTypes(Collections.singletonMap(Model.class, Collections.singletonList(mediaType)), Collections.emptyMap());
+        
+        return SPARQLClient.create(mediaTypes, client.getEndpoint(), client.getMaxGetRequestSize()).query(query, Model.class);
+    }
+    
+    /**
+     * Returns RDF description of this resource.
+     * If the template's <code>ldt:cacheControl</code> has <code>stale-while-revalidate</code> or <code>stale-if-error</code>,
+     * safe requests can be served the last good description while the SPARQL endpoint is slow or failing.
+     * Queries that only touch graphs of the graph mirror are executed locally.
+     * 
+     * @return RDF description
+     * @see StaleCache
+     */
+    @Override
+    public Model describe()
+    {
+        String method = getRequest().getMethod();
+        if (getPrefetcher() != null && getTemplateCall().isPresent() && getQuery() != null && method.equals(HttpMethod.GET))
+        {
+            Model model = getPrefetcher().take(getQuery().toString());
+            if (model != null)
+            {
+                if (log.isDebugEnabled()) log.debug("Serving prefetched description of <{}>", getURI());
+                return model;
+            }
+        }
+        
+        if (getGraphMirror().isPresent() && getTemplateCall().isPresent() && getQuery() != null)
+        {
+            Model model = getGraphMirror().get().loadModel(getQuery());
+            if (model != null)
+            {
+                if (log.isDebugEnabled()) log.debug("Serving description of <{}> from mirrored graphs", getURI());
+                return model;
+            }
+        }
+        
+        if (getStaleCache() != null && getTemplateCall().isPresent() && StaleCache.isApplicable(getCacheControl()) &&
+                (method.equals(HttpMethod.GET) || method.equals(HttpMethod.HEAD)))
+            return getStaleCache().get(getQuery().toString(), super::describe, getCacheControl());
+        
+        return super.describe();
     }
     
     /**
      * Handles <code>POST</code> method. Appends the submitted RDF representation to the application's dataset.
      * 
      * @param model the RDF payload
-     * @return response <code>200 OK</code>
+     * @return response <code>200 OK</code>, or <code>202 Accepted</code> if the update was journaled
      */
     @Override
     public Response post(Model model)
@@ -261,9 +568,7 @@ public class ResourceBase extends QueriedResourceBase implements com.atomgraph.p
                 build();
             
             if (log.isDebugEnabled()) log.debug("INSERT DATA UpdateRequest");
-            getService().getEndpointAccessor().update(insertData, Collections.<URI>emptyList(), Collections.<URI>emptyList());
-            
-            return Response.ok().build();
+            return update(insertData, Response.ok().build());
         }
         catch (IOException ex)
         {
@@ -277,7 +582,7 @@ public class ResourceBase extends QueriedResourceBase implements com.atomgraph.p
      * appends the submitted RDF representation to the application's dataset.
      * 
      * @param model RDF payload
-     * @return response <code>201 Created</code> if resource did not exist, <code>200 OK</code> if it did
+     * @return response <code>201 Created</code> if resource did not exist, <code>200 OK</code> if it did, or <code>202 Accepted</code> if the update was journaled
      */
     @Override
     public Response put(Model model)
@@ -290,7 +595,8 @@ public class ResourceBase extends QueriedResourceBase implements com.atomgraph.p
         }
         catch (NotFoundException ex)
         {
-            post(model);
+            Response response = post(model);
+            if (response.getStatus() == Status.ACCEPTED.getStatusCode()) return response; // journaled, not applied yet
             
             return Response.created(getURI()).build();
         }
@@ -319,9 +625,81 @@ public class ResourceBase extends QueriedResourceBase implements com.atomgraph.p
         if (getUpdate() == null) return Response.status(Status.NOT_IMPLEMENTED).build();
 
         if (log.isDebugEnabled()) log.debug("DELETE UpdateRequest: {}", getUpdate());
-        getService().getEndpointAccessor().update(getUpdate(), Collections.<URI>emptyList(), Collections.<URI>emptyList());
-
-        return Response.noContent().build(); // subsequent GET might still return 200 OK, depending on query solution map
+        return update(getUpdate(), Response.noContent().build()); // subsequent GET might still return 200 OK, depending on query solution map
+    }
+    
+    /**
+     * Handles <code>PATCH</code> method. Executes the submitted SPARQL update as a single request, scoped to the graph
+     * of this resource and with <code>?this</code> and the other template parameters bound.
+     * 
+     * @param updateRequest SPARQL update
+     * @return response <code>204 No Content</code>, or <code>202 Accepted</code> if the update was journaled
+     * @see PatchBuilder
+     */
+    @PATCH
+    @Consumes(com.atomgraph.core.MediaType.APPLICATION_SPARQL_UPDATE)
+    public Response patch(UpdateRequest updateRequest)
+    {
+        if (updateRequest == null) throw new IllegalArgumentException("UpdateRequest cannot be null");
+        
+        if (!getTemplateCall().isPresent())
+        {
+            if (log.isDebugEnabled()) log.debug("Resource {} has not matched any ldt:Template, returning 404 Not Found", getURI());
+            throw new NotFoundException("Resource has not matched any ldt:Template");
+        }
+        
+        final UpdateRequest patch;
+        try
+        {
+            patch = PatchBuilder.fromUpdate(updateRequest).
+                graph(getURI().toString()).
+                bindings(getQuerySolutionMap().asMap()).
+                build();
+        }
+        catch (IllegalArgumentException ex)
+        {
+            if (log.isDebugEnabled()) log.debug("PATCH update for URI: {} rejected: {}", getURI(), ex.getMessage());
+            throw new BadRequestException(ex.getMessage(), ex);
+        }
+        
+        if (log.isDebugEnabled()) log.debug("PATCH UpdateRequest: {}", patch);
+        return update(patch, Response.noContent().build());
+    }
+    
+    /**
+     * Executes update on the SPARQL endpoint.
+     * If the write-behind journal is enabled, the update is appended to it instead and replayed to the endpoint later.
+     * Named graphs affected by the update become unknown to the graph index and are reloaded by the graph mirror.
+     * The stale cache and the prefetcher are cleared once the update has been executed.
+     * Journaled updates reach the graph index, the graph mirror and the caches through journal listeners once they have been applied.
+     * 
+     * @param updateRequest update request
+     * @param response response returned if the update was executed
+     * @return the given response, or <code>202 Accepted</code> with the status URI of the journaled update
+     */
+    public Response update(UpdateRequest updateRequest, Response response)
+    {
+        if (getJournal().isPresent())
+        {
+            try
+            {
+                long sequence = getJournal().get().append(updateRequest);
+                return Response.accepted().location(JournalResource.getURI(getUriInfo().getBaseUri(), sequence)).build();
+            }
+            catch (IOException ex)
+            {
+                if (log.isErrorEnabled()) log.error("Error while journaling update request for URI: {}", getURI());
+                throw new InternalServerErrorException(ex);
+            }
+        }
+        
+        getGraphIndex().ifPresent(index -> index.update(updateRequest));
+        getService().getEndpointAccessor().update(updateRequest, Collections.<URI>emptyList(), Collections.<URI>emptyList());
+        getGraphIndex().ifPresent(index -> index.update(updateRequest)); // again, in case the graphs were checked during the update
+        getGraphMirror().ifPresent(mirror -> mirror.update(updateRequest));
+        if (getStaleCache() != null) getStaleCache().clear();
+        if (getPrefetcher() != null) getPrefetcher().clear();
+        return response;
     }
 
     
@@ -390,8 +768,102 @@ public class ResourceBase extends QueriedResourceBase implements com.atomgraph.p
     @Override
     public Query getQuery()
     {
+        if (getPage() != null) return getPage().getQuery();
+        
         return query;
     }
+    
+    /**
+     * Returns true if the description of this resource is paginated.
+     * Pagination is declared on the template with <code>ap:pageSize</code> and applies to safe requests.
+     * 
+     * @return true if paginated
+     */
+    public boolean isPaginated()
+    {
+        if (!getTemplateCall().isPresent() || getTemplateCall().get().getTemplate().getPageSize() == null || query == null) return false;
+        
+        String method = getRequest().getMethod();
+        return method.equals(HttpMethod.GET) || method.equals(HttpMethod.HEAD);
+    }
+    
+    /**
+     * Returns the current page of the description. Page keys are selected on the first call.
+     * The page is chosen by the <code>after</code> or <code>before</code> cursor query parameter.
+     * 
+     * @return page or null if the description is not paginated
+     * @see #isPaginated()
+     */
+    public Page getPage()
+    {
+        if (page == null && isPaginated())
+        {
+            String after = getUriInfo().getQueryParameters().getFirst(Page.AFTER_PARAM_NAME);
+            String before = getUriInfo().getQueryParameters().getFirst(Page.BEFORE_PARAM_NAME);
+            if (after != null && before != null) throw new BadRequestException("Only one of '" + Page.AFTER_PARAM_NAME + "' and '" + Page.BEFORE_PARAM_NAME + "' can be set");
+            
+            try
+            {
+                if (after != null) Page.parseCursor(after);
+                if (before != null) Page.parseCursor(before);
+            }
+            catch (IllegalArgumentException ex)
+            {
+                throw new BadRequestException(ex.getMessage(), ex);
+            }
+            
+            page = Page.get(getService().getEndpointAccessor(), query, getCursorVar(), getTemplateCall().get().getTemplate().getPageSize(), after, before);
+        }
+        
+        return page;
+    }
+    
+    /**
+     * Returns the query variable that pages are keyed by.
+     * It is specified with <code>ap:cursor</code>, or is the first result variable of the query.
+     * 
+     * @return cursor variable
+     */
+    public Var getCursorVar()
+    {
+        com.atomgraph.processor.model.Template template = getTemplateCall().get().getTemplate();
+        if (query.getQueryPattern() == null) throw new OntologyException("ldt:query of paginated template '" + template + "' has no WHERE pattern");
+        
+        if (template.getCursor() != null) return Var.alloc(template.getCursor());
+        if (!query.getProjectVars().isEmpty()) return query.getProjectVars().get(0);
+        
+        throw new OntologyException("ap:cursor value for paginated template '" + template + "' is missing");
+    }
+    
+    /**
+     * Returns links to the previous and next pages of the description, if any.
+     * 
+     * @return array of links
+     */
+    public Link[] getPageLinks()
+    {
+        if (page == null) return new Link[]{};
+        
+        List<Link> links = new ArrayList<>();
+        if (page.getPrev() != null) links.add(Link.fromUri(getPageURI(Page.BEFORE_PARAM_NAME, page.getPrev())).rel("prev").build());
+        if (page.getNext() != null) links.add(Link.fromUri(getPageURI(Page.AFTER_PARAM_NAME, page.getNext())).rel("next").build());
+        return links.toArray(Link[]::new);
+    }
+    
+    public URI getPageURI(String paramName, String cursor)
+    {
+        return getUriInfo().getRequestUriBuilder().
+            replaceQueryParam(Page.AFTER_PARAM_NAME).
+            replaceQueryParam(Page.BEFORE_PARAM_NAME).
+            queryParam(paramName, UriComponent.encode(cursor, UriComponent.Type.UNRESERVED)).
+            build();
+    }
+    
+    @Override
+    public ResponseBuilder getResponseBuilder(Model model)
+    {
+        return super.getResponseBuilder(model).links(getPageLinks());
+    }
 
     public Resource getQueryResource()
     {
@@ -430,6 +902,56 @@ public class ResourceBase extends QueriedResourceBase implements com.atomgraph.p
     {
         return resourceContext;
     }
+    
+    /**
+     * Returns the write-behind journal, if enabled.
+     * 
+     * @return optional journal
+     */
+    public Optional<UpdateJournal> getJournal()
+    {
+        return journal != null ? journal : Optional.empty();
+    }
+    
+    /**
+     * Returns the cache of last good descriptions.
+     * 
+     * @return cache or null if not injected
+     */
+    public StaleCache getStaleCache()
+    {
+        return staleCache;
+    }
+    
+    /**
+     * Returns the prefetcher of descriptions.
+     * 
+     * @return prefetcher or null if not injected
+     */
+    public Prefetcher getPrefetcher()
+    {
+        return prefetcher;
+    }
+    
+    /**
+     * Returns the named graph index, if enabled.
+     * 
+     * @return optional index
+     */
+    public Optional<GraphIndex> getGraphIndex()
+    {
+        return graphIndex != null ? graphIndex : Optional.empty();
+    }
+    
+    /**
+     * Returns the local mirror of named graphs, if enabled.
+     * 
+     * @return optional mirror
+     */
+    public Optional<GraphMirror> getGraphMirror()
+    {
+        return graphMirror != null ? graphMirror : Optional.empty();
+    }
  
     @Override
     public com.atomgraph.processor.model.Application getApplication()
@@ -17,8 +17,15 @@
 package com.atomgraph.processor.server.resource.graph;
 
 import com.atomgraph.core.MediaTypes;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.ontology.Ontology;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.modify.request.QuadDataAcc;
+import org.apache.jena.sparql.modify.request.UpdateDataInsert;
+import org.apache.jena.sparql.modify.request.UpdateDrop;
+import org.apache.jena.update.UpdateRequest;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Request;
@@ -27,8 +34,18 @@ import jakarta.ws.rs.core.UriInfo;
 import com.atomgraph.core.model.Service;
 import com.atomgraph.processor.server.model.impl.ResourceBase;
 import com.atomgraph.processor.model.TemplateCall;
+import com.atomgraph.processor.util.DeltaBuilder;
+import com.atomgraph.processor.util.GraphIndex;
+import com.atomgraph.core.exception.BadGatewayException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.container.ResourceContext;
 import org.slf4j.Logger;
@@ -47,6 +64,8 @@ public class Item extends ResourceBase
     
     private static final Logger log = LoggerFactory.getLogger(Item.class);
     
+    @Inject @Named(com.atomgraph.processor.server.Application.DELTA_PUT) private Boolean deltaPut;
+    
     @Inject
     public Item(@Context UriInfo uriInfo, @Context Request request, @Context MediaTypes mediaTypes,
             Service service, com.atomgraph.processor.model.Application application, Optional<Ontology> ontology, Optional<TemplateCall> templateCall,
@@ -61,46 +80,140 @@ public class Item extends ResourceBase
     @Override
     public Response get()
     {
-        if (!getService().getDatasetAccessor().containsModel(getURI().toString()))
+        if (getGraphMirror().isPresent())
+        {
+            Model model = getGraphMirror().get().getModel(getURI().toString());
+            if (model != null)
+            {
+                if (log.isDebugEnabled()) log.debug("GET Graph Store named graph with URI: {} found in the mirror, returning Model of size(): {}", getURI(), model.size());
+                return getResponse(model);
+            }
+        }
+        
+        if (!containsModel())
         {
             if (log.isDebugEnabled()) log.debug("GET Graph Store named graph with URI: {} not found", getURI());
             throw new NotFoundException("Named graph not found");
         }
 
-        Model model = getService().getDatasetAccessor().getModel(getURI().toString());
+        final Model model;
+        try
+        {
+            model = getService().getDatasetAccessor().getModel(getURI().toString());
+        }
+        catch (BadGatewayException ex)
+        {
+            // the graph index can be behind deletes by other clients
+            if (!(ex.getCause() instanceof NotFoundException) || getGraphIndex().isEmpty()) throw ex;
+            
+            if (log.isDebugEnabled()) log.debug("GET Graph Store named graph with URI: {} is in the graph index but was not found", getURI());
+            getGraphIndex().get().put(getURI().toString(), false);
+            throw new NotFoundException("Named graph not found");
+        }
+        
         if (log.isDebugEnabled()) log.debug("GET Graph Store named graph with URI: {} found, returning Model of size(): {}", getURI(), model.size());
         return getResponse(model);
     }
 
+    /**
+     * Adds the payload to the named graph.
+     * If the write-behind journal is enabled, the triples are journaled as <code>INSERT DATA</code>, in order with the other updates.
+     * 
+     * @param model RDF payload
+     * @return response
+     */
     @Override
     public Response post(Model model)
     {
-        boolean existingGraph = getService().getDatasetAccessor().containsModel(getURI().toString());
+        if (getJournal().isPresent())
+        {
+            if (log.isDebugEnabled()) log.debug("POST Model to named graph with URI: {} through the journal", getURI());
+            return update(getInsertRequest(model), Response.ok().build());
+        }
+        
+        boolean existingGraph = containsModel();
 
         // is this implemented correctly? The specification is not very clear.
         if (log.isDebugEnabled()) log.debug("POST Model to named graph with URI: {} Did it already exist? {}", getURI(), existingGraph);
         getService().getDatasetAccessor().add(getURI().toString(), model);
+        getGraphMirror().ifPresent(mirror -> mirror.invalidate(getURI().toString()));
+        getGraphIndex().ifPresent(index -> index.put(getURI().toString(), existingGraph || !model.isEmpty() ? true : null));
+        if (getStaleCache() != null) getStaleCache().clear();
+        if (getPrefetcher() != null) getPrefetcher().clear();
 
         if (existingGraph) return Response.ok().build();
         else return Response.created(getURI()).build();
     }
 
+    /**
+     * Replaces the named graph.
+     * In delta mode, the difference to the current graph is sent as <code>DELETE DATA</code>/<code>INSERT DATA</code> instead,
+     * if the request's <code>If-Match</code> header matches the current graph's entity tag (i.e. the payload was edited from it)
+     * and the difference can be expressed that way (triples with blank nodes have not changed).
+     * The delta is not atomic: the current graph is read and compared before the update is sent, so a concurrent write
+     * to the same graph in between is merged with the difference instead of being replaced.
+     * Delta mode is therefore not used when the write-behind journal is enabled; the graph is instead replaced by a journaled
+     * <code>DROP SILENT GRAPH</code>/<code>INSERT DATA</code>, ordered with the other updates.
+     * 
+     * @param model RDF payload
+     * @return response
+     * @see DeltaBuilder
+     */
     @Override
     public Response put(Model model)
     {
-        boolean existingGraph = getService().getDatasetAccessor().containsModel(getURI().toString());
+        boolean existingGraph = containsModel();
 
         if (log.isDebugEnabled()) log.debug("PUT Model to named graph with URI: {} Did it already exist? {}", getURI(), existingGraph);
+        if (existingGraph && isDeltaPut() && getJournal().isEmpty() && getHttpHeaders().getRequestHeader(HttpHeaders.IF_MATCH) != null)
+        {
+            Model base = getService().getDatasetAccessor().getModel(getURI().toString());
+            if (isBaseMatched(base))
+            {
+                DeltaBuilder delta = DeltaBuilder.fromModels(base, model).
+                    graph(getURI().toString());
+
+                if (delta.isSupported())
+                {
+                    UpdateRequest update = delta.build();
+                    if (log.isDebugEnabled()) log.debug("PUT named graph with URI: {} as delta of {} operations", getURI(), update.getOperations().size());
+                    if (update.getOperations().isEmpty()) return Response.ok().build();
+
+                    return update(update, Response.ok().build());
+                }
+
+                if (log.isDebugEnabled()) log.debug("PUT named graph with URI: {} changes blank nodes, replacing the whole graph", getURI());
+            }
+            else if (log.isDebugEnabled()) log.debug("PUT named graph with URI: {} does not match If-Match, replacing the whole graph", getURI());
+        }
+        
+        if (getJournal().isPresent())
+        {
+            UpdateRequest update = new UpdateRequest(new UpdateDrop(NodeFactory.createURI(getURI().toString()), true));
+            getInsertRequest(model).getOperations().forEach(update::add);
+            return update(update, Response.ok().build());
+        }
+        
         getService().getDatasetAccessor().putModel(getURI().toString(), model);
+        getGraphMirror().ifPresent(mirror -> mirror.put(getURI().toString(), model));
+        getGraphIndex().ifPresent(index -> index.put(getURI().toString(), !model.isEmpty() ? true : null)); // stores differ on empty graphs
+        if (getStaleCache() != null) getStaleCache().clear();
+        if (getPrefetcher() != null) getPrefetcher().clear();
 
         if (existingGraph) return Response.ok().build();
         else return Response.created(getURI()).build();
     }
 
+    /**
+     * Deletes the named graph.
+     * If the write-behind journal is enabled, the graph is deleted by a journaled <code>DROP SILENT GRAPH</code>.
+     * 
+     * @return response
+     */
     @Override
     public Response delete()
     {
-        if (!getService().getDatasetAccessor().containsModel(getURI().toString()))
+        if (!containsModel())
         {
             if (log.isDebugEnabled()) log.debug("DELETE named graph with URI {}: not found", getURI());
             throw new NotFoundException("Named graph not found");
@@ -108,9 +221,86 @@ public class Item extends ResourceBase
         else
         {
             if (log.isDebugEnabled()) log.debug("DELETE named graph with URI: {}", getURI());
+            if (getJournal().isPresent()) return update(new UpdateRequest(new UpdateDrop(NodeFactory.createURI(getURI().toString()), true)), Response.noContent().build());
+            
             getService().getDatasetAccessor().deleteModel(getURI().toString());
+            getGraphMirror().ifPresent(mirror -> mirror.delete(getURI().toString()));
+            getGraphIndex().ifPresent(index -> index.put(getURI().toString(), false));
+            if (getStaleCache() != null) getStaleCache().clear();
+            if (getPrefetcher() != null) getPrefetcher().clear();
             return Response.noContent().build(); // TO-DO: NoContentException?
         }
     }
     
+    /**
+     * Returns <code>INSERT DATA</code> update that adds the triples of the given model to this named graph.
+     * 
+     * @param model RDF model
+     * @return update request, without operations if the model is empty
+     */
+    public UpdateRequest getInsertRequest(Model model)
+    {
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        
+        UpdateRequest update = new UpdateRequest();
+        if (model.isEmpty()) return update;
+        
+        Node graph = NodeFactory.createURI(getURI().toString());
+        QuadDataAcc quads = new QuadDataAcc();
+        model.getGraph().find().forEachRemaining(triple -> quads.addQuad(Quad.create(graph, triple)));
+        return update.add(new UpdateDataInsert(quads));
+    }
+    
+    /**
+     * Returns true if this named graph exists.
+     * The graph index is consulted first, if enabled; the Graph Store is only checked for graphs unknown to it.
+     * 
+     * @return true if the graph exists
+     * @see GraphIndex
+     */
+    public boolean containsModel()
+    {
+        if (getGraphIndex().isPresent()) return getGraphIndex().get().contains(getURI().toString(), getService().getDatasetAccessor()::containsModel);
+        
+        return getService().getDatasetAccessor().containsModel(getURI().toString());
+    }
+    
+    /**
+     * Returns true if one of the request's <code>If-Match</code> entity tags is the tag of the given graph.
+     * Tags are compared in all the representation variants that <code>GET</code> returns, as each variant has its own tag.
+     * The <code>*</code> wildcard does not match, as it does not identify the state of the graph.
+     * 
+     * @param base current graph
+     * @return true if the payload was derived from the given graph
+     */
+    public boolean isBaseMatched(Model base)
+    {
+        List<String> headers = getHttpHeaders().getRequestHeader(HttpHeaders.IF_MATCH);
+        if (headers == null) return false;
+        
+        EntityTag entityTag = getEntityTag(base);
+        Set<String> values = com.atomgraph.core.model.impl.Response.getVariantListBuilder(getWritableMediaTypes(Model.class), Collections.emptyList(), Collections.emptyList()).
+            add().build().stream().
+            map(variant -> new com.atomgraph.core.model.impl.Response(getRequest(), base, null, entityTag, variant).getVariantEntityTag().getValue()).
+            collect(Collectors.toSet());
+        
+        return headers.stream().
+            flatMap(header -> Arrays.stream(header.split(","))).
+            map(String::trim).
+            filter(value -> !value.isEmpty() && !value.equals("*")).
+            map(EntityTag::valueOf).
+            anyMatch(tag -> values.contains(tag.getValue()));
+    }
+    
+    /**
+     * Returns true if <code>PUT</code> sends only the difference to the current graph.
+     * Delta mode is ignored if the write-behind journal is enabled.
+     * 
+     * @return true if delta mode is enabled
+     */
+    public boolean isDeltaPut()
+    {
+        return deltaPut;
+    }
+    
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import com.atomgraph.core.MediaTypes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jakarta.ws.rs.core.MediaType;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.resultset.ResultSetLang;
+
+/**
+ * Media types that prefer the binary RDF Thrift and RDF Protobuf syntaxes when reading.
+ * Readable types are ordered and weighted so that a remote endpoint which supports a binary syntax responds with it,
+ * while an endpoint that does not falls back to the best text syntax it has.
+ * Writable types keep the default order so that content negotiation with clients accepting anything still yields text,
+ * but binary types no longer carry the meaningless <code>charset</code> parameter.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class BinaryMediaTypes extends MediaTypes
+{
+
+    public static final List<Lang> BINARY_LANGS = List.of(RDFLanguages.RDFTHRIFT, RDFLanguages.RDFPROTO, ResultSetLang.RS_Thrift, ResultSetLang.RS_Protobuf);
+    
+    public BinaryMediaTypes()
+    {
+        this(new MediaTypes());
+    }
+    
+    public BinaryMediaTypes(MediaTypes mediaTypes)
+    {
+        super(getReadable(mediaTypes), getWritable(mediaTypes));
+    }
+    
+    public static boolean isBinary(MediaType mediaType)
+    {
+        return BINARY_LANGS.stream().anyMatch(lang -> matches(lang, mediaType));
+    }
+    
+    /**
+     * Returns the quality weight of a readable syntax: binary first, then line-based and JSON, then the rest.
+     * CSV and TSV result sets lose datatypes and languages, so they come last.
+     * 
+     * @param mediaType media type
+     * @return quality value or null for the default quality
+     */
+    public static String getQuality(MediaType mediaType)
+    {
+        if (isBinary(mediaType)) return null;
+        if (matches(RDFLanguages.NTRIPLES, mediaType) || matches(RDFLanguages.NQUADS, mediaType) || matches(ResultSetLang.RS_JSON, mediaType)) return "0.9";
+        if (matches(ResultSetLang.RS_CSV, mediaType) || matches(ResultSetLang.RS_TSV, mediaType)) return "0.5";
+        
+        return "0.8";
+    }
+    
+    public static boolean matches(Lang lang, MediaType mediaType)
+    {
+        if (lang == null) throw new IllegalArgumentException("Lang cannot be null");
+        if (mediaType == null) throw new IllegalArgumentException("MediaType cannot be null");
+        
+        return lang.getContentType().getContentTypeStr().equalsIgnoreCase(mediaType.getType() + "/" + mediaType.getSubtype());
+    }
+    
+    public static Map<Class, List<MediaType>> getReadable(MediaTypes mediaTypes)
+    {
+        if (mediaTypes == null) throw new IllegalArgumentException("MediaTypes cannot be null");
+        
+        Map<Class, List<MediaType>> readable = new HashMap<>();
+        for (Class clazz : List.of(Model.class, Dataset.class, ResultSet.class))
+        {
+            List<MediaType> binary = new ArrayList<>();
+            List<MediaType> text = new ArrayList<>();
+            for (MediaType mediaType : mediaTypes.getReadable(clazz))
+            {
+                String quality = getQuality(mediaType);
+                Map<String, String> params = quality != null ? Map.of("q", quality) : Collections.emptyMap();
+                MediaType weighted = new MediaType(mediaType.getType(), mediaType.getSubtype(), params);
+                
+                if (isBinary(mediaType)) binary.add(weighted);
+                else text.add(weighted);
+            }
+            
+            binary.addAll(text);
+            readable.put(clazz, Collections.unmodifiableList(binary));
+        }
+        
+        return readable;
+    }
+    
+    public static Map<Class, List<MediaType>> getWritable(MediaTypes mediaTypes)
+    {
+        if (mediaTypes == null) throw new IllegalArgumentException("MediaTypes cannot be null");
+        
+        Map<Class, List<MediaType>> writable = new HashMap<>();
+        for (Class clazz : List.of(Model.class, Dataset.class, ResultSet.class))
+        {
+            List<MediaType> list = new ArrayList<>();
+            for (MediaType mediaType : mediaTypes.getWritable(clazz))
+                if (isBinary(mediaType)) list.add(new MediaType(mediaType.getType(), mediaType.getSubtype()));
+                else list.add(mediaType);
+            
+            writable.put(clazz, Collections.unmodifiableList(list));
+        }
+        
+        return writable;
+    }
+    
+}
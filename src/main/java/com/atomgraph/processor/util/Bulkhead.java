@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit with a short bounded queue.
+ * Callers that find all permits taken wait in the queue for a limited time; callers that find the queue full
+ * are rejected immediately.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class Bulkhead
+{
+    
+    /** Default maximum time a queued caller waits for a permit, in milliseconds */
+    public static final long DEFAULT_MAX_WAIT = 1000L;
+    
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int maxQueueSize;
+    private final long maxWait;
+    private final AtomicInteger queued = new AtomicInteger();
+    
+    /**
+     * Constructs bulkhead.
+     * 
+     * @param maxConcurrency maximum number of concurrent callers
+     * @param maxQueueSize maximum number of waiting callers
+     */
+    public Bulkhead(int maxConcurrency, int maxQueueSize)
+    {
+        this(maxConcurrency, maxQueueSize, DEFAULT_MAX_WAIT);
+    }
+    
+    /**
+     * Constructs bulkhead.
+     * 
+     * @param maxConcurrency maximum number of concurrent callers
+     * @param maxQueueSize maximum number of waiting callers
+     * @param maxWait maximum wait for a permit in milliseconds
+     */
+    public Bulkhead(int maxConcurrency, int maxQueueSize, long maxWait)
+    {
+        if (maxConcurrency <= 0) throw new IllegalArgumentException("Max concurrency must be positive");
+        if (maxQueueSize < 0) throw new IllegalArgumentException("Max queue size cannot be negative");
+        if (maxWait < 0) throw new IllegalArgumentException("Max wait cannot be negative");
+        
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = maxQueueSize;
+        this.maxWait = maxWait;
+    }
+    
+    /**
+     * Acquires a permit, waiting in the queue if there is room in it.
+     * A successful call must be followed by {@link #release()}.
+     * 
+     * @return true if the permit was acquired
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean tryAcquire() throws InterruptedException
+    {
+        if (permits.tryAcquire()) return true;
+        
+        if (queued.incrementAndGet() > getMaxQueueSize())
+        {
+            queued.decrementAndGet();
+            return false;
+        }
+        
+        try
+        {
+            return permits.tryAcquire(getMaxWait(), TimeUnit.MILLISECONDS);
+        }
+        finally
+        {
+            queued.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Releases a permit.
+     */
+    public void release()
+    {
+        permits.release();
+    }
+    
+    public int getMaxConcurrency()
+    {
+        return maxConcurrency;
+    }
+    
+    public int getMaxQueueSize()
+    {
+        return maxQueueSize;
+    }
+    
+    public long getMaxWait()
+    {
+        return maxWait;
+    }
+    
+    public int getAvailable()
+    {
+        return permits.availablePermits();
+    }
+    
+    public boolean hasQueuedCallers()
+    {
+        return permits.hasQueuedThreads();
+    }
+    
+}
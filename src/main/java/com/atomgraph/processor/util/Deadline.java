@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Point in time by which the current request has to be answered.
+ * The deadline of a request is bound to the thread that processes it, so that remote SPARQL requests made on its
+ * behalf can be limited to the remaining time. Work handed over to other threads has to be wrapped with
+ * {@link #propagate(java.util.function.Supplier)}.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class Deadline
+{
+    
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    
+    private final long expiry;
+    
+    /**
+     * Constructs deadline.
+     * 
+     * @param expiry expiry in {@link System#nanoTime()} units
+     */
+    protected Deadline(long expiry)
+    {
+        this.expiry = expiry;
+    }
+    
+    /**
+     * Returns deadline that expires after the given time from now.
+     * 
+     * @param timeout timeout
+     * @param unit timeout unit
+     * @return deadline
+     */
+    public static Deadline after(long timeout, TimeUnit unit)
+    {
+        if (unit == null) throw new IllegalArgumentException("TimeUnit cannot be null");
+        
+        return new Deadline(System.nanoTime() + unit.toNanos(timeout));
+    }
+    
+    /**
+     * Returns the deadline bound to the current thread.
+     * 
+     * @return deadline or null if none
+     */
+    public static Deadline get()
+    {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Binds deadline to the current thread.
+     * 
+     * @param deadline deadline or null to unbind
+     */
+    public static void set(Deadline deadline)
+    {
+        if (deadline != null) CURRENT.set(deadline);
+        else CURRENT.remove();
+    }
+    
+    /**
+     * Wraps a task so that it runs with the deadline of the current thread.
+     * 
+     * @param <T> result type
+     * @param supplier task
+     * @return wrapped task
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> supplier)
+    {
+        if (supplier == null) throw new IllegalArgumentException("Supplier<T> cannot be null");
+        
+        Deadline deadline = get();
+        return () ->
+        {
+            Deadline previous = get();
+            set(deadline);
+            try
+            {
+                return supplier.get();
+            }
+            finally
+            {
+                set(previous);
+            }
+        };
+    }
+    
+    /**
+     * Returns the earlier of the two deadlines.
+     * 
+     * @param other other deadline or null
+     * @return earlier deadline
+     */
+    public Deadline min(Deadline other)
+    {
+        if (other == null || expiry - other.expiry <= 0) return this;
+        
+        return other;
+    }
+    
+    /**
+     * Returns time remaining until the deadline.
+     * 
+     * @param unit time unit
+     * @return remaining time, or 0 if the deadline has passed
+     */
+    public long getRemaining(TimeUnit unit)
+    {
+        return unit.convert(Math.max(0, expiry - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+    
+    public boolean isExpired()
+    {
+        return expiry - System.nanoTime() <= 0;
+    }
+    
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.apache.jena.sparql.modify.request.QuadDataAcc;
+import org.apache.jena.sparql.modify.request.UpdateDataDelete;
+import org.apache.jena.sparql.modify.request.UpdateDataInsert;
+import org.apache.jena.update.UpdateRequest;
+
+/**
+ * Builds a <code>DELETE DATA</code>/<code>INSERT DATA</code> update that turns the current graph into the new one.
+ * Blank nodes cannot be addressed by <code>DELETE DATA</code>, so the triples containing them are compared as a whole:
+ * the delta can only be built if they are isomorphic in both graphs, i.e. only ground triples have changed.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class DeltaBuilder
+{
+
+    private final Model current, model;
+    private String graphURI;
+    private Set<Triple> deleted, inserted;
+    private Boolean supported;
+    
+    private DeltaBuilder(Model current, Model model)
+    {
+        if (current == null) throw new IllegalArgumentException("Current Model cannot be null");
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        
+        this.current = current;
+        this.model = model;
+    }
+    
+    public static DeltaBuilder fromModels(Model current, Model model)
+    {
+        return new DeltaBuilder(current, model);
+    }
+    
+    public DeltaBuilder graph(String graphURI)
+    {
+        this.graphURI = graphURI;
+        return this;
+    }
+    
+    /**
+     * Returns true if the triples with blank nodes are isomorphic in both graphs, which makes a delta possible.
+     * 
+     * @return true if supported
+     */
+    public boolean isSupported()
+    {
+        if (supported == null) diff();
+        
+        return supported;
+    }
+    
+    /**
+     * Builds the delta update. The update has no operations if the graphs are equal.
+     * 
+     * @return update request
+     */
+    public UpdateRequest build()
+    {
+        if (!isSupported()) throw new IllegalStateException("Graphs differ in triples with blank nodes, delta cannot be built");
+        
+        UpdateRequest update = new UpdateRequest();
+        if (!deleted.isEmpty()) update.add(new UpdateDataDelete(toQuads(deleted)));
+        if (!inserted.isEmpty()) update.add(new UpdateDataInsert(toQuads(inserted)));
+        return update;
+    }
+    
+    private void diff()
+    {
+        Graph currentBlank = GraphFactory.createGraphMem(), blank = GraphFactory.createGraphMem();
+        Set<Triple> currentGround = split(current.getGraph(), currentBlank);
+        Set<Triple> ground = split(model.getGraph(), blank);
+        
+        supported = currentBlank.isIsomorphicWith(blank);
+        if (!supported) return;
+        
+        deleted = new HashSet<>(currentGround);
+        deleted.removeAll(ground); // Triple equality is term equality, unlike Graph.contains()
+        inserted = ground;
+        inserted.removeAll(currentGround);
+    }
+    
+    /**
+     * Returns the ground triples of the graph and adds the triples with blank nodes to the other graph.
+     */
+    private static Set<Triple> split(Graph graph, Graph blank)
+    {
+        Set<Triple> ground = new HashSet<>();
+        graph.find().forEachRemaining(triple ->
+        {
+            if (triple.getSubject().isBlank() || triple.getObject().isBlank()) blank.add(triple);
+            else ground.add(triple);
+        });
+        return ground;
+    }
+    
+    private QuadDataAcc toQuads(Set<Triple> triples)
+    {
+        Node graph = getGraph() != null ? NodeFactory.createURI(getGraph()) : Quad.defaultGraphNodeGenerated;
+        QuadDataAcc quads = new QuadDataAcc();
+        triples.forEach(triple -> quads.addQuad(Quad.create(graph, triple)));
+        return quads;
+    }
+    
+    private String getGraph()
+    {
+        return graphURI;
+    }
+    
+}
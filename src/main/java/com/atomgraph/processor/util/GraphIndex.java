@@ -0,0 +1,365 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import com.atomgraph.core.model.Service;
+import java.io.Closeable;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSetRewindable;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.modify.request.Target;
+import org.apache.jena.sparql.modify.request.UpdateBinaryOp;
+import org.apache.jena.sparql.modify.request.UpdateCreate;
+import org.apache.jena.sparql.modify.request.UpdateData;
+import org.apache.jena.sparql.modify.request.UpdateDropClear;
+import org.apache.jena.sparql.modify.request.UpdateLoad;
+import org.apache.jena.sparql.modify.request.UpdateModify;
+import org.apache.jena.update.Update;
+import org.apache.jena.update.UpdateRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local index of the named graphs in the dataset, used to answer existence checks without a round trip to the Graph Store.
+ * The index is a snapshot of the graph list, plus the changes made since the snapshot was taken.
+ * Changes are recorded by the processor's own writes and by existence checks that had to be answered by the Graph Store.
+ * The snapshot is reloaded from the SPARQL endpoint periodically, which also picks up the writes of other clients.
+ * Graphs affected by an update in a way that cannot be determined locally become unknown and are checked on the Graph Store again.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class GraphIndex implements Closeable
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(GraphIndex.class);
+    
+    /** Query that lists the named graphs of the dataset */
+    public static final Query GRAPHS_QUERY = QueryFactory.create("SELECT DISTINCT ?g { GRAPH ?g { } }");
+    
+    private final Service service;
+    private final Map<String, Change> changes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile Set<String> snapshot; // null until loaded, or after an unknown set of graphs has changed
+    private volatile long invalidated = Long.MIN_VALUE;
+    
+    /**
+     * Constructs index and schedules its reconciliation, the first one immediately.
+     * 
+     * @param service SPARQL service that the graph list is loaded from
+     * @param interval reconciliation interval in milliseconds
+     */
+    public GraphIndex(Service service, long interval)
+    {
+        this(service, 0, interval);
+    }
+    
+    /**
+     * Constructs index and schedules its reconciliation.
+     * 
+     * @param service SPARQL service that the graph list is loaded from
+     * @param initialDelay delay of the first reconciliation in milliseconds
+     * @param interval reconciliation interval in milliseconds
+     */
+    protected GraphIndex(Service service, long initialDelay, long interval)
+    {
+        if (service == null) throw new IllegalArgumentException("Service cannot be null");
+        if (initialDelay < 0) throw new IllegalArgumentException("Initial delay cannot be negative");
+        if (interval <= 0) throw new IllegalArgumentException("Interval must be positive");
+        
+        this.service = service;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "GraphIndex");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcile, initialDelay, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Returns whether the named graph exists, as far as the index knows.
+     * 
+     * @param uri graph URI
+     * @return true or false, or null if the graph has to be checked on the Graph Store
+     */
+    public Boolean get(String uri)
+    {
+        if (uri == null) throw new IllegalArgumentException("String cannot be null");
+        
+        Change change = changes.get(uri);
+        if (change != null) return change.getExists();
+        
+        Set<String> current = snapshot;
+        if (current == null) return null;
+        
+        return current.contains(uri);
+    }
+    
+    /**
+     * Returns whether the named graph exists.
+     * If the index does not know, the lookup is called and its result is recorded,
+     * unless the graph has changed while the lookup was running.
+     * 
+     * @param uri graph URI
+     * @param lookup existence check on the Graph Store
+     * @return true if the graph exists
+     */
+    public boolean contains(String uri, Predicate<String> lookup)
+    {
+        if (lookup == null) throw new IllegalArgumentException("Predicate<String> cannot be null");
+        
+        Boolean exists = get(uri);
+        if (exists != null) return exists;
+        
+        long since = System.nanoTime();
+        boolean contains = lookup.test(uri);
+        if (since > invalidated) changes.compute(uri, (key, change) -> change == null || change.getTimestamp() < since ? new Change(contains, since) : change);
+        
+        return contains;
+    }
+    
+    /**
+     * Records the existence of the named graph after a completed write.
+     * 
+     * @param uri graph URI
+     * @param exists true if the graph exists, false if it does not, null if unknown
+     */
+    public void put(String uri, Boolean exists)
+    {
+        if (uri == null) throw new IllegalArgumentException("String cannot be null");
+        
+        changes.put(uri, new Change(exists, System.nanoTime()));
+    }
+    
+    /**
+     * Makes the named graph unknown, so that the next existence check goes to the Graph Store.
+     * 
+     * @param uri graph URI
+     */
+    public void forget(String uri)
+    {
+        put(uri, null);
+    }
+    
+    /**
+     * Makes all named graphs unknown until the next reconciliation, which is started immediately.
+     */
+    public void forgetAll()
+    {
+        invalidated = System.nanoTime();
+        snapshot = null;
+        changes.clear();
+        
+        try
+        {
+            scheduler.execute(this::reconcile);
+        }
+        catch (RejectedExecutionException ex)
+        {
+            if (log.isDebugEnabled()) log.debug("Graph index is closed, not reconciling");
+        }
+    }
+    
+    /**
+     * Records the named graphs affected by the update.
+     * Graphs that an update may have created or emptied become unknown; updates whose graphs are not fixed make all graphs unknown.
+     * 
+     * @param updateRequest update request
+     */
+    public void update(UpdateRequest updateRequest)
+    {
+        Set<String> graphs = getGraphs(updateRequest);
+        if (graphs == null)
+        {
+            if (log.isDebugEnabled()) log.debug("Update request affects unknown graphs, forgetting all graphs");
+            forgetAll();
+            return;
+        }
+        
+        graphs.forEach(this::forget);
+    }
+    
+    /**
+     * Returns the named graphs affected by the update request.
+     * 
+     * @param updateRequest update request
+     * @return graph URIs, or null if the affected graphs cannot be determined
+     */
+    public static Set<String> getGraphs(UpdateRequest updateRequest)
+    {
+        if (updateRequest == null) throw new IllegalArgumentException("UpdateRequest cannot be null");
+        
+        Set<String> graphs = new HashSet<>();
+        for (Update update : updateRequest.getOperations())
+            if (!addGraphs(update, graphs)) return null;
+        
+        return graphs;
+    }
+    
+    /**
+     * Collects the named graphs affected by the update operation.
+     * 
+     * @param update update operation
+     * @param graphs collected graph URIs
+     * @return false if the affected graphs cannot be determined
+     */
+    protected static boolean addGraphs(Update update, Set<String> graphs)
+    {
+        if (update instanceof UpdateData data) // INSERT DATA, DELETE DATA, DELETE WHERE
+            return addGraphs(data.getQuads(), graphs);
+        
+        if (update instanceof UpdateModify modify)
+        {
+            if (modify.getWithIRI() != null && !addGraph(modify.getWithIRI(), graphs)) return false;
+            return addGraphs(modify.getDeleteQuads(), graphs) && addGraphs(modify.getInsertQuads(), graphs);
+        }
+        
+        if (update instanceof UpdateDropClear dropClear)
+        {
+            if (dropClear.isDefault()) return true;
+            return dropClear.isOneGraph() && addGraph(dropClear.getGraph(), graphs);
+        }
+        
+        if (update instanceof UpdateCreate create) return addGraph(create.getGraph(), graphs);
+        
+        if (update instanceof UpdateLoad load) return load.getDest() == null || addGraph(load.getDest(), graphs);
+        
+        if (update instanceof UpdateBinaryOp binaryOp) // ADD, COPY, MOVE
+            return addGraph(binaryOp.getSrc(), graphs) && addGraph(binaryOp.getDest(), graphs);
+        
+        return false;
+    }
+    
+    private static boolean addGraphs(Collection<Quad> quads, Set<String> graphs)
+    {
+        for (Quad quad : quads)
+            if (!quad.isDefaultGraph() && !addGraph(quad.getGraph(), graphs)) return false;
+        
+        return true;
+    }
+    
+    private static boolean addGraph(Target target, Set<String> graphs)
+    {
+        if (target.isDefault()) return true;
+        
+        return target.isOneNamedGraph() && addGraph(target.getGraph(), graphs);
+    }
+    
+    private static boolean addGraph(Node node, Set<String> graphs)
+    {
+        if (!node.isURI()) return false;
+        
+        graphs.add(node.getURI());
+        return true;
+    }
+    
+    /**
+     * Reloads the graph list from the SPARQL endpoint.
+     * Changes recorded before the reload started are dropped, as the new graph list reflects them.
+     */
+    public void reconcile()
+    {
+        long since = System.nanoTime();
+        
+        try
+        {
+            Set<String> graphs = new HashSet<>();
+            ResultSetRewindable results = getService().getEndpointAccessor().select(GRAPHS_QUERY, Collections.<URI>emptyList(), Collections.<URI>emptyList());
+            while (results.hasNext())
+            {
+                QuerySolution solution = results.next();
+                RDFNode graph = solution.get("g");
+                if (graph != null && graph.isURIResource()) graphs.add(graph.asResource().getURI());
+            }
+            
+            load(graphs, since);
+        }
+        catch (RuntimeException ex)
+        {
+            if (log.isWarnEnabled()) log.warn("Could not reconcile named graph index", ex);
+        }
+    }
+    
+    /**
+     * Replaces the snapshot with the given graph list.
+     * 
+     * @param graphs graph URIs
+     * @param since {@link System#nanoTime()} value from before the graph list was loaded
+     */
+    protected synchronized void load(Set<String> graphs, long since)
+    {
+        if (invalidated >= since) return; // an unknown set of graphs has changed while loading, a new reconciliation is pending
+        
+        snapshot = Collections.unmodifiableSet(graphs);
+        changes.values().removeIf(change -> change.getTimestamp() < since);
+        if (log.isDebugEnabled()) log.debug("Reconciled named graph index with {} graphs", graphs.size());
+    }
+    
+    @Override
+    public void close()
+    {
+        scheduler.shutdownNow();
+    }
+    
+    public Service getService()
+    {
+        return service;
+    }
+    
+    /**
+     * Existence of a graph recorded after the snapshot was taken.
+     */
+    private static class Change
+    {
+        
+        private final Boolean exists;
+        private final long timestamp;
+        
+        Change(Boolean exists, long timestamp)
+        {
+            this.exists = exists;
+            this.timestamp = timestamp;
+        }
+        
+        Boolean getExists()
+        {
+            return exists;
+        }
+        
+        long getTimestamp()
+        {
+            return timestamp;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,475 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import com.atomgraph.core.model.Service;
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sparql.algebra.Algebra;
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.algebra.OpVisitorBase;
+import org.apache.jena.sparql.algebra.op.OpBGP;
+import org.apache.jena.sparql.algebra.op.OpDatasetNames;
+import org.apache.jena.sparql.algebra.op.OpGraph;
+import org.apache.jena.sparql.algebra.op.OpQuadBlock;
+import org.apache.jena.sparql.algebra.op.OpQuadPattern;
+import org.apache.jena.sparql.algebra.op.OpService;
+import org.apache.jena.sparql.algebra.op.OpTriple;
+import org.apache.jena.sparql.algebra.walker.Walker;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.expr.ExprVisitorBase;
+import org.apache.jena.system.Txn;
+import org.apache.jena.update.UpdateRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local in-memory copy of frequently read named graphs.
+ * Graphs are mirrored if their URIs match one of the configured patterns, or if they are among the most frequently read graphs.
+ * Reads of mirrored graphs, and queries that only touch mirrored graphs, are answered from the local dataset.
+ * The processor's own writes replace or invalidate the affected graphs; all mirrored graphs are reloaded from the Graph Store periodically,
+ * which also picks up the writes of other clients.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class GraphMirror implements Closeable
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(GraphMirror.class);
+    
+    /** Default interval in milliseconds at which mirrored graphs are reloaded */
+    public static final long DEFAULT_REVALIDATION_INTERVAL = 60000L;
+    /** Maximum number of graphs whose reads are counted */
+    public static final int MAX_TRACKED_GRAPHS = 10000;
+    
+    private final Service service;
+    private final List<Pattern> patterns;
+    private final int hotGraphs;
+    private final Dataset dataset = DatasetFactory.createTxnMem();
+    private final Set<String> mirrored = ConcurrentHashMap.newKeySet();
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> changed = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> reads = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    
+    /**
+     * Constructs mirror and schedules its revalidation.
+     * 
+     * @param service SPARQL service that the graphs are loaded from
+     * @param patterns patterns of the URIs of graphs that are always mirrored
+     * @param hotGraphs number of the most frequently read graphs that are mirrored
+     * @param interval revalidation interval in milliseconds
+     */
+    public GraphMirror(Service service, List<Pattern> patterns, int hotGraphs, long interval)
+    {
+        if (service == null) throw new IllegalArgumentException("Service cannot be null");
+        if (patterns == null) throw new IllegalArgumentException("List<Pattern> cannot be null");
+        if (hotGraphs < 0) throw new IllegalArgumentException("Number of hot graphs cannot be negative");
+        if (interval <= 0) throw new IllegalArgumentException("Interval must be positive");
+        
+        this.service = service;
+        this.patterns = patterns;
+        this.hotGraphs = hotGraphs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "GraphMirror");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::revalidate, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Parses whitespace-separated graph URI patterns.
+     * 
+     * @param patterns config value
+     * @return list of patterns
+     */
+    public static List<Pattern> getPatterns(String patterns)
+    {
+        if (patterns == null) throw new IllegalArgumentException("String cannot be null");
+        
+        return Pattern.compile("\\s+").splitAsStream(patterns.trim()).
+            filter(pattern -> !pattern.isEmpty()).
+            map(Pattern::compile).
+            collect(Collectors.toList());
+    }
+    
+    /**
+     * Returns a copy of the mirrored graph and counts the read.
+     * 
+     * @param uri graph URI
+     * @return graph or null if it is not mirrored
+     */
+    public Model getModel(String uri)
+    {
+        if (uri == null) throw new IllegalArgumentException("String cannot be null");
+        
+        read(uri);
+        if (!mirrored.contains(uri)) return null;
+        
+        return Txn.calculateRead(dataset, () ->
+        {
+            if (!mirrored.contains(uri)) return null;
+            
+            return ModelFactory.createDefaultModel().add(dataset.getNamedModel(uri));
+        });
+    }
+    
+    /**
+     * Executes <code>CONSTRUCT</code> query on the mirror and counts the reads of the graphs that it touches.
+     * <code>DESCRIBE</code> queries are not executed, as their result depends on the default graph of the remote dataset.
+     * 
+     * @param query query
+     * @return result or null if the query touches graphs that are not mirrored
+     * @see #getGraphs(org.apache.jena.query.Query)
+     */
+    public Model loadModel(Query query)
+    {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        if (!query.isConstructType()) return null;
+        
+        Set<String> graphs = getGraphs(query);
+        if (graphs == null || graphs.isEmpty()) return null;
+        
+        graphs.forEach(this::read);
+        if (!mirrored.containsAll(graphs)) return null;
+        
+        return Txn.calculateRead(dataset, () ->
+        {
+            if (!mirrored.containsAll(graphs)) return null;
+            
+            try (QueryExecution qex = QueryExecution.dataset(dataset).query(query).build())
+            {
+                return qex.execConstruct();
+            }
+        });
+    }
+    
+    /**
+     * Returns the named graphs that the query touches.
+     * 
+     * @param query query
+     * @return graph URIs, or null if the query touches the default graph, graphs that are not fixed, or remote services
+     */
+    public static Set<String> getGraphs(Query query)
+    {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        
+        if (query.hasDatasetDescription())
+        {
+            Set<String> graphs = new HashSet<>(query.getGraphURIs());
+            graphs.addAll(query.getNamedGraphURIs());
+            return graphs;
+        }
+        
+        Set<String> graphs = new HashSet<>();
+        GraphCollector collector = new GraphCollector(graphs);
+        Walker.walk(Algebra.toQuadForm(Algebra.compile(query)), collector, new ExprVisitorBase()); // also walks EXISTS patterns
+        if (!collector.isFixed()) return null;
+        
+        return graphs;
+    }
+    
+    /**
+     * Counts the read of the graph.
+     * A graph whose URI matches one of the patterns is loaded on its first read.
+     * 
+     * @param uri graph URI
+     */
+    protected void read(String uri)
+    {
+        AtomicLong count = reads.get(uri);
+        if (count == null && reads.size() < MAX_TRACKED_GRAPHS) count = reads.computeIfAbsent(uri, key -> new AtomicLong());
+        if (count != null) count.incrementAndGet();
+        
+        if (!mirrored.contains(uri) && matches(uri)) submit(uri);
+    }
+    
+    /**
+     * Returns true if the graph URI matches one of the patterns.
+     * 
+     * @param uri graph URI
+     * @return true if matches
+     */
+    public boolean matches(String uri)
+    {
+        return patterns.stream().anyMatch(pattern -> pattern.matcher(uri).matches());
+    }
+    
+    /**
+     * Replaces the mirrored graph after it has been replaced on the Graph Store.
+     * 
+     * @param uri graph URI
+     * @param model new graph
+     */
+    public synchronized void put(String uri, Model model)
+    {
+        if (uri == null) throw new IllegalArgumentException("String cannot be null");
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        
+        changed.put(uri, System.nanoTime());
+        if (!mirrored.contains(uri)) return;
+        
+        Txn.executeWrite(dataset, () -> dataset.replaceNamedModel(uri, model));
+    }
+    
+    /**
+     * Removes the graph from the mirror after it has been deleted on the Graph Store.
+     * 
+     * @param uri graph URI
+     */
+    public synchronized void delete(String uri)
+    {
+        if (uri == null) throw new IllegalArgumentException("String cannot be null");
+        
+        changed.put(uri, System.nanoTime());
+        if (!mirrored.remove(uri)) return;
+        
+        Txn.executeWrite(dataset, () -> dataset.removeNamedModel(uri));
+    }
+    
+    /**
+     * Removes the graph from the mirror until it is reloaded, which is started immediately.
+     * 
+     * @param uri graph URI
+     */
+    public void invalidate(String uri)
+    {
+        if (uri == null) throw new IllegalArgumentException("String cannot be null");
+        
+        boolean wasMirrored;
+        synchronized (this)
+        {
+            changed.put(uri, System.nanoTime());
+            wasMirrored = mirrored.remove(uri);
+            if (wasMirrored) Txn.executeWrite(dataset, () -> dataset.removeNamedModel(uri));
+        }
+        
+        if (wasMirrored) submit(uri);
+    }
+    
+    /**
+     * Invalidates the mirrored graphs affected by the update.
+     * If the affected graphs cannot be determined, all mirrored graphs are invalidated.
+     * 
+     * @param updateRequest update request
+     * @see GraphIndex#getGraphs(org.apache.jena.update.UpdateRequest)
+     */
+    public void update(UpdateRequest updateRequest)
+    {
+        Set<String> graphs = GraphIndex.getGraphs(updateRequest);
+        if (graphs == null) graphs = new HashSet<>(mirrored);
+        
+        graphs.forEach(this::invalidate);
+    }
+    
+    /**
+     * Reloads the mirrored graphs and updates the selection of the most frequently read graphs.
+     * Read counts are halved, so that graphs that are no longer read fall out of the selection.
+     */
+    public void revalidate()
+    {
+        Set<String> selected = new HashSet<>();
+        reads.entrySet().stream().
+            sorted(Comparator.comparingLong((Map.Entry<String, AtomicLong> entry) -> entry.getValue().get()).reversed()).
+            limit(hotGraphs).
+            forEach(entry -> selected.add(entry.getKey()));
+        mirrored.stream().filter(this::matches).forEach(selected::add);
+        
+        reads.values().removeIf(count -> count.updateAndGet(value -> value / 2) == 0);
+        
+        for (String uri : new HashSet<>(mirrored))
+            if (!selected.contains(uri))
+            {
+                if (log.isDebugEnabled()) log.debug("Graph <{}> is no longer mirrored", uri);
+                synchronized (this)
+                {
+                    if (mirrored.remove(uri)) Txn.executeWrite(dataset, () -> dataset.removeNamedModel(uri));
+                }
+            }
+        
+        selected.forEach(this::load);
+    }
+    
+    private void submit(String uri)
+    {
+        if (!loading.add(uri)) return;
+        
+        try
+        {
+            scheduler.execute(() ->
+            {
+                try
+                {
+                    load(uri);
+                }
+                finally
+                {
+                    loading.remove(uri);
+                }
+            });
+        }
+        catch (RejectedExecutionException ex)
+        {
+            loading.remove(uri);
+            if (log.isDebugEnabled()) log.debug("Graph mirror is closed, not loading graph <{}>", uri);
+        }
+    }
+    
+    /**
+     * Loads the graph from the Graph Store into the mirror, unless it has been written while it was loading.
+     * 
+     * @param uri graph URI
+     */
+    protected void load(String uri)
+    {
+        long since = System.nanoTime();
+        
+        final Model model;
+        try
+        {
+            model = getService().getDatasetAccessor().getModel(uri);
+        }
+        catch (RuntimeException ex)
+        {
+            if (log.isDebugEnabled()) log.debug("Could not load graph <{}> into the mirror", uri, ex);
+            delete(uri);
+            return;
+        }
+        
+        synchronized (this)
+        {
+            if (changed.getOrDefault(uri, Long.MIN_VALUE) >= since) return; // written while loading, reloaded by the writer if needed
+            
+            Txn.executeWrite(dataset, () -> dataset.replaceNamedModel(uri, model));
+            mirrored.add(uri);
+        }
+        if (log.isDebugEnabled()) log.debug("Mirrored graph <{}> with {} triples", uri, model.size());
+    }
+    
+    @Override
+    public void close()
+    {
+        scheduler.shutdownNow();
+    }
+    
+    public Service getService()
+    {
+        return service;
+    }
+    
+    /**
+     * Returns the URIs of the mirrored graphs.
+     * 
+     * @return unmodifiable set of graph URIs
+     */
+    public Collection<String> getGraphs()
+    {
+        return Collections.unmodifiableSet(mirrored);
+    }
+    
+    /**
+     * Collects the named graphs of the quad form of a query.
+     */
+    private static class GraphCollector extends OpVisitorBase
+    {
+        
+        private final Set<String> graphs;
+        private boolean fixed = true;
+        
+        GraphCollector(Set<String> graphs)
+        {
+            this.graphs = graphs;
+        }
+        
+        private void add(Node node)
+        {
+            if (node.isURI() && !Quad.isDefaultGraph(node)) graphs.add(node.getURI());
+            else fixed = false;
+        }
+        
+        @Override
+        public void visit(OpQuadPattern quadPattern)
+        {
+            add(quadPattern.getGraphNode());
+        }
+        
+        @Override
+        public void visit(OpQuadBlock quadBlock)
+        {
+            quadBlock.getPattern().forEach(quad -> add(quad.getGraph()));
+        }
+        
+        @Override
+        public void visit(OpGraph opGraph)
+        {
+            add(opGraph.getNode());
+        }
+        
+        @Override
+        public void visit(OpDatasetNames dsNames)
+        {
+            add(dsNames.getGraphNode());
+        }
+        
+        @Override
+        public void visit(OpBGP opBGP)
+        {
+            fixed = false; // triple patterns that were not converted to quads
+        }
+        
+        @Override
+        public void visit(OpTriple opTriple)
+        {
+            fixed = false;
+        }
+        
+        @Override
+        public void visit(OpService opService)
+        {
+            fixed = false;
+        }
+        
+        boolean isFixed()
+        {
+            return fixed;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory budget shared by concurrent requests.
+ * Bytes are reserved before data is held on the heap and released once the request is done with it.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class MemoryBudget
+{
+    
+    private final long capacity;
+    private final AtomicLong used = new AtomicLong();
+    
+    /**
+     * Constructs budget with the given capacity.
+     * 
+     * @param capacity capacity in bytes
+     */
+    public MemoryBudget(long capacity)
+    {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity cannot be negative");
+        this.capacity = capacity;
+    }
+    
+    /**
+     * Reserves bytes if they fit into the remaining budget.
+     * 
+     * @param bytes number of bytes
+     * @return true if reserved, false if the budget would be exceeded
+     */
+    public boolean tryAcquire(long bytes)
+    {
+        if (bytes < 0) throw new IllegalArgumentException("Bytes cannot be negative");
+        
+        long current;
+        do
+        {
+            current = used.get();
+            if (current + bytes > getCapacity()) return false;
+        }
+        while (!used.compareAndSet(current, current + bytes));
+        
+        return true;
+    }
+    
+    /**
+     * Releases previously reserved bytes.
+     * 
+     * @param bytes number of bytes
+     */
+    public void release(long bytes)
+    {
+        if (bytes < 0) throw new IllegalArgumentException("Bytes cannot be negative");
+        
+        used.addAndGet(-bytes);
+    }
+    
+    public long getCapacity()
+    {
+        return capacity;
+    }
+    
+    public long getUsed()
+    {
+        return used.get();
+    }
+    
+}
@@ -23,9 +23,14 @@ import org.apache.jena.ontology.OntModelSpec;
 import org.apache.jena.ontology.OntResource;
 import org.apache.jena.ontology.Ontology;
 import org.apache.jena.util.iterator.ExtendedIterator;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.rdf.model.StmtIterator;
 import com.atomgraph.server.exception.OntologyException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,14 +59,28 @@ public class OntologyLoader
         this.ontologyURI = ontologyURI;
         
         // materialize OntModel inferences to avoid invoking rules engine on every request
-        if (!ontDocumentManager.getFileManager().hasCachedModel(ontologyURI))
+        if (!(ontDocumentManager.getFileManager().getFromCache(ontologyURI) instanceof OntModelReadOnly)) materialize(ontDocumentManager, ontologyURI, materializationSpec);
+    }
+    
+    /**
+     * Materializes inferences of the ontology and caches the result as an immutable model.
+     * Imported ontologies are materialized first (unless already cached as immutable) and attached as sub-models,
+     * so that only the triples not already present in the imports are stored for the given ontology.
+     * That way imports shared by several sitemaps are loaded and materialized once and shared by reference.
+     * 
+     * @param ontDocumentManager document manager
+     * @param ontologyURI ontology URI
+     * @param materializationSpec ontology specification used for inference
+     * @return immutable materialized ontology model
+     */
+    public static OntModel materialize(final OntDocumentManager ontDocumentManager, final String ontologyURI, final OntModelSpec materializationSpec)
+    {
+        OntModel ontModel = ontDocumentManager.getOntology(ontologyURI, materializationSpec);
+        Ontology ontology = ontModel.getOntology(ontologyURI);
+        
+        List<Model> importModels = new ArrayList<>();
+        if (ontology != null)
         {
-            OntModel ontModel = ontDocumentManager.getOntology(ontologyURI, materializationSpec);
-            Ontology ontology = ontModel.getOntology(ontologyURI);
-            OntModel materializedModel = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM); // no inference
-            materializedModel.add(ontModel);
-            ontDocumentManager.addModel(ontologyURI, new OntModelReadOnly(materializedModel), true); // make immutable
-
             ImportCycleChecker checker = new ImportCycleChecker();
             checker.check(ontology);
             if (checker.getCycleOntology() != null)
@@ -69,10 +88,40 @@ public class OntologyLoader
                 if (log.isErrorEnabled()) log.error("Sitemap contains an ontology which forms an import cycle: {}", checker.getCycleOntology());
                 throw new OntologyException("Sitemap contains an ontology which forms an import cycle: " + checker.getCycleOntology().getURI());
             }
+            
+            for (String importURI : TemplateMatcher.listImports(ontology).stream().map(Ontology::getURI).toList())
+                if (ontDocumentManager.getFileManager().hasCachedModel(importURI)) // not cached if import failed to load or models are not cached
+                {
+                    Model importModel = ontDocumentManager.getFileManager().getFromCache(importURI);
+                    if (importModel instanceof OntModelReadOnly) importModels.add(importModel); // already materialized
+                    else importModels.add(materialize(ontDocumentManager, importURI, materializationSpec));
+                }
+        }
+        
+        OntModel materializedModel = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM); // no inference
+        StmtIterator it = ontModel.listStatements();
+        try
+        {
+            while (it.hasNext())
+            {
+                Statement stmt = it.next();
+                if (importModels.stream().noneMatch(importModel -> importModel.contains(stmt))) materializedModel.add(stmt);
+            }
+        }
+        finally
+        {
+            it.close();
         }
+        for (Model importModel : importModels) materializedModel.addSubModel(importModel, false);
+        materializedModel.rebind();
+        
+        if (log.isDebugEnabled()) log.debug("Materialized ontology <{}> with {} own triples and {} shared imports", ontologyURI, materializedModel.getBaseModel().size(), importModels.size());
+        OntModel readOnlyModel = new OntModelReadOnly(materializedModel); // make immutable
+        ontDocumentManager.addModel(ontologyURI, readOnlyModel, true);
+        return readOnlyModel;
     }
 
-    public class ImportCycleChecker
+    public static class ImportCycleChecker
     {
         private final Map<Ontology, Boolean> marked = new HashMap<>(), onStack = new HashMap<>();
         private Ontology cycleOntology = null;
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import com.atomgraph.core.model.EndpointAccessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.sparql.expr.E_Conditional;
+import org.apache.jena.sparql.expr.E_Datatype;
+import org.apache.jena.sparql.expr.E_Equals;
+import org.apache.jena.sparql.expr.E_GreaterThan;
+import org.apache.jena.sparql.expr.E_IsIRI;
+import org.apache.jena.sparql.expr.E_IsLiteral;
+import org.apache.jena.sparql.expr.E_Lang;
+import org.apache.jena.sparql.expr.E_LessThan;
+import org.apache.jena.sparql.expr.E_LogicalAnd;
+import org.apache.jena.sparql.expr.E_LogicalOr;
+import org.apache.jena.sparql.expr.E_Str;
+import org.apache.jena.sparql.expr.E_StrConcat;
+import org.apache.jena.sparql.expr.Expr;
+import org.apache.jena.sparql.expr.ExprList;
+import org.apache.jena.sparql.expr.ExprVar;
+import org.apache.jena.sparql.expr.NodeValue;
+import org.apache.jena.sparql.syntax.ElementData;
+import org.apache.jena.sparql.syntax.ElementFilter;
+import org.apache.jena.sparql.syntax.ElementGroup;
+import org.apache.jena.sparql.util.NodeFactoryExtra;
+
+/**
+ * A page of a paginated description, using keyset (cursor) pagination instead of <code>OFFSET</code>.
+ * The keys of the page are selected first, ordered by the lexical form of the cursor variable and filtered by the cursor,
+ * so that the endpoint does not have to produce and skip the rows of the preceding pages. It still has to sort all
+ * matching keys for every page though. The description query is then restricted to the page keys using <code>VALUES</code>.
+ * Keys with the same lexical form, such as <code>"1"</code> and <code>"1"^^xsd:int</code>, are ordered by their kind:
+ * URIs first, then literals by datatype and language tag.
+ * Cursors are the first and last keys of a page: URIs as they are, literals in N-Triples syntax.
+ * Rows in which the cursor variable is unbound or a blank node are not paginated.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class Page
+{
+
+    public static final String AFTER_PARAM_NAME = "after";
+    public static final String BEFORE_PARAM_NAME = "before";
+    
+    private final Query query;
+    private final String prev, next;
+    
+    public Page(Query query, String prev, String next)
+    {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        this.query = query;
+        this.prev = prev;
+        this.next = next;
+    }
+    
+    /**
+     * Selects the keys of the page that follows the <code>after</code> cursor, or precedes the <code>before</code> cursor.
+     * Without cursors, the first page is returned.
+     * 
+     * @param accessor SPARQL endpoint accessor
+     * @param query description query
+     * @param var cursor variable
+     * @param pageSize maximum number of keys per page
+     * @param after cursor of the previous page or null
+     * @param before cursor of the next page or null
+     * @return page
+     * @throws IllegalArgumentException if a cursor is not a URI or a literal
+     */
+    public static Page get(EndpointAccessor accessor, Query query, Var var, int pageSize, String after, String before)
+    {
+        if (accessor == null) throw new IllegalArgumentException("EndpointAccessor cannot be null");
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        if (var == null) throw new IllegalArgumentException("Var cannot be null");
+        if (pageSize < 1) throw new IllegalArgumentException("Page size must be positive");
+        if (after != null && before != null) throw new IllegalArgumentException("Only one of the cursors can be set");
+        
+        boolean backward = before != null;
+        Query keyQuery = getKeyQuery(query, var, pageSize + 1, backward ? before : after, backward); // one extra key tells if there is a further page
+        List<Node> keys = new ArrayList<>();
+        ResultSet results = accessor.select(keyQuery, Collections.emptyList(), Collections.emptyList());
+        while (results.hasNext())
+        {
+            RDFNode key = results.next().get(var.getVarName());
+            if (key != null && (key.isURIResource() || key.isLiteral())) keys.add(key.asNode());
+        }
+        
+        boolean more = keys.size() > pageSize;
+        if (more) keys = new ArrayList<>(keys.subList(0, pageSize));
+        if (backward) Collections.reverse(keys);
+        
+        String prev = null, next = null;
+        if (!keys.isEmpty())
+        {
+            if (backward)
+            {
+                if (more) prev = getCursor(keys.get(0));
+                next = getCursor(keys.get(keys.size() - 1));
+            }
+            else
+            {
+                if (after != null) prev = getCursor(keys.get(0));
+                if (more) next = getCursor(keys.get(keys.size() - 1));
+            }
+        }
+        
+        return new Page(getPageQuery(query, var, keys), prev, next);
+    }
+    
+    /**
+     * Builds the query that selects page keys.
+     * 
+     * @param query description query
+     * @param var cursor variable
+     * @param limit maximum number of keys
+     * @param cursor cursor or null
+     * @param backward true if keys before the cursor are selected
+     * @return <code>SELECT</code> query
+     */
+    public static Query getKeyQuery(Query query, Var var, long limit, String cursor, boolean backward)
+    {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        if (var == null) throw new IllegalArgumentException("Var cannot be null");
+        if (query.getQueryPattern() == null) throw new IllegalArgumentException("Query must have a pattern");
+        
+        Query keyQuery = new Query();
+        keyQuery.setQuerySelectType();
+        keyQuery.setPrefixMapping(query.getPrefixMapping());
+        if (query.getBaseURI() != null) keyQuery.setBaseURI(query.getBaseURI());
+        query.getGraphURIs().forEach(keyQuery::addGraphURI);
+        query.getNamedGraphURIs().forEach(keyQuery::addNamedGraphURI);
+        keyQuery.setDistinct(true);
+        keyQuery.addResultVar(var);
+        
+        ExprVar expr = new ExprVar(var);
+        Expr key = new E_Str(expr), kind = getKind(expr);
+        ElementGroup group = new ElementGroup();
+        group.addElement(query.getQueryPattern());
+        group.addElementFilter(new ElementFilter(new E_LogicalOr(new E_IsIRI(expr), new E_IsLiteral(expr)))); // blank nodes cannot be cursors
+        if (cursor != null)
+        {
+            Node cursorNode = parseCursor(cursor);
+            NodeValue cursorKey = NodeValue.makeString(getLexicalForm(cursorNode)), cursorKind = NodeValue.makeString(getKind(cursorNode));
+            Expr keyCompare = backward ? new E_LessThan(key, cursorKey) : new E_GreaterThan(key, cursorKey);
+            Expr kindCompare = backward ? new E_LessThan(kind, cursorKind) : new E_GreaterThan(kind, cursorKind);
+            group.addElementFilter(new ElementFilter(new E_LogicalOr(keyCompare, new E_LogicalAnd(new E_Equals(key, cursorKey), kindCompare))));
+        }
+        keyQuery.setQueryPattern(group);
+        keyQuery.addOrderBy(key, backward ? Query.ORDER_DESCENDING : Query.ORDER_ASCENDING);
+        keyQuery.addOrderBy(kind, backward ? Query.ORDER_DESCENDING : Query.ORDER_ASCENDING);
+        keyQuery.setLimit(limit);
+        
+        return keyQuery;
+    }
+    
+    /**
+     * Restricts the description query to the given keys.
+     * 
+     * @param query description query
+     * @param var cursor variable
+     * @param keys page keys
+     * @return page query
+     */
+    public static Query getPageQuery(Query query, Var var, List<Node> keys)
+    {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        if (var == null) throw new IllegalArgumentException("Var cannot be null");
+        if (keys == null) throw new IllegalArgumentException("List<Node> cannot be null");
+
+        ElementData data = new ElementData();
+        data.add(var);
+        keys.forEach(key -> data.add(BindingFactory.binding(var, key)));
+        
+        ElementGroup group = new ElementGroup();
+        group.addElement(data);
+        group.addElement(query.getQueryPattern());
+        
+        Query pageQuery = query.cloneQuery();
+        pageQuery.setQueryPattern(group);
+        return pageQuery;
+    }
+    
+    /**
+     * Returns the cursor of a key.
+     * 
+     * @param key URI or literal
+     * @return URI, or literal in N-Triples syntax
+     */
+    public static String getCursor(Node key)
+    {
+        if (key == null) throw new IllegalArgumentException("Node cannot be null");
+        
+        if (key.isURI()) return key.getURI();
+        if (key.isLiteral()) return NodeFmtLib.strNT(key);
+        throw new IllegalArgumentException("Cursor key must be a URI or a literal");
+    }
+    
+    /**
+     * Parses a cursor returned by {@link #getCursor(org.apache.jena.graph.Node)}.
+     * 
+     * @param cursor cursor
+     * @return URI or literal
+     * @throws IllegalArgumentException if the cursor is not a URI or a literal
+     */
+    public static Node parseCursor(String cursor)
+    {
+        if (cursor == null) throw new IllegalArgumentException("Cursor cannot be null");
+        
+        if (!cursor.startsWith("\"")) return NodeFactory.createURI(cursor);
+        
+        final Node node;
+        try
+        {
+            node = NodeFactoryExtra.parseNode(cursor);
+        }
+        catch (RiotException ex)
+        {
+            throw new IllegalArgumentException("Cursor '" + cursor + "' is not a valid literal", ex);
+        }
+        if (!node.isLiteral()) throw new IllegalArgumentException("Cursor '" + cursor + "' is not a literal");
+        
+        return node;
+    }
+    
+    /**
+     * Returns the lexical form of a key, by which pages are ordered.
+     * 
+     * @param key URI or literal
+     * @return URI or lexical form
+     */
+    public static String getLexicalForm(Node key)
+    {
+        if (key.isURI()) return key.getURI();
+        return key.getLiteralLexicalForm();
+    }
+    
+    /**
+     * Returns the kind of a key that orders keys with the same lexical form.
+     * Matches the value of {@link #getKind(org.apache.jena.sparql.expr.Expr)} in queries.
+     * 
+     * @param key URI or literal
+     * @return empty string for URIs, datatype URI and language tag for literals
+     */
+    public static String getKind(Node key)
+    {
+        if (key.isURI()) return "";
+        return key.getLiteralDatatypeURI() + "@" + key.getLiteralLanguage();
+    }
+    
+    /**
+     * Returns the query expression of the kind of a key.
+     * 
+     * @param expr key expression
+     * @return <code>IF(isIRI(expr), "", CONCAT(STR(DATATYPE(expr)), "@", LANG(expr)))</code>
+     */
+    public static Expr getKind(Expr expr)
+    {
+        ExprList kind = new ExprList();
+        kind.add(new E_Str(new E_Datatype(expr)));
+        kind.add(NodeValue.makeString("@"));
+        kind.add(new E_Lang(expr));
+        return new E_Conditional(new E_IsIRI(expr), NodeValue.makeString(""), new E_StrConcat(kind));
+    }
+    
+    public Query getQuery()
+    {
+        return query;
+    }
+    
+    /**
+     * Returns the cursor of the previous page.
+     * 
+     * @return <code>before</code> cursor or null if this is the first page
+     */
+    public String getPrev()
+    {
+        return prev;
+    }
+    
+    /**
+     * Returns the cursor of the next page.
+     * 
+     * @return <code>after</code> cursor or null if this is the last page
+     */
+    public String getNext()
+    {
+        return next;
+    }
+    
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.lang.CollectorStreamRDF;
+import org.apache.jena.riot.lang.LabelToNode;
+import org.apache.jena.riot.system.ErrorHandlerFactory;
+import org.apache.jena.riot.system.StreamRDF;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parser of line-based RDF syntaxes (N-Triples and N-Quads) that splits the input on line boundaries into chunks
+ * and parses them in parallel.
+ * Parsed chunks are sent to the destination stream sequentially, in input order.
+ * Blank node labels are allocated by hashing them with a per-parse seed, so that the same label denotes the same
+ * blank node in all chunks.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class ParallelRDFParser
+{
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelRDFParser.class);
+    
+    /** Default chunk size in bytes */
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+    
+    private final ExecutorService executor;
+    private final int chunkSize, maxPendingChunks;
+    
+    /**
+     * Constructs parser that uses the common fork-join pool.
+     */
+    public ParallelRDFParser()
+    {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, ForkJoinPool.getCommonPoolParallelism() * 2);
+    }
+    
+    /**
+     * Constructs parser.
+     * 
+     * @param executor executor that parses chunks
+     * @param chunkSize approximate chunk size in bytes
+     * @param maxPendingChunks maximum number of chunks read but not yet sent to the destination, which bounds memory use
+     */
+    public ParallelRDFParser(ExecutorService executor, int chunkSize, int maxPendingChunks)
+    {
+        if (executor == null) throw new IllegalArgumentException("ExecutorService cannot be null");
+        if (chunkSize <= 0) throw new IllegalArgumentException("Chunk size must be positive");
+        if (maxPendingChunks <= 0) throw new IllegalArgumentException("Maximum number of pending chunks must be positive");
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = maxPendingChunks;
+    }
+    
+    /**
+     * Returns true if the syntax is line-based and its input can be split on line boundaries.
+     * 
+     * @param lang RDF syntax
+     * @return true if supported
+     */
+    public static boolean isSplittable(Lang lang)
+    {
+        return Lang.NTRIPLES.equals(lang) || Lang.NQUADS.equals(lang);
+    }
+    
+    /**
+     * Parses input stream into the destination RDF stream.
+     * 
+     * @param in input stream
+     * @param lang N-Triples or N-Quads
+     * @param dest destination stream
+     * @throws IOException input error
+     */
+    public void parse(InputStream in, Lang lang, StreamRDF dest) throws IOException
+    {
+        if (in == null) throw new IllegalArgumentException("InputStream cannot be null");
+        if (!isSplittable(lang)) throw new IllegalArgumentException("Lang '" + lang + "' cannot be split on line boundaries");
+        if (dest == null) throw new IllegalArgumentException("StreamRDF cannot be null");
+
+        final UUID seed = UUID.randomUUID(); // blank node scope of this input
+        LineChunker chunker = new LineChunker(in, getChunkSize());
+        Deque<Future<CollectorStreamRDF>> pending = new ArrayDeque<>();
+        
+        dest.start();
+        try
+        {
+            ByteArrayInputStream chunk = chunker.next();
+            if (chunk != null && chunker.isEOF()) // single chunk, no point in handing it over to the executor
+                send(parse(chunk, lang, seed), dest);
+            else
+            {
+                int count = 0;
+                while (chunk != null)
+                {
+                    final ByteArrayInputStream task = chunk;
+                    pending.add(getExecutor().submit(() -> parse(task, lang, seed)));
+                    if (pending.size() >= getMaxPendingChunks()) send(pending.remove().get(), dest);
+                    
+                    count++;
+                    chunk = chunker.next();
+                }
+                
+                while (!pending.isEmpty()) send(pending.remove().get(), dest);
+                if (log.isDebugEnabled()) log.debug("Parsed {} input in {} chunks", lang, count);
+            }
+        }
+        catch (ExecutionException ex)
+        {
+            if (ex.getCause() instanceof RuntimeException runtimeException) throw runtimeException; // e.g. RiotException
+            throw new IOException(ex.getCause());
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        }
+        finally
+        {
+            pending.forEach(future -> future.cancel(true));
+            dest.finish();
+        }
+    }
+    
+    protected CollectorStreamRDF parse(InputStream chunk, Lang lang, UUID seed)
+    {
+        CollectorStreamRDF collector = new CollectorStreamRDF();
+        RDFParser.create().
+            source(chunk).
+            lang(lang).
+            labelToNode(LabelToNode.createScopeByDocumentHash(seed)).
+            errorHandler(ErrorHandlerFactory.errorHandlerStd).
+            parse(collector);
+        return collector;
+    }
+    
+    protected void send(CollectorStreamRDF collector, StreamRDF dest)
+    {
+        collector.getTriples().forEach(dest::triple);
+        collector.getQuads().forEach(dest::quad);
+    }
+    
+    public ExecutorService getExecutor()
+    {
+        return executor;
+    }
+    
+    public int getChunkSize()
+    {
+        return chunkSize;
+    }
+    
+    public int getMaxPendingChunks()
+    {
+        return maxPendingChunks;
+    }
+    
+    /**
+     * Reads input in chunks that end on a line boundary.
+     */
+    protected static class LineChunker
+    {
+        
+        private final InputStream in;
+        private final int chunkSize;
+        private byte[] leftover = new byte[0];
+        private boolean eof = false;
+
+        public LineChunker(InputStream in, int chunkSize)
+        {
+            this.in = in;
+            this.chunkSize = chunkSize;
+        }
+        
+        /**
+         * Returns the next chunk, or null if the input is exhausted.
+         * 
+         * @return chunk stream
+         * @throws IOException input error
+         */
+        public ByteArrayInputStream next() throws IOException
+        {
+            if (eof && leftover.length == 0) return null;
+            
+            byte[] buf = Arrays.copyOf(leftover, Math.max(chunkSize, leftover.length * 2));
+            int length = leftover.length;
+            leftover = new byte[0];
+            
+            while (true)
+            {
+                if (!eof)
+                {
+                    length += in.readNBytes(buf, length, buf.length - length);
+                    if (length < buf.length) eof = true;
+                }
+                if (eof) return length > 0 ? new ByteArrayInputStream(buf, 0, length) : null;
+                
+                int newline = length - 1;
+                while (newline >= 0 && buf[newline] != '\n') newline--;
+                if (newline >= 0)
+                {
+                    leftover = Arrays.copyOfRange(buf, newline + 1, length);
+                    return new ByteArrayInputStream(buf, 0, newline + 1);
+                }
+                
+                buf = Arrays.copyOf(buf, buf.length * 2); // line longer than the buffer
+            }
+        }
+        
+        public boolean isEOF()
+        {
+            return eof && leftover.length == 0;
+        }
+        
+    }
+    
+}
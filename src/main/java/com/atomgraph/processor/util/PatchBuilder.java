@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.sparql.algebra.Algebra;
+import org.apache.jena.sparql.algebra.OpVisitorBase;
+import org.apache.jena.sparql.algebra.op.OpDatasetNames;
+import org.apache.jena.sparql.algebra.op.OpGraph;
+import org.apache.jena.sparql.algebra.op.OpService;
+import org.apache.jena.sparql.algebra.walker.Walker;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.expr.ExprVisitorBase;
+import org.apache.jena.sparql.modify.request.QuadAcc;
+import org.apache.jena.sparql.modify.request.QuadAccSink;
+import org.apache.jena.sparql.modify.request.QuadDataAcc;
+import org.apache.jena.sparql.modify.request.UpdateDataDelete;
+import org.apache.jena.sparql.modify.request.UpdateDataInsert;
+import org.apache.jena.sparql.modify.request.UpdateDeleteWhere;
+import org.apache.jena.sparql.modify.request.UpdateModify;
+import org.apache.jena.sparql.syntax.Element;
+import org.apache.jena.sparql.syntax.ElementGroup;
+import org.apache.jena.sparql.syntax.ElementNamedGraph;
+import org.apache.jena.sparql.syntax.syntaxtransform.UpdateTransformOps;
+import org.apache.jena.update.Update;
+import org.apache.jena.update.UpdateRequest;
+
+/**
+ * Scopes a client-supplied SPARQL update (the body of a <code>PATCH</code> request) to a single graph.
+ * Variable bindings such as <code>?this</code> are substituted, default graph quads are moved into the graph, and
+ * the <code>WHERE</code> patterns of <code>DELETE</code>/<code>INSERT</code> operations are evaluated against it.
+ * Operations that would write to other graphs or manage graphs (<code>LOAD</code>, <code>CLEAR</code>, <code>DROP</code> etc.)
+ * are rejected, as are <code>WHERE</code> patterns that read other graphs or use <code>SERVICE</code>.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class PatchBuilder
+{
+
+    private final UpdateRequest updateRequest;
+    private String graphURI;
+    private Map<String, ? extends RDFNode> bindings;
+    
+    private PatchBuilder(UpdateRequest updateRequest)
+    {
+        if (updateRequest == null) throw new IllegalArgumentException("UpdateRequest cannot be null");
+        
+        this.updateRequest = updateRequest;
+    }
+    
+    public static PatchBuilder fromUpdate(UpdateRequest updateRequest)
+    {
+        return new PatchBuilder(updateRequest);
+    }
+    
+    public PatchBuilder graph(String graphURI)
+    {
+        this.graphURI = graphURI;
+        return this;
+    }
+    
+    public PatchBuilder bindings(Map<String, ? extends RDFNode> bindings)
+    {
+        this.bindings = bindings;
+        return this;
+    }
+    
+    /**
+     * Builds the scoped update.
+     * 
+     * @return update request
+     * @throws IllegalArgumentException if an operation is not allowed or writes outside the graph
+     */
+    public UpdateRequest build()
+    {
+        if (getGraph() == null) throw new IllegalStateException("Graph URI is not set");
+        
+        UpdateRequest bound = getBindings() != null ? UpdateTransformOps.transformUpdate(updateRequest, getBindings()) : updateRequest;
+        Node graph = NodeFactory.createURI(getGraph());
+        UpdateRequest scoped = new UpdateRequest();
+        scoped.setPrefixMapping(updateRequest.getPrefixMapping());
+        
+        for (Update update : bound.getOperations())
+        {
+            if (update instanceof UpdateDataInsert insert) scoped.add(new UpdateDataInsert(scope(insert.getQuads(), graph, new QuadDataAcc())));
+            else if (update instanceof UpdateDataDelete delete) scoped.add(new UpdateDataDelete(scope(delete.getQuads(), graph, new QuadDataAcc())));
+            else if (update instanceof UpdateDeleteWhere deleteWhere) scoped.add(new UpdateDeleteWhere(scope(deleteWhere.getQuads(), graph, new QuadAcc())));
+            else if (update instanceof UpdateModify modify)
+            {
+                if (!modify.getUsing().isEmpty() || !modify.getUsingNamed().isEmpty())
+                    throw new IllegalArgumentException("USING and USING NAMED are not allowed");
+                if (modify.getWithIRI() != null && !modify.getWithIRI().equals(graph))
+                    throw new IllegalArgumentException("WITH <" + modify.getWithIRI() + "> is outside of graph <" + getGraph() + ">");
+                
+                UpdateModify scopedModify = new UpdateModify();
+                scope(modify.getDeleteQuads(), graph, scopedModify.getDeleteAcc());
+                scope(modify.getInsertQuads(), graph, scopedModify.getInsertAcc());
+                scopedModify.setHasDeleteClause(modify.hasDeleteClause());
+                scopedModify.setHasInsertClause(modify.hasInsertClause());
+                scopedModify.setElement(scope(modify.getWherePattern(), graph));
+                scoped.add(scopedModify);
+            }
+            else throw new IllegalArgumentException("Update operation not allowed: " + update.getClass().getSimpleName());
+        }
+        
+        return scoped;
+    }
+    
+    private static <T extends QuadAccSink> T scope(List<Quad> quads, Node graph, T acc)
+    {
+        check(quads, graph);
+        
+        for (Quad quad : quads)
+            if (quad.isDefaultGraph()) acc.addQuad(Quad.create(graph, quad.asTriple()));
+            else acc.addQuad(quad);
+        
+        return acc;
+    }
+    
+    /**
+     * Evaluates the pattern against the graph, same as <code>WITH</code> would.
+     * An empty pattern is left as it is, as it would have no solutions if the graph does not exist yet.
+     */
+    private static Element scope(Element where, Node graph)
+    {
+        if (where instanceof ElementGroup group && group.isEmpty()) return where;
+        
+        Walker.walk(Algebra.compile(where), new ScopeChecker(graph), new ExprVisitorBase()); // also walks EXISTS patterns and subqueries
+        
+        ElementGroup scoped = new ElementGroup();
+        scoped.addElement(new ElementNamedGraph(graph, where));
+        return scoped;
+    }
+    
+    private static void check(List<Quad> quads, Node graph)
+    {
+        for (Quad quad : quads)
+            if (!quad.isDefaultGraph() && !quad.getGraph().equals(graph))
+                throw new IllegalArgumentException("GRAPH " + quad.getGraph() + " is outside of graph <" + graph.getURI() + ">");
+    }
+    
+    /**
+     * Rejects nested <code>GRAPH</code> patterns other than the graph itself, and <code>SERVICE</code> patterns.
+     */
+    private static class ScopeChecker extends OpVisitorBase
+    {
+        
+        private final Node graph;
+        
+        ScopeChecker(Node graph)
+        {
+            this.graph = graph;
+        }
+        
+        @Override
+        public void visit(OpGraph opGraph)
+        {
+            if (!opGraph.getNode().equals(graph))
+                throw new IllegalArgumentException("GRAPH " + opGraph.getNode() + " is outside of graph <" + graph.getURI() + ">");
+        }
+        
+        @Override
+        public void visit(OpDatasetNames dsNames)
+        {
+            if (!dsNames.getGraphNode().equals(graph))
+                throw new IllegalArgumentException("GRAPH " + dsNames.getGraphNode() + " is outside of graph <" + graph.getURI() + ">");
+        }
+        
+        @Override
+        public void visit(OpService opService)
+        {
+            throw new IllegalArgumentException("SERVICE is not allowed");
+        }
+        
+    }
+    
+    private String getGraph()
+    {
+        return graphURI;
+    }
+    
+    private Map<String, ? extends RDFNode> getBindings()
+    {
+        return bindings;
+    }
+    
+}
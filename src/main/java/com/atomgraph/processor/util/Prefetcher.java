@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.jena.rdf.model.Model;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of descriptions that are loaded in the background before they are requested.
+ * Prefetches run on a few low-priority threads and are limited by a global budget of pending prefetches;
+ * prefetches over the budget are dropped, so that they never compete with foreground requests for long.
+ * A prefetched description is served at most once and only while it is fresh.
+ * Writes have to {@link #clear()} the prefetcher, so that descriptions prefetched before them are not served.
+ * The least recently used entries are evicted when the cache is full.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class Prefetcher implements Closeable
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(Prefetcher.class);
+    
+    /** Default maximum number of pending prefetches */
+    public static final int DEFAULT_BUDGET = 32;
+    /** Default maximum number of prefetched descriptions */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+    /** Default time in milliseconds that a prefetched description can be served for */
+    public static final long DEFAULT_TTL = 10000L;
+    /** Number of prefetch threads */
+    public static final int PREFETCH_THREADS = 2;
+    
+    private final Map<String, Entry> entries;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong generation = new AtomicLong(); // incremented by clear(), so that prefetches started before it are not stored
+    private final ThreadPoolExecutor executor;
+    private final long ttl;
+    
+    public Prefetcher()
+    {
+        this(DEFAULT_BUDGET, DEFAULT_MAX_ENTRIES, DEFAULT_TTL);
+    }
+    
+    /**
+     * Constructs prefetcher.
+     * 
+     * @param budget maximum number of pending prefetches
+     * @param maxEntries maximum number of prefetched descriptions
+     * @param ttl time in milliseconds that a prefetched description can be served for
+     */
+    public Prefetcher(int budget, int maxEntries, long ttl)
+    {
+        if (budget <= 0) throw new IllegalArgumentException("Budget must be positive");
+        if (maxEntries <= 0) throw new IllegalArgumentException("Max entries must be positive");
+        if (ttl <= 0) throw new IllegalArgumentException("TTL must be positive");
+        
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+            {
+                return size() > maxEntries;
+            }
+        };
+        this.executor = new ThreadPoolExecutor(PREFETCH_THREADS, PREFETCH_THREADS, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(budget), runnable ->
+        {
+            Thread thread = new Thread(runnable, "Prefetcher");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        this.ttl = ttl;
+    }
+    
+    /**
+     * Submits a prefetch, unless one with the same ID is already pending or the budget is exhausted.
+     * 
+     * @param id prefetch ID, such as the URI of the prefetched resource
+     * @param prefetch prefetch task that stores its result using {@link #put(java.lang.String, org.apache.jena.rdf.model.Model, long)}
+     * @return true if the prefetch was submitted
+     */
+    public boolean submit(String id, Runnable prefetch)
+    {
+        if (id == null) throw new IllegalArgumentException("String cannot be null");
+        if (prefetch == null) throw new IllegalArgumentException("Runnable cannot be null");
+        
+        if (!pending.add(id)) return false;
+        
+        try
+        {
+            executor.execute(() ->
+            {
+                try
+                {
+                    prefetch.run();
+                }
+                catch (RuntimeException ex)
+                {
+                    if (log.isDebugEnabled()) log.debug("Prefetch of '{}' failed", id, ex);
+                }
+                finally
+                {
+                    pending.remove(id);
+                }
+            });
+            
+            return true;
+        }
+        catch (RejectedExecutionException ex)
+        {
+            if (log.isDebugEnabled()) log.debug("Prefetch budget exhausted, dropping prefetch of '{}'", id);
+            pending.remove(id);
+            return false;
+        }
+    }
+    
+    /**
+     * Stores a prefetched description. Empty descriptions are not stored, and neither are descriptions whose prefetch
+     * started before the prefetcher was cleared.
+     * 
+     * @param key cache key, such as the query string
+     * @param model description
+     * @param loadGeneration generation of the prefetcher when the prefetch started
+     * @see #getGeneration()
+     */
+    public void put(String key, Model model, long loadGeneration)
+    {
+        if (key == null) throw new IllegalArgumentException("String cannot be null");
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        
+        if (model.isEmpty()) return;
+        
+        synchronized (entries)
+        {
+            if (generation.get() != loadGeneration) return;
+            
+            entries.put(key, new Entry(model, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttl)));
+        }
+    }
+    
+    /**
+     * Removes and returns a prefetched description.
+     * 
+     * @param key cache key
+     * @return description or null if none was prefetched or it has expired
+     */
+    public Model take(String key)
+    {
+        if (key == null) throw new IllegalArgumentException("String cannot be null");
+
+        Entry entry;
+        synchronized (entries)
+        {
+            entry = entries.remove(key);
+        }
+        
+        if (entry == null || System.nanoTime() - entry.getExpires() > 0) return null;
+        return entry.getModel();
+    }
+    
+    public boolean contains(String key)
+    {
+        synchronized (entries)
+        {
+            return entries.containsKey(key);
+        }
+    }
+    
+    /**
+     * Drops all prefetched descriptions, as well as the results of prefetches that are still running.
+     */
+    public void clear()
+    {
+        synchronized (entries)
+        {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+    
+    /**
+     * Returns the current generation of the prefetcher, which changes when it is cleared.
+     * 
+     * @return generation
+     */
+    public long getGeneration()
+    {
+        return generation.get();
+    }
+    
+    @Override
+    public void close()
+    {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Prefetched description with its expiration time.
+     */
+    protected static class Entry
+    {
+        
+        private final Model model;
+        private final long expires;
+        
+        public Entry(Model model, long expires)
+        {
+            this.model = model;
+            this.expires = expires;
+        }
+        
+        public Model getModel()
+        {
+            return model;
+        }
+        
+        public long getExpires()
+        {
+            return expires;
+        }
+        
+    }
+    
+}
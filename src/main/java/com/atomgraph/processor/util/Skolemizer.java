@@ -21,7 +21,6 @@ import org.apache.jena.ontology.Ontology;
 import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Property;
-import org.apache.jena.rdf.model.ResIterator;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.rdf.model.StmtIterator;
@@ -29,6 +28,7 @@ import org.apache.jena.util.ResourceUtils;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.vocabulary.RDF;
 import java.net.URI;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -72,24 +72,28 @@ public class Skolemizer
     {
         if (model == null) throw new IllegalArgumentException("Model cannot be null");
 
+        return build(model, model.listSubjects().toList());
+    }
+    
+    /**
+     * Skolemizes the given subjects of the model, without scanning the model for subjects.
+     * 
+     * @param model RDF model
+     * @param subjects subject resources of the model
+     * @return the same model, skolemized
+     */
+    public Model build(Model model, Collection<Resource> subjects)
+    {
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        if (subjects == null) throw new IllegalArgumentException("Collection<Resource> cannot be null");
+
         Map<Resource, String> resourceURIMap = new HashMap<>();
-        ResIterator resIt = model.listSubjects();
-        try
-        {
-            while (resIt.hasNext())
+        for (Resource resource : subjects)
+            if (resource.isAnon())
             {
-                Resource resource = resIt.next();
-                if (resource.isAnon())
-                {
-                    URI uri = build(resource);
-                    if (uri != null) resourceURIMap.put(resource, uri.toString());
-                }
+                URI uri = build(resource);
+                if (uri != null) resourceURIMap.put(resource, uri.toString());
             }
-        }
-        finally
-        {
-            resIt.close();
-        }
         
         Iterator<Map.Entry<Resource, String>> entryIt = resourceURIMap.entrySet().iterator();
         while (entryIt.hasNext())
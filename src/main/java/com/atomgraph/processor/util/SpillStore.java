@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.tdb.TDBFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Temporary on-disk indexed triple store that holds data which does not fit into memory.
+ * Uses a TDB dataset in a temporary directory; the index files are memory-mapped, not held on the heap.
+ * The directory is deleted when the store is closed.
+ * The dataset is used in TDB's non-transactional mode, which is only safe because a store is private to the single
+ * request thread that fills and reads it; it must not be shared between requests.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see <a href="https://jena.apache.org/documentation/tdb/">TDB</a>
+ */
+public class SpillStore implements Closeable
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(SpillStore.class);
+
+    private final Path directory;
+    private final Dataset dataset;
+    
+    /**
+     * Creates store in a new temporary directory.
+     * 
+     * @throws IOException if the directory could not be created
+     */
+    public SpillStore() throws IOException
+    {
+        this(Files.createTempDirectory("processor-spill-"));
+    }
+    
+    /**
+     * Creates store in the given empty directory.
+     * 
+     * @param directory store directory
+     */
+    public SpillStore(Path directory)
+    {
+        if (directory == null) throw new IllegalArgumentException("Path cannot be null");
+        
+        this.directory = directory;
+        this.dataset = TDBFactory.createDataset(directory.toString());
+        if (log.isDebugEnabled()) log.debug("Created spill store in directory: {}", directory);
+    }
+    
+    /**
+     * Returns the model backed by the on-disk store.
+     * 
+     * @return default model
+     */
+    public Model getModel()
+    {
+        return getDataset().getDefaultModel();
+    }
+    
+    /**
+     * Releases the store and deletes its directory.
+     */
+    @Override
+    public void close()
+    {
+        TDBFactory.release(getDataset()); // closes the dataset and evicts it from the TDB cache
+        
+        try (Stream<Path> paths = Files.walk(getDirectory()))
+        {
+            paths.sorted(Comparator.reverseOrder()).forEach(path ->
+            {
+                try
+                {
+                    Files.delete(path);
+                }
+                catch (IOException ex)
+                {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            if (log.isDebugEnabled()) log.debug("Deleted spill store directory: {}", getDirectory());
+        }
+        catch (IOException | UncheckedIOException ex)
+        {
+            if (log.isWarnEnabled()) log.warn("Could not delete spill store directory: {}", getDirectory(), ex);
+        }
+    }
+    
+    public Path getDirectory()
+    {
+        return directory;
+    }
+    
+    public Dataset getDataset()
+    {
+        return dataset;
+    }
+    
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.CacheControl;
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the last good query results that follows the <code>stale-while-revalidate</code> and <code>stale-if-error</code>
+ * <code>Cache-Control</code> extensions (RFC 5861).
+ * Within <code>max-age</code> the cached result is returned as it is. Within <code>stale-while-revalidate</code> after that,
+ * it is returned at once and refreshed in the background, with at most one refresh per key in flight.
+ * Within <code>stale-if-error</code>, it is returned if loading fails with a connection or server error.
+ * Empty results are not cached. The least recently used entries are evicted when the cache is full.
+ * As the keys do not tell which resources a result depends on, all entries are dropped when the data is written to.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class StaleCache implements Closeable
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(StaleCache.class);
+    
+    /** <code>Cache-Control</code> extension that allows serving stale results while refreshing them */
+    public static final String STALE_WHILE_REVALIDATE = "stale-while-revalidate";
+    /** <code>Cache-Control</code> extension that allows serving stale results on errors */
+    public static final String STALE_IF_ERROR = "stale-if-error";
+    /** Default maximum number of cached results */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+    /** Number of background refresh threads */
+    public static final int REFRESH_THREADS = 4;
+    
+    private final Map<String, Entry> entries;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong generation = new AtomicLong(); // incremented by clear(), so that results loaded before it are not cached
+    private final ExecutorService refresher;
+    
+    public StaleCache()
+    {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+    
+    /**
+     * Constructs cache.
+     * 
+     * @param maxEntries maximum number of cached results
+     */
+    public StaleCache(int maxEntries)
+    {
+        if (maxEntries <= 0) throw new IllegalArgumentException("Max entries must be positive");
+        
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+            {
+                return size() > maxEntries;
+            }
+        };
+        this.refresher = Executors.newFixedThreadPool(REFRESH_THREADS, runnable ->
+        {
+            Thread thread = new Thread(runnable, "StaleCache refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Returns true if the cache control allows serving stale results.
+     * 
+     * @param cacheControl cache control or null
+     * @return true if <code>stale-while-revalidate</code> or <code>stale-if-error</code> is set
+     */
+    public static boolean isApplicable(CacheControl cacheControl)
+    {
+        if (cacheControl == null) return false;
+        
+        return cacheControl.getCacheExtension().containsKey(STALE_WHILE_REVALIDATE) ||
+            cacheControl.getCacheExtension().containsKey(STALE_IF_ERROR);
+    }
+    
+    /**
+     * Returns the result for the given key, loading it if the cached one is too old.
+     * 
+     * @param key cache key, such as the query string
+     * @param loader result loader
+     * @param cacheControl cache control with the freshness and staleness lifetimes
+     * @return copy of the result
+     */
+    public Model get(String key, Supplier<Model> loader, CacheControl cacheControl)
+    {
+        if (key == null) throw new IllegalArgumentException("String cannot be null");
+        if (loader == null) throw new IllegalArgumentException("Supplier<Model> cannot be null");
+        if (cacheControl == null) throw new IllegalArgumentException("CacheControl cannot be null");
+        
+        long maxAge = TimeUnit.SECONDS.toNanos(Math.max(0, cacheControl.getMaxAge()));
+        long staleWhileRevalidate = TimeUnit.SECONDS.toNanos(getSeconds(cacheControl, STALE_WHILE_REVALIDATE));
+        long staleIfError = TimeUnit.SECONDS.toNanos(getSeconds(cacheControl, STALE_IF_ERROR));
+        
+        Entry entry = getEntry(key);
+        long age = entry != null ? System.nanoTime() - entry.getCreated() : Long.MAX_VALUE;
+        if (entry != null)
+        {
+            if (age <= maxAge) return copy(entry.getModel());
+            
+            if (age <= maxAge + staleWhileRevalidate)
+            {
+                refresh(key, loader);
+                return copy(entry.getModel());
+            }
+        }
+        
+        long loadGeneration = generation.get();
+        try
+        {
+            Model model = loader.get();
+            put(key, model, loadGeneration);
+            return model;
+        }
+        catch (ProcessingException | WebApplicationException ex)
+        {
+            if (entry != null && isServerError(ex) && age <= maxAge + staleIfError)
+            {
+                if (log.isWarnEnabled()) log.warn("Loading '{}' failed, serving stale result", key, ex);
+                return copy(entry.getModel());
+            }
+            
+            throw ex;
+        }
+    }
+    
+    /**
+     * Refreshes the cached result in the background, unless a refresh of the same key is already in flight.
+     * 
+     * @param key cache key
+     * @param loader result loader
+     */
+    protected void refresh(String key, Supplier<Model> loader)
+    {
+        if (!refreshing.add(key)) return;
+        
+        long loadGeneration = generation.get();
+        try
+        {
+            refresher.execute(() ->
+            {
+                try
+                {
+                    put(key, loader.get(), loadGeneration);
+                }
+                catch (RuntimeException ex)
+                {
+                    if (log.isWarnEnabled()) log.warn("Background refresh of '{}' failed", key, ex);
+                }
+                finally
+                {
+                    refreshing.remove(key);
+                }
+            });
+        }
+        catch (RejectedExecutionException ex)
+        {
+            refreshing.remove(key);
+        }
+    }
+    
+    protected boolean isServerError(RuntimeException ex)
+    {
+        if (ex instanceof WebApplicationException)
+            return ((WebApplicationException)ex).getResponse().getStatus() >= 500;
+        
+        return true;
+    }
+    
+    protected static long getSeconds(CacheControl cacheControl, String extension)
+    {
+        String value = cacheControl.getCacheExtension().get(extension);
+        if (value == null) return 0;
+        
+        try
+        {
+            return Math.max(0, Long.parseLong(value.trim()));
+        }
+        catch (NumberFormatException ex)
+        {
+            if (log.isWarnEnabled()) log.warn("Invalid Cache-Control {} value: '{}'", extension, value);
+            return 0;
+        }
+    }
+    
+    protected Entry getEntry(String key)
+    {
+        synchronized (entries)
+        {
+            return entries.get(key);
+        }
+    }
+    
+    /**
+     * Caches the result, unless the cache has been cleared since it started loading.
+     * 
+     * @param key cache key
+     * @param model result
+     * @param loadGeneration generation of the cache when the result started loading
+     */
+    protected void put(String key, Model model, long loadGeneration)
+    {
+        synchronized (entries)
+        {
+            if (generation.get() != loadGeneration) return;
+            
+            if (model.isEmpty()) entries.remove(key);
+            else entries.put(key, new Entry(copy(model)));
+        }
+    }
+    
+    /**
+     * Drops all cached results.
+     * Called after writes, as any result can depend on the written data. Results that are being loaded at the time
+     * are not cached either, as they can have been read before the write.
+     */
+    public void clear()
+    {
+        synchronized (entries)
+        {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+    
+    protected static Model copy(Model model)
+    {
+        return ModelFactory.createDefaultModel().add(model);
+    }
+    
+    @Override
+    public void close()
+    {
+        refresher.shutdownNow();
+    }
+    
+    /**
+     * Cached result with its creation time.
+     */
+    protected static class Entry
+    {
+        
+        private final Model model;
+        private final long created = System.nanoTime();
+        
+        public Entry(Model model)
+        {
+            this.model = model;
+        }
+        
+        public Model getModel()
+        {
+            return model;
+        }
+        
+        public long getCreated()
+        {
+            return created;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+
+/**
+ * RDF stream that records distinct triple subjects, in parse order, while passing triples on.
+ * Used to collect the subjects during parsing, instead of scanning the parsed model afterwards.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class SubjectCollector extends StreamRDFWrapper
+{
+
+    private final Set<Node> subjects = new LinkedHashSet<>();
+    private Node lastSubject;
+    
+    public SubjectCollector(StreamRDF other)
+    {
+        super(other);
+    }
+
+    @Override
+    public void triple(Triple triple)
+    {
+        if (!triple.getSubject().equals(lastSubject)) // triples are usually grouped by subject
+        {
+            lastSubject = triple.getSubject();
+            subjects.add(lastSubject);
+        }
+        
+        super.triple(triple);
+    }
+    
+    public Set<Node> getSubjects()
+    {
+        return subjects;
+    }
+    
+}
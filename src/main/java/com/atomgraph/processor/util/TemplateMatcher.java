@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import com.atomgraph.server.exception.OntologyException;
 import com.atomgraph.processor.model.Template;
 import com.atomgraph.processor.vocabulary.LDT;
@@ -37,6 +38,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * JAX-RS provider for resource template class in the sitemap ontology that matches the current request.
+ * Templates of the sitemap and its imports are collected and sorted by precedence once, on construction,
+ * so that matching a path does not traverse the ontology.
  * 
  * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
  */
@@ -45,6 +48,7 @@ public class TemplateMatcher
     private static final Logger log = LoggerFactory.getLogger(TemplateMatcher.class);
 
     private final Ontology ontology;
+    private final List<TemplatePrecedence> precedences;
     
     public static class TemplatePrecedence
     {
@@ -62,11 +66,18 @@ public class TemplateMatcher
         
         private final Template template;
         private final int precedence;
+        private final UriTemplate match;
         
         public TemplatePrecedence(Template template, int precedence)
+        {
+            this(template, precedence, template.getMatch());
+        }
+        
+        public TemplatePrecedence(Template template, int precedence, UriTemplate match)
         {
             this.template = template;
             this.precedence = precedence;
+            this.match = match;
         }
         
         public Template getTemplate()
@@ -74,6 +85,11 @@ public class TemplateMatcher
             return template;
         }
         
+        public UriTemplate getMatch()
+        {
+            return match;
+        }
+        
         public int getPrecedence()
         {
             return precedence;
@@ -114,7 +130,107 @@ public class TemplateMatcher
     
     public TemplateMatcher(Ontology ontology)
     {
+        if (ontology == null) throw new IllegalArgumentException("Ontology cannot be null");
         this.ontology = ontology;
+        this.precedences = Collections.unmodifiableList(sort(list(ontology, 0)));
+    }
+    
+    /**
+     * Collects templates of the sitemap ontology and its imports, with their import precedence.
+     * 
+     * @param ontology sitemap ontology
+     * @param level ontology import level
+     * @return list of template precedences
+     */
+    public static List<TemplatePrecedence> list(Ontology ontology, int level)
+    {
+        if (ontology == null) throw new IllegalArgumentException("Ontology cannot be null");
+
+        List<TemplatePrecedence> precedences = new ArrayList<>();
+        
+        ResIterator it = ontology.getOntModel().listResourcesWithProperty(RDF.type, LDT.Template);
+        try
+        {
+            while (it.hasNext())
+            {
+                Template template = it.next().as(Template.class);
+                // only collect templates defined in this ontology
+                if (template.getIsDefinedBy() != null && template.getIsDefinedBy().equals(ontology))
+                {
+                    UriTemplate match = template.getMatch();
+                    if (match == null)
+                    {
+                        if (log.isErrorEnabled()) log.error("Template {} does not have value for {} annotation", template, LDT.match);
+                        throw new OntologyException("Template '" + template + "' does not have value for '" + LDT.match + "' annotation");
+                    }
+                    
+                    precedences.add(new TemplatePrecedence(template, level * -1, match));
+                }
+            }
+        }
+        finally
+        {
+            it.close();
+        }
+        
+        for (Ontology importedOntology : listImports(ontology))
+            precedences.addAll(list(importedOntology, level + 1));
+        
+        return precedences;
+    }
+    
+    /**
+     * Sorts template precedences in the order in which they are matched: by import precedence, then by template priority and URI template.
+     * Conflicting templates (with equal precedence, priority and URI template) are logged.
+     * 
+     * @param precedences template precedences
+     * @return the same list, sorted
+     */
+    public static List<TemplatePrecedence> sort(List<TemplatePrecedence> precedences)
+    {
+        if (precedences == null) throw new IllegalArgumentException("List<TemplatePrecedence> cannot be null");
+        
+        Comparator<TemplatePrecedence> comparator = TemplatePrecedence.COMPARATOR.thenComparing((precedence1, precedence2) ->
+        {
+            double diff = precedence2.getTemplate().getPriority() - precedence1.getTemplate().getPriority();
+            if (diff > 0) return 1;
+            if (diff < 0) return -1;
+
+            return UriTemplate.COMPARATOR.compare(precedence1.getMatch(), precedence2.getMatch());
+        });
+        Collections.sort(precedences, comparator);
+        
+        for (int i = 1; i < precedences.size(); i++)
+            if (comparator.compare(precedences.get(i - 1), precedences.get(i)) == 0 && !precedences.get(i - 1).getTemplate().equals(precedences.get(i).getTemplate()))
+                if (log.isWarnEnabled()) log.warn("Template: {} conflicts with Template: {} (equal precedence, priority and URI template)", precedences.get(i).getTemplate(), precedences.get(i - 1).getTemplate());
+        
+        return precedences;
+    }
+    
+    /**
+     * Returns ontologies imported by the given ontology.
+     * 
+     * @param ontology ontology
+     * @return list of imported ontologies
+     */
+    public static List<Ontology> listImports(Ontology ontology)
+    {
+        List<Ontology> importedOntologies = new ArrayList<>(); // collect imports first to avoid CME within iterator
+        ExtendedIterator<OntResource> importIt = ontology.listImports();
+        try
+        {
+            while (importIt.hasNext())
+            {
+                OntResource importRes = importIt.next();
+                if (importRes.canAs(Ontology.class)) importedOntologies.add(importRes.asOntology());
+            }
+        }
+        finally
+        {
+            importIt.close();
+        }
+        
+        return importedOntologies;
     }
     
     /**
@@ -134,7 +250,7 @@ public class TemplateMatcher
         StringBuilder path = new StringBuilder();
         // instead of path, include query string by relativizing request URI against base URI
         path.append("/").append(base.relativize(uri));
-        return match(getOntology(), path);
+        return match(path);
     }
             
     /**
@@ -178,7 +294,7 @@ public class TemplateMatcher
                         if (log.isTraceEnabled()) log.trace("Path {} matched UriTemplate {}", path, match);
                         if (log.isTraceEnabled()) log.trace("Path {} matched OntClass {}", path, template);
                         
-                        TemplatePrecedence precedence = new TemplatePrecedence(template, level * -1);
+                        TemplatePrecedence precedence = new TemplatePrecedence(template, level * -1, match);
                         matches.add(precedence);
                     }
                     else
@@ -186,23 +302,8 @@ public class TemplateMatcher
                 }
             }
 
-            List<Ontology> importedOntologies = new ArrayList<>(); // collect imports first to avoid CME within iterator
-            ExtendedIterator<OntResource> importIt = ontology.listImports();
-            try
-            {
-                while (importIt.hasNext())
-                {
-                    OntResource importRes = importIt.next();
-                    if (importRes.canAs(Ontology.class)) importedOntologies.add(importRes.asOntology());
-                }
-            }
-            finally
-            {
-                importIt.close();
-            }
-            
             //traverse imports recursively, safely make changes to OntModel outside the iterator
-            for (Ontology importedOntology : importedOntologies)
+            for (Ontology importedOntology : listImports(ontology))
                 matches.addAll(match(importedOntology, path, level + 1));
         }
         finally
@@ -213,9 +314,27 @@ public class TemplateMatcher
         return matches;
     }
     
+    /**
+     * Matches path against the precomputed templates of the sitemap ontology.
+     * The first template in precedence order whose URI template matches the path is returned.
+     * 
+     * @param path absolute path (relative URI)
+     * @return matching template or null, if none
+     */
     public Template match(CharSequence path)
     {
-        return match(getOntology(), path);
+        if (path == null) throw new IllegalArgumentException("CharSequence cannot be null");
+
+        Map<String, String> map = new HashMap<>();
+        for (TemplatePrecedence precedence : getPrecedences())
+            if (precedence.getMatch().match(path, map))
+            {
+                if (log.isDebugEnabled()) log.debug("Path: {} matched Template: {}", path, precedence.getTemplate());
+                return precedence.getTemplate();
+            }
+        
+        if (log.isDebugEnabled()) log.debug("Path {} has no Template match in this OntModel", path);
+        return null;
     }
 
     /**
@@ -266,4 +385,9 @@ public class TemplateMatcher
         return ontology;
     }
     
+    public List<TemplatePrecedence> getPrecedences()
+    {
+        return precedences;
+    }
+    
 }
\ No newline at end of file
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local log of a sample of the handled requests, used to replay production traffic offline.
+ * Each line is a tab-separated record of a request with its timings. Only the shape of the request is recorded:
+ * method, path, query string, <code>Accept</code> and <code>Content-Type</code> headers, and the size of the request body.
+ * Other headers and request bodies are never recorded, and the values of credential-like query parameters are removed.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ * @see com.atomgraph.processor.server.TrafficReplay
+ */
+public class TrafficLog implements Closeable
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(TrafficLog.class);
+    
+    private static final ThreadLocal<Record> CURRENT = new ThreadLocal<>();
+    
+    /** Default fraction of requests that are recorded */
+    public static final double DEFAULT_RATE = 0.01;
+    /** Header line that names the fields */
+    public static final String HEADER = "#timestamp\tmethod\tpath\taccept\tcontentType\tuploadBytes\tstatus\ttemplate\ttotalMicros\thandleMicros\tremoteMicros\twriteMicros";
+    /** Value of empty fields */
+    public static final String EMPTY = "-";
+    /** Names of query parameters whose values are removed */
+    public static final Set<String> SENSITIVE_PARAMS = Set.of("access_token", "token", "key", "apikey", "api_key", "password", "pwd", "secret", "auth");
+    
+    private final Path file;
+    private final double rate;
+    private final BufferedWriter writer;
+    
+    /**
+     * Opens log for appending.
+     * 
+     * @param file log file
+     * @param rate fraction of requests that are recorded
+     * @throws IOException if the file cannot be opened
+     */
+    public TrafficLog(Path file, double rate) throws IOException
+    {
+        if (file == null) throw new IllegalArgumentException("Path cannot be null");
+        if (rate <= 0 || rate > 1) throw new IllegalArgumentException("Rate must be greater than 0 and not greater than 1");
+        
+        this.file = file;
+        this.rate = rate;
+        boolean empty = !Files.exists(file) || Files.size(file) == 0;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (empty)
+        {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.flush();
+        }
+    }
+    
+    /**
+     * Returns true if the current request is to be recorded.
+     * 
+     * @return true if sampled
+     */
+    public boolean isSampled()
+    {
+        return ThreadLocalRandom.current().nextDouble() < getRate();
+    }
+    
+    /**
+     * Appends record to the log.
+     * 
+     * @param record request record
+     */
+    public synchronized void append(Record record)
+    {
+        if (record == null) throw new IllegalArgumentException("Record cannot be null");
+        
+        try
+        {
+            writer.write(record.toString());
+            writer.newLine();
+            writer.flush();
+        }
+        catch (IOException ex)
+        {
+            if (log.isWarnEnabled()) log.warn("Could not append request record to traffic log: {}", getFile(), ex);
+        }
+    }
+    
+    /**
+     * Reads records from a log file.
+     * 
+     * @param file log file
+     * @return list of records in log order
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Record> read(Path file) throws IOException
+    {
+        if (file == null) throw new IllegalArgumentException("Path cannot be null");
+        
+        List<Record> records = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8))
+            if (!line.isEmpty() && !line.startsWith("#")) records.add(Record.parse(line));
+        
+        return records;
+    }
+    
+    /**
+     * Removes the values of credential-like parameters from a query string.
+     * Parameter names are URL-decoded before they are compared, and values of parameters whose names cannot be decoded are removed as well.
+     * 
+     * @param rawQuery raw query string
+     * @return sanitized query string
+     * @see #SENSITIVE_PARAMS
+     */
+    public static String sanitize(String rawQuery)
+    {
+        if (rawQuery == null) throw new IllegalArgumentException("String cannot be null");
+        
+        StringBuilder sb = new StringBuilder();
+        for (String param : rawQuery.split("&"))
+        {
+            if (sb.length() > 0) sb.append('&');
+            
+            int index = param.indexOf('=');
+            String name = index >= 0 ? param.substring(0, index) : param;
+            if (index >= 0 && isSensitive(name)) sb.append(name).append('=');
+            else sb.append(param);
+        }
+        
+        return sb.toString();
+    }
+    
+    /**
+     * Returns true if the value of a query parameter must not be recorded.
+     * 
+     * @param rawName raw (URL-encoded) parameter name
+     * @return true if the decoded name is sensitive or cannot be decoded
+     * @see #SENSITIVE_PARAMS
+     */
+    public static boolean isSensitive(String rawName)
+    {
+        if (rawName == null) throw new IllegalArgumentException("String cannot be null");
+        
+        try
+        {
+            return SENSITIVE_PARAMS.contains(URLDecoder.decode(rawName, StandardCharsets.UTF_8).trim().toLowerCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException ex)
+        {
+            return true; // malformed escape sequence
+        }
+    }
+    
+    /**
+     * Binds the record of the request to the current thread, so that remote requests can be timed.
+     * 
+     * @param record request record or null to clear it
+     */
+    public static void setCurrent(Record record)
+    {
+        if (record == null) CURRENT.remove();
+        else CURRENT.set(record);
+    }
+    
+    /**
+     * Returns the record of the request processed by the current thread.
+     * 
+     * @return record or null if the request is not recorded
+     */
+    public static Record getCurrent()
+    {
+        return CURRENT.get();
+    }
+    
+    @Override
+    public synchronized void close() throws IOException
+    {
+        writer.close();
+    }
+    
+    public Path getFile()
+    {
+        return file;
+    }
+    
+    public double getRate()
+    {
+        return rate;
+    }
+    
+    /**
+     * Record of a single request.
+     * Durations are in microseconds.
+     */
+    public static class Record
+    {
+        
+        private final long timestamp;
+        private final String method, path, accept, contentType;
+        private String template;
+        private long uploadBytes;
+        private int status;
+        private long total, handle, remote, write;
+        
+        /**
+         * Constructs record.
+         * 
+         * @param timestamp request time in milliseconds since the epoch
+         * @param method request method
+         * @param path request path relative to the base URI and prefixed with <code>/</code>, with the sanitized query string
+         * @param accept <code>Accept</code> header value or null
+         * @param contentType <code>Content-Type</code> header value or null
+         */
+        public Record(long timestamp, String method, String path, String accept, String contentType)
+        {
+            if (method == null) throw new IllegalArgumentException("Method String cannot be null");
+            if (path == null) throw new IllegalArgumentException("Path String cannot be null");
+            if (!path.startsWith("/")) throw new IllegalArgumentException("Path must start with /");
+            
+            this.timestamp = timestamp;
+            this.method = method;
+            this.path = path;
+            this.accept = accept;
+            this.contentType = contentType;
+        }
+        
+        /**
+         * Parses record from a log line.
+         * 
+         * @param line log line
+         * @return record
+         */
+        public static Record parse(String line)
+        {
+            if (line == null) throw new IllegalArgumentException("String cannot be null");
+            
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 12) throw new IllegalArgumentException("Traffic log line '" + line + "' does not have 12 fields");
+            
+            Record record = new Record(Long.parseLong(fields[0]), fields[1], fields[2], value(fields[3]), value(fields[4]));
+            record.setUploadBytes(Long.parseLong(fields[5]));
+            record.setStatus(Integer.parseInt(fields[6]));
+            record.setTemplate(value(fields[7]));
+            record.setTotal(Long.parseLong(fields[8]));
+            record.setHandle(Long.parseLong(fields[9]));
+            record.setRemote(Long.parseLong(fields[10]));
+            record.setWrite(Long.parseLong(fields[11]));
+            return record;
+        }
+        
+        private static String value(String field)
+        {
+            return field.equals(EMPTY) ? null : field;
+        }
+        
+        private static String field(String value)
+        {
+            if (value == null || value.isEmpty()) return EMPTY;
+            
+            return value.replaceAll("[\\t\\r\\n]", " ");
+        }
+        
+        /**
+         * Adds the duration of a remote request made on behalf of this request.
+         * 
+         * @param nanos duration in nanoseconds
+         */
+        public void addRemote(long nanos)
+        {
+            remote += TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+        
+        public long getTimestamp()
+        {
+            return timestamp;
+        }
+        
+        public String getMethod()
+        {
+            return method;
+        }
+        
+        public String getPath()
+        {
+            return path;
+        }
+        
+        public String getAccept()
+        {
+            return accept;
+        }
+        
+        public String getContentType()
+        {
+            return contentType;
+        }
+        
+        public String getTemplate()
+        {
+            return template;
+        }
+        
+        public void setTemplate(String template)
+        {
+            this.template = template;
+        }
+        
+        public long getUploadBytes()
+        {
+            return uploadBytes;
+        }
+        
+        public void setUploadBytes(long uploadBytes)
+        {
+            this.uploadBytes = uploadBytes;
+        }
+        
+        public int getStatus()
+        {
+            return status;
+        }
+        
+        public void setStatus(int status)
+        {
+            this.status = status;
+        }
+        
+        public long getTotal()
+        {
+            return total;
+        }
+        
+        public void setTotal(long total)
+        {
+            this.total = total;
+        }
+        
+        public long getHandle()
+        {
+            return handle;
+        }
+        
+        public void setHandle(long handle)
+        {
+            this.handle = handle;
+        }
+        
+        public long getRemote()
+        {
+            return remote;
+        }
+        
+        public void setRemote(long remote)
+        {
+            this.remote = remote;
+        }
+        
+        public long getWrite()
+        {
+            return write;
+        }
+        
+        public void setWrite(long write)
+        {
+            this.write = write;
+        }
+        
+        @Override
+        public String toString()
+        {
+            return String.join("\t", Long.toString(getTimestamp()), field(getMethod()), field(getPath()), field(getAccept()), field(getContentType()),
+                Long.toString(getUploadBytes()), Integer.toString(getStatus()), field(getTemplate()),
+                Long.toString(getTotal()), Long.toString(getHandle()), Long.toString(getRemote()), Long.toString(getWrite()));
+        }
+        
+    }
+    
+}
@@ -0,0 +1,647 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import com.atomgraph.core.model.Service;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import jakarta.ws.rs.ClientErrorException;
+import org.apache.jena.query.QueryParseException;
+import org.apache.jena.update.UpdateFactory;
+import org.apache.jena.update.UpdateRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Durable write-behind journal of SPARQL updates.
+ * Updates are appended to a local file and acknowledged once they have been synced to disk; concurrent appends share
+ * a single <code>fsync</code>.
+ * A background thread replays the journal to the service in append order, retrying failed updates with exponential backoff.
+ * Updates that cannot be parsed or that the endpoint rejects with a client error are not retried, but moved to the dead-letter file.
+ * If the journal cannot be read, replay stops and further appends fail.
+ * The sequence number of the last applied update is checkpointed, so that updates not yet applied are replayed after restart.
+ * Replay is at-least-once: an update applied just before a crash may be applied again.
+ * Listeners are notified of each update after it has been applied, so that caches of the service data can be invalidated.
+ * 
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class UpdateJournal implements Closeable
+{
+    
+    private static final Logger log = LoggerFactory.getLogger(UpdateJournal.class);
+    
+    public static final String JOURNAL_FILE = "journal";
+    public static final String CHECKPOINT_FILE = "checkpoint";
+    public static final String DEAD_LETTER_FILE = "dead-letter";
+    public static final long MIN_RETRY_DELAY = 1000, MAX_RETRY_DELAY = 60000;
+    /** Status codes of rejections that do not change on retry: <code>400</code>, <code>413</code>, <code>415</code> and <code>422</code> */
+    public static final Set<Integer> PERMANENT_STATUS_CODES = Set.of(400, 413, 415, 422);
+    /** Record header: length (int), sequence number (long), CRC32 checksum (long) */
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Long.BYTES;
+    
+    private final Path directory;
+    private final Service service;
+    private final FileChannel channel;
+    private final Object writeLock = new Object(), syncLock = new Object(), applyLock = new Object();
+    private final Set<Long> failed = new ConcurrentSkipListSet<>();
+    private final List<Consumer<UpdateRequest>> listeners = new CopyOnWriteArrayList<>();
+    private final Thread replayer;
+    private long appended; // guarded by writeLock
+    private volatile long synced; // written under syncLock
+    private volatile long applied;
+    private long replayed; // guarded by applyLock
+    private long offset; // read position of the replayer
+    private volatile boolean closed = false;
+    private volatile Exception failure;
+    
+    /**
+     * Opens the journal in the given directory and starts replaying it.
+     * A partially written record at the end of the journal (left by a crash) is discarded.
+     * 
+     * @param directory journal directory
+     * @param service service the journal is replayed to
+     * @throws IOException if the journal could not be opened
+     */
+    public UpdateJournal(Path directory, Service service) throws IOException
+    {
+        this(directory, service, Collections.emptyList());
+    }
+    
+    /**
+     * Opens the journal in the given directory and starts replaying it, with listeners of applied updates.
+     * The listeners are added before replay starts, so they are also called with updates left over from before a restart.
+     * 
+     * @param directory journal directory
+     * @param service service the journal is replayed to
+     * @param listeners update listeners
+     * @throws IOException if the journal could not be opened
+     * @see #addListener(java.util.function.Consumer)
+     */
+    public UpdateJournal(Path directory, Service service, List<Consumer<UpdateRequest>> listeners) throws IOException
+    {
+        if (directory == null) throw new IllegalArgumentException("Path cannot be null");
+        if (service == null) throw new IllegalArgumentException("Service cannot be null");
+        if (listeners == null) throw new IllegalArgumentException("List<Consumer<UpdateRequest>> cannot be null");
+        
+        this.directory = directory;
+        this.service = service;
+        this.listeners.addAll(listeners);
+        Files.createDirectories(directory);
+        
+        readCheckpoint();
+        readDeadLetters();
+        channel = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        recover();
+        replayed = applied;
+        
+        replayer = new Thread(this::replay, "UpdateJournal replayer");
+        replayer.setDaemon(true);
+        replayer.start();
+    }
+    
+    /**
+     * Appends update to the journal and returns once it is on disk.
+     * 
+     * @param updateRequest update request
+     * @return sequence number of the update
+     * @throws IOException if the update could not be written, or if the journal is no longer replayed
+     */
+    public long append(UpdateRequest updateRequest) throws IOException
+    {
+        if (updateRequest == null) throw new IllegalArgumentException("UpdateRequest cannot be null");
+        if (closed) throw new IllegalStateException("Journal is closed");
+        if (getFailure() != null) throw new IOException("Update journal is not being replayed", getFailure());
+        
+        byte[] bytes = updateRequest.toString().getBytes(StandardCharsets.UTF_8);
+        final long sequence;
+        synchronized (writeLock)
+        {
+            sequence = appended + 1;
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bytes.length);
+            buffer.putInt(bytes.length).putLong(sequence).putLong(checksum(bytes)).put(bytes).flip();
+            while (buffer.hasRemaining()) channel.write(buffer, channel.size());
+            appended = sequence;
+        }
+        
+        sync(sequence);
+        synchronized (writeLock)
+        {
+            writeLock.notifyAll(); // wake up the replayer
+        }
+        
+        if (log.isDebugEnabled()) log.debug("Journaled update #{}", sequence);
+        return sequence;
+    }
+    
+    /**
+     * Syncs the journal to disk up to the given sequence number.
+     * Appends that arrive while another thread is syncing are covered by the next sync.
+     * 
+     * @param sequence sequence number
+     * @throws IOException if the journal could not be synced
+     */
+    protected void sync(long sequence) throws IOException
+    {
+        synchronized (syncLock)
+        {
+            if (synced >= sequence) return; // synced by another thread in the meantime
+            
+            final long target;
+            synchronized (writeLock)
+            {
+                target = appended;
+            }
+            channel.force(false);
+            synced = target;
+        }
+    }
+    
+    /**
+     * Replays synced updates in order until the journal is closed.
+     * If the journal cannot be read or checkpointed, replay stops and the failure is recorded.
+     */
+    protected void replay()
+    {
+        while (!closed)
+        {
+            try
+            {
+                Record record = next();
+                if (record == null) continue;
+                
+                if (!apply(record)) deadLetter(record);
+                offset += HEADER_SIZE + record.getBytes().length;
+                applied = record.getSequence();
+                writeCheckpoint();
+                compact();
+                
+                synchronized (applyLock)
+                {
+                    replayed = record.getSequence();
+                    applyLock.notifyAll();
+                }
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (IOException | RuntimeException ex)
+            {
+                if (closed) return;
+                if (log.isErrorEnabled()) log.error("Could not replay update journal in directory: {}", getDirectory(), ex);
+                failure = ex;
+                synchronized (applyLock)
+                {
+                    applyLock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Waits for the next synced record.
+     * 
+     * @return next record or null if the wait timed out
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IOException if the record could not be read
+     */
+    protected Record next() throws InterruptedException, IOException
+    {
+        synchronized (writeLock)
+        {
+            if (getSyncedSequence() <= applied)
+            {
+                writeLock.wait(TimeUnit.SECONDS.toMillis(1));
+                return null;
+            }
+        }
+        
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        read(header, offset);
+        byte[] bytes = new byte[header.getInt()];
+        long sequence = header.getLong();
+        header.getLong(); // checksum verified by recover()
+        read(ByteBuffer.wrap(bytes), offset + HEADER_SIZE);
+        return new Record(sequence, bytes);
+    }
+    
+    /**
+     * Applies the update, retrying with exponential backoff until it succeeds.
+     * Updates that cannot be parsed, or that are rejected with a permanent client error, are not retried.
+     * Other failures, including <code>401</code>, <code>403</code>, <code>408</code>, <code>409</code> and <code>429</code> responses, are retried.
+     * 
+     * @param record journal record
+     * @return true if applied, false if the update was rejected
+     * @throws InterruptedException if interrupted while waiting to retry
+     */
+    protected boolean apply(Record record) throws InterruptedException
+    {
+        final UpdateRequest updateRequest;
+        try
+        {
+            updateRequest = UpdateFactory.create(new String(record.getBytes(), StandardCharsets.UTF_8));
+        }
+        catch (QueryParseException ex)
+        {
+            if (log.isErrorEnabled()) log.error("Could not parse journaled update #{}", record.getSequence(), ex);
+            return false;
+        }
+        
+        long delay = MIN_RETRY_DELAY;
+        while (!closed)
+        {
+            try
+            {
+                getService().getEndpointAccessor().update(updateRequest, Collections.<URI>emptyList(), Collections.<URI>emptyList());
+                if (log.isDebugEnabled()) log.debug("Applied journaled update #{}", record.getSequence());
+                notifyListeners(updateRequest);
+                return true;
+            }
+            catch (RuntimeException ex)
+            {
+                if (isPermanentError(ex))
+                {
+                    if (log.isErrorEnabled()) log.error("Journaled update #{} was rejected by the endpoint", record.getSequence(), ex);
+                    return false;
+                }
+                
+                if (log.isWarnEnabled()) log.warn("Could not apply journaled update #{}, retrying in {} ms", record.getSequence(), delay, ex);
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY);
+            }
+        }
+        throw new InterruptedException("Journal closed");
+    }
+    
+    /**
+     * Adds listener that is called with each update after it has been applied to the service.
+     * Listeners are called on the replay thread and should return quickly.
+     * 
+     * @param listener update listener
+     */
+    public void addListener(Consumer<UpdateRequest> listener)
+    {
+        if (listener == null) throw new IllegalArgumentException("Consumer<UpdateRequest> cannot be null");
+        
+        listeners.add(listener);
+    }
+    
+    /**
+     * Notifies listeners of an applied update. Listener errors are logged and do not stop the replay.
+     * 
+     * @param updateRequest applied update
+     */
+    protected void notifyListeners(UpdateRequest updateRequest)
+    {
+        for (Consumer<UpdateRequest> listener : listeners)
+            try
+            {
+                listener.accept(updateRequest);
+            }
+            catch (RuntimeException ex)
+            {
+                if (log.isWarnEnabled()) log.warn("Update journal listener failed", ex);
+            }
+    }
+    
+    /**
+     * Returns true if the exception is caused by a <code>4xx</code> response that retrying cannot fix.
+     * Remote endpoint accessors wrap client errors into <code>502 Bad Gateway</code> exceptions.
+     * Timeouts, conflicts, rate limiting and authentication or authorization failures are transient or endpoint-side problems,
+     * so they are not permanent.
+     * 
+     * @param ex exception
+     * @return true if the status code is one of {@link #PERMANENT_STATUS_CODES}
+     */
+    public static boolean isPermanentError(Throwable ex)
+    {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause())
+            if (cause instanceof ClientErrorException clientError) return PERMANENT_STATUS_CODES.contains(clientError.getResponse().getStatus());
+        
+        return false;
+    }
+    
+    /**
+     * Appends a rejected record to the dead-letter file, in the journal record format, and marks it as failed.
+     * 
+     * @param record rejected record
+     * @throws IOException if the record could not be written
+     */
+    protected void deadLetter(Record record) throws IOException
+    {
+        try (FileChannel deadLetters = FileChannel.open(getDirectory().resolve(DEAD_LETTER_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND))
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + record.getBytes().length);
+            buffer.putInt(record.getBytes().length).putLong(record.getSequence()).putLong(checksum(record.getBytes())).put(record.getBytes()).flip();
+            while (buffer.hasRemaining()) deadLetters.write(buffer);
+            deadLetters.force(false);
+        }
+        
+        failed.add(record.getSequence());
+        if (log.isWarnEnabled()) log.warn("Moved journaled update #{} to the dead-letter file", record.getSequence());
+    }
+    
+    /**
+     * Reads the sequence numbers of the records in the dead-letter file.
+     * 
+     * @throws IOException if the dead-letter file could not be read
+     */
+    protected void readDeadLetters() throws IOException
+    {
+        Path deadLetters = getDirectory().resolve(DEAD_LETTER_FILE);
+        if (!Files.exists(deadLetters)) return;
+        
+        try (InputStream is = Files.newInputStream(deadLetters); DataInputStream dis = new DataInputStream(is))
+        {
+            while (dis.available() >= HEADER_SIZE)
+            {
+                int length = dis.readInt();
+                failed.add(dis.readLong());
+                dis.readLong(); // checksum
+                dis.skipNBytes(length);
+            }
+        }
+    }
+    
+    /**
+     * Waits until the update with the given sequence number has been replayed, either applied or moved to the dead-letter file,
+     * and the journal has been checkpointed and compacted after it.
+     * 
+     * @param sequence sequence number
+     * @param timeout maximum time to wait
+     * @param unit time unit
+     * @return true if the update was replayed within the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean await(long sequence, long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (applyLock)
+        {
+            while (replayed < sequence)
+            {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || getFailure() != null) return false;
+                TimeUnit.NANOSECONDS.timedWait(applyLock, remaining);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Truncates the journal once every appended update has been applied.
+     * 
+     * @throws IOException if the journal could not be truncated
+     */
+    protected void compact() throws IOException
+    {
+        synchronized (syncLock)
+        {
+            synchronized (writeLock)
+            {
+                if (appended != applied) return;
+                
+                channel.truncate(0);
+                channel.force(false);
+                offset = 0;
+                writeCheckpoint();
+            }
+        }
+    }
+    
+    /**
+     * Scans the journal from the checkpointed offset, discarding a partially written record at the end.
+     * 
+     * @throws IOException if the journal could not be read
+     */
+    protected void recover() throws IOException
+    {
+        if (offset > channel.size()) offset = 0; // crashed after compacting the journal but before writing the checkpoint
+        
+        long position = offset;
+        long sequence = applied;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (position + HEADER_SIZE <= channel.size())
+        {
+            header.clear();
+            read(header, position);
+            int length = header.getInt();
+            long recordSequence = header.getLong();
+            long checksum = header.getLong();
+            if (length < 0 || position + HEADER_SIZE + length > channel.size()) break;
+            
+            byte[] bytes = new byte[length];
+            read(ByteBuffer.wrap(bytes), position + HEADER_SIZE);
+            if (checksum(bytes) != checksum || recordSequence != sequence + 1) break;
+            
+            sequence = recordSequence;
+            position += HEADER_SIZE + length;
+        }
+        
+        if (position < channel.size())
+        {
+            if (log.isWarnEnabled()) log.warn("Discarding {} bytes of incomplete records at the end of update journal", channel.size() - position);
+            channel.truncate(position);
+            channel.force(false);
+        }
+        
+        appended = synced = sequence;
+        if (log.isDebugEnabled()) log.debug("Opened update journal with {} updates pending", appended - applied);
+    }
+    
+    /**
+     * Reads the sequence number of the last applied update and the journal offset after it.
+     * 
+     * @throws IOException if the checkpoint could not be read
+     */
+    protected void readCheckpoint() throws IOException
+    {
+        Path checkpoint = getDirectory().resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) return;
+        
+        try (InputStream is = Files.newInputStream(checkpoint); DataInputStream dis = new DataInputStream(is))
+        {
+            applied = dis.readLong();
+            offset = dis.readLong();
+        }
+    }
+    
+    /**
+     * Atomically replaces the checkpoint file.
+     * 
+     * @throws IOException if the checkpoint could not be written
+     */
+    protected void writeCheckpoint() throws IOException
+    {
+        Path checkpoint = getDirectory().resolve(CHECKPOINT_FILE);
+        Path temp = getDirectory().resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel tempChannel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            OutputStream os = Channels.newOutputStream(tempChannel); DataOutputStream dos = new DataOutputStream(os))
+        {
+            dos.writeLong(applied);
+            dos.writeLong(offset);
+            dos.flush();
+            tempChannel.force(false);
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private void read(ByteBuffer buffer, long position) throws IOException
+    {
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Unexpected end of update journal");
+        buffer.flip();
+    }
+    
+    private static long checksum(byte[] bytes)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+    
+    /**
+     * Stops replaying and closes the journal. Updates not yet applied are replayed when the journal is opened again.
+     * 
+     * @throws IOException if the journal could not be closed
+     */
+    @Override
+    public void close() throws IOException
+    {
+        closed = true;
+        replayer.interrupt();
+        try
+        {
+            replayer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+    
+    /**
+     * Returns true if the update with the given sequence number has been applied to the service.
+     * 
+     * @param sequence sequence number
+     * @return true if applied
+     */
+    public boolean isApplied(long sequence)
+    {
+        return sequence <= getAppliedSequence() && !isFailed(sequence);
+    }
+    
+    /**
+     * Returns true if the update with the given sequence number was rejected and moved to the dead-letter file.
+     * 
+     * @param sequence sequence number
+     * @return true if failed
+     */
+    public boolean isFailed(long sequence)
+    {
+        return failed.contains(sequence);
+    }
+    
+    /**
+     * Returns the error that stopped the replay of the journal, if any.
+     * 
+     * @return exception or null
+     */
+    public Exception getFailure()
+    {
+        return failure;
+    }
+    
+    public long getAppliedSequence()
+    {
+        return applied;
+    }
+    
+    public long getSyncedSequence()
+    {
+        return synced;
+    }
+    
+    public long getAppendedSequence()
+    {
+        synchronized (writeLock)
+        {
+            return appended;
+        }
+    }
+    
+    public Path getDirectory()
+    {
+        return directory;
+    }
+    
+    public Service getService()
+    {
+        return service;
+    }
+    
+    /**
+     * Journal record.
+     */
+    protected static class Record
+    {
+        
+        private final long sequence;
+        private final byte[] bytes;
+
+        public Record(long sequence, byte[] bytes)
+        {
+            this.sequence = sequence;
+            this.bytes = bytes;
+        }
+
+        public long getSequence()
+        {
+            return sequence;
+        }
+
+        public byte[] getBytes()
+        {
+            return bytes;
+        }
+        
+    }
+    
+}
@@ -50,4 +50,50 @@ public class AP
 
     public static final DatatypeProperty locationMapping = m_model.createDatatypeProperty( NS + "locationMapping" );
 
+    public static final DatatypeProperty sitemaps = m_model.createDatatypeProperty( NS + "sitemaps" );
+
+    public static final DatatypeProperty datasetTransactions = m_model.createDatatypeProperty( NS + "datasetTransactions" );
+
+    public static final DatatypeProperty uploadMemoryBudget = m_model.createDatatypeProperty( NS + "uploadMemoryBudget" );
+
+    public static final DatatypeProperty groupCommitWindow = m_model.createDatatypeProperty( NS + "groupCommitWindow" );
+
+    public static final DatatypeProperty journal = m_model.createDatatypeProperty( NS + "journal" );
+
+    public static final DatatypeProperty deltaPut = m_model.createDatatypeProperty( NS + "deltaPut" );
+
+    public static final DatatypeProperty batch = m_model.createDatatypeProperty( NS + "batch" );
+
+    public static final DatatypeProperty readReplicas = m_model.createDatatypeProperty( NS + "readReplicas" );
+
+    public static final DatatypeProperty hedgeBudget = m_model.createDatatypeProperty( NS + "hedgeBudget" );
+
+    public static final DatatypeProperty graphIndexInterval = m_model.createDatatypeProperty( NS + "graphIndexInterval" );
+
+    public static final DatatypeProperty mirrorGraphs = m_model.createDatatypeProperty( NS + "mirrorGraphs" );
+
+    public static final DatatypeProperty mirrorHotGraphs = m_model.createDatatypeProperty( NS + "mirrorHotGraphs" );
+
+    public static final DatatypeProperty captureFile = m_model.createDatatypeProperty( NS + "captureFile" );
+
+    public static final DatatypeProperty captureRate = m_model.createDatatypeProperty( NS + "captureRate" );
+
+    public static final DatatypeProperty queryTimeoutParam = m_model.createDatatypeProperty( NS + "queryTimeoutParam" );
+
+    public static final DatatypeProperty queryTimeoutUnit = m_model.createDatatypeProperty( NS + "queryTimeoutUnit" );
+
+    public static final DatatypeProperty maxConcurrency = m_model.createDatatypeProperty( NS + "maxConcurrency" );
+
+    public static final DatatypeProperty maxQueueSize = m_model.createDatatypeProperty( NS + "maxQueueSize" );
+
+    public static final DatatypeProperty timeout = m_model.createDatatypeProperty( NS + "timeout" );
+
+    public static final DatatypeProperty passThrough = m_model.createDatatypeProperty( NS + "passThrough" );
+
+    public static final DatatypeProperty pageSize = m_model.createDatatypeProperty( NS + "pageSize" );
+
+    public static final DatatypeProperty cursor = m_model.createDatatypeProperty( NS + "cursor" );
+
+    public static final DatatypeProperty prefetch = m_model.createDatatypeProperty( NS + "prefetch" );
+
 }
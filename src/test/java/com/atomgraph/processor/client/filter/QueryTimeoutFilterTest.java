@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.client.filter;
+
+import com.atomgraph.processor.exception.DeadlineExceededException;
+import com.atomgraph.processor.util.Deadline;
+import jakarta.ws.rs.client.ClientRequestContext;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.glassfish.jersey.client.ClientProperties;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class QueryTimeoutFilterTest
+{
+    
+    private static final URI QUERY_URI = URI.create("http://localhost/sparql?query=ASK%20%7B%7D");
+    private static final URI GRAPH_URI = URI.create("http://localhost/service?default");
+    
+    private URI uri;
+    private final Map<String, Object> properties = new HashMap<>();
+    
+    @After
+    public void tearDown()
+    {
+        Deadline.set(null);
+    }
+    
+    private ClientRequestContext getRequest(URI requestURI)
+    {
+        uri = requestURI;
+        return (ClientRequestContext)Proxy.newProxyInstance(ClientRequestContext.class.getClassLoader(), new Class<?>[] { ClientRequestContext.class }, (proxy, method, args) ->
+            switch (method.getName())
+            {
+                case "getUri" -> uri;
+                case "setUri" -> { uri = (URI)args[0]; yield null; }
+                case "setProperty" -> { properties.put((String)args[0], args[1]); yield null; }
+                case "getEntity", "getMediaType" -> null;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+    
+    @Test
+    public void testNoDeadline() throws IOException
+    {
+        new QueryTimeoutFilter(QueryTimeoutFilter.TIMEOUT_PARAM_NAME, TimeUnit.SECONDS).filter(getRequest(QUERY_URI));
+        
+        assertEquals(QUERY_URI, uri);
+        assertTrue(properties.isEmpty());
+    }
+    
+    @Test
+    public void testNoParamByDefault() throws IOException
+    {
+        Deadline.set(Deadline.after(10, TimeUnit.SECONDS));
+        new QueryTimeoutFilter().filter(getRequest(QUERY_URI));
+        
+        assertEquals(QUERY_URI, uri);
+        assertTrue((Integer)properties.get(ClientProperties.READ_TIMEOUT) <= 10000);
+    }
+    
+    @Test
+    public void testParamAddedToQuery() throws IOException
+    {
+        Deadline.set(Deadline.after(10, TimeUnit.SECONDS));
+        new QueryTimeoutFilter(QueryTimeoutFilter.TIMEOUT_PARAM_NAME, TimeUnit.SECONDS).filter(getRequest(QUERY_URI));
+        
+        assertTrue(uri.getRawQuery().matches("query=ASK%20%7B%7D&timeout=\\d+\\.\\d{3}"));
+        assertTrue(properties.containsKey(ClientProperties.READ_TIMEOUT));
+    }
+    
+    @Test
+    public void testParamNotAddedToNonQuery() throws IOException
+    {
+        Deadline.set(Deadline.after(10, TimeUnit.SECONDS));
+        new QueryTimeoutFilter(QueryTimeoutFilter.TIMEOUT_PARAM_NAME, TimeUnit.SECONDS).filter(getRequest(GRAPH_URI));
+        
+        assertEquals(GRAPH_URI, uri);
+        assertTrue(properties.containsKey(ClientProperties.READ_TIMEOUT));
+    }
+    
+    @Test(expected = DeadlineExceededException.class)
+    public void testDeadlinePassed() throws IOException
+    {
+        Deadline.set(Deadline.after(-1, TimeUnit.SECONDS));
+        new QueryTimeoutFilter().filter(getRequest(QUERY_URI));
+    }
+    
+    @Test
+    public void testTimeoutUnit()
+    {
+        assertEquals("1.500", new QueryTimeoutFilter("timeout", TimeUnit.SECONDS).getTimeout(1500));
+        assertEquals("1500", new QueryTimeoutFilter("timeout", TimeUnit.MILLISECONDS).getTimeout(1500));
+        assertNull(new QueryTimeoutFilter().getParamName());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullUnit()
+    {
+        new QueryTimeoutFilter("timeout", null);
+    }
+    
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.model.impl;
+
+import com.atomgraph.core.model.impl.dataset.ServiceImpl;
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.core.model.impl.SPARQLEndpointImpl;
+import com.atomgraph.processor.model.Parameter;
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.vocabulary.LDT;
+import com.atomgraph.server.exception.OntologyException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.net.URI;
+import org.apache.jena.enhanced.BuiltinPersonalities;
+import org.apache.jena.ontology.Ontology;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class ApplicationImplTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+
+    private Ontology ontology, importedOntology;
+    private Template superTemplate, subTemplate, importedTemplate, plainTemplate;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        BuiltinPersonalities.model.add(Template.class, TemplateImpl.factory);
+        BuiltinPersonalities.model.add(Parameter.class, ParameterImpl.factory);
+    }
+    
+    @Before
+    public void setUp()
+    {
+        ontology = ModelFactory.createOntologyModel().createOntology("http://test/ontology");
+        importedOntology = ontology.getOntModel().createOntology("http://test/ontology/import");
+        ontology.addImport(importedOntology);
+        
+        superTemplate = ontology.getOntModel().createIndividual("http://test/ontology/super-template", LDT.Template).
+                addLiteral(LDT.match, "super").
+                addProperty(LDT.loadClass, ontology.getOntModel().createResource("java:" + SPARQLEndpointImpl.class.getName())).
+                addProperty(RDFS.isDefinedBy, ontology).
+                as(Template.class);
+        subTemplate = ontology.getOntModel().createIndividual("http://test/ontology/sub-template", LDT.Template).
+                addLiteral(LDT.match, "sub").
+                addProperty(LDT.extends_, superTemplate).
+                addProperty(RDFS.isDefinedBy, ontology).
+                as(Template.class);
+        importedTemplate = importedOntology.getOntModel().createIndividual("http://test/ontology/import/template", LDT.Template).
+                addLiteral(LDT.match, "imported").
+                addProperty(LDT.loadClass, ontology.getOntModel().createResource("java:" + SPARQLEndpointImpl.class.getName())).
+                addProperty(RDFS.isDefinedBy, importedOntology).
+                as(Template.class);
+        plainTemplate = ontology.getOntModel().createIndividual("http://test/ontology/plain-template", LDT.Template).
+                addLiteral(LDT.match, "plain").
+                addProperty(RDFS.isDefinedBy, ontology).
+                as(Template.class);
+    }
+    
+    private ApplicationImpl getApplication()
+    {
+        return new ApplicationImpl(new ServiceImpl(DatasetFactory.create(), new MediaTypes()), ontology);
+    }
+    
+    @Test
+    public void testLoadClass()
+    {
+        ApplicationImpl app = getApplication();
+        
+        assertEquals(SPARQLEndpointImpl.class, app.getLoadClass(superTemplate));
+        assertEquals(SPARQLEndpointImpl.class, app.getLoadClass(subTemplate)); // inherited
+        assertEquals(SPARQLEndpointImpl.class, app.getLoadClass(importedTemplate));
+        assertNull(app.getLoadClass(plainTemplate));
+        assertEquals(3, app.getLoadClasses().size());
+    }
+    
+    @Test(expected = OntologyException.class)
+    public void testNonURILoadClass()
+    {
+        plainTemplate.addProperty(LDT.loadClass, ontology.getOntModel().createResource());
+        
+        getApplication();
+    }
+    
+    @Test(expected = OntologyException.class)
+    public void testMissingLoadClass()
+    {
+        plainTemplate.addProperty(LDT.loadClass, ontology.getOntModel().createResource("java:com.atomgraph.processor.DoesNotExist"));
+        
+        getApplication();
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutableLoadClasses()
+    {
+        getApplication().getLoadClasses().put(plainTemplate, Object.class);
+    }
+    
+    @Test
+    public void testLinks()
+    {
+        ApplicationImpl app = getApplication();
+        
+        assertEquals("<http://test/ontology>; rel=" + LDT.ontology.getURI(), app.getOntologyLink().get());
+        assertEquals("<http://test/ontology/import/template>; rel=" + LDT.template.getURI(), app.getTemplateLink(importedTemplate));
+        assertEquals(4, app.getTemplateLinks().size());
+        assertEquals("<http://localhost/>; rel=" + LDT.base.getURI(), app.getBaseLink(URI.create("http://localhost/")));
+        assertSame(app.getBaseLink(URI.create("http://localhost/")), app.getBaseLink(URI.create("http://localhost/")));
+    }
+    
+}
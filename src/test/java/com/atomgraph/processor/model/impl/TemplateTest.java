@@ -18,6 +18,7 @@ package com.atomgraph.processor.model.impl;
 import com.atomgraph.server.exception.OntologyException;
 import com.atomgraph.processor.model.Parameter;
 import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.vocabulary.AP;
 import com.atomgraph.processor.vocabulary.LDT;
 import com.atomgraph.spinrdf.vocabulary.SP;
 import com.atomgraph.spinrdf.vocabulary.SPL;
@@ -30,6 +31,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import jakarta.ws.rs.core.CacheControl;
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
 import org.apache.jena.enhanced.BuiltinPersonalities;
 import org.apache.jena.ontology.OntDocumentManager;
 import org.apache.jena.ontology.Ontology;
@@ -90,6 +93,7 @@ public class TemplateTest
                         with(ontology.getOntModel().createLiteral("da"))).
                 addLiteral(LDT.cacheControl, "max-age=3600").
                 addProperty(LDT.loadClass, ontology.getOntModel().createResource("java:some.Class")).
+                addLiteral(AP.passThrough, true).
                 addProperty(RDFS.isDefinedBy, ontology).
                 as(Template.class);
         superTemplate = ontology.getOntModel().createIndividual("http://test/ontology/super-template", LDT.Template).
@@ -110,6 +114,7 @@ public class TemplateTest
                         with(ontology.getOntModel().createLiteral("da"))).
                 addLiteral(LDT.cacheControl, "max-age=9999").
                 addProperty(LDT.loadClass, ontology.getOntModel().createResource("java:some.OtherClass")).
+                addLiteral(AP.passThrough, false).
                 addProperty(RDFS.isDefinedBy, ontology).
                 as(Template.class);
         subTemplate = ontology.getOntModel().createIndividual("http://test/ontology/sub-template", LDT.Template).
@@ -273,5 +278,17 @@ public class TemplateTest
         assertEquals(superFragment, superTemplateOverriding.getFragmentTemplate());
         assertEquals(superFragment, subTemplate1.getFragmentTemplate());
     }
+    
+    @Test
+    public void testInheritedPassThrough()
+    {
+        assertTrue(superSuperTemplate.isPassThrough());
+        assertTrue(superTemplate.isPassThrough());
+        assertTrue(subTemplate.isPassThrough());
+        
+        assertFalse(superTemplateOverriding.isPassThrough());
+        assertFalse(subTemplate1.isPassThrough());
+        assertFalse(template.isPassThrough());
+    }
 
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.model.impl.batch;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.core.model.EndpointAccessor;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.update.UpdateFactory;
+import org.apache.jena.update.UpdateRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class EndpointAccessorImplTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final String FAILING_GRAPH = "http://fail";
+    private static final String ERROR_GRAPH = "http://error";
+    
+    private Dataset dataset;
+    private List<UpdateRequest> updates;
+    private ServiceImpl service;
+    private ExecutorService executor;
+    
+    @Before
+    public void setUp()
+    {
+        dataset = DatasetFactory.createTxnMem();
+        updates = Collections.synchronizedList(new ArrayList<>());
+        service = new ServiceImpl(new com.atomgraph.processor.model.impl.dataset.ServiceImpl(dataset, new MediaTypes())
+        {
+            
+            @Override
+            public EndpointAccessor getEndpointAccessor()
+            {
+                return new com.atomgraph.processor.model.impl.dataset.EndpointAccessorImpl(getDataset())
+                {
+
+                    @Override
+                    public void update(UpdateRequest updateRequest, List<URI> usingGraphUris, List<URI> usingNamedGraphUris)
+                    {
+                        updates.add(updateRequest);
+                        if (updateRequest.toString().contains(FAILING_GRAPH)) throw new IllegalStateException("Update failed");
+                        if (updateRequest.toString().contains(ERROR_GRAPH)) throw new AssertionError("Update failed with an error");
+                        super.update(updateRequest, usingGraphUris, usingNamedGraphUris);
+                    }
+
+                };
+            }
+            
+        }, 200);
+        executor = Executors.newFixedThreadPool(8);
+    }
+    
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+    
+    private CompletableFuture<Void> insert(String graphURI)
+    {
+        return CompletableFuture.runAsync(() -> service.getEndpointAccessor().update(UpdateFactory.create("INSERT DATA { GRAPH <" + graphURI + "> { <http://s> <http://p> <http://o> } }"),
+            Collections.emptyList(), Collections.emptyList()), executor);
+    }
+    
+    @Test
+    public void testGroupCommit() throws Exception
+    {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) futures.add(insert("http://graph/" + i));
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        
+        assertTrue(updates.size() < 8);
+        dataset.begin(ReadWrite.READ);
+        try
+        {
+            for (int i = 0; i < 8; i++) assertTrue(dataset.containsNamedModel("http://graph/" + i));
+        }
+        finally
+        {
+            dataset.end();
+        }
+    }
+    
+    @Test
+    public void testFailureIsolated() throws Exception
+    {
+        CompletableFuture<Void> failing = insert(FAILING_GRAPH);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) futures.add(insert("http://graph/" + i));
+        
+        for (CompletableFuture<Void> future : futures) future.get(10, TimeUnit.SECONDS); // other callers succeed
+        try
+        {
+            failing.get(10, TimeUnit.SECONDS);
+        }
+        catch (ExecutionException ex)
+        {
+            assertEquals(IllegalStateException.class, ex.getCause().getClass());
+        }
+        assertTrue(failing.isCompletedExceptionally());
+        
+        dataset.begin(ReadWrite.READ);
+        try
+        {
+            assertFalse(dataset.containsNamedModel(FAILING_GRAPH));
+            for (int i = 0; i < 4; i++) assertTrue(dataset.containsNamedModel("http://graph/" + i));
+        }
+        finally
+        {
+            dataset.end();
+        }
+    }
+    
+    @Test
+    public void testErrorReleasesCallers() throws Exception
+    {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(insert(ERROR_GRAPH));
+        for (int i = 0; i < 4; i++) futures.add(insert("http://graph/" + i));
+        
+        for (CompletableFuture<Void> future : futures)
+            try
+            {
+                future.get(10, TimeUnit.SECONDS); // does not time out
+            }
+            catch (ExecutionException ex)
+            {
+                assertTrue(ex.getCause() instanceof AssertionError || ex.getCause() instanceof IllegalStateException);
+            }
+        assertTrue(futures.get(0).isCompletedExceptionally());
+    }
+    
+    @Test
+    public void testNonInsertDelegated()
+    {
+        service.getEndpointAccessor().update(UpdateFactory.create("DELETE WHERE { ?s ?p ?o }"), Collections.emptyList(), Collections.emptyList());
+        
+        assertEquals(1, updates.size());
+    }
+    
+}
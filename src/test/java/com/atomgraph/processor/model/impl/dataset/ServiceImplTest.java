@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.model.impl.dataset;
+
+import com.atomgraph.core.MediaTypes;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.update.UpdateFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class ServiceImplTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private Dataset dataset;
+    private ServiceImpl service;
+    
+    @Before
+    public void setUp()
+    {
+        dataset = DatasetFactory.createTxnMem();
+        service = new ServiceImpl(dataset, new MediaTypes());
+    }
+    
+    private void insert(String graphURI) throws Exception
+    {
+        // executed on another thread, as transactions are per-thread
+        CompletableFuture.runAsync(() -> service.getEndpointAccessor().update(UpdateFactory.create("INSERT DATA { GRAPH <" + graphURI + "> { <http://s> <http://p> <http://o> } }"),
+            Collections.emptyList(), Collections.emptyList())).get(10, TimeUnit.SECONDS);
+    }
+    
+    @Test
+    public void testUpdate() throws Exception
+    {
+        insert("http://graph");
+
+        assertTrue(service.getDatasetAccessor().containsModel("http://graph"));
+        assertEquals(1, service.getDatasetAccessor().getModel("http://graph").size());
+        assertTrue(service.getEndpointAccessor().ask(QueryFactory.create("ASK { GRAPH ?g { ?s ?p ?o } }"), Collections.emptyList(), Collections.emptyList()));
+    }
+    
+    @Test
+    public void testReaderIsolation() throws Exception
+    {
+        dataset.begin(ReadWrite.READ);
+        try
+        {
+            insert("http://graph"); // the writer does not block on the open read transaction
+            
+            assertFalse(service.getDatasetAccessor().containsModel("http://graph")); // snapshot of the reader
+        }
+        finally
+        {
+            dataset.end();
+        }
+        
+        assertTrue(service.getDatasetAccessor().containsModel("http://graph"));
+    }
+    
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.model.impl.replica;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class HedgeBudgetTest
+{
+    
+    @Test
+    public void testPercentOfReads()
+    {
+        HedgeBudget budget = new HedgeBudget(10);
+        assertFalse(budget.tryHedge());
+        
+        for (int i = 0; i < 10; i++) budget.deposit();
+        assertTrue(budget.tryHedge());
+        assertFalse(budget.tryHedge());
+    }
+    
+    @Test
+    public void testCapacity()
+    {
+        HedgeBudget budget = new HedgeBudget(100, 2);
+        for (int i = 0; i < 10; i++) budget.deposit();
+        
+        assertTrue(budget.tryHedge());
+        assertTrue(budget.tryHedge());
+        assertFalse(budget.tryHedge());
+    }
+    
+}
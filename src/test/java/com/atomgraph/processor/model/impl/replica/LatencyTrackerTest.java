@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.model.impl.replica;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class LatencyTrackerTest
+{
+    
+    @Test
+    public void testWarmUp()
+    {
+        LatencyTracker tracker = new LatencyTracker();
+        for (int i = 1; i < LatencyTracker.MIN_SAMPLES; i++) tracker.record(i);
+        assertEquals(-1, tracker.getThreshold());
+        
+        tracker.record(LatencyTracker.MIN_SAMPLES);
+        assertEquals(19, tracker.getThreshold());
+    }
+    
+    @Test
+    public void testSlidingWindow()
+    {
+        LatencyTracker tracker = new LatencyTracker(100, 0.5);
+        for (int i = 0; i < 128; i++) tracker.record(1000);
+        assertEquals(1000, tracker.getThreshold());
+        
+        for (int i = 0; i < 128; i++) tracker.record(10);
+        assertEquals(10, tracker.getThreshold()); // old samples have been overwritten
+    }
+    
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.model.impl.replica;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.core.model.EndpointAccessor;
+import com.atomgraph.core.model.Service;
+import jakarta.ws.rs.ProcessingException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.update.UpdateFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class ServiceImplTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final String GRAPH_URI = "http://graph";
+    private static final Query ASK_REPLICA = QueryFactory.create("ASK { <http://s> <http://p> \"replica\" }");
+    
+    private Dataset primary;
+    private ServiceImpl.Replica replica1, replica2;
+    private boolean replica1Down;
+    private ServiceImpl service;
+    
+    private static Dataset createDataset(String value)
+    {
+        Model model = ModelFactory.createDefaultModel();
+        model.add(ResourceFactory.createResource("http://s"), ResourceFactory.createProperty("http://p"), value);
+        Dataset dataset = DatasetFactory.createTxnMem();
+        dataset.getDefaultModel().add(model);
+        dataset.addNamedModel(GRAPH_URI, model);
+        return dataset;
+    }
+    
+    @Before
+    public void setUp()
+    {
+        primary = createDataset("primary");
+        replica1 = new ServiceImpl.Replica(URI.create("http://replica1"), new com.atomgraph.core.model.impl.dataset.ServiceImpl(createDataset("replica"), new MediaTypes())
+        {
+            
+            @Override
+            public EndpointAccessor getEndpointAccessor()
+            {
+                return new com.atomgraph.core.model.impl.dataset.EndpointAccessorImpl(getDataset())
+                {
+
+                    @Override
+                    public boolean ask(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+                    {
+                        if (replica1Down) throw new ProcessingException("Connection refused");
+                        return super.ask(query, defaultGraphUris, namedGraphUris);
+                    }
+
+                };
+            }
+            
+        }, false);
+        replica2 = new ServiceImpl.Replica(URI.create("http://replica2"), new com.atomgraph.core.model.impl.dataset.ServiceImpl(createDataset("replica"), new MediaTypes()), true);
+        service = new ServiceImpl(new com.atomgraph.processor.model.impl.dataset.ServiceImpl(primary, new MediaTypes()), Arrays.asList(replica1, replica2), 60000L);
+    }
+    
+    @After
+    public void tearDown()
+    {
+        service.close();
+    }
+    
+    @Test
+    public void testReadsGoToReplicas()
+    {
+        for (int i = 0; i < 4; i++)
+            assertTrue(service.getEndpointAccessor().ask(ASK_REPLICA, Collections.<URI>emptyList(), Collections.<URI>emptyList()));
+    }
+    
+    @Test
+    public void testWritesGoToPrimary()
+    {
+        service.getEndpointAccessor().update(UpdateFactory.create("INSERT DATA { <http://s> <http://p> \"written\" }"), Collections.<URI>emptyList(), Collections.<URI>emptyList());
+        
+        assertTrue(primary.getDefaultModel().contains(null, null, "written"));
+        assertFalse(replica1.getService().getDatasetAccessor().getModel().contains(null, null, "written"));
+        assertFalse(replica2.getService().getDatasetAccessor().getModel().contains(null, null, "written"));
+    }
+    
+    @Test
+    public void testLeastOutstanding()
+    {
+        replica1.getOutstanding().set(5);
+        for (int i = 0; i < 4; i++) assertSame(replica2, service.select(false));
+        
+        replica2.getOutstanding().set(10);
+        for (int i = 0; i < 4; i++) assertSame(replica1, service.select(false));
+    }
+    
+    @Test
+    public void testGraphStoreReadsUseReplicasWithGraphStore()
+    {
+        for (int i = 0; i < 4; i++) assertSame(replica2, service.select(true));
+        assertTrue(service.getDatasetAccessor().getModel(GRAPH_URI).contains(null, null, "replica"));
+        
+        replica2.setHealthy(false);
+        assertNull(service.select(true));
+        assertTrue(service.getDatasetAccessor().getModel(GRAPH_URI).contains(null, null, "primary"));
+    }
+    
+    @Test
+    public void testFailover()
+    {
+        replica1Down = true;
+        replica2.setHealthy(false);
+        
+        assertFalse(service.getEndpointAccessor().ask(ASK_REPLICA, Collections.<URI>emptyList(), Collections.<URI>emptyList())); // answered by primary
+        assertFalse(replica1.isHealthy());
+        assertEquals(0, replica1.getOutstanding().get());
+        
+        service.checkHealth();
+        assertFalse(replica1.isHealthy());
+        assertTrue(replica2.isHealthy());
+        
+        replica1Down = false;
+        service.checkHealth();
+        assertTrue(replica1.isHealthy());
+    }
+    
+    @Test
+    public void testHedgedRead()
+    {
+        ServiceImpl.Replica slow = new ServiceImpl.Replica(URI.create("http://slow"), new com.atomgraph.core.model.impl.dataset.ServiceImpl(createDataset("replica"), new MediaTypes())
+        {
+            
+            @Override
+            public EndpointAccessor getEndpointAccessor()
+            {
+                return new com.atomgraph.core.model.impl.dataset.EndpointAccessorImpl(getDataset())
+                {
+
+                    @Override
+                    public boolean ask(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+                    {
+                        try
+                        {
+                            Thread.sleep(10000);
+                        }
+                        catch (InterruptedException ex)
+                        {
+                            throw new ProcessingException(ex);
+                        }
+                        return super.ask(query, defaultGraphUris, namedGraphUris);
+                    }
+
+                };
+            }
+            
+        }, false);
+        ServiceImpl hedged = new ServiceImpl(new com.atomgraph.processor.model.impl.dataset.ServiceImpl(primary, new MediaTypes()), Arrays.asList(slow, replica2), 60000L, 100d);
+        try
+        {
+            for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) hedged.getLatencyTracker().record(TimeUnit.MILLISECONDS.toNanos(10));
+            replica2.getOutstanding().set(1); // make sure the slow replica is selected first
+            
+            long start = System.nanoTime();
+            assertTrue(hedged.getEndpointAccessor().ask(ASK_REPLICA, Collections.<URI>emptyList(), Collections.<URI>emptyList()));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            assertTrue(slow.isHealthy()); // cancellation is not a failure
+        }
+        finally
+        {
+            hedged.close();
+        }
+    }
+    
+}
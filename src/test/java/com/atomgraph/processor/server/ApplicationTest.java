@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server;
+
+import com.atomgraph.processor.client.filter.QueryTimeoutFilter;
+import com.atomgraph.processor.client.filter.RemoteTimingFilter;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.sys.JenaSystem;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class ApplicationTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final String ONTOLOGY = "https://www.w3.org/ns/ldt/core/templates#";
+    
+    @Test
+    public void testSuppliedClientNotChanged()
+    {
+        Client client = ClientBuilder.newClient();
+        try
+        {
+            Application application = new Application(new ApplicationConfig().
+                dataset(DatasetFactory.createTxnMem()).
+                datasetTransactions(true).
+                client(client).
+                locationMapper(TrafficReplay.getLocationMapper(TrafficReplay.DEFAULT_LOCATION_MAPPING)).
+                ontology(ONTOLOGY));
+            
+            assertNotSame(client, application.getClient());
+            assertTrue(application.getClient().getConfiguration().isRegistered(QueryTimeoutFilter.class));
+            assertFalse(client.getConfiguration().isRegistered(QueryTimeoutFilter.class));
+        }
+        finally
+        {
+            client.close();
+        }
+    }
+    
+    @Test
+    public void testSuppliedClientNotChangedByTrafficCapture() throws IOException
+    {
+        Client client = ClientBuilder.newClient();
+        Path file = Files.createTempFile("traffic", ".log");
+        try
+        {
+            Application application = new Application(new ApplicationConfig().
+                dataset(DatasetFactory.createTxnMem()).
+                datasetTransactions(true).
+                client(client).
+                captureFile(file).
+                locationMapper(TrafficReplay.getLocationMapper(TrafficReplay.DEFAULT_LOCATION_MAPPING)).
+                ontology(ONTOLOGY));
+            application.getTrafficLog().close();
+            
+            assertTrue(application.getClient().getConfiguration().isRegistered(RemoteTimingFilter.class));
+            assertFalse(client.getConfiguration().isRegistered(RemoteTimingFilter.class));
+        }
+        finally
+        {
+            client.close();
+            Files.deleteIfExists(file);
+        }
+    }
+    
+}
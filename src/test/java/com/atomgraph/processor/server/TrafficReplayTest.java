@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server;
+
+import com.atomgraph.processor.util.TrafficLog;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.vocabulary.RDFS;
+import org.glassfish.jersey.server.ContainerRequest;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class TrafficReplayTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final URI BASE = URI.create("http://localhost/");
+    private static final String ONTOLOGY = "https://www.w3.org/ns/ldt/core/templates#";
+    
+    private static TrafficLog.Record getRecord(long timestamp, String method, String path, String contentType, int status)
+    {
+        TrafficLog.Record record = new TrafficLog.Record(timestamp, method, path, com.atomgraph.core.MediaType.APPLICATION_NTRIPLES, contentType);
+        record.setStatus(status);
+        record.setTemplate(ONTOLOGY + "Document");
+        record.setTotal(1000);
+        return record;
+    }
+    
+    @Test
+    public void testReplay() throws InterruptedException
+    {
+        Dataset dataset = DatasetFactory.createTxnMem();
+        dataset.getDefaultModel().createResource(BASE.resolve("thing").toString()).addLiteral(RDFS.label, "thing");
+        Application application = new Application(new ApplicationConfig().
+            dataset(dataset).
+            datasetTransactions(true).
+            locationMapper(TrafficReplay.getLocationMapper(TrafficReplay.DEFAULT_LOCATION_MAPPING)).
+            ontology(ONTOLOGY));
+        
+        try (TrafficReplay replay = new TrafficReplay(application, BASE))
+        {
+            List<TrafficReplay.Result> results = replay.replay(List.of(getRecord(1000L, "GET", "/thing", null, 200),
+                getRecord(1010L, "GET", "/missing", null, 200)), 0, 2);
+            
+            assertEquals(2, results.size());
+            assertEquals(200, results.get(0).getStatus());
+            assertEquals(404, results.get(1).getStatus());
+            
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            TrafficReplay.report(results, new PrintStream(bos, true, StandardCharsets.UTF_8));
+            List<String> lines = bos.toString(StandardCharsets.UTF_8).lines().toList();
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(1).startsWith(ONTOLOGY + "Document\t2\t1\t"));
+        }
+    }
+    
+    @Test
+    public void testGetRequest() throws IOException
+    {
+        TrafficLog.Record record = getRecord(1000L, "POST", "/things/?limit=10", "application/sparql-update; charset=UTF-8", 204);
+        record.setUploadBytes(200);
+        
+        ContainerRequest request = TrafficReplay.getRequest(BASE, record);
+        
+        assertEquals(BASE.resolve("things/?limit=10"), request.getRequestUri());
+        assertEquals(com.atomgraph.core.MediaType.APPLICATION_NTRIPLES, request.getHeaderString(HttpHeaders.ACCEPT));
+        assertEquals(com.atomgraph.core.MediaType.APPLICATION_SPARQL_UPDATE, request.getHeaderString(HttpHeaders.CONTENT_TYPE));
+        String body = new String(request.getEntityStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("INSERT DATA {"));
+        assertTrue(body.length() >= 200);
+    }
+    
+    @Test
+    public void testGetRequestWithoutBody()
+    {
+        ContainerRequest request = TrafficReplay.getRequest(BASE, getRecord(1000L, "GET", "/", null, 200));
+        
+        assertEquals(BASE, request.getRequestUri());
+        assertEquals(null, request.getHeaderString(HttpHeaders.CONTENT_TYPE));
+    }
+    
+    @Test
+    public void testGetPercentile()
+    {
+        assertEquals(0, TrafficReplay.getPercentile(List.of(), 0.5));
+        assertEquals(3, TrafficReplay.getPercentile(List.of(5L, 1L, 4L, 2L, 3L), 0.5));
+        assertEquals(5, TrafficReplay.getPercentile(List.of(5L, 1L, 4L, 2L, 3L), 0.95));
+    }
+    
+    @Test
+    public void testGetLocationMapper()
+    {
+        assertEquals("com/atomgraph/processor/ct.ttl", TrafficReplay.getLocationMapper(TrafficReplay.DEFAULT_LOCATION_MAPPING).altMapping(ONTOLOGY));
+    }
+    
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server.filter.request;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.processor.model.Application;
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.model.impl.ApplicationImpl;
+import com.atomgraph.processor.model.impl.TemplateImpl;
+import com.atomgraph.processor.model.impl.dataset.ServiceImpl;
+import com.atomgraph.processor.server.model.impl.BatchResource;
+import com.atomgraph.processor.vocabulary.AP;
+import com.atomgraph.processor.vocabulary.LDT;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.UriInfo;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.jena.enhanced.BuiltinPersonalities;
+import org.apache.jena.ontology.OntDocumentManager;
+import org.apache.jena.ontology.Ontology;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.util.LocationMapper;
+import org.apache.jena.vocabulary.RDFS;
+import org.glassfish.jersey.server.CloseableService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class BulkheadFilterTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final URI BASE = URI.create("http://base/");
+    
+    private Application application;
+    private final List<Closeable> closeables = new ArrayList<>();
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        LocationMapper lm = new LocationMapper("location-mapping.ttl");
+        OntDocumentManager.getInstance().getFileManager().setLocationMapper(lm);
+        BuiltinPersonalities.model.add(Template.class, TemplateImpl.factory);
+    }
+    
+    @Before
+    public void setUp()
+    {
+        Ontology ontology = ModelFactory.createOntologyModel().createOntology("http://test/ontology");
+        ontology.getOntModel().createIndividual("http://test/ontology/any", LDT.Template).
+            addLiteral(LDT.match, "/{path: .*}").
+            addLiteral(AP.maxConcurrency, 1).
+            addLiteral(AP.maxQueueSize, 0).
+            addProperty(RDFS.isDefinedBy, ontology);
+        
+        application = new ApplicationImpl(new ServiceImpl(DatasetFactory.createTxnMem(), new MediaTypes()), ontology);
+    }
+    
+    private BulkheadFilter getFilter()
+    {
+        CloseableService closeableService = (CloseableService)Proxy.newProxyInstance(CloseableService.class.getClassLoader(), new Class<?>[] { CloseableService.class }, (proxy, method, args) ->
+            switch (method.getName())
+            {
+                case "add" -> closeables.add((Closeable)args[0]);
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        
+        return new BulkheadFilter()
+        {
+            
+            @Override
+            public Application getApplication()
+            {
+                return BulkheadFilterTest.this.application;
+            }
+            
+            @Override
+            public CloseableService getCloseableService()
+            {
+                return closeableService;
+            }
+            
+            @Override
+            public boolean isReserved(String path)
+            {
+                return path.equals(BatchResource.PATH);
+            }
+            
+        };
+    }
+    
+    private static ContainerRequestContext getRequest(URI absolutePath)
+    {
+        UriInfo uriInfo = (UriInfo)Proxy.newProxyInstance(UriInfo.class.getClassLoader(), new Class<?>[] { UriInfo.class }, (proxy, method, args) ->
+            switch (method.getName())
+            {
+                case "getAbsolutePath" -> absolutePath;
+                case "getBaseUri" -> BASE;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        
+        return (ContainerRequestContext)Proxy.newProxyInstance(ContainerRequestContext.class.getClassLoader(), new Class<?>[] { ContainerRequestContext.class }, (proxy, method, args) ->
+            switch (method.getName())
+            {
+                case "getUriInfo" -> uriInfo;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+    
+    @Test
+    public void testTemplateLimited() throws IOException
+    {
+        BulkheadFilter filter = getFilter();
+        filter.filter(getRequest(BASE.resolve("things")));
+        assertEquals(1, closeables.size());
+        
+        assertThrows(ServiceUnavailableException.class, () -> filter.filter(getRequest(BASE.resolve("things"))));
+        
+        closeables.get(0).close();
+        filter.filter(getRequest(BASE.resolve("things")));
+        assertEquals(2, closeables.size());
+    }
+    
+    @Test
+    public void testReservedPathNotLimited() throws IOException
+    {
+        BulkheadFilter filter = getFilter();
+        filter.filter(getRequest(BASE.resolve("things")));
+        filter.filter(getRequest(BASE.resolve(BatchResource.PATH)));
+        
+        assertEquals(1, closeables.size());
+    }
+    
+    @Test
+    public void testPathOutsideBaseNotLimited() throws IOException
+    {
+        getFilter().filter(getRequest(URI.create("http://other/things")));
+        
+        assertTrue(closeables.isEmpty());
+    }
+    
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server.filter.request;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.processor.model.Application;
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.model.impl.ApplicationImpl;
+import com.atomgraph.processor.model.impl.TemplateImpl;
+import com.atomgraph.processor.model.impl.dataset.ServiceImpl;
+import com.atomgraph.processor.server.model.impl.BatchResource;
+import com.atomgraph.processor.util.Deadline;
+import com.atomgraph.processor.vocabulary.AP;
+import com.atomgraph.processor.vocabulary.LDT;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.UriInfo;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.jena.enhanced.BuiltinPersonalities;
+import org.apache.jena.ontology.OntDocumentManager;
+import org.apache.jena.ontology.Ontology;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.util.LocationMapper;
+import org.apache.jena.vocabulary.RDFS;
+import org.glassfish.jersey.server.CloseableService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class DeadlineFilterTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final URI BASE = URI.create("http://base/");
+    
+    private Application application;
+    private final List<Closeable> closeables = new ArrayList<>();
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        LocationMapper lm = new LocationMapper("location-mapping.ttl");
+        OntDocumentManager.getInstance().getFileManager().setLocationMapper(lm);
+        BuiltinPersonalities.model.add(Template.class, TemplateImpl.factory);
+    }
+    
+    @Before
+    public void setUp()
+    {
+        Ontology ontology = ModelFactory.createOntologyModel().createOntology("http://test/ontology");
+        ontology.getOntModel().createIndividual("http://test/ontology/timed", LDT.Template).
+            addLiteral(LDT.match, "/timed").
+            addLiteral(AP.timeout, 60000L).
+            addProperty(RDFS.isDefinedBy, ontology);
+        ontology.getOntModel().createIndividual("http://test/ontology/untimed", LDT.Template).
+            addLiteral(LDT.match, "/untimed").
+            addProperty(RDFS.isDefinedBy, ontology);
+        ontology.getOntModel().createIndividual("http://test/ontology/batch", LDT.Template).
+            addLiteral(LDT.match, "/" + BatchResource.PATH).
+            addLiteral(LDT.priority, 1).
+            addLiteral(AP.timeout, 60000L).
+            addProperty(RDFS.isDefinedBy, ontology);
+        
+        application = new ApplicationImpl(new ServiceImpl(DatasetFactory.createTxnMem(), new MediaTypes()), ontology);
+    }
+    
+    @After
+    public void tearDown()
+    {
+        Deadline.set(null);
+    }
+    
+    private DeadlineFilter getFilter()
+    {
+        CloseableService closeableService = (CloseableService)Proxy.newProxyInstance(CloseableService.class.getClassLoader(), new Class<?>[] { CloseableService.class }, (proxy, method, args) ->
+            switch (method.getName())
+            {
+                case "add" -> closeables.add((Closeable)args[0]);
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        
+        return new DeadlineFilter()
+        {
+            
+            @Override
+            public Application getApplication()
+            {
+                return DeadlineFilterTest.this.application;
+            }
+            
+            @Override
+            public CloseableService getCloseableService()
+            {
+                return closeableService;
+            }
+            
+            @Override
+            public boolean isReserved(String path)
+            {
+                return path.equals(BatchResource.PATH);
+            }
+            
+        };
+    }
+    
+    private static ContainerRequestContext getRequest(String path, String prefer)
+    {
+        return getRequest(BASE.resolve(path), prefer);
+    }
+    
+    private static ContainerRequestContext getRequest(URI absolutePath, String prefer)
+    {
+        UriInfo uriInfo = (UriInfo)Proxy.newProxyInstance(UriInfo.class.getClassLoader(), new Class<?>[] { UriInfo.class }, (proxy, method, args) ->
+            switch (method.getName())
+            {
+                case "getAbsolutePath" -> absolutePath;
+                case "getBaseUri" -> BASE;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        if (prefer != null) headers.add(DeadlineFilter.PREFER, prefer);
+        
+        return (ContainerRequestContext)Proxy.newProxyInstance(ContainerRequestContext.class.getClassLoader(), new Class<?>[] { ContainerRequestContext.class }, (proxy, method, args) ->
+            switch (method.getName())
+            {
+                case "getUriInfo" -> uriInfo;
+                case "getHeaders" -> headers;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+    
+    @Test
+    public void testTemplateTimeout() throws IOException
+    {
+        getFilter().filter(getRequest("timed", null));
+        
+        assertNotNull(Deadline.get());
+        long remaining = Deadline.get().getRemaining(TimeUnit.MILLISECONDS);
+        assertTrue(remaining > 50000 && remaining <= 60000);
+        assertEquals(1, closeables.size());
+        
+        closeables.get(0).close();
+        assertNull(Deadline.get());
+    }
+    
+    @Test
+    public void testEarlierPreferWaitApplies() throws IOException
+    {
+        getFilter().filter(getRequest("timed", "return=minimal, wait=5"));
+        
+        assertTrue(Deadline.get().getRemaining(TimeUnit.MILLISECONDS) <= 5000);
+    }
+    
+    @Test
+    public void testEarlierTemplateTimeoutApplies() throws IOException
+    {
+        getFilter().filter(getRequest("timed", "wait=600"));
+        
+        assertTrue(Deadline.get().getRemaining(TimeUnit.MILLISECONDS) <= 60000);
+    }
+    
+    @Test
+    public void testPreferWaitWithoutTemplateTimeout() throws IOException
+    {
+        getFilter().filter(getRequest("untimed", "wait=5"));
+        
+        assertTrue(Deadline.get().getRemaining(TimeUnit.MILLISECONDS) <= 5000);
+    }
+    
+    @Test
+    public void testPathOutsideBase() throws IOException
+    {
+        getFilter().filter(getRequest(URI.create("http://other/timed"), "wait=5"));
+        
+        assertTrue(Deadline.get().getRemaining(TimeUnit.MILLISECONDS) <= 5000);
+    }
+    
+    @Test
+    public void testReservedPathWithoutTemplateTimeout() throws IOException
+    {
+        getFilter().filter(getRequest(BatchResource.PATH, null));
+        
+        assertNull(Deadline.get());
+    }
+    
+    @Test
+    public void testNoDeadlineClearsPrevious() throws IOException
+    {
+        Deadline.set(Deadline.after(1, TimeUnit.SECONDS));
+        getFilter().filter(getRequest("untimed", null));
+        
+        assertNull(Deadline.get());
+        assertTrue(closeables.isEmpty());
+    }
+    
+}
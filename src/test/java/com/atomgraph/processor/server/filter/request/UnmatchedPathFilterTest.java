@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.server.filter.request;
+
+import com.atomgraph.processor.server.model.impl.BatchResource;
+import com.atomgraph.processor.server.model.impl.JournalResource;
+import com.atomgraph.processor.server.model.impl.ResourceBase;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.uri.PathPattern;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class UnmatchedPathFilterTest
+{
+    
+    @Path("downstream/{id}")
+    public static class DownstreamResource
+    {
+        
+        @GET
+        public String get()
+        {
+            return "";
+        }
+        
+    }
+    
+    private static List<PathPattern> getPatterns()
+    {
+        return UnmatchedPathFilter.getReservedPatterns(new ResourceModel.Builder(false).
+            addResource(Resource.from(ResourceBase.class)).
+            addResource(Resource.from(BatchResource.class)).
+            addResource(Resource.from(JournalResource.class)).
+            addResource(Resource.from(DownstreamResource.class)).
+            build());
+    }
+    
+    @Test
+    public void testSitemapRootNotReserved()
+    {
+        assertEquals(3, getPatterns().size());
+    }
+    
+    @Test
+    public void testRootResourcePathsReserved()
+    {
+        List<PathPattern> patterns = getPatterns();
+        
+        assertTrue(UnmatchedPathFilter.isReserved(patterns, BatchResource.PATH));
+        assertTrue(UnmatchedPathFilter.isReserved(patterns, JournalResource.PATH + "/42"));
+        assertTrue(UnmatchedPathFilter.isReserved(patterns, "downstream/1"));
+        assertTrue(UnmatchedPathFilter.isReserved(patterns, "downstream/1/sub"));
+    }
+    
+    @Test
+    public void testSitemapPathsNotReserved()
+    {
+        List<PathPattern> patterns = getPatterns();
+        
+        assertFalse(UnmatchedPathFilter.isReserved(patterns, ""));
+        assertFalse(UnmatchedPathFilter.isReserved(patterns, "default-subject"));
+        assertFalse(UnmatchedPathFilter.isReserved(patterns, "downstream"));
+        assertFalse(UnmatchedPathFilter.isReserved(patterns, BatchResource.PATH + "-subject"));
+    }
+    
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server.filter.response;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.processor.model.Application;
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.model.TemplateCall;
+import com.atomgraph.processor.model.impl.ApplicationImpl;
+import com.atomgraph.processor.model.impl.TemplateImpl;
+import com.atomgraph.processor.model.impl.dataset.ServiceImpl;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import org.apache.jena.enhanced.BuiltinPersonalities;
+import org.apache.jena.ontology.OntDocumentManager;
+import org.apache.jena.ontology.Ontology;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.util.LocationMapper;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class ResponseHeaderFilterTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final URI BASE = URI.create("http://base/");
+    
+    private Application application;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        LocationMapper lm = new LocationMapper("location-mapping.ttl");
+        OntDocumentManager.getInstance().getFileManager().setLocationMapper(lm);
+        BuiltinPersonalities.model.add(Template.class, TemplateImpl.factory);
+    }
+    
+    @Before
+    public void setUp()
+    {
+        Ontology ontology = ModelFactory.createOntologyModel().createOntology("http://test/ontology");
+        application = new ApplicationImpl(new ServiceImpl(DatasetFactory.createTxnMem(), new MediaTypes()), ontology);
+    }
+    
+    private ResponseHeaderFilter getFilter()
+    {
+        UriInfo requestUriInfo = (UriInfo)Proxy.newProxyInstance(UriInfo.class.getClassLoader(), new Class<?>[] { UriInfo.class }, (proxy, m, args) ->
+            switch (m.getName())
+            {
+                case "getBaseUri" -> BASE;
+                default -> throw new UnsupportedOperationException(m.getName());
+            });
+        
+        return new ResponseHeaderFilter()
+        {
+            
+            @Override
+            public Application getApplication()
+            {
+                return ResponseHeaderFilterTest.this.application;
+            }
+            
+            @Override
+            public Optional<TemplateCall> getTemplateCall()
+            {
+                return Optional.empty();
+            }
+            
+            @Override
+            public UriInfo getUriInfo()
+            {
+                return requestUriInfo;
+            }
+            
+        };
+    }
+    
+    @Test
+    public void testLinks() throws IOException
+    {
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        ContainerResponseContext response = (ContainerResponseContext)Proxy.newProxyInstance(ContainerResponseContext.class.getClassLoader(), new Class<?>[] { ContainerResponseContext.class }, (proxy, m, args) ->
+            switch (m.getName())
+            {
+                case "getHeaders" -> headers;
+                default -> throw new UnsupportedOperationException(m.getName());
+            });
+        
+        getFilter().filter(null, response);
+        
+        assertEquals(List.of(application.getBaseLink(BASE), application.getOntologyLink().get()), headers.get(HttpHeaders.LINK));
+    }
+    
+}
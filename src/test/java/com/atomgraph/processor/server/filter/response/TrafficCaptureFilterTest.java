@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server.filter.response;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.processor.model.Application;
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.model.impl.ApplicationImpl;
+import com.atomgraph.processor.model.impl.TemplateImpl;
+import com.atomgraph.processor.model.impl.dataset.ServiceImpl;
+import com.atomgraph.processor.util.TrafficLog;
+import com.atomgraph.processor.vocabulary.LDT;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.UriInfo;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.jena.enhanced.BuiltinPersonalities;
+import org.apache.jena.ontology.OntDocumentManager;
+import org.apache.jena.ontology.Ontology;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.util.LocationMapper;
+import org.apache.jena.vocabulary.RDFS;
+import org.glassfish.jersey.server.CloseableService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class TrafficCaptureFilterTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final URI BASE = URI.create("http://base/");
+    
+    private Application application;
+    private Path file;
+    private TrafficLog trafficLog;
+    private final List<Closeable> closeables = new ArrayList<>();
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        LocationMapper lm = new LocationMapper("location-mapping.ttl");
+        OntDocumentManager.getInstance().getFileManager().setLocationMapper(lm);
+        BuiltinPersonalities.model.add(Template.class, TemplateImpl.factory);
+    }
+    
+    @Before
+    public void setUp() throws IOException
+    {
+        Ontology ontology = ModelFactory.createOntologyModel().createOntology("http://test/ontology");
+        ontology.getOntModel().createIndividual("http://test/ontology/things", LDT.Template).
+            addLiteral(LDT.match, "/things").
+            addProperty(RDFS.isDefinedBy, ontology);
+        
+        application = new ApplicationImpl(new ServiceImpl(DatasetFactory.createTxnMem(), new MediaTypes()), ontology);
+        file = Files.createTempFile("traffic", ".log");
+        trafficLog = new TrafficLog(file, 1d);
+    }
+    
+    @After
+    public void tearDown() throws IOException
+    {
+        TrafficLog.setCurrent(null);
+        trafficLog.close();
+        Files.deleteIfExists(file);
+    }
+    
+    private TrafficCaptureFilter getFilter()
+    {
+        CloseableService closeableService = (CloseableService)Proxy.newProxyInstance(CloseableService.class.getClassLoader(), new Class<?>[] { CloseableService.class }, (proxy, method, args) ->
+            switch (method.getName())
+            {
+                case "add" -> closeables.add((Closeable)args[0]);
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        
+        return new TrafficCaptureFilter(trafficLog)
+        {
+            
+            @Override
+            public Application getApplication()
+            {
+                return TrafficCaptureFilterTest.this.application;
+            }
+            
+            @Override
+            public CloseableService getCloseableService()
+            {
+                return closeableService;
+            }
+            
+        };
+    }
+    
+    private static ContainerRequestContext getRequest(String method, String relativeUri, String contentType, byte[] body)
+    {
+        URI requestUri = BASE.resolve(relativeUri);
+        UriInfo uriInfo = (UriInfo)Proxy.newProxyInstance(UriInfo.class.getClassLoader(), new Class<?>[] { UriInfo.class }, (proxy, m, args) ->
+            switch (m.getName())
+            {
+                case "getAbsolutePath" -> URI.create(requestUri.getScheme() + "://" + requestUri.getRawAuthority() + requestUri.getRawPath());
+                case "getBaseUri" -> BASE;
+                case "getRequestUri" -> requestUri;
+                default -> throw new UnsupportedOperationException(m.getName());
+            });
+        Map<String, Object> properties = new HashMap<>();
+        InputStream[] entityStream = { new ByteArrayInputStream(body) };
+        
+        return (ContainerRequestContext)Proxy.newProxyInstance(ContainerRequestContext.class.getClassLoader(), new Class<?>[] { ContainerRequestContext.class }, (proxy, m, args) ->
+            switch (m.getName())
+            {
+                case "getUriInfo" -> uriInfo;
+                case "getMethod" -> method;
+                case "getHeaderString" -> args[0].equals(HttpHeaders.CONTENT_TYPE) ? contentType : null;
+                case "getEntityStream" -> entityStream[0];
+                case "setEntityStream" -> entityStream[0] = (InputStream)args[0];
+                case "getProperty" -> properties.get((String)args[0]);
+                case "setProperty" -> properties.put((String)args[0], args[1]);
+                default -> throw new UnsupportedOperationException(m.getName());
+            });
+    }
+    
+    private static ContainerResponseContext getResponse(int status)
+    {
+        return (ContainerResponseContext)Proxy.newProxyInstance(ContainerResponseContext.class.getClassLoader(), new Class<?>[] { ContainerResponseContext.class }, (proxy, m, args) ->
+            switch (m.getName())
+            {
+                case "getStatus" -> status;
+                default -> throw new UnsupportedOperationException(m.getName());
+            });
+    }
+    
+    @Test
+    public void testRecord() throws IOException
+    {
+        TrafficCaptureFilter filter = getFilter();
+        ContainerRequestContext request = getRequest("POST", "things?limit=10&%74oken=secret", "text/turtle", new byte[100]);
+        
+        filter.filter(request);
+        TrafficLog.Record current = TrafficLog.getCurrent();
+        assertSame(current, request.getProperty(TrafficCaptureFilter.RECORD_PROPERTY_NAME));
+        assertEquals(100, request.getEntityStream().readAllBytes().length);
+        filter.filter(request, getResponse(201));
+        assertEquals(1, closeables.size());
+        closeables.get(0).close();
+        assertNull(TrafficLog.getCurrent());
+        
+        List<TrafficLog.Record> records = TrafficLog.read(file);
+        assertEquals(1, records.size());
+        TrafficLog.Record record = records.get(0);
+        assertEquals("POST", record.getMethod());
+        assertEquals("/things?limit=10&%74oken=", record.getPath());
+        assertEquals("text/turtle", record.getContentType());
+        assertNull(record.getAccept());
+        assertEquals("http://test/ontology/things", record.getTemplate());
+        assertEquals(100, record.getUploadBytes());
+        assertEquals(201, record.getStatus());
+        assertTrue(record.getTotal() >= record.getHandle());
+        assertEquals(record.getTotal() - record.getHandle(), record.getWrite());
+    }
+    
+    @Test
+    public void testUnmatchedRequest() throws IOException
+    {
+        TrafficCaptureFilter filter = getFilter();
+        ContainerRequestContext request = getRequest("GET", "other", null, new byte[0]);
+        
+        filter.filter(request);
+        filter.filter(request, getResponse(404));
+        closeables.get(0).close();
+        
+        TrafficLog.Record record = TrafficLog.read(file).get(0);
+        assertEquals("/other", record.getPath());
+        assertNull(record.getTemplate());
+        assertEquals(0, record.getUploadBytes());
+        assertEquals(404, record.getStatus());
+    }
+    
+    @Test
+    public void testRequestOutsideBase() throws IOException
+    {
+        application = null; // the template matcher must not be used
+        TrafficCaptureFilter filter = getFilter();
+        ContainerRequestContext request = getRequest("GET", "http://other/things", null, new byte[0]);
+        
+        filter.filter(request);
+        filter.filter(request, getResponse(404));
+        closeables.get(0).close();
+        
+        TrafficLog.Record record = TrafficLog.read(file).get(0);
+        assertEquals("/things", record.getPath());
+        assertNull(record.getTemplate());
+    }
+    
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.server.io;
+
+import com.atomgraph.processor.util.MemoryBudget;
+import com.atomgraph.processor.util.OntologyLoader;
+import com.atomgraph.processor.vocabulary.LDT;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.ontology.OntClass;
+import org.apache.jena.ontology.OntDocumentManager;
+import org.apache.jena.ontology.Ontology;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.vocabulary.DCTerms;
+import org.apache.jena.vocabulary.RDF;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class SkolemizingModelProviderTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final URI BASE = URI.create("http://base/"), ABSOLUTE_PATH = URI.create("http://base/container/");
+    private static final String ONTOLOGY_URI = "http://test/ontology";
+    
+    /**
+     * Provider that adds a blank node subject while processing each resource.
+     */
+    private static class AddingModelProvider extends SkolemizingModelProvider
+    {
+        
+        private final Ontology ontology;
+        private final OntClass cls;
+        
+        AddingModelProvider(Ontology ontology, OntClass cls)
+        {
+            this.ontology = ontology;
+            this.cls = cls;
+        }
+        
+        @Override
+        public Resource process(Resource resource)
+        {
+            if (resource.isURIResource())
+                resource.addProperty(DCTerms.hasPart, resource.getModel().createResource().
+                    addProperty(RDF.type, cls).
+                    addLiteral(DCTerms.title, "Added"));
+            
+            return resource;
+        }
+        
+        @Override
+        public Request getRequest()
+        {
+            return new ContainerRequest(BASE, ABSOLUTE_PATH, HttpMethod.POST, null, new MapPropertiesDelegate(), null);
+        }
+        
+        @Override
+        public UriInfo getUriInfo()
+        {
+            return (UriInfo)Proxy.newProxyInstance(UriInfo.class.getClassLoader(), new Class<?>[] { UriInfo.class }, (proxy, method, args) ->
+                switch (method.getName())
+                {
+                    case "getBaseUriBuilder" -> UriBuilder.fromUri(BASE);
+                    case "getAbsolutePathBuilder" -> UriBuilder.fromUri(ABSOLUTE_PATH);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        }
+        
+        @Override
+        public Optional<Ontology> getOntology()
+        {
+            return Optional.of(ontology);
+        }
+        
+    }
+    
+    @Test
+    public void testSubjectsAddedByProcessSkolemized()
+    {
+        Ontology ontology = ModelFactory.createOntologyModel().createOntology(ONTOLOGY_URI);
+        OntClass cls = ontology.getOntModel().createClass(ONTOLOGY_URI + "/class");
+        cls.addLiteral(LDT.path, "{title}");
+        OntDocumentManager ontMgr = new OntDocumentManager();
+        ontMgr.addModel(ONTOLOGY_URI, ontology.getOntModel());
+        ontology = new OntologyLoader(ontMgr, ONTOLOGY_URI, ontology.getOntModel().getSpecification(), true).getOntology();
+        
+        Model model = ModelFactory.createDefaultModel();
+        Resource subject = model.createResource("http://s").addLiteral(DCTerms.title, "Subject");
+        
+        new AddingModelProvider(ontology, cls).processRead(model, model.listSubjects().toList());
+        
+        Resource expected = model.createResource(UriBuilder.fromUri(ABSOLUTE_PATH).path("Added").build().toString());
+        assertTrue(model.contains(subject, DCTerms.hasPart, expected));
+        assertTrue(model.contains(expected, RDF.type, cls));
+        assertEquals(0, model.listSubjects().filterKeep(Resource::isAnon).toList().size());
+    }
+    
+    @Test
+    public void testContentLengthParsed()
+    {
+        assertEquals(42L, SkolemizingModelProvider.parseContentLength("42"));
+    }
+    
+    @Test(expected = BadRequestException.class)
+    public void testMalformedContentLengthRejected()
+    {
+        SkolemizingModelProvider.parseContentLength("forty-two");
+    }
+    
+    @Test
+    public void testBudgetReleasedWhenChunkedBodyAborted()
+    {
+        MemoryBudget memoryBudget = new MemoryBudget(1024 * 1024);
+        InputStream entityStream = new SequenceInputStream(new ByteArrayInputStream("<http://s> <http://p> <http://o> .\n".getBytes(StandardCharsets.UTF_8)), new InputStream()
+        {
+            
+            @Override
+            public int read() throws IOException
+            {
+                throw new IOException("Client aborted");
+            }
+            
+        });
+        
+        assertThrows(IOException.class, () -> new SkolemizingModelProvider(memoryBudget).readFrom(Model.class, Model.class, new Annotation[0],
+            com.atomgraph.core.MediaType.APPLICATION_NTRIPLES_TYPE, new MultivaluedHashMap<>(), entityStream));
+        assertEquals(0, memoryBudget.getUsed());
+    }
+    
+    @Test(expected = BadRequestException.class)
+    public void testNegativeContentLengthRejected()
+    {
+        SkolemizingModelProvider.parseContentLength("-1");
+    }
+    
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.server.model.impl;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.core.model.EndpointAccessor;
+import com.atomgraph.processor.model.Parameter;
+import com.atomgraph.processor.model.Template;
+import com.atomgraph.processor.model.impl.ApplicationImpl;
+import com.atomgraph.processor.model.impl.ParameterImpl;
+import com.atomgraph.processor.model.impl.TemplateImpl;
+import com.atomgraph.processor.model.impl.dataset.EndpointAccessorImpl;
+import com.atomgraph.processor.model.impl.dataset.ServiceImpl;
+import com.atomgraph.processor.server.filter.request.BulkheadFilter;
+import com.atomgraph.processor.util.Bulkhead;
+import com.atomgraph.processor.util.StaleCache;
+import com.atomgraph.processor.vocabulary.AP;
+import com.atomgraph.processor.vocabulary.LDT;
+import com.atomgraph.spinrdf.vocabulary.SP;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.UriInfo;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.enhanced.BuiltinPersonalities;
+import org.apache.jena.ontology.OntDocumentManager;
+import org.apache.jena.ontology.Ontology;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.util.LocationMapper;
+import org.apache.jena.vocabulary.DCTerms;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class BatchResourceTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final URI BASE = URI.create("http://base/");
+    
+    private Ontology ontology;
+    private Template describeTemplate, subQueryTemplate, limitedTemplate, selectTemplate;
+    private Dataset dataset;
+    private List<Query> queries;
+    private BulkheadFilter bulkheadFilter;
+    private StaleCache staleCache;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        LocationMapper lm = new LocationMapper("location-mapping.ttl");
+        OntDocumentManager.getInstance().getFileManager().setLocationMapper(lm);
+        BuiltinPersonalities.model.add(Template.class, TemplateImpl.factory);
+        BuiltinPersonalities.model.add(Parameter.class, ParameterImpl.factory);
+    }
+    
+    @Before
+    public void setUp()
+    {
+        ontology = ModelFactory.createOntologyModel().createOntology("http://test/ontology");
+        ontology.addImport(ResourceFactory.createResource(SP.NS));
+        ontology.getOntModel().loadImports();
+        
+        describeTemplate = createTemplate("describe", "/items/{id}", SP.Describe, "DESCRIBE ?this");
+        subQueryTemplate = createTemplate("sub-query", "/sub/{id}", SP.Construct, "CONSTRUCT { ?this ?p ?o } WHERE { { SELECT ?p ?o { ?this ?p ?o } LIMIT 1 } }");
+        limitedTemplate = createTemplate("limited", "/limited/{id}", SP.Describe, "DESCRIBE ?this");
+        limitedTemplate.addLiteral(AP.maxConcurrency, 1).addLiteral(AP.maxQueueSize, 0);
+        selectTemplate = createTemplate("select", "/select/{id}", SP.Select, "SELECT * { ?this ?p ?o }");
+        createTemplate("cached", "/cached/{id}", SP.Describe, "DESCRIBE ?this").
+            addLiteral(LDT.cacheControl, "max-age=60, stale-if-error=60");
+        createTemplate("loaded", "/loaded/{id}", SP.Describe, "DESCRIBE ?this").
+            addProperty(LDT.loadClass, ontology.getOntModel().createResource("java:" + ResourceBase.class.getName()));
+        
+        dataset = DatasetFactory.createTxnMem();
+        for (String path : new String[] { "items/1", "items/2", "sub/1", "sub/2", "limited/1", "select/1", "cached/1", "cached/2", "loaded/1" })
+            dataset.getDefaultModel().add(ResourceFactory.createResource(BASE.resolve(path).toString()), DCTerms.title, path);
+        
+        queries = Collections.synchronizedList(new ArrayList<>());
+        bulkheadFilter = new BulkheadFilter();
+        staleCache = new StaleCache();
+    }
+    
+    private Template createTemplate(String name, String match, org.apache.jena.rdf.model.Resource queryType, String queryString)
+    {
+        return ontology.getOntModel().createIndividual("http://test/ontology/" + name, LDT.Template).
+            addLiteral(LDT.match, match).
+            addProperty(LDT.query, ontology.getOntModel().createIndividual("http://test/ontology/" + name + "/query", queryType).
+                addLiteral(SP.text, queryString)).
+            addProperty(RDFS.isDefinedBy, ontology).
+            as(Template.class);
+    }
+    
+    private BatchResource getResource()
+    {
+        ServiceImpl service = new ServiceImpl(dataset, new MediaTypes())
+        {
+            
+            @Override
+            public EndpointAccessor getEndpointAccessor()
+            {
+                return new EndpointAccessorImpl(getDataset())
+                {
+
+                    @Override
+                    public Model loadModel(Query query, List<URI> defaultGraphUris, List<URI> namedGraphUris)
+                    {
+                        queries.add(query);
+                        return super.loadModel(query, defaultGraphUris, namedGraphUris);
+                    }
+
+                };
+            }
+            
+        };
+        UriInfo uriInfo = (UriInfo)Proxy.newProxyInstance(UriInfo.class.getClassLoader(), new Class<?>[] { UriInfo.class }, (proxy, method, args) ->
+            switch (method.getName())
+            {
+                case "getBaseUri" -> BASE;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        
+        return new BatchResource(uriInfo, null, new MediaTypes(), service, new ApplicationImpl(service, ontology),
+            staleCache, Optional.empty(), bulkheadFilter);
+    }
+    
+    private static List<URI> uris(String... paths)
+    {
+        List<URI> uris = new ArrayList<>();
+        for (String path : paths) uris.add(BASE.resolve(path));
+        return uris;
+    }
+    
+    @Test
+    public void testSameQueryGrouped()
+    {
+        Model model = getResource().describe(uris("items/1", "items/2"));
+        
+        assertEquals(1, queries.size());
+        assertTrue(queries.get(0).hasValues());
+        assertTrue(model.containsResource(ResourceFactory.createResource(BASE.resolve("items/1").toString())));
+        assertTrue(model.containsResource(ResourceFactory.createResource(BASE.resolve("items/2").toString())));
+    }
+    
+    @Test
+    public void testSubQueryNotGrouped()
+    {
+        assertFalse(BatchResource.isGroupable(QueryFactory.create("CONSTRUCT { ?this ?p ?o } WHERE { { SELECT * { ?this ?p ?o } LIMIT 1 } }")));
+        
+        Model model = getResource().describe(uris("sub/1", "sub/2"));
+        
+        assertEquals(2, queries.size());
+        assertFalse(queries.get(0).hasValues());
+        assertTrue(model.containsResource(ResourceFactory.createResource(BASE.resolve("sub/1").toString())));
+        assertTrue(model.containsResource(ResourceFactory.createResource(BASE.resolve("sub/2").toString())));
+    }
+    
+    @Test
+    public void testNonDescribingQuerySkipped()
+    {
+        Model model = getResource().describe(uris("select/1", "items/1"));
+        
+        assertEquals(1, queries.size());
+        assertFalse(model.containsResource(ResourceFactory.createResource(BASE.resolve("select/1").toString())));
+    }
+    
+    @Test
+    public void testStaleCacheUsed()
+    {
+        getResource().describe(uris("cached/1", "cached/2"));
+        assertEquals(2, queries.size()); // not grouped, so that the entries are per resource
+        
+        Model model = getResource().describe(uris("cached/1", "cached/2"));
+        assertEquals(2, queries.size());
+        assertTrue(model.containsResource(ResourceFactory.createResource(BASE.resolve("cached/2").toString())));
+    }
+    
+    @Test
+    public void testLoadClassSkipped()
+    {
+        Model model = getResource().describe(uris("loaded/1"));
+        
+        assertEquals(0, queries.size());
+        assertTrue(model.isEmpty());
+    }
+    
+    @Test
+    public void testBulkheadPermitReleased() throws InterruptedException
+    {
+        getResource().describe(uris("limited/1", "items/1"));
+        
+        Bulkhead bulkhead = bulkheadFilter.getBulkhead(limitedTemplate).get();
+        assertEquals(1, bulkhead.getAvailable());
+    }
+    
+    @Test(expected = ServiceUnavailableException.class)
+    public void testBulkheadFull() throws InterruptedException
+    {
+        Bulkhead bulkhead = bulkheadFilter.getBulkhead(limitedTemplate).get();
+        assertTrue(bulkhead.tryAcquire());
+        
+        try
+        {
+            getResource().describe(uris("items/1", "limited/1"));
+        }
+        finally
+        {
+            assertEquals(0, queries.size());
+        }
+    }
+    
+}
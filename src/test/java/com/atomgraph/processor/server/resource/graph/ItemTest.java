@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.server.resource.graph;
+
+import com.atomgraph.processor.server.Application;
+import com.atomgraph.processor.server.ApplicationConfig;
+import com.atomgraph.processor.server.TrafficReplay;
+import jakarta.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.util.LocationMapper;
+import org.apache.jena.vocabulary.RDFS;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class ItemTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final URI BASE = URI.create("http://localhost/");
+    private static final String ONTOLOGY = "http://test/item-ontology#";
+    private static final String GRAPH = BASE.resolve("graphs/g/").toString();
+    
+    private Path directory, ontologyFile;
+    private Dataset dataset;
+    private Application application;
+    private ApplicationHandler handler;
+    
+    @Before
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("item-test-");
+        ontologyFile = directory.resolve("ontology.ttl");
+        Files.writeString(ontologyFile, """
+            @prefix :     <http://test/item-ontology#> .
+            @prefix ldt:  <https://www.w3.org/ns/ldt#> .
+            @prefix ct:   <https://www.w3.org/ns/ldt/core/templates#> .
+            @prefix owl:  <http://www.w3.org/2002/07/owl#> .
+            @prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .
+            
+            : a ldt:Ontology ;
+                owl:imports ct: .
+            
+            :GraphItem a ldt:Template ;
+                ldt:match "/graphs/{slug}/" ;
+                ldt:query ct:Describe ;
+                ldt:loadClass <java:com.atomgraph.processor.server.resource.graph.Item> ;
+                rdfs:isDefinedBy : .
+            """);
+        
+        dataset = DatasetFactory.createTxnMem();
+        dataset.begin(ReadWrite.WRITE);
+        try
+        {
+            dataset.addNamedModel(GRAPH, createModel("a"));
+            dataset.commit();
+        }
+        finally
+        {
+            dataset.end();
+        }
+    }
+    
+    @After
+    public void tearDown()
+    {
+        if (handler != null) handler.onShutdown(null);
+    }
+    
+    private void init(ApplicationConfig config)
+    {
+        LocationMapper locationMapper = TrafficReplay.getLocationMapper(TrafficReplay.DEFAULT_LOCATION_MAPPING);
+        locationMapper.addAltEntry(ONTOLOGY, ontologyFile.toUri().toString());
+        
+        application = new Application(config.
+            dataset(dataset).
+            datasetTransactions(true).
+            locationMapper(locationMapper).
+            ontology(ONTOLOGY));
+        application.init();
+        handler = new ApplicationHandler(application);
+    }
+    
+    private static Model createModel(String label)
+    {
+        Model model = ModelFactory.createDefaultModel();
+        model.createResource(GRAPH).addLiteral(RDFS.label, label);
+        return model;
+    }
+    
+    private ContainerResponse call(String method, Model body, String... headers) throws InterruptedException, ExecutionException
+    {
+        ContainerRequest request = new ContainerRequest(BASE, URI.create(GRAPH), method, null, new MapPropertiesDelegate(), null);
+        request.header(HttpHeaders.ACCEPT, com.atomgraph.core.MediaType.APPLICATION_NTRIPLES);
+        for (int i = 0; i < headers.length; i += 2) request.header(headers[i], headers[i + 1]);
+        if (body != null)
+        {
+            request.header(HttpHeaders.CONTENT_TYPE, com.atomgraph.core.MediaType.APPLICATION_NTRIPLES);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            RDFDataMgr.write(bos, body, Lang.NTRIPLES);
+            request.setEntityStream(new ByteArrayInputStream(bos.toByteArray()));
+        }
+        
+        return handler.apply(request).get();
+    }
+    
+    private Model getModel()
+    {
+        dataset.begin(ReadWrite.READ);
+        try
+        {
+            return dataset.containsNamedModel(GRAPH) ? ModelFactory.createDefaultModel().add(dataset.getNamedModel(GRAPH)) : null;
+        }
+        finally
+        {
+            dataset.end();
+        }
+    }
+    
+    private void awaitJournal() throws InterruptedException
+    {
+        assertTrue(application.getJournal().await(application.getJournal().getAppendedSequence(), 10, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testJournaledPutReplaces() throws Exception
+    {
+        init(new ApplicationConfig().journal(directory.resolve("journal")));
+        
+        ContainerResponse response = call("PUT", createModel("b"));
+        assertEquals(202, response.getStatus());
+        assertNotNull(response.getLocation());
+        
+        awaitJournal();
+        assertTrue(getModel().isIsomorphicWith(createModel("b")));
+    }
+    
+    @Test
+    public void testJournaledWritesInOrder() throws Exception
+    {
+        init(new ApplicationConfig().journal(directory.resolve("journal")));
+        
+        assertEquals(202, call("POST", createModel("b")).getStatus());
+        assertEquals(202, call("PUT", createModel("c")).getStatus());
+        assertEquals(202, call("DELETE", null).getStatus());
+        
+        awaitJournal();
+        assertNull(getModel());
+    }
+    
+    @Test
+    public void testPostWithoutJournal() throws Exception
+    {
+        init(new ApplicationConfig());
+        
+        assertEquals(200, call("POST", createModel("b")).getStatus());
+        assertTrue(getModel().isIsomorphicWith(createModel("a").add(createModel("b"))));
+        assertNull(application.getJournal());
+    }
+    
+    @Test
+    public void testDeltaPut() throws Exception
+    {
+        init(new ApplicationConfig().deltaPut(true));
+        String entityTag = call("GET", null).getHeaderString(HttpHeaders.ETAG);
+        
+        assertEquals(200, call("PUT", createModel("b"), HttpHeaders.IF_MATCH, entityTag).getStatus());
+        assertTrue(getModel().isIsomorphicWith(createModel("b")));
+    }
+    
+    @Test
+    public void testDeltaPutReplacesChangedGraph() throws Exception
+    {
+        init(new ApplicationConfig().deltaPut(true));
+        String entityTag = call("GET", null).getHeaderString(HttpHeaders.ETAG);
+        assertEquals(200, call("POST", createModel("x")).getStatus()); // concurrent write
+        
+        assertEquals(200, call("PUT", createModel("b"), HttpHeaders.IF_MATCH, entityTag).getStatus());
+        assertTrue(getModel().isIsomorphicWith(createModel("b")));
+    }
+    
+    @Test
+    public void testDeltaPutNotUsedWithJournal() throws Exception
+    {
+        init(new ApplicationConfig().deltaPut(true).journal(directory.resolve("journal")));
+        String entityTag = call("GET", null).getHeaderString(HttpHeaders.ETAG);
+        
+        assertEquals(202, call("PUT", createModel("b"), HttpHeaders.IF_MATCH, entityTag).getStatus());
+        awaitJournal();
+        assertTrue(getModel().isIsomorphicWith(createModel("b")));
+    }
+    
+}
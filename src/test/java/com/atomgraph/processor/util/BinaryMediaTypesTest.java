@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import com.atomgraph.processor.server.io.ResultSetProvider;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.ResultSetRewindable;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.resultset.ResultSetLang;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class BinaryMediaTypesTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private final BinaryMediaTypes mediaTypes = new BinaryMediaTypes();
+    
+    @Test
+    public void testReadablePrefersBinary()
+    {
+        for (Class clazz : List.of(Model.class, ResultSet.class))
+        {
+            List<MediaType> readable = mediaTypes.getReadable(clazz);
+            assertTrue(BinaryMediaTypes.isBinary(readable.get(0)));
+            assertTrue(BinaryMediaTypes.isBinary(readable.get(1)));
+            assertNull(readable.get(0).getParameters().get("q"));
+            assertTrue(readable.stream().skip(2).allMatch(mt -> !BinaryMediaTypes.isBinary(mt) && mt.getParameters().containsKey("q")));
+        }
+    }
+    
+    @Test
+    public void testResultSetTextFallback()
+    {
+        List<MediaType> readable = mediaTypes.getReadable(ResultSet.class);
+        
+        assertEquals("0.9", readable.stream().filter(mt -> mt.isCompatible(com.atomgraph.core.MediaType.APPLICATION_SPARQL_RESULTS_JSON_TYPE)).findFirst().get().getParameters().get("q"));
+        assertEquals("0.5", readable.stream().filter(mt -> mt.isCompatible(com.atomgraph.core.MediaType.APPLICATION_SPARQL_RESULTS_CSV_TYPE)).findFirst().get().getParameters().get("q"));
+    }
+    
+    @Test
+    public void testWritableBinaryWithoutCharset()
+    {
+        List<MediaType> writable = mediaTypes.getWritable(Model.class);
+        
+        assertEquals(new com.atomgraph.core.MediaTypes().getWritable(Model.class).size(), writable.size());
+        assertTrue(writable.stream().filter(BinaryMediaTypes::isBinary).noneMatch(mt -> mt.getParameters().containsKey(MediaType.CHARSET_PARAMETER)));
+        assertTrue(writable.stream().filter(mt -> !BinaryMediaTypes.isBinary(mt)).allMatch(mt -> mt.getParameters().containsKey(MediaType.CHARSET_PARAMETER)));
+    }
+    
+    @Test
+    public void testBinaryResultSetRoundTrip() throws IOException
+    {
+        Model model = ModelFactory.createDefaultModel();
+        model.createResource("http://s").addProperty(RDFS.label, "label", "en");
+        ResultSetProvider provider = new ResultSetProvider();
+        
+        for (MediaType mediaType : List.of(new MediaType("application", "sparql-results+thrift"), new MediaType("application", "sparql-results+protobuf")))
+        {
+            assertTrue(ResultSetLang.RS_Thrift.equals(ResultSetProvider.getLang(mediaType)) || ResultSetLang.RS_Protobuf.equals(ResultSetProvider.getLang(mediaType)));
+            assertTrue(provider.isWriteable(ResultSet.class, null, null, mediaType));
+            assertTrue(provider.isReadable(ResultSetRewindable.class, null, null, mediaType));
+            
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            try (QueryExecution qex = QueryExecutionFactory.create("SELECT * { ?s ?p ?o }", DatasetFactory.wrap(model)))
+            {
+                provider.writeTo(qex.execSelect(), ResultSet.class, null, null, mediaType, new MultivaluedHashMap<>(), os);
+            }
+            
+            ResultSetRewindable results = provider.readFrom(ResultSetRewindable.class, null, null, mediaType, new MultivaluedHashMap<>(), new ByteArrayInputStream(os.toByteArray()));
+            assertEquals(1, results.size());
+            assertEquals("en", results.next().getLiteral("o").getLanguage());
+        }
+        
+        assertFalse(provider.isReadable(ResultSetRewindable.class, null, null, MediaType.TEXT_PLAIN_TYPE));
+    }
+    
+}
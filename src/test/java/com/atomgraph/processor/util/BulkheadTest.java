@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class BulkheadTest
+{
+    
+    @Test
+    public void testLimit() throws InterruptedException
+    {
+        Bulkhead bulkhead = new Bulkhead(2, 1, 50);
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire()); // queued, then timed out
+        
+        bulkhead.release();
+        assertTrue(bulkhead.tryAcquire());
+    }
+    
+    @Test
+    public void testQueueFullRejectsImmediately() throws Exception
+    {
+        Bulkhead bulkhead = new Bulkhead(1, 1, 10000);
+        assertTrue(bulkhead.tryAcquire());
+        
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                return bulkhead.tryAcquire();
+            }
+            catch (InterruptedException ex)
+            {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (!bulkhead.hasQueuedCallers()) Thread.sleep(10);
+        
+        long start = System.nanoTime();
+        assertFalse(bulkhead.tryAcquire());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        
+        bulkhead.release();
+        assertTrue(queued.get(10, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getAvailable());
+    }
+    
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import com.atomgraph.processor.server.filter.request.DeadlineFilter;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class DeadlineTest
+{
+    
+    @After
+    public void tearDown()
+    {
+        Deadline.set(null);
+    }
+    
+    @Test
+    public void testExpiry()
+    {
+        Deadline deadline = Deadline.after(1, TimeUnit.HOURS);
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.getRemaining(TimeUnit.MINUTES) > 58);
+        
+        Deadline expired = Deadline.after(-1, TimeUnit.SECONDS);
+        assertTrue(expired.isExpired());
+        assertEquals(0, expired.getRemaining(TimeUnit.MILLISECONDS));
+    }
+    
+    @Test
+    public void testMin()
+    {
+        Deadline earlier = Deadline.after(1, TimeUnit.SECONDS);
+        Deadline later = Deadline.after(1, TimeUnit.HOURS);
+        
+        assertSame(earlier, earlier.min(later));
+        assertSame(earlier, later.min(earlier));
+        assertSame(later, later.min(null));
+    }
+    
+    @Test
+    public void testPropagate() throws Exception
+    {
+        Deadline deadline = Deadline.after(1, TimeUnit.HOURS);
+        Deadline.set(deadline);
+        
+        assertSame(deadline, CompletableFuture.supplyAsync(Deadline.propagate(Deadline::get)).get(10, TimeUnit.SECONDS));
+        assertNull(CompletableFuture.supplyAsync(Deadline::get).get(10, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testPreferWait()
+    {
+        assertNull(DeadlineFilter.getWait(null));
+        assertNull(DeadlineFilter.getWait(Arrays.asList("respond-async")));
+        assertEquals(Long.valueOf(10), DeadlineFilter.getWait(Arrays.asList("respond-async, wait=10")));
+        assertEquals(Long.valueOf(5), DeadlineFilter.getWait(Arrays.asList("return=minimal", "Wait = 5")));
+        assertNull(DeadlineFilter.getWait(Arrays.asList("wait=soon")));
+    }
+    
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.update.UpdateAction;
+import org.apache.jena.update.UpdateRequest;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class DeltaBuilderTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final String GRAPH = "http://localhost/graph";
+    
+    private static Model parse(String turtle)
+    {
+        Model model = ModelFactory.createDefaultModel();
+        RDFParser.fromString("@prefix : <http://localhost/> .\n" + turtle).lang(Lang.TURTLE).parse(model);
+        return model;
+    }
+    
+    @Test
+    public void testDelta()
+    {
+        Model current = parse(":s :p :o1, :o2 ; :q [ :r \"x\" ] ; :n \"01\"^^<http://www.w3.org/2001/XMLSchema#int> .");
+        Model model = parse(":s :p :o1, :o3 ; :q [ :r \"x\" ] ; :n \"1\"^^<http://www.w3.org/2001/XMLSchema#int> ."); // different blank node label, same structure
+        
+        DeltaBuilder delta = DeltaBuilder.fromModels(current, model).graph(GRAPH);
+        assertTrue(delta.isSupported());
+        UpdateRequest update = delta.build();
+        assertEquals(2, update.getOperations().size());
+        
+        Dataset dataset = DatasetFactory.create();
+        dataset.addNamedModel(GRAPH, current);
+        UpdateAction.execute(update, dataset);
+        assertTrue(dataset.getNamedModel(GRAPH).isIsomorphicWith(model));
+    }
+    
+    @Test
+    public void testNoChange()
+    {
+        Model current = parse(":s :p :o ; :q [ :r \"x\" ] .");
+        
+        assertTrue(DeltaBuilder.fromModels(current, parse(":s :p :o ; :q [ :r \"x\" ] .")).build().getOperations().isEmpty());
+    }
+    
+    @Test
+    public void testBlankNodeChangeNotSupported()
+    {
+        Model current = parse(":s :q [ :r \"x\" ] .");
+        Model model = parse(":s :q [ :r \"y\" ] .");
+        
+        assertFalse(DeltaBuilder.fromModels(current, model).isSupported());
+    }
+    
+}
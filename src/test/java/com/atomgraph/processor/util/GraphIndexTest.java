@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.core.model.impl.dataset.ServiceImpl;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.update.UpdateFactory;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class GraphIndexTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private Dataset dataset;
+    private GraphIndex index;
+    
+    @Before
+    public void setUp()
+    {
+        dataset = DatasetFactory.create();
+        dataset.addNamedModel("http://localhost/graphs/a", createModel());
+        dataset.addNamedModel("http://localhost/graphs/b", createModel());
+        
+        index = new GraphIndex(new ServiceImpl(dataset, new MediaTypes()), 60000L, 60000L); // no scheduled reconciliation during the test
+        index.reconcile();
+    }
+    
+    @After
+    public void tearDown()
+    {
+        index.close();
+    }
+    
+    private static Model createModel()
+    {
+        Model model = ModelFactory.createDefaultModel();
+        model.createResource("http://localhost/").addLiteral(RDFS.label, "label");
+        return model;
+    }
+    
+    @Test
+    public void testLoadedGraphs()
+    {
+        assertTrue(index.get("http://localhost/graphs/a"));
+        assertTrue(index.get("http://localhost/graphs/b"));
+        assertFalse(index.get("http://localhost/graphs/c"));
+    }
+    
+    @Test
+    public void testKnownGraphsNotLookedUp()
+    {
+        AtomicInteger lookups = new AtomicInteger();
+        
+        assertTrue(index.contains("http://localhost/graphs/a", uri -> lookups.incrementAndGet() > 0));
+        assertFalse(index.contains("http://localhost/graphs/c", uri -> lookups.incrementAndGet() > 0));
+        assertEquals(0, lookups.get());
+    }
+    
+    @Test
+    public void testForgottenGraphLookedUpOnce()
+    {
+        AtomicInteger lookups = new AtomicInteger();
+        index.forget("http://localhost/graphs/a");
+        
+        assertNull(index.get("http://localhost/graphs/a"));
+        assertFalse(index.contains("http://localhost/graphs/a", uri -> lookups.incrementAndGet() < 0));
+        assertFalse(index.contains("http://localhost/graphs/a", uri -> lookups.incrementAndGet() < 0));
+        assertEquals(1, lookups.get());
+    }
+    
+    @Test
+    public void testWrites()
+    {
+        index.put("http://localhost/graphs/c", true);
+        index.put("http://localhost/graphs/a", false);
+        
+        assertTrue(index.get("http://localhost/graphs/c"));
+        assertFalse(index.get("http://localhost/graphs/a"));
+    }
+    
+    @Test
+    public void testReconcile()
+    {
+        index.put("http://localhost/graphs/a", false);
+        dataset.addNamedModel("http://localhost/graphs/c", createModel());
+        assertFalse(index.get("http://localhost/graphs/c"));
+        
+        index.reconcile();
+        
+        assertTrue(index.get("http://localhost/graphs/a"));
+        assertTrue(index.get("http://localhost/graphs/c"));
+    }
+    
+    @Test
+    public void testUpdateForgetsGraphs()
+    {
+        index.update(UpdateFactory.create("INSERT DATA { GRAPH <http://localhost/graphs/c> { <http://localhost/> <http://localhost/p> \"o\" } } ; DROP GRAPH <http://localhost/graphs/a>"));
+        
+        assertNull(index.get("http://localhost/graphs/a"));
+        assertTrue(index.get("http://localhost/graphs/b"));
+        assertNull(index.get("http://localhost/graphs/c"));
+    }
+    
+    @Test
+    public void testUpdateWithVariableGraphReconciles() throws InterruptedException
+    {
+        dataset.addNamedModel("http://localhost/graphs/c", createModel());
+        assertFalse(index.get("http://localhost/graphs/c"));
+        
+        index.update(UpdateFactory.create("DELETE { GRAPH ?g { ?s ?p ?o } } WHERE { GRAPH ?g { ?s ?p ?o } }"));
+        
+        for (int i = 0; i < 50 && !Boolean.TRUE.equals(index.get("http://localhost/graphs/c")); i++) Thread.sleep(100);
+        assertTrue(index.get("http://localhost/graphs/c"));
+    }
+    
+}
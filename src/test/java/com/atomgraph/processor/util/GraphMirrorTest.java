@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.core.model.impl.dataset.ServiceImpl;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.update.UpdateFactory;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class GraphMirrorTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private Dataset dataset;
+    private GraphMirror mirror;
+    
+    @Before
+    public void setUp()
+    {
+        dataset = DatasetFactory.create();
+        dataset.addNamedModel("http://localhost/hot/a", createModel("a"));
+        dataset.addNamedModel("http://localhost/cold/b", createModel("b"));
+        
+        mirror = new GraphMirror(new ServiceImpl(dataset, new MediaTypes()), Collections.singletonList(Pattern.compile("http://localhost/hot/.*")), 1, 60000L);
+    }
+    
+    @After
+    public void tearDown()
+    {
+        mirror.close();
+    }
+    
+    private static Model createModel(String label)
+    {
+        Model model = ModelFactory.createDefaultModel();
+        model.createResource("http://localhost/").addLiteral(RDFS.label, label);
+        return model;
+    }
+    
+    private Model awaitModel(String uri) throws InterruptedException
+    {
+        Model model = mirror.getModel(uri);
+        for (int i = 0; i < 50 && model == null; i++)
+        {
+            Thread.sleep(100);
+            model = mirror.getModel(uri);
+        }
+        return model;
+    }
+    
+    @Test
+    public void testPatternGraphMirroredOnRead() throws InterruptedException
+    {
+        Model model = awaitModel("http://localhost/hot/a");
+        
+        assertNotNull(model);
+        assertTrue(model.isIsomorphicWith(createModel("a")));
+    }
+    
+    @Test
+    public void testHotGraphMirroredOnRevalidation()
+    {
+        assertNull(mirror.getModel("http://localhost/cold/b"));
+        
+        mirror.revalidate();
+        
+        assertNotNull(mirror.getModel("http://localhost/cold/b"));
+    }
+    
+    @Test
+    public void testRevalidationReloads() throws InterruptedException
+    {
+        awaitModel("http://localhost/hot/a");
+        dataset.replaceNamedModel("http://localhost/hot/a", createModel("c"));
+        
+        mirror.revalidate();
+        
+        assertTrue(mirror.getModel("http://localhost/hot/a").isIsomorphicWith(createModel("c")));
+    }
+    
+    @Test
+    public void testWrites() throws InterruptedException
+    {
+        awaitModel("http://localhost/hot/a");
+        
+        mirror.put("http://localhost/hot/a", createModel("c"));
+        assertTrue(mirror.getModel("http://localhost/hot/a").isIsomorphicWith(createModel("c")));
+        
+        mirror.delete("http://localhost/hot/a");
+        assertFalse(mirror.getGraphs().contains("http://localhost/hot/a"));
+    }
+    
+    @Test
+    public void testUpdateInvalidates() throws InterruptedException
+    {
+        awaitModel("http://localhost/hot/a");
+        dataset.replaceNamedModel("http://localhost/hot/a", createModel("c"));
+        
+        mirror.update(UpdateFactory.create("CLEAR GRAPH <http://localhost/hot/a>"));
+        
+        assertTrue(awaitModel("http://localhost/hot/a").isIsomorphicWith(createModel("c")));
+    }
+    
+    @Test
+    public void testJournaledUpdateInvalidates() throws Exception
+    {
+        awaitModel("http://localhost/hot/a");
+        
+        try (UpdateJournal journal = new UpdateJournal(Files.createTempDirectory("mirror-test-"),
+                new com.atomgraph.processor.model.impl.dataset.ServiceImpl(dataset, new MediaTypes()), List.of(mirror::update)))
+        {
+            long sequence = journal.append(UpdateFactory.create("INSERT DATA { GRAPH <http://localhost/hot/a> { <http://localhost/> <" + RDFS.label.getURI() + "> \"c\" } }"));
+            assertTrue(journal.await(sequence, 10, TimeUnit.SECONDS));
+        }
+        
+        Model expected = createModel("a").add(createModel("c"));
+        Model model = mirror.getModel("http://localhost/hot/a");
+        for (int i = 0; i < 50 && (model == null || !model.isIsomorphicWith(expected)); i++)
+        {
+            Thread.sleep(100);
+            model = mirror.getModel("http://localhost/hot/a");
+        }
+        assertTrue(model.isIsomorphicWith(expected)); // reloaded after the journaled update was applied
+    }
+    
+    @Test
+    public void testLocalQuery() throws InterruptedException
+    {
+        assertNull(mirror.loadModel(QueryFactory.create("CONSTRUCT { ?s ?p ?o } WHERE { GRAPH <http://localhost/cold/b> { ?s ?p ?o } }")));
+        
+        Query query = QueryFactory.create("CONSTRUCT { ?s ?p ?o } WHERE { GRAPH <http://localhost/hot/a> { ?s ?p ?o } }");
+        awaitModel("http://localhost/hot/a");
+        
+        assertTrue(mirror.loadModel(query).isIsomorphicWith(createModel("a")));
+    }
+    
+    @Test
+    public void testGraphs()
+    {
+        assertEquals(Collections.singleton("http://localhost/hot/a"),
+            GraphMirror.getGraphs(QueryFactory.create("CONSTRUCT WHERE { GRAPH <http://localhost/hot/a> { ?s ?p ?o } }")));
+        assertEquals(Collections.singleton("http://localhost/hot/a"),
+            GraphMirror.getGraphs(QueryFactory.create("SELECT * FROM <http://localhost/hot/a> { ?s ?p ?o }")));
+        assertEquals(Collections.singleton("http://localhost/hot/a"),
+            GraphMirror.getGraphs(QueryFactory.create("SELECT * { GRAPH <http://localhost/hot/a> { ?s <http://localhost/p>/<http://localhost/q> ?o } }")));
+        assertNull(GraphMirror.getGraphs(QueryFactory.create("SELECT * { ?s ?p ?o }")));
+        assertNull(GraphMirror.getGraphs(QueryFactory.create("SELECT * { ?s <http://localhost/p>/<http://localhost/q> ?o }")));
+        assertNull(GraphMirror.getGraphs(QueryFactory.create("SELECT * { GRAPH ?g { ?s ?p ?o } }")));
+        assertNull(GraphMirror.getGraphs(QueryFactory.create("SELECT * { GRAPH <http://localhost/hot/a> { ?s ?p ?o } SERVICE <http://localhost/sparql> { ?s ?p ?x } }")));
+        assertNull(GraphMirror.getGraphs(QueryFactory.create("SELECT * { GRAPH <http://localhost/hot/a> { ?s ?p ?o } FILTER EXISTS { ?s ?p ?x } }")));
+        assertEquals(Collections.singleton("http://localhost/hot/a"),
+            GraphMirror.getGraphs(QueryFactory.create("SELECT * { GRAPH <http://localhost/hot/a> { ?s ?p ?o FILTER NOT EXISTS { ?s ?p ?x } } }")));
+    }
+    
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class MemoryBudgetTest
+{
+    
+    @Test
+    public void testAcquireRelease()
+    {
+        MemoryBudget budget = new MemoryBudget(100);
+        
+        assertTrue(budget.tryAcquire(60));
+        assertFalse(budget.tryAcquire(41));
+        assertEquals(60, budget.getUsed());
+        assertTrue(budget.tryAcquire(40));
+        
+        budget.release(60);
+        assertEquals(40, budget.getUsed());
+        assertTrue(budget.tryAcquire(60));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCapacity()
+    {
+        new MemoryBudget(-1);
+    }
+    
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.ontology.OntDocumentManager;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.ontology.Ontology;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.util.FileManager;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class OntologyLoaderTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final Resource IMPORT = ResourceFactory.createResource("http://test/import");
+    private static final Resource CLASS = ResourceFactory.createResource("http://test/import/Class");
+    private static final Resource SUPER_CLASS = ResourceFactory.createResource("http://test/import/SuperClass");
+    
+    private OntDocumentManager ontDocumentManager;
+
+    @Before
+    public void setUp()
+    {
+        ontDocumentManager = new OntDocumentManager();
+        ontDocumentManager.setFileManager(FileManager.create());
+        ontDocumentManager.setCacheModels(true);
+        
+        Model importModel = ModelFactory.createDefaultModel();
+        importModel.add(IMPORT, RDF.type, OWL.Ontology).
+            add(CLASS, RDF.type, RDFS.Class).
+            add(CLASS, RDFS.subClassOf, SUPER_CLASS);
+        ontDocumentManager.addModel(IMPORT.getURI(), importModel);
+        
+        ontDocumentManager.addModel("http://test/sitemap1", getSitemapModel("http://test/sitemap1"));
+        ontDocumentManager.addModel("http://test/sitemap2", getSitemapModel("http://test/sitemap2"));
+    }
+    
+    private Model getSitemapModel(String ontologyURI)
+    {
+        Model model = ModelFactory.createDefaultModel();
+        model.createResource(ontologyURI).
+            addProperty(RDF.type, OWL.Ontology).
+            addProperty(OWL.imports, IMPORT);
+        model.createResource(ontologyURI + "/instance").
+            addProperty(RDF.type, CLASS);
+        
+        return model;
+    }
+    
+    private Ontology load(String ontologyURI)
+    {
+        return new OntologyLoader(ontDocumentManager, ontologyURI, OntModelSpec.OWL_MEM_RDFS_INF, true).getOntology();
+    }
+    
+    @Test
+    public void testMaterialized()
+    {
+        Ontology ontology = load("http://test/sitemap1");
+        
+        assertTrue(ontology.getOntModel().contains(ResourceFactory.createResource("http://test/sitemap1/instance"), RDF.type, SUPER_CLASS)); // inferred
+        assertTrue(ontology.getOntModel().contains(CLASS, RDFS.subClassOf, SUPER_CLASS)); // imported
+        assertFalse(ontology.getOntModel().getBaseModel().contains(CLASS, RDFS.subClassOf, SUPER_CLASS)); // not copied into the sitemap
+    }
+    
+    @Test
+    public void testSharedImport()
+    {
+        load("http://test/sitemap1");
+        Model importModel = ontDocumentManager.getFileManager().getFromCache(IMPORT.getURI());
+        assertTrue(importModel instanceof OntModelReadOnly);
+        
+        Ontology ontology = load("http://test/sitemap2");
+        assertSame(importModel, ontDocumentManager.getFileManager().getFromCache(IMPORT.getURI())); // materialized once
+        assertTrue(ontology.getOntModel().contains(ResourceFactory.createResource("http://test/sitemap2/instance"), RDF.type, SUPER_CLASS));
+        assertFalse(ontology.getOntModel().getBaseModel().contains(CLASS, RDFS.subClassOf, SUPER_CLASS));
+    }
+    
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.core.model.EndpointAccessor;
+import com.atomgraph.core.model.impl.dataset.ServiceImpl;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class PageTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final Var CHILD = Var.alloc("child");
+    
+    private EndpointAccessor accessor;
+    private Query query;
+    
+    @Before
+    public void setUp()
+    {
+        Dataset dataset = DatasetFactory.create();
+        Resource container = dataset.getDefaultModel().createResource("http://container/");
+        for (int i = 0; i < 25; i++)
+            dataset.getDefaultModel().createResource(String.format("http://container/child%02d", i)).
+                addProperty(RDFS.member, container).
+                addLiteral(RDFS.label, i);
+        
+        accessor = new ServiceImpl(dataset, new MediaTypes()).getEndpointAccessor();
+        query = QueryFactory.create("DESCRIBE ?child WHERE { ?child <" + RDFS.member.getURI() + "> <http://container/> }");
+    }
+    
+    private Set<Resource> describe(Page page)
+    {
+        Model model = accessor.loadModel(page.getQuery(), Collections.emptyList(), Collections.emptyList());
+        return new HashSet<>(model.listSubjectsWithProperty(RDFS.member).toList());
+    }
+    
+    @Test
+    public void testForward()
+    {
+        Page first = Page.get(accessor, query, CHILD, 10, null, null);
+        assertEquals(10, describe(first).size());
+        assertNull(first.getPrev());
+        assertEquals("http://container/child09", first.getNext());
+        
+        Page second = Page.get(accessor, query, CHILD, 10, first.getNext(), null);
+        assertEquals(10, describe(second).size());
+        assertEquals("http://container/child10", second.getPrev());
+        assertEquals("http://container/child19", second.getNext());
+        
+        Page last = Page.get(accessor, query, CHILD, 10, second.getNext(), null);
+        assertEquals(5, describe(last).size());
+        assertEquals("http://container/child20", last.getPrev());
+        assertNull(last.getNext());
+    }
+    
+    @Test
+    public void testBackward()
+    {
+        Page second = Page.get(accessor, query, CHILD, 10, null, "http://container/child20");
+        assertEquals(10, describe(second).size());
+        assertEquals("http://container/child10", second.getPrev());
+        assertEquals("http://container/child19", second.getNext());
+        
+        Page first = Page.get(accessor, query, CHILD, 10, null, second.getPrev());
+        assertEquals(10, describe(first).size());
+        assertNull(first.getPrev());
+        assertEquals("http://container/child09", first.getNext());
+    }
+    
+    @Test
+    public void testEmptyPage()
+    {
+        Page page = Page.get(accessor, query, CHILD, 10, "http://container/child99", null);
+        assertEquals(0, describe(page).size());
+        assertNull(page.getPrev());
+        assertNull(page.getNext());
+    }
+    
+    private List<RDFNode> getValues(Page page)
+    {
+        Model model = accessor.loadModel(page.getQuery(), Collections.emptyList(), Collections.emptyList());
+        return model.listObjectsOfProperty(RDFS.seeAlso).toList();
+    }
+    
+    @Test
+    public void testEqualLexicalForms()
+    {
+        Model model = ModelFactory.createDefaultModel();
+        Resource container = model.createResource("http://container/");
+        container.addProperty(RDFS.seeAlso, "1").
+            addLiteral(RDFS.seeAlso, model.createTypedLiteral("1", XSDDatatype.XSDint)).
+            addProperty(RDFS.seeAlso, "1", "en").
+            addProperty(RDFS.seeAlso, model.createResource("1")).
+            addProperty(RDFS.seeAlso, model.createTypedLiteral("2", XSDDatatype.XSDint)).
+            addProperty(RDFS.seeAlso, model.createResource()); // blank node keys are not paginated
+        accessor = new ServiceImpl(DatasetFactory.create(model), new MediaTypes()).getEndpointAccessor();
+        Query valueQuery = QueryFactory.create("CONSTRUCT { <http://container/> <" + RDFS.seeAlso.getURI() + "> ?value } WHERE { <http://container/> <" + RDFS.seeAlso.getURI() + "> ?value }");
+        Var value = Var.alloc("value");
+        
+        List<RDFNode> forward = new ArrayList<>();
+        Page page = Page.get(accessor, valueQuery, value, 1, null, null);
+        forward.addAll(getValues(page));
+        while (page.getNext() != null)
+        {
+            page = Page.get(accessor, valueQuery, value, 1, page.getNext(), null);
+            forward.addAll(getValues(page));
+        }
+        assertEquals(5, forward.size());
+        assertEquals(5, new HashSet<>(forward).size());
+        assertTrue(forward.stream().noneMatch(RDFNode::isAnon));
+        
+        List<RDFNode> backward = new ArrayList<>();
+        page = Page.get(accessor, valueQuery, value, 1, null, Page.getCursor(forward.get(forward.size() - 1).asNode()));
+        backward.addAll(0, getValues(page));
+        while (page.getPrev() != null)
+        {
+            page = Page.get(accessor, valueQuery, value, 1, null, page.getPrev());
+            backward.addAll(0, getValues(page));
+        }
+        assertEquals(forward.subList(0, forward.size() - 1), backward);
+    }
+    
+    @Test
+    public void testCursorRoundTrip()
+    {
+        Model model = ModelFactory.createDefaultModel();
+        for (RDFNode key : new RDFNode[] { model.createResource("http://container/child01"), model.createLiteral("1"),
+                model.createTypedLiteral("1", XSDDatatype.XSDint), model.createLiteral("\"quoted\"", "en") })
+            assertEquals(key.asNode(), Page.parseCursor(Page.getCursor(key.asNode())));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLiteralCursor()
+    {
+        Page.parseCursor("\"unterminated");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testBlankNodeCursor()
+    {
+        Page.getCursor(ModelFactory.createDefaultModel().createResource().asNode());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testBothCursors()
+    {
+        Page.get(accessor, query, CHILD, 10, "a", "b");
+    }
+    
+}
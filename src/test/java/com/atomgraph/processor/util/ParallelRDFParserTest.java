@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.sys.JenaSystem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class ParallelRDFParserTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private ExecutorService executor;
+    private ParallelRDFParser parser;
+    
+    @Before
+    public void setUp()
+    {
+        executor = Executors.newFixedThreadPool(4);
+        parser = new ParallelRDFParser(executor, 64, 3); // chunks of a couple of lines
+    }
+    
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+    
+    private Model parse(String ntriples) throws IOException
+    {
+        Model model = ModelFactory.createDefaultModel();
+        parser.parse(new ByteArrayInputStream(ntriples.getBytes(StandardCharsets.UTF_8)), Lang.NTRIPLES, StreamRDFLib.graph(model.getGraph()));
+        return model;
+    }
+    
+    @Test
+    public void testBlankNodesAcrossChunks() throws IOException
+    {
+        StringBuilder ntriples = new StringBuilder();
+        for (int i = 0; i < 100; i++)
+        {
+            ntriples.append("_:b").append(i % 10).append(" <http://p> \"").append(i).append("\" .\n");
+            ntriples.append("<http://s").append(i).append("> <http://p> _:b").append(i % 10).append(" .\n");
+        }
+        ntriples.append("<http://long> <http://p> \"").append("x".repeat(200)).append("\" ."); // longer than a chunk, no trailing newline
+        
+        Model expected = ModelFactory.createDefaultModel();
+        RDFParser.fromString(ntriples.toString()).lang(Lang.NTRIPLES).parse(expected);
+        Model actual = parse(ntriples.toString());
+        
+        assertEquals(expected.size(), actual.size());
+        assertEquals(10, actual.listSubjects().filterKeep(subject -> subject.isAnon()).toList().size());
+        assertTrue(expected.isIsomorphicWith(actual));
+    }
+    
+    @Test(expected = RiotException.class)
+    public void testInvalidChunk() throws IOException
+    {
+        parse("<http://s> <http://p> <http://o> .\n".repeat(10) + "<http://s> <http://p> .\n");
+    }
+    
+}
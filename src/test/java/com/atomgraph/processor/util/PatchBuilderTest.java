@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.update.UpdateAction;
+import org.apache.jena.update.UpdateFactory;
+import org.apache.jena.update.UpdateRequest;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class PatchBuilderTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final String GRAPH = "http://localhost/resource";
+    
+    private static UpdateRequest build(String update)
+    {
+        return PatchBuilder.fromUpdate(UpdateFactory.create(update)).
+            graph(GRAPH).
+            bindings(Map.of("this", ResourceFactory.createResource(GRAPH))).
+            build();
+    }
+    
+    @Test
+    public void testScopedToGraph()
+    {
+        Dataset dataset = DatasetFactory.create();
+        dataset.getDefaultModel().add(ResourceFactory.createResource(GRAPH), ResourceFactory.createProperty("http://p"), "default");
+        dataset.getNamedModel(GRAPH).add(ResourceFactory.createResource(GRAPH), ResourceFactory.createProperty("http://p"), "old");
+        
+        UpdateAction.execute(build("DELETE { ?this <http://p> ?o } INSERT { ?this <http://p> \"new\" } WHERE { ?this <http://p> ?o } ; INSERT DATA { <http://s> <http://p> <http://o> }"), dataset);
+        
+        Model graph = dataset.getNamedModel(GRAPH);
+        assertEquals(2, graph.size());
+        assertTrue(graph.contains(ResourceFactory.createResource(GRAPH), ResourceFactory.createProperty("http://p"), "new"));
+        assertTrue(graph.contains(ResourceFactory.createResource("http://s"), ResourceFactory.createProperty("http://p"), ResourceFactory.createResource("http://o")));
+        assertEquals(1, dataset.getDefaultModel().size()); // untouched
+    }
+    
+    @Test
+    public void testInsertIntoNewGraph()
+    {
+        Dataset dataset = DatasetFactory.create();
+        
+        UpdateAction.execute(build("INSERT { ?this <http://p> \"new\" } WHERE {}"), dataset);
+        
+        assertEquals(1, dataset.getNamedModel(GRAPH).size());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testOtherGraphRejected()
+    {
+        build("INSERT DATA { GRAPH <http://other> { <http://s> <http://p> <http://o> } }");
+    }
+    
+    @Test
+    public void testNestedResourceGraphAllowed()
+    {
+        build("DELETE { ?this <http://p> ?o } WHERE { GRAPH <" + GRAPH + "> { ?this <http://p> ?o } }");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNestedOtherGraphRejected()
+    {
+        build("INSERT { ?this <http://p> ?o } WHERE { GRAPH <http://other> { ?s <http://p> ?o } }");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNestedVariableGraphRejected()
+    {
+        build("INSERT { ?this <http://p> ?o } WHERE { GRAPH ?g { ?s <http://p> ?o } }");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testGraphInExistsRejected()
+    {
+        build("DELETE { ?this <http://p> ?o } WHERE { ?this <http://p> ?o FILTER EXISTS { GRAPH <http://other> { ?o ?p ?x } } }");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testServiceRejected()
+    {
+        build("INSERT { ?this <http://p> ?o } WHERE { SERVICE <http://example.org/sparql> { ?s <http://p> ?o } }");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testGraphManagementRejected()
+    {
+        build("DROP ALL");
+    }
+    
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class PrefetcherTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private Prefetcher prefetcher;
+    
+    @Before
+    public void setUp()
+    {
+        prefetcher = new Prefetcher(1, 2, 200L);
+    }
+    
+    @After
+    public void tearDown()
+    {
+        prefetcher.close();
+    }
+    
+    private static Model createModel(String label)
+    {
+        Model model = ModelFactory.createDefaultModel();
+        model.createResource("http://s").addProperty(RDFS.label, label);
+        return model;
+    }
+    
+    @Test
+    public void testTakeOnce() throws InterruptedException
+    {
+        CountDownLatch done = new CountDownLatch(1);
+        assertTrue(prefetcher.submit("http://s", () ->
+        {
+            prefetcher.put("DESCRIBE <http://s>", createModel("s"), prefetcher.getGeneration());
+            done.countDown();
+        }));
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        
+        assertNotNull(prefetcher.take("DESCRIBE <http://s>"));
+        assertNull(prefetcher.take("DESCRIBE <http://s>"));
+    }
+    
+    @Test
+    public void testExpired() throws InterruptedException
+    {
+        prefetcher.put("DESCRIBE <http://s>", createModel("s"), prefetcher.getGeneration());
+        Thread.sleep(300L);
+        
+        assertNull(prefetcher.take("DESCRIBE <http://s>"));
+    }
+    
+    @Test
+    public void testEmptyNotStored()
+    {
+        prefetcher.put("DESCRIBE <http://s>", ModelFactory.createDefaultModel(), prefetcher.getGeneration());
+        
+        assertFalse(prefetcher.contains("DESCRIBE <http://s>"));
+    }
+    
+    @Test
+    public void testEviction()
+    {
+        prefetcher.put("1", createModel("1"), prefetcher.getGeneration());
+        prefetcher.put("2", createModel("2"), prefetcher.getGeneration());
+        prefetcher.put("3", createModel("3"), prefetcher.getGeneration());
+        
+        assertFalse(prefetcher.contains("1"));
+        assertTrue(prefetcher.contains("3"));
+    }
+    
+    @Test
+    public void testClear()
+    {
+        prefetcher.put("DESCRIBE <http://s>", createModel("s"), prefetcher.getGeneration());
+        prefetcher.clear();
+        
+        assertNull(prefetcher.take("DESCRIBE <http://s>"));
+    }
+    
+    @Test
+    public void testPrefetchDuringClearNotStored() throws InterruptedException
+    {
+        CountDownLatch cleared = new CountDownLatch(1), done = new CountDownLatch(1);
+        final long generation = prefetcher.getGeneration();
+        assertTrue(prefetcher.submit("http://s", () ->
+        {
+            try
+            {
+                cleared.await();
+                prefetcher.put("DESCRIBE <http://s>", createModel("s"), generation); // loaded before the write
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                done.countDown();
+            }
+        }));
+        prefetcher.clear();
+        cleared.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        
+        assertFalse(prefetcher.contains("DESCRIBE <http://s>"));
+    }
+    
+    @Test
+    public void testBudget() throws InterruptedException
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(Prefetcher.PREFETCH_THREADS);
+        for (int i = 0; i < Prefetcher.PREFETCH_THREADS; i++)
+            assertTrue(prefetcher.submit("busy" + i, () ->
+            {
+                started.countDown();
+                try
+                {
+                    release.await();
+                }
+                catch (InterruptedException ex)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        
+        assertTrue(prefetcher.submit("queued", () -> {})); // fills the budget of 1
+        assertFalse(prefetcher.submit("queued", () -> {})); // already pending
+        assertFalse(prefetcher.submit("dropped", () -> {})); // over budget
+        
+        release.countDown();
+    }
+    
+}
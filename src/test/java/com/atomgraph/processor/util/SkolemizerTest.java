@@ -33,6 +33,9 @@ import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDFLib;
 import org.apache.jena.sparql.vocabulary.FOAF;
 import org.apache.jena.vocabulary.DCTerms;
 import org.apache.jena.vocabulary.OWL;
@@ -85,6 +88,26 @@ public class SkolemizerTest
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testBuildCollectedSubjects()
+    {
+        Ontology ontology = ModelFactory.createOntologyModel().createOntology("http://test/ontology");
+        OntClass cls = ontology.getOntModel().createClass("http://test/ontology/class");
+        cls.addLiteral(LDT.path, "{title}");
+        
+        Model model = ModelFactory.createDefaultModel();
+        SubjectCollector collector = new SubjectCollector(StreamRDFLib.graph(model.getGraph()));
+        RDFParser.fromString("_:a a <" + cls.getURI() + "> ; <" + DCTerms.title.getURI() + "> \"Whateverest\" . <http://s> <http://p> _:a .").
+            lang(Lang.TURTLE).
+            parse(collector);
+        assertEquals(2, collector.getSubjects().size());
+        
+        getSkolemizer(new OntDocumentManager(), ontology.getOntModel(), ontology.getURI()).build(model, collector.getSubjects().stream().map(model::wrapAsResource).toList());
+        Resource expected = model.createResource(absolutePathBuilder.clone().path("Whateverest").build().toString());
+        assertTrue(model.contains(expected, RDF.type, cls));
+        assertTrue(model.contains(model.createResource("http://s"), model.createProperty("http://p"), expected));
+    }
+
     @Test
     public void testNoPathClass()
     {
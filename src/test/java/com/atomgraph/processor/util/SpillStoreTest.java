@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.util.ResourceUtils;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class SpillStoreTest
+{
+    
+    @Test
+    public void testModelDeletedOnClose() throws IOException
+    {
+        SpillStore store = new SpillStore();
+        assertTrue(Files.isDirectory(store.getDirectory()));
+        
+        Model model = store.getModel();
+        Resource bnode = model.createResource().addLiteral(RDFS.label, "label");
+        model.createResource("http://s").addProperty(RDFS.seeAlso, bnode);
+        ResourceUtils.renameResource(bnode, "http://skolemized");
+        
+        assertEquals(2, model.size());
+        assertTrue(model.containsResource(model.createResource("http://skolemized")));
+        
+        store.close();
+        assertFalse(Files.exists(store.getDirectory()));
+    }
+    
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.CacheControl;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sys.JenaSystem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class StaleCacheTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private static final String KEY = "DESCRIBE <http://s>";
+    
+    private StaleCache cache;
+    private AtomicInteger loads;
+    
+    @Before
+    public void setUp()
+    {
+        cache = new StaleCache();
+        loads = new AtomicInteger();
+    }
+    
+    @After
+    public void tearDown()
+    {
+        cache.close();
+    }
+    
+    private Supplier<Model> loader(String value)
+    {
+        return () ->
+        {
+            loads.incrementAndGet();
+            Model model = ModelFactory.createDefaultModel();
+            model.createResource("http://s").addLiteral(model.createProperty("http://p"), value);
+            return model;
+        };
+    }
+    
+    private static Supplier<Model> failing(RuntimeException ex)
+    {
+        return () ->
+        {
+            throw ex;
+        };
+    }
+    
+    private static boolean hasValue(Model model, String value)
+    {
+        return model.contains(null, null, value);
+    }
+    
+    @Test
+    public void testApplicable()
+    {
+        assertFalse(StaleCache.isApplicable(null));
+        assertFalse(StaleCache.isApplicable(CacheControl.valueOf("max-age=60")));
+        assertTrue(StaleCache.isApplicable(CacheControl.valueOf("max-age=60, stale-while-revalidate=30")));
+        assertTrue(StaleCache.isApplicable(CacheControl.valueOf("stale-if-error=300")));
+    }
+    
+    @Test
+    public void testFresh()
+    {
+        CacheControl cacheControl = CacheControl.valueOf("max-age=60, stale-while-revalidate=30");
+        assertTrue(hasValue(cache.get(KEY, loader("1"), cacheControl), "1"));
+        assertTrue(hasValue(cache.get(KEY, loader("2"), cacheControl), "1"));
+        assertEquals(1, loads.get());
+    }
+    
+    @Test
+    public void testStaleWhileRevalidate() throws InterruptedException
+    {
+        CacheControl cacheControl = CacheControl.valueOf("max-age=0, stale-while-revalidate=60");
+        cache.get(KEY, loader("1"), cacheControl);
+        
+        assertTrue(hasValue(cache.get(KEY, loader("2"), cacheControl), "1")); // stale result, refreshed in the background
+        for (int i = 0; i < 100 && loads.get() < 2; i++) Thread.sleep(50);
+        Thread.sleep(50);
+        assertTrue(hasValue(cache.get(KEY, loader("3"), cacheControl), "2"));
+    }
+    
+    @Test
+    public void testStaleIfError()
+    {
+        CacheControl cacheControl = CacheControl.valueOf("max-age=0, stale-if-error=60");
+        cache.get(KEY, loader("1"), cacheControl);
+        
+        assertTrue(hasValue(cache.get(KEY, failing(new ProcessingException("Connection refused")), cacheControl), "1"));
+    }
+    
+    @Test(expected = BadRequestException.class)
+    public void testClientErrorNotMasked()
+    {
+        CacheControl cacheControl = CacheControl.valueOf("max-age=0, stale-if-error=60");
+        cache.get(KEY, loader("1"), cacheControl);
+        
+        cache.get(KEY, failing(new BadRequestException()), cacheControl);
+    }
+    
+    @Test(expected = ProcessingException.class)
+    public void testErrorWithoutStaleResult()
+    {
+        cache.get(KEY, failing(new ProcessingException("Connection refused")), CacheControl.valueOf("max-age=0, stale-if-error=60"));
+    }
+    
+    @Test
+    public void testClear()
+    {
+        CacheControl cacheControl = CacheControl.valueOf("max-age=60, stale-if-error=60");
+        cache.get(KEY, loader("1"), cacheControl);
+        cache.clear();
+        
+        assertTrue(hasValue(cache.get(KEY, loader("2"), cacheControl), "2"));
+        assertEquals(2, loads.get());
+    }
+    
+    @Test(expected = ProcessingException.class)
+    public void testClearedResultNotServedOnError()
+    {
+        CacheControl cacheControl = CacheControl.valueOf("max-age=0, stale-if-error=60");
+        cache.get(KEY, loader("1"), cacheControl);
+        cache.clear();
+        
+        cache.get(KEY, failing(new ProcessingException("Connection refused")), cacheControl);
+    }
+    
+    @Test
+    public void testResultLoadedDuringClearNotCached()
+    {
+        CacheControl cacheControl = CacheControl.valueOf("max-age=60, stale-if-error=60");
+        cache.get(KEY, () ->
+        {
+            cache.clear(); // a write while the result is loading
+            return loader("1").get();
+        }, cacheControl);
+        
+        assertTrue(hasValue(cache.get(KEY, loader("2"), cacheControl), "2"));
+    }
+    
+}
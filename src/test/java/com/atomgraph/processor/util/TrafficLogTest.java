@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atomgraph.processor.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class TrafficLogTest
+{
+    
+    private Path file;
+    
+    @Before
+    public void setUp() throws IOException
+    {
+        file = Files.createTempFile("traffic", ".log");
+    }
+    
+    @After
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(file);
+    }
+    
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        TrafficLog.Record record = new TrafficLog.Record(1000L, "POST", "/things/?after=x", "text/turtle;q=0.9,\tapplication/rdf+xml", "text/turtle");
+        record.setUploadBytes(512);
+        record.setStatus(201);
+        record.setTemplate("https://localhost/ns#Container");
+        record.setTotal(3000);
+        record.setHandle(2500);
+        record.setRemote(2000);
+        record.setWrite(500);
+        
+        try (TrafficLog trafficLog = new TrafficLog(file, 1d))
+        {
+            trafficLog.append(record);
+            trafficLog.append(new TrafficLog.Record(2000L, "GET", "/", null, null));
+        }
+        
+        List<TrafficLog.Record> records = TrafficLog.read(file);
+        assertEquals(2, records.size());
+        assertEquals(record.toString(), records.get(0).toString());
+        assertEquals("text/turtle;q=0.9, application/rdf+xml", records.get(0).getAccept());
+        assertEquals(2000, records.get(0).getRemote());
+        assertEquals("/", records.get(1).getPath());
+        assertNull(records.get(1).getAccept());
+        assertNull(records.get(1).getTemplate());
+    }
+    
+    @Test
+    public void testHeaderWrittenOnce() throws IOException
+    {
+        new TrafficLog(file, 1d).close();
+        new TrafficLog(file, 1d).close();
+        
+        assertEquals(List.of(TrafficLog.HEADER), Files.readAllLines(file));
+    }
+    
+    @Test
+    public void testSanitize()
+    {
+        assertEquals("uri=http%3A%2F%2Flocalhost%2F&password=&Token=&limit", TrafficLog.sanitize("uri=http%3A%2F%2Flocalhost%2F&password=secret&Token=abc&limit"));
+    }
+    
+    @Test
+    public void testSanitizeEncodedNames()
+    {
+        assertEquals("%74oken=&api%5Fkey=&pass%20word=x&%zz=", TrafficLog.sanitize("%74oken=abc&api%5Fkey=def&pass%20word=x&%zz=ghi"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLine()
+    {
+        TrafficLog.Record.parse("1000\tGET\t/");
+    }
+    
+}
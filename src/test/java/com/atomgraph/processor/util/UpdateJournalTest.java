@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 Martynas Jusevičius <martynas@atomgraph.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atomgraph.processor.util;
+
+import com.atomgraph.core.MediaTypes;
+import com.atomgraph.core.exception.BadGatewayException;
+import com.atomgraph.core.model.EndpointAccessor;
+import com.atomgraph.processor.model.impl.dataset.EndpointAccessorImpl;
+import com.atomgraph.processor.model.impl.dataset.ServiceImpl;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.NotAuthorizedException;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.update.UpdateFactory;
+import org.apache.jena.update.UpdateRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Martynas Jusevičius {@literal <martynas@atomgraph.com>}
+ */
+public class UpdateJournalTest
+{
+    
+    static
+    {
+        JenaSystem.init();
+    }
+    
+    private Path directory;
+    private Dataset dataset;
+    private AtomicBoolean available, rejecting;
+    private ServiceImpl service;
+    
+    @Before
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("journal-test-");
+        dataset = DatasetFactory.createTxnMem();
+        available = new AtomicBoolean(true);
+        rejecting = new AtomicBoolean(false);
+        service = new ServiceImpl(dataset, new MediaTypes())
+        {
+            
+            @Override
+            public EndpointAccessor getEndpointAccessor()
+            {
+                return new EndpointAccessorImpl(getDataset())
+                {
+
+                    @Override
+                    public void update(UpdateRequest updateRequest, List<URI> usingGraphUris, List<URI> usingNamedGraphUris)
+                    {
+                        if (!available.get()) throw new IllegalStateException("Endpoint unavailable");
+                        if (rejecting.get()) throw new BadGatewayException(new BadRequestException("Update rejected"));
+                        super.update(updateRequest, usingGraphUris, usingNamedGraphUris);
+                    }
+                    
+                };
+            }
+            
+        };
+    }
+    
+    private static UpdateRequest insert(String graphURI)
+    {
+        return UpdateFactory.create("INSERT DATA { GRAPH <" + graphURI + "> { <http://s> <http://p> <http://o> } }");
+    }
+    
+    private boolean contains(String graphURI)
+    {
+        dataset.begin(ReadWrite.READ);
+        try
+        {
+            return dataset.containsNamedModel(graphURI);
+        }
+        finally
+        {
+            dataset.end();
+        }
+    }
+    
+    @Test
+    public void testReplay() throws Exception
+    {
+        try (UpdateJournal journal = new UpdateJournal(directory, service))
+        {
+            assertEquals(1, journal.append(insert("http://graph/1")));
+            assertEquals(2, journal.append(insert("http://graph/2")));
+            
+            assertTrue(journal.await(2, 10, TimeUnit.SECONDS));
+            assertTrue(journal.isApplied(2));
+            assertTrue(contains("http://graph/1"));
+            assertTrue(contains("http://graph/2"));
+            assertEquals(0, Files.size(directory.resolve(UpdateJournal.JOURNAL_FILE))); // compacted before await() returns
+        }
+    }
+    
+    @Test
+    public void testListenersNotifiedAfterApply() throws Exception
+    {
+        try (UpdateJournal journal = new UpdateJournal(directory, service))
+        {
+            List<Boolean> notified = Collections.synchronizedList(new ArrayList<>());
+            journal.addListener(updateRequest -> notified.add(contains("http://graph/1")));
+            
+            rejecting.set(true);
+            long rejected = journal.append(insert("http://graph/0"));
+            assertTrue(journal.await(rejected, 10, TimeUnit.SECONDS));
+            rejecting.set(false);
+            long sequence = journal.append(insert("http://graph/1"));
+            assertTrue(journal.await(sequence, 10, TimeUnit.SECONDS));
+            
+            assertEquals(List.of(true), notified); // not notified of the rejected update, and notified after the update was applied
+        }
+    }
+    
+    @Test
+    public void testListenersNotifiedOfUpdatesReplayedAfterRestart() throws Exception
+    {
+        available.set(false);
+        try (UpdateJournal journal = new UpdateJournal(directory, service))
+        {
+            journal.append(insert("http://graph/1"));
+        }
+        
+        available.set(true);
+        List<UpdateRequest> notified = Collections.synchronizedList(new ArrayList<>());
+        try (UpdateJournal journal = new UpdateJournal(directory, service, List.of(notified::add)))
+        {
+            assertTrue(journal.await(1, 10, TimeUnit.SECONDS));
+            assertEquals(1, notified.size());
+        }
+    }
+    
+    @Test
+    public void testRejectedUpdateIsDeadLettered() throws Exception
+    {
+        try (UpdateJournal journal = new UpdateJournal(directory, service))
+        {
+            rejecting.set(true);
+            long rejected = journal.append(insert("http://graph/1"));
+            assertTrue(journal.await(rejected, 10, TimeUnit.SECONDS)); // not retried
+            assertTrue(journal.isFailed(rejected));
+            assertFalse(journal.isApplied(rejected));
+            
+            rejecting.set(false);
+            long next = journal.append(insert("http://graph/2"));
+            assertTrue(journal.await(next, 10, TimeUnit.SECONDS));
+            assertTrue(journal.isApplied(next));
+            assertFalse(contains("http://graph/1"));
+            assertTrue(contains("http://graph/2"));
+        }
+        
+        assertTrue(Files.size(directory.resolve(UpdateJournal.DEAD_LETTER_FILE)) > 0);
+        try (UpdateJournal journal = new UpdateJournal(directory, service))
+        {
+            assertTrue(journal.isFailed(1)); // read from the dead-letter file
+            assertFalse(journal.isFailed(2));
+        }
+    }
+    
+    @Test
+    public void testAppendFailsAfterReplayStopped() throws Exception
+    {
+        try (UpdateJournal journal = new UpdateJournal(directory, service)
+        {
+            
+            @Override
+            protected void writeCheckpoint() throws IOException
+            {
+                throw new IOException("Disk full");
+            }
+            
+        })
+        {
+            long sequence = journal.append(insert("http://graph/1"));
+            assertFalse(journal.await(sequence, 10, TimeUnit.SECONDS));
+            assertNotNull(journal.getFailure());
+            assertThrows(IOException.class, () -> journal.append(insert("http://graph/2")));
+        }
+    }
+    
+    @Test
+    public void testReplayAfterRestart() throws Exception
+    {
+        available.set(false);
+        try (UpdateJournal journal = new UpdateJournal(directory, service))
+        {
+            journal.append(insert("http://graph/1"));
+            journal.append(insert("http://graph/2"));
+            assertFalse(journal.isApplied(1));
+        }
+
+        // a record torn by a crash during append
+        try (FileChannel channel = FileChannel.open(directory.resolve(UpdateJournal.JOURNAL_FILE), StandardOpenOption.WRITE, StandardOpenOption.APPEND))
+        {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 1, 0, 0 }));
+        }
+        
+        available.set(true);
+        try (UpdateJournal journal = new UpdateJournal(directory, service))
+        {
+            assertEquals(2, journal.getAppendedSequence());
+            assertTrue(journal.await(2, 10, TimeUnit.SECONDS));
+            assertTrue(contains("http://graph/1"));
+            assertTrue(contains("http://graph/2"));
+            
+            assertEquals(3, journal.append(insert("http://graph/3")));
+        }
+    }
+    
+    @Test
+    public void testPermanentErrors()
+    {
+        assertTrue(UpdateJournal.isPermanentError(new BadGatewayException(new BadRequestException("Update rejected"))));
+        assertTrue(UpdateJournal.isPermanentError(new BadGatewayException(new ClientErrorException(Response.Status.UNSUPPORTED_MEDIA_TYPE))));
+        assertFalse(UpdateJournal.isPermanentError(new BadGatewayException(new ClientErrorException(Response.Status.TOO_MANY_REQUESTS))));
+        assertFalse(UpdateJournal.isPermanentError(new BadGatewayException(new ClientErrorException(Response.Status.CONFLICT))));
+        assertFalse(UpdateJournal.isPermanentError(new BadGatewayException(new NotAuthorizedException("Unauthorized"))));
+        assertFalse(UpdateJournal.isPermanentError(new BadGatewayException(new ForbiddenException())));
+        assertFalse(UpdateJournal.isPermanentError(new IllegalStateException("Endpoint unavailable")));
+    }
+    
+    @Test
+    public void testTransientClientErrorRetried() throws Exception
+    {
+        rejecting.set(false);
+        AtomicBoolean throttled = new AtomicBoolean(true);
+        ServiceImpl throttledService = new ServiceImpl(dataset, new MediaTypes())
+        {
+            
+            @Override
+            public EndpointAccessor getEndpointAccessor()
+            {
+                return new EndpointAccessorImpl(getDataset())
+                {
+
+                    @Override
+                    public void update(UpdateRequest updateRequest, List<URI> usingGraphUris, List<URI> usingNamedGraphUris)
+                    {
+                        if (throttled.getAndSet(false)) throw new BadGatewayException(new ClientErrorException(Response.Status.TOO_MANY_REQUESTS));
+                        super.update(updateRequest, usingGraphUris, usingNamedGraphUris);
+                    }
+                    
+                };
+            }
+            
+        };
+        
+        try (UpdateJournal journal = new UpdateJournal(directory, throttledService))
+        {
+            long sequence = journal.append(insert("http://graph/1"));
+            assertTrue(journal.await(sequence, 10, TimeUnit.SECONDS));
+            assertTrue(journal.isApplied(sequence));
+            assertFalse(journal.isFailed(sequence));
+            assertTrue(contains("http://graph/1"));
+        }
+    }
+    
+}